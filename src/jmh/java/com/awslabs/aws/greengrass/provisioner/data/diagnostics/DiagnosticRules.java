@@ -0,0 +1,34 @@
+package com.awslabs.aws.greengrass.provisioner.data.diagnostics;
+
+import com.awslabs.general.helpers.interfaces.JsonHelper;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The same rules the module provides, wired up by hand so benchmarks don't need the injector
+ */
+public class DiagnosticRules {
+    public static Set<DiagnosticRule> create(JsonHelper jsonHelper) {
+        FunctionTimedOutDiagnosticRule functionTimedOutDiagnosticRule = new FunctionTimedOutDiagnosticRule();
+        functionTimedOutDiagnosticRule.jsonHelper = jsonHelper;
+
+        FunctionTimingOutDiagnosticRule functionTimingOutDiagnosticRule = new FunctionTimingOutDiagnosticRule();
+        functionTimingOutDiagnosticRule.jsonHelper = jsonHelper;
+
+        MissingRuntimeWithJsonErrorDiagnosticRule1 missingRuntimeWithJsonErrorDiagnosticRule1 = new MissingRuntimeWithJsonErrorDiagnosticRule1();
+        missingRuntimeWithJsonErrorDiagnosticRule1.jsonHelper = jsonHelper;
+
+        MissingRuntimeWithJsonErrorDiagnosticRule2 missingRuntimeWithJsonErrorDiagnosticRule2 = new MissingRuntimeWithJsonErrorDiagnosticRule2();
+        missingRuntimeWithJsonErrorDiagnosticRule2.jsonHelper = jsonHelper;
+
+        return new HashSet<>(Arrays.asList(new TooManyIpsDiagnosticRule(),
+                new NoConnectivityInformationDiagnosticRule(),
+                new MissingRuntimeWithTextErrorDiagnosticRule1(),
+                missingRuntimeWithJsonErrorDiagnosticRule1,
+                missingRuntimeWithJsonErrorDiagnosticRule2,
+                functionTimingOutDiagnosticRule,
+                functionTimedOutDiagnosticRule));
+    }
+}
@@ -0,0 +1,66 @@
+package com.awslabs.aws.greengrass.provisioner.implementations.helpers;
+
+import com.awslabs.aws.greengrass.provisioner.data.VirtualTarEntry;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BasicArchiveHelperBenchmark {
+    private static final int TOTAL_BYTES = 32 * 1024 * 1024;
+    // Many small files like certificates and scripts, or a few large ones like the Greengrass and function archives
+    @Param({"1024", "4"})
+    public int entries;
+    private BasicArchiveHelper basicArchiveHelper;
+    private List<VirtualTarEntry> virtualTarEntries;
+
+    @Setup
+    public void setup() {
+        basicArchiveHelper = new BasicArchiveHelper();
+        basicArchiveHelper.ioHelper = new BasicIoHelper();
+
+        Random random = new Random(0);
+        virtualTarEntries = new ArrayList<>();
+
+        for (int entry = 0; entry < entries; entry++) {
+            byte[] content = new byte[TOTAL_BYTES / entries];
+            random.nextBytes(content);
+
+            virtualTarEntries.add(basicArchiveHelper.createVirtualTarEntry(String.join("", "files/", String.valueOf(entry)), content, 0644));
+        }
+    }
+
+    @Benchmark
+    public long tar() throws IOException {
+        CountingOutputStream countingOutputStream = new CountingOutputStream();
+
+        basicArchiveHelper.tar(virtualTarEntries, countingOutputStream);
+
+        return countingOutputStream.count;
+    }
+
+    // Only counts the bytes so the score is the cost of building the archive, not of storing it
+    private static class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.awslabs.aws.greengrass.provisioner.implementations.helpers;
+
+import com.awslabs.aws.greengrass.provisioner.data.DeviceTesterLogMessage;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Each operation parses one line so the score is lines per second
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BasicDeviceTesterHelperBenchmark {
+    private static final String[] LINES = {
+            "time=\"2019-01-10T08:55:01-05:00\" level=info msg=Running test case... testCaseId=ggc_version_check_test_1 deviceId=DUT executionId=52cf78b2-14df-11e9-919c-9801a78f161d suiteId=GGQ groupId=version",
+            "time=\"2019-01-10T08:55:02-05:00\" level=info msg=Checking whether version of Greengrass release is correct... executionId=52cf78b2-14df-11e9-919c-9801a78f161d suiteId=GGQ groupId=version testCaseId=ggc_version_check_test_1 deviceId=DUT",
+            "time=\"2019-01-10T08:55:02-05:00\" level=info msg=PASS deviceId=DUT executionId=52cf78b2-14df-11e9-919c-9801a78f161d suiteId=GGQ groupId=version testCaseId=ggc_version_check_test_1",
+            "time=\"2019-01-10T08:55:20-05:00\" level=info msg=stop Greengrass executed successfully. executionId=52cf78b2-14df-11e9-919c-9801a78f161d suiteId=GGQ groupId=ipd testCaseId=ipd_test_1 deviceId=DUT",
+            "time=\"2019-01-10T08:56:20-05:00\" level=info msg=--- FAIL: TestIPD (12.34s) executionId=52cf78b2-14df-11e9-919c-9801a78f161d suiteId=GGQ groupId=ipd testCaseId=ipd_test_1 deviceId=DUT",
+            "time=\"2019-01-10T08:57:20-05:00\" level=error msg=Async command on remote host failed to start with error: exit status 1 executionId=52cf78b2-14df-11e9-919c-9801a78f161d suiteId=GGQ groupId=ipd testCaseId=ipd_test_1 deviceId=DUT",
+    };
+    private BasicDeviceTesterHelper basicDeviceTesterHelper;
+    private int index;
+
+    @Setup
+    public void setup() {
+        basicDeviceTesterHelper = new BasicDeviceTesterHelper();
+    }
+
+    @Benchmark
+    public DeviceTesterLogMessage parse() {
+        index = (index + 1) % LINES.length;
+
+        return basicDeviceTesterHelper.parse(LINES[index]);
+    }
+}
@@ -0,0 +1,78 @@
+package com.awslabs.aws.greengrass.provisioner.implementations.helpers;
+
+import com.awslabs.aws.greengrass.provisioner.data.diagnostics.DiagnosticRule;
+import com.awslabs.aws.greengrass.provisioner.data.diagnostics.DiagnosticRules;
+import com.awslabs.general.helpers.implementations.BasicJsonHelper;
+import io.vavr.Tuple;
+import io.vavr.Tuple3;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import software.amazon.awssdk.services.cloudwatchlogs.model.LogGroup;
+import software.amazon.awssdk.services.cloudwatchlogs.model.LogStream;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BasicDiagnosticsHelperBenchmark {
+    private static final Pattern NEWLINE_PATTERN = Pattern.compile("\n");
+    private static final int LINES = 1_000_000;
+    // One line in this many is something a rule reports
+    private static final int FINDING_INTERVAL = 10_000;
+    private static final String[] NOISE = {
+            "[2020-06-01T12:00:00.000Z][INFO]-Get work item. {\"functionArn\": \"arn:aws:lambda:us-east-1:123456789012:function:SensorFunction:12\", \"workerId\": \"32b93434-787f-4bc1-4453-a1bc2538b711\"}",
+            "[2020-06-01T12:00:00.000Z][INFO]-Function worker started. {\"workerId\": \"9cd6a690-7f33-4cd0-5dc5-61198aed5617\", \"pid\": 1234}",
+            "[2020-06-01T12:00:00.000Z][DEBUG]-Publishing message. {\"topic\": \"sensors/temperature\", \"source\": \"arn:aws:lambda:us-east-1:123456789012:function:SensorFunction:12\"}",
+            "[2020-06-01T12:00:00.000Z][INFO]-Work item finished. {\"invocationId\": \"6a92c46c-7ce8-4c00-70e4-e70d33628862\", \"duration\": 12}",
+    };
+    private static final String FINDING = "[2020-06-01T12:00:00.000Z][ERROR]-WorkItem reached max retry limit.     {\"invocationId\": \"6a92c46c-7ce8-4c00-70e4-e70d33628862\", \"funcArn\": \"arn:aws:lambda:us-east-1:123456789012:function:SensorFunction:12\", \"workerId\": \"32b93434-787f-4bc1-4453-a1bc2538b711\"}";
+    private Set<DiagnosticRule> diagnosticRules;
+    private BasicDiagnosticsHelper basicDiagnosticsHelper;
+    private LogGroup logGroup;
+    private LogStream logStream;
+    private String log;
+
+    @Setup
+    public void setup() {
+        diagnosticRules = DiagnosticRules.create(new BasicJsonHelper());
+
+        basicDiagnosticsHelper = new BasicDiagnosticsHelper();
+        basicDiagnosticsHelper.diagnosticRules = diagnosticRules;
+
+        logGroup = LogGroup.builder().logGroupName("/aws/greengrass/GreengrassSystem/" + DiagnosticRule.RUNTIME).build();
+        logStream = LogStream.builder().logStreamName("2020/06/01/core").build();
+
+        StringBuilder stringBuilder = new StringBuilder();
+
+        for (int loop = 0; loop < LINES; loop++) {
+            stringBuilder.append(loop % FINDING_INTERVAL == 0 ? FINDING : NOISE[loop % NOISE.length]).append('\n');
+        }
+
+        log = stringBuilder.toString();
+    }
+
+    // How runDiagnostics worked before, every rule ran its pattern against every line
+    @Benchmark
+    public void perRule(Blackhole blackhole) {
+        Tuple3<LogGroup, LogStream, List<String>> input = Tuple.of(logGroup, logStream, Arrays.asList(log.split("\n")));
+
+        diagnosticRules.stream()
+                .map(diagnosticRule -> diagnosticRule.evaluate(input))
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .flatMap(Collection::stream)
+                .distinct()
+                .forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void singlePass(Blackhole blackhole) {
+        basicDiagnosticsHelper.runDiagnostics(logGroup, logStream, NEWLINE_PATTERN.splitAsStream(log), blackhole::consume);
+    }
+}
@@ -0,0 +1,137 @@
+package com.awslabs.aws.greengrass.provisioner.implementations.helpers;
+
+import com.awslabs.aws.greengrass.provisioner.data.conf.DeploymentConf;
+import com.awslabs.aws.greengrass.provisioner.data.conf.ImmutableDeploymentConf;
+import com.awslabs.aws.greengrass.provisioner.data.conf.ImmutableRoleConf;
+import com.awslabs.iot.data.ImmutableGreengrassGroupName;
+import com.awslabs.lambda.data.FunctionAliasArn;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import io.vavr.control.Either;
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BasicFunctionHelperBenchmark {
+    // The same values function.defaults.conf provides
+    private static final String FUNCTION_DEFAULTS = String.join("\n",
+            "conf {",
+            "  language = PYTHON3_7",
+            "  encodingType = JSON",
+            "  aliasName = ${GROUP_NAME}",
+            "  memorySizeInKb = 131072",
+            "  pinned = false",
+            "  timeoutInSeconds = 60",
+            "  fromCloudSubscriptions = []",
+            "  toCloudSubscriptions = []",
+            "  outputTopics = []",
+            "  inputTopics = []",
+            "  connectedShadows = []",
+            "  localDeviceResources = []",
+            "  localVolumeResources = []",
+            "  localSageMakerResources = []",
+            "  localS3Resources = []",
+            "  localSecretsManagerResources = []",
+            "  environmentVariables {}",
+            "  accessSysFs = false",
+            "  greengrassContainer = false",
+            "}");
+    @Param({"10", "100"})
+    public int functions;
+    private BasicFunctionHelper basicFunctionHelper;
+    private Config fallbackConfig;
+    private DeploymentConf deploymentConf;
+    private List<Either<FunctionAliasArn, File>> functionConfs;
+    private File functionsDirectory;
+
+    @Setup
+    public void setup() throws IOException {
+        BasicTypeSafeConfigHelper basicTypeSafeConfigHelper = new BasicTypeSafeConfigHelper();
+        basicTypeSafeConfigHelper.objectMapper = new ObjectMapper();
+
+        basicFunctionHelper = new BasicFunctionHelper();
+        basicFunctionHelper.configCacheHelper = new BasicConfigCacheHelper();
+        basicFunctionHelper.typeSafeConfigHelper = basicTypeSafeConfigHelper;
+        basicFunctionHelper.ggConstants = new BasicGGConstants();
+
+        Map<String, String> defaultValues = new HashMap<>();
+        defaultValues.put("GROUP_NAME", "benchmark-group");
+        defaultValues.put("AWS_REGION", "us-east-1");
+        fallbackConfig = ConfigFactory.parseString(FUNCTION_DEFAULTS)
+                .withFallback(ConfigFactory.parseMap(defaultValues));
+
+        deploymentConf = ImmutableDeploymentConf.builder()
+                .name("benchmark")
+                .groupName(ImmutableGreengrassGroupName.builder().groupName("benchmark-group").build())
+                .coreRoleConf(ImmutableRoleConf.builder().name("benchmark-core-role").build())
+                .isSyncShadow(false)
+                .putEnvironmentVariables("STAGE", "benchmark")
+                .build();
+
+        functionsDirectory = Files.createTempDirectory("function-helper-benchmark").toFile();
+        functionConfs = new ArrayList<>();
+
+        for (int function = 0; function < functions; function++) {
+            File functionDirectory = new File(functionsDirectory, String.join("", "function-", String.valueOf(function)));
+            File functionConf = new File(functionDirectory, "function.conf");
+            FileUtils.writeStringToFile(functionConf, getFunctionConfText(function), StandardCharsets.UTF_8);
+
+            functionConfs.add(Either.right(functionConf));
+        }
+    }
+
+    private String getFunctionConfText(int function) {
+        return String.join("\n",
+                "conf {",
+                "  functionName = \"benchmark-function-" + function + "\"",
+                "  handlerName = \"benchmark.function_handler\"",
+                "  inputTopics = [\"devices/" + function + "/commands\", \"devices/+/broadcast\"]",
+                "  outputTopics = [\"devices/" + function + "/telemetry\"]",
+                "  localVolumeResources = [{ sourcePath = \"/tmp\", destinationPath = \"/tmp\", readWrite = true }]",
+                "  environmentVariables { REGION = ${AWS_REGION}, INDEX = \"" + function + "\" }",
+                "  coreRoleIamManagedPolicies = [\"arn:aws:iam::aws:policy/AWSIoTDataAccess\"]",
+                "}");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(functionsDirectory);
+    }
+
+    // Every function conf is read from the cache after the first iteration, like every group after the first in a fleet
+    @Benchmark
+    public void getFunctionConf(Blackhole blackhole) {
+        getFunctionConfs(blackhole);
+    }
+
+    // Every function conf is read and parsed again, like the first group deployed
+    @Benchmark
+    public void getFunctionConfUncached(Blackhole blackhole) {
+        basicFunctionHelper.configCacheHelper = new BasicConfigCacheHelper();
+
+        getFunctionConfs(blackhole);
+    }
+
+    private void getFunctionConfs(Blackhole blackhole) {
+        for (Either<FunctionAliasArn, File> functionConf : functionConfs) {
+            blackhole.consume(basicFunctionHelper.getFunctionConf(fallbackConfig, deploymentConf, functionConf));
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.awslabs.aws.greengrass.provisioner.implementations.helpers;
+
+import com.awslabs.aws.greengrass.provisioner.data.ImmutableZipFilePathAndFunctionConf;
+import com.awslabs.aws.greengrass.provisioner.data.Language;
+import com.awslabs.aws.greengrass.provisioner.data.ZipFilePathAndFunctionConf;
+import com.awslabs.aws.greengrass.provisioner.data.conf.ImmutableFunctionConf;
+import com.awslabs.iot.data.ImmutableGreengrassGroupName;
+import com.awslabs.lambda.data.ImmutableFunctionAlias;
+import com.awslabs.lambda.data.ImmutableFunctionName;
+import com.awslabs.s3.helpers.interfaces.V2S3Helper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import software.amazon.awssdk.services.greengrass.model.EncodingType;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.mockito.Mockito.mock;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BasicFunctionHelperZipBenchmark {
+    private static final int MEGABYTE = 1024 * 1024;
+    // From a small Python function up to a Java function with its dependencies, 60 MB is over the direct upload limit
+    // so convertZipFileToFunctionCode hands it to S3 without reading it
+    @Param({"1", "10", "30", "50", "60"})
+    public int zipSizeInMegabytes;
+    private BasicFunctionHelper basicFunctionHelper;
+    private ZipFilePathAndFunctionConf zipFilePathAndFunctionConf;
+    private File zipFile;
+
+    @Setup
+    public void setup() throws IOException {
+        basicFunctionHelper = new BasicFunctionHelper();
+        basicFunctionHelper.ioHelper = new BasicIoHelper();
+        // Only the routing and the read are measured, not the upload
+        basicFunctionHelper.v2S3Helper = mock(V2S3Helper.class);
+
+        zipFile = Files.createTempFile("function-helper-benchmark", ".zip").toFile();
+        writeZipFile(zipFile, zipSizeInMegabytes * MEGABYTE);
+
+        zipFilePathAndFunctionConf = ImmutableZipFilePathAndFunctionConf.builder()
+                .zipFilePath(zipFile.getPath())
+                .functionConf(ImmutableFunctionConf.builder()
+                        .language(Language.JAVA8)
+                        .encodingType(EncodingType.JSON)
+                        .buildDirectory(zipFile.getParentFile().toPath())
+                        .groupName(ImmutableGreengrassGroupName.builder().groupName("benchmark-group").build())
+                        .functionName(ImmutableFunctionName.builder().name("benchmark-function").build())
+                        .handlerName("benchmark.Handler::handleRequest")
+                        .aliasName(ImmutableFunctionAlias.builder().alias("benchmark-group").build())
+                        .memorySizeInKb(131072)
+                        .isPinned(false)
+                        .timeoutInSeconds(60)
+                        .isAccessSysFs(false)
+                        .isGreengrassContainer(false)
+                        .uid(1000)
+                        .gid(1000)
+                        .rawConfig("")
+                        .build())
+                .build();
+    }
+
+    // Random bytes don't compress, like the jars and native libraries that make up most of a large function
+    private void writeZipFile(File file, int size) throws IOException {
+        Random random = new Random(0);
+        byte[] buffer = new byte[MEGABYTE];
+
+        try (ZipOutputStream zipOutputStream = new ZipOutputStream(Files.newOutputStream(file.toPath()))) {
+            zipOutputStream.putNextEntry(new ZipEntry("lib/dependencies.bin"));
+
+            for (int written = 0; written < size; written += buffer.length) {
+                random.nextBytes(buffer);
+                zipOutputStream.write(buffer, 0, Math.min(buffer.length, size - written));
+            }
+
+            zipOutputStream.closeEntry();
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(zipFile.toPath());
+    }
+
+    @Benchmark
+    public void convertZipFileToFunctionCode(Blackhole blackhole) {
+        blackhole.consume(basicFunctionHelper.convertZipFileToFunctionCode("benchmark-bucket", "functions", zipFilePathAndFunctionConf));
+    }
+
+    @Benchmark
+    public void readZipFileForDirectUpload(Blackhole blackhole) {
+        blackhole.consume(basicFunctionHelper.readZipFileForDirectUpload(zipFile));
+    }
+}
@@ -0,0 +1,74 @@
+package com.awslabs.aws.greengrass.provisioner.implementations.helpers;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BasicIoHelperBenchmark {
+    private static final int TOTAL_BYTES = 8 * 1024 * 1024;
+    // Short log lines like a bootstrap script prints, or long ones like Device Tester's JSON messages
+    @Param({"80", "1024"})
+    public int lineLength;
+    private BasicIoHelper basicIoHelper;
+    private byte[] output;
+
+    @Setup
+    public void setup() {
+        basicIoHelper = new BasicIoHelper();
+
+        StringBuilder line = new StringBuilder();
+
+        // Mostly ASCII with some multi-byte characters
+        while (line.length() < lineLength - 2) {
+            line.append(line.length() % 40 == 0 ? "ü" : "x");
+        }
+
+        line.append("\r\n");
+
+        StringBuilder stringBuilder = new StringBuilder();
+
+        while (stringBuilder.length() < TOTAL_BYTES) {
+            stringBuilder.append(line);
+        }
+
+        output = stringBuilder.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public void readLines(Blackhole blackhole) throws IOException {
+        basicIoHelper.readLines(new ByteArrayInputStream(output), StandardCharsets.UTF_8, blackhole::consume);
+    }
+
+    // How runCommand used to read, one byte per read call, as the baseline
+    @Benchmark
+    public void readBytesOneAtATime(Blackhole blackhole) throws IOException {
+        InputStream inputStream = new ByteArrayInputStream(output);
+        StringBuilder lineStringBuilder = new StringBuilder();
+        int readByte = inputStream.read();
+
+        while (readByte != 0xffffffff) {
+            char character = (char) readByte;
+            readByte = inputStream.read();
+
+            if (character == '\r') {
+                // Throw away \r
+            } else if (character == '\n') {
+                blackhole.consume(lineStringBuilder.toString());
+                lineStringBuilder = new StringBuilder();
+            } else {
+                lineStringBuilder.append(character);
+            }
+        }
+    }
+}
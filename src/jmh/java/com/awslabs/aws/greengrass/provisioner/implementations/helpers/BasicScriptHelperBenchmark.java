@@ -0,0 +1,93 @@
+package com.awslabs.aws.greengrass.provisioner.implementations.helpers;
+
+import com.awslabs.aws.greengrass.provisioner.data.Architecture;
+import com.awslabs.aws.greengrass.provisioner.data.LookupCacheStats;
+import com.awslabs.aws.greengrass.provisioner.data.LookupKey;
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.LookupCacheHelper;
+import com.awslabs.iot.data.V2IotEndpointType;
+import com.google.common.collect.ImmutableMap;
+import io.vavr.CheckedFunction0;
+import io.vavr.control.Try;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BasicScriptHelperBenchmark {
+    private static final String ENDPOINT = "a1b2c3d4e5f6g7-ats.iot.us-east-1.amazonaws.com";
+    private BasicScriptHelper basicScriptHelper;
+    private ImmutableMap<String, String> variables;
+    private String template;
+
+    @Setup
+    public void setup() {
+        basicScriptHelper = new BasicScriptHelper();
+        basicScriptHelper.ggConstants = new BasicGGConstants();
+        basicScriptHelper.javaResourceHelper = new BasicJavaResourceHelper();
+        basicScriptHelper.lookupCacheHelper = new FixedLookupCacheHelper();
+
+        // The largest template with the same variables the helper fills in
+        template = basicScriptHelper.javaResourceHelper.resourceToString("shell/template.sh.in");
+        variables = ImmutableMap.<String, String>builder()
+                .put("SCRIPT_NAME", "gg.sh")
+                .put("GG_SH", "gg.sh")
+                .put("ENDPOINT", ENDPOINT)
+                .put("START_SCRIPT", basicScriptHelper.getStartScriptName())
+                .put("STOP_SCRIPT", basicScriptHelper.getStopScriptName())
+                .put("CLEAN_SCRIPT", basicScriptHelper.getCleanScriptName())
+                .put("GREENGRASS_DAEMON", basicScriptHelper.ggConstants.getGreengrassDaemonName())
+                .put("MONITOR_SCRIPT", basicScriptHelper.getMonitorScriptName())
+                .put("SYSTEMD_SCRIPT", basicScriptHelper.getSystemdScriptName())
+                .put("CREDENTIALS_SCRIPT", basicScriptHelper.getCredentialsScriptName())
+                .put("UPDATE_DEPENDENCIES_SCRIPT", basicScriptHelper.getUpdateDependenciesScriptName())
+                .put("SYSTEMD_DESTINATION_PATH", "/lib/systemd/system")
+                .put("GG_BITS", Architecture.X86_64.getFilename())
+                .build();
+    }
+
+    @Benchmark
+    public String replaceVariables() {
+        return basicScriptHelper.replaceVariables(variables, template);
+    }
+
+    // Includes reading the template from the classpath like every script written to a build does
+    @Benchmark
+    public String generateGgScript() {
+        return basicScriptHelper.generateGgScript(Architecture.X86_64);
+    }
+
+    // Keeps the benchmark off the network, only the endpoint is used by the scripts
+    private static class FixedLookupCacheHelper implements LookupCacheHelper {
+        @Override
+        public <T> T get(LookupKey<T> lookupKey, CheckedFunction0<T> lookup) {
+            return Try.of(lookup).get();
+        }
+
+        @Override
+        public String getIotEndpoint(V2IotEndpointType v2IotEndpointType) {
+            return ENDPOINT;
+        }
+
+        @Override
+        public String getAccountId() {
+            return "123456789012";
+        }
+
+        @Override
+        public String getRootCa() {
+            return "";
+        }
+
+        @Override
+        public List<LookupCacheStats> getStats() {
+            return new ArrayList<>();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.awslabs.aws.greengrass.provisioner.implementations.helpers;
+
+import com.awslabs.aws.greengrass.provisioner.data.Language;
+import com.awslabs.aws.greengrass.provisioner.data.conf.FunctionConf;
+import com.awslabs.aws.greengrass.provisioner.data.conf.ImmutableFunctionConf;
+import com.awslabs.iot.data.ImmutableGreengrassGroupName;
+import com.awslabs.lambda.data.ImmutableFunctionAlias;
+import com.awslabs.lambda.data.ImmutableFunctionName;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import software.amazon.awssdk.services.greengrass.model.EncodingType;
+import software.amazon.awssdk.services.greengrass.model.Function;
+import software.amazon.awssdk.services.greengrass.model.Subscription;
+
+import java.io.File;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BasicSubscriptionHelperBenchmark {
+    private static final int TOPICS_PER_FUNCTION = 20;
+    @Param({"50", "500"})
+    public int functions;
+    private BasicSubscriptionHelper basicSubscriptionHelper;
+    private Map<Function, FunctionConf> functionAliasToConfMap;
+    private Set<String> outputTopics;
+    private Set<String> inputTopics;
+
+    @Setup
+    public void setup() {
+        basicSubscriptionHelper = new BasicSubscriptionHelper();
+        basicSubscriptionHelper.ioHelper = new BasicIoHelper();
+
+        functionAliasToConfMap = new HashMap<>();
+        outputTopics = new HashSet<>();
+        inputTopics = new HashSet<>();
+
+        for (int function = 0; function < functions; function++) {
+            List<String> functionOutputTopics = new ArrayList<>();
+            List<String> functionInputTopics = new ArrayList<>();
+
+            for (int topic = 0; topic < TOPICS_PER_FUNCTION; topic++) {
+                functionOutputTopics.add(String.join("/", "devices", String.valueOf(function), "telemetry", String.valueOf(topic)));
+            }
+
+            // Mostly exact topics from the next function, plus some wildcards like real pipelines use
+            for (int topic = 0; topic < TOPICS_PER_FUNCTION - 2; topic++) {
+                functionInputTopics.add(String.join("/", "devices", String.valueOf((function + 1) % functions), "telemetry", String.valueOf(topic)));
+            }
+
+            functionInputTopics.add(String.join("/", "devices", String.valueOf((function + 2) % functions), "telemetry", "+"));
+            functionInputTopics.add(String.join("/", "alerts", String.valueOf(function), "#"));
+
+            outputTopics.addAll(functionOutputTopics);
+            inputTopics.addAll(functionInputTopics);
+
+            functionAliasToConfMap.put(Function.builder().functionArn("function-" + function).build(), getFunctionConf(function, functionInputTopics, functionOutputTopics));
+        }
+    }
+
+    private FunctionConf getFunctionConf(int function, List<String> inputTopics, List<String> outputTopics) {
+        return ImmutableFunctionConf.builder()
+                .language(Language.EXECUTABLE)
+                .encodingType(EncodingType.BINARY)
+                .buildDirectory(new File(".").toPath())
+                .groupName(ImmutableGreengrassGroupName.builder().groupName("benchmark-group").build())
+                .functionName(ImmutableFunctionName.builder().name("benchmark-function-" + function).build())
+                .handlerName("benchmark-handler")
+                .aliasName(ImmutableFunctionAlias.builder().alias("benchmark-alias").build())
+                .memorySizeInKb(1024)
+                .isPinned(false)
+                .timeoutInSeconds(10)
+                .isAccessSysFs(false)
+                .isGreengrassContainer(false)
+                .inputTopics(inputTopics)
+                .outputTopics(outputTopics)
+                .rawConfig("")
+                .build();
+    }
+
+    // How connectFunctions matched topics before, every output topic compared to every input topic
+    @Benchmark
+    public void everyTopicPair(Blackhole blackhole) {
+        for (String outputTopic : outputTopics) {
+            for (String inputTopic : inputTopics) {
+                blackhole.consume(basicSubscriptionHelper.topicCandidate(outputTopic, inputTopic));
+            }
+        }
+    }
+
+    @Benchmark
+    public List<Subscription> connectFunctions() {
+        return basicSubscriptionHelper.connectFunctions(functionAliasToConfMap);
+    }
+}
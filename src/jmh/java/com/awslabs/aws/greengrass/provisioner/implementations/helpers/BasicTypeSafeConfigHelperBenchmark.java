@@ -0,0 +1,45 @@
+package com.awslabs.aws.greengrass.provisioner.implementations.helpers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.typesafe.config.ConfigFactory;
+import com.typesafe.config.ConfigObject;
+import org.openjdk.jmh.annotations.*;
+import software.amazon.awssdk.services.greengrass.model.Connector;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BasicTypeSafeConfigHelperBenchmark {
+    // A connector block like the ones in the connector confs
+    private static final String CONNECTOR_CONF = String.join("\n",
+            "conf {",
+            "  connector {",
+            "    connectorArn = \"arn:aws:greengrass:us-east-1::/connectors/SNS/versions/1\"",
+            "    id = \"benchmark-sns-connector\"",
+            "    parameters {",
+            "      DefaultSNSArn = \"arn:aws:sns:us-east-1:123456789012:benchmark-topic\"",
+            "      IsolationMode = GreengrassContainer",
+            "    }",
+            "  }",
+            "}");
+    private BasicTypeSafeConfigHelper basicTypeSafeConfigHelper;
+    private ConfigObject connectorConfigObject;
+
+    @Setup
+    public void setup() {
+        basicTypeSafeConfigHelper = new BasicTypeSafeConfigHelper();
+        basicTypeSafeConfigHelper.objectMapper = new ObjectMapper();
+
+        connectorConfigObject = ConfigFactory.parseString(CONNECTOR_CONF).resolve().getObject("conf.connector");
+    }
+
+    @Benchmark
+    public Connector convertToSdkObject() {
+        return basicTypeSafeConfigHelper.convertToSdkObject(connectorConfigObject, Connector.serializableBuilderClass());
+    }
+}
@@ -1,6 +1,9 @@
 package com.awslabs.aws.greengrass.provisioner;
 
+import com.awslabs.aws.greengrass.provisioner.data.SdkClientStats;
+import com.awslabs.aws.greengrass.provisioner.implementations.helpers.RunReportExecutionInterceptor;
 import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.Operation;
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.SdkClientHelper;
 import com.awslabs.resultsiterator.v2.interfaces.V2SdkErrorHandler;
 import com.typesafe.config.ConfigException;
 import io.vavr.control.Try;
@@ -53,7 +56,32 @@ public class AwsGreengrassProvisioner implements Runnable {
 
         awsGreengrassProvisioner.setArgs(args);
 
-        awsGreengrassProvisioner.run();
+        try {
+            awsGreengrassProvisioner.run();
+        } finally {
+            // Written for failed runs too, that is usually when it is needed
+            getInjector().runReportHelper().writeReport();
+
+            // Pooled SSH sessions keep their connection threads alive until they are closed
+            getInjector().sshHelper().closeSshSessions();
+
+            // The Docker event stream holds a connection to the daemon until the clients are closed
+            getInjector().dockerSessionHelper().closeDockerClients();
+        }
+
+        logSdkClientStats();
+    }
+
+    private static void logSdkClientStats() {
+        SdkClientStats sdkClientStats = getInjector().sdkClientHelper().getStats();
+
+        if (sdkClientStats.getClientsCreated() == 0) {
+            return;
+        }
+
+        log.info(String.join("", "AWS SDK: [", String.valueOf(sdkClientStats.getClientsCreated()), "] client(s), [",
+                String.valueOf(sdkClientStats.getApiCalls()), "] API call(s), [",
+                String.valueOf(sdkClientStats.getPeakConnectionsInUse()), "] connection(s) at peak"));
     }
 
     public static V2SdkErrorHandler getSdkErrorHandler() {
@@ -64,9 +92,19 @@ public class AwsGreengrassProvisioner implements Runnable {
         return getInjector().awsGreengrassProvisioner();
     }
 
-    public static Injector getInjector() {
+    // Synchronized so concurrent Lambda requests in a new container build one injector between them
+    public static synchronized Injector getInjector() {
         if (!optionalInjector.isPresent()) {
-            optionalInjector = Optional.of(DaggerInjector.create());
+            Injector injector = DaggerInjector.create();
+            SdkClientHelper sdkClientHelper = injector.sdkClientHelper();
+
+            // Installed for the life of the injector so the API calls made by every operation are counted
+            RunReportExecutionInterceptor.install(injector.runReportHelper());
+
+            // Not closed when main finishes since the Lambda function keeps reusing the injector between invocations
+            Runtime.getRuntime().addShutdownHook(new Thread(sdkClientHelper::close));
+
+            optionalInjector = Optional.of(injector);
         }
 
         return optionalInjector.get();
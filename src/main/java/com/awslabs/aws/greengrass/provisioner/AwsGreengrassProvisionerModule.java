@@ -1,7 +1,9 @@
 package com.awslabs.aws.greengrass.provisioner;
 
 import com.awslabs.aws.greengrass.provisioner.data.diagnostics.*;
+import com.awslabs.aws.greengrass.provisioner.docker.BasicDockerSessionHelper;
 import com.awslabs.aws.greengrass.provisioner.docker.BasicProgressHandler;
+import com.awslabs.aws.greengrass.provisioner.docker.interfaces.DockerSessionHelper;
 import com.awslabs.aws.greengrass.provisioner.implementations.builders.*;
 import com.awslabs.aws.greengrass.provisioner.implementations.helpers.*;
 import com.awslabs.aws.greengrass.provisioner.interfaces.ExceptionHelper;
@@ -20,6 +22,7 @@ import software.amazon.awssdk.services.ec2.Ec2Client;
 import software.amazon.awssdk.services.ecr.EcrClient;
 import software.amazon.awssdk.services.secretsmanager.SecretsManagerClient;
 
+import javax.inject.Singleton;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
@@ -29,42 +32,51 @@ public class AwsGreengrassProvisionerModule {
     // Normal clients that need no special configuration
     // NOTE: Using this pattern allows us to wrap the creation of these clients in some error checking code that can give the user information on what to do in the case of a failure
 
+    // Singleton so every helper shares one client per service, and all of them share one HTTP connection pool
     @Provides
-    public Ec2Client provideEc2Client() {
-        return new V2SafeProvider<>(Ec2Client::create).get();
+    @Singleton
+    public Ec2Client provideEc2Client(SdkClientHelper sdkClientHelper) {
+        return new V2SafeProvider<>(() -> sdkClientHelper.buildClient(Ec2Client.builder())).get();
     }
 
     @Provides
-    public CloudWatchLogsClient provideCloudWatchLogsClient() {
-        return new V2SafeProvider<>(CloudWatchLogsClient::create).get();
+    @Singleton
+    public CloudWatchLogsClient provideCloudWatchLogsClient(SdkClientHelper sdkClientHelper) {
+        return new V2SafeProvider<>(() -> sdkClientHelper.buildClient(CloudWatchLogsClient.builder())).get();
     }
 
     @Provides
-    public CloudFormationClient provideCloudFormationClient() {
-        return new V2SafeProvider<>(CloudFormationClient::create).get();
+    @Singleton
+    public CloudFormationClient provideCloudFormationClient(SdkClientHelper sdkClientHelper) {
+        return new V2SafeProvider<>(() -> sdkClientHelper.buildClient(CloudFormationClient.builder())).get();
     }
 
     @Provides
-    public EcrClient provideEcrClient() {
-        return new V2SafeProvider<>(EcrClient::create).get();
+    @Singleton
+    public EcrClient provideEcrClient(SdkClientHelper sdkClientHelper) {
+        return new V2SafeProvider<>(() -> sdkClientHelper.buildClient(EcrClient.builder())).get();
     }
 
     @Provides
-    public SecretsManagerClient provideSecretsManagerClient() {
-        return new V2SafeProvider<>(SecretsManagerClient::create).get();
+    @Singleton
+    public SecretsManagerClient provideSecretsManagerClient(SdkClientHelper sdkClientHelper) {
+        return new V2SafeProvider<>(() -> sdkClientHelper.buildClient(SecretsManagerClient.builder())).get();
     }
 
     @Provides
+    @Singleton
     public GGConstants provideGGConstants(BasicGGConstants basicGGConstants) {
         return basicGGConstants;
     }
 
     @Provides
+    @Singleton
     public PolicyHelper providePolicyHelper(BasicPolicyHelper basicPolicyHelper) {
         return basicPolicyHelper;
     }
 
     @Provides
+    @Singleton
     public IoHelper provideIoHelper(BasicIoHelper basicIoHelper) {
         return basicIoHelper;
     }
@@ -80,6 +92,7 @@ public class AwsGreengrassProvisionerModule {
     }
 
     @Provides
+    @Singleton
     public GGVariables provideGGVariables(BasicGGVariables basicGGVariables) {
         return basicGGVariables;
     }
@@ -150,6 +163,7 @@ public class AwsGreengrassProvisionerModule {
     }
 
     @Provides
+    @Singleton
     public ArchiveHelper provideArchiveHelper(BasicArchiveHelper basicArchiveHelper) {
         return basicArchiveHelper;
     }
@@ -160,6 +174,7 @@ public class AwsGreengrassProvisionerModule {
     }
 
     @Provides
+    @Singleton
     public GlobalDefaultHelper provideGlobalDefaultHelper(BasicGlobalDefaultHelper basicGlobalDefaultHelper) {
         return basicGlobalDefaultHelper;
     }
@@ -170,6 +185,7 @@ public class AwsGreengrassProvisionerModule {
     }
 
     @Provides
+    @Singleton
     public LoggingHelper provideLoggingHelper(BasicLoggingHelper basicLoggingHelper) {
         return basicLoggingHelper;
     }
@@ -220,11 +236,87 @@ public class AwsGreengrassProvisionerModule {
         return basicHsiBootstrapArgumentHelper;
     }
 
+    @Provides
+    public FleetArgumentHelper provideFleetArgumentHelper(BasicFleetArgumentHelper basicFleetArgumentHelper) {
+        return basicFleetArgumentHelper;
+    }
+
     @Provides
     public ThreadHelper provideThreadHelper(BasicThreadHelper basicThreadHelper) {
         return basicThreadHelper;
     }
 
+    @Provides
+    public PhaseGraphHelper providePhaseGraphHelper(BasicPhaseGraphHelper basicPhaseGraphHelper) {
+        return basicPhaseGraphHelper;
+    }
+
+    // Singleton so cache statistics are shared by every builder in a run
+    @Provides
+    @Singleton
+    public BuildCacheHelper provideBuildCacheHelper(BasicBuildCacheHelper basicBuildCacheHelper) {
+        return basicBuildCacheHelper;
+    }
+
+    // Singleton so wait statistics are collected across the whole run
+    @Provides
+    @Singleton
+    public BackoffHelper provideBackoffHelper(BasicBackoffHelper basicBackoffHelper) {
+        return basicBackoffHelper;
+    }
+
+    // Singleton so lookups are shared by every helper in a run
+    @Provides
+    @Singleton
+    public LookupCacheHelper provideLookupCacheHelper(BasicLookupCacheHelper basicLookupCacheHelper) {
+        return basicLookupCacheHelper;
+    }
+
+    // Singleton so each configuration file is parsed once per run
+    @Provides
+    @Singleton
+    public ConfigCacheHelper provideConfigCacheHelper(BasicConfigCacheHelper basicConfigCacheHelper) {
+        return basicConfigCacheHelper;
+    }
+
+    // Singleton so it can tell the first request in a Lambda container from the warm ones
+    @Provides
+    @Singleton
+    public LambdaProvisioningHelper provideLambdaProvisioningHelper(BasicLambdaProvisioningHelper basicLambdaProvisioningHelper) {
+        return basicLambdaProvisioningHelper;
+    }
+
+    // Singleton so every group in a fleet shares the same limits
+    @Provides
+    @Singleton
+    public RateLimitHelper provideRateLimitHelper(BasicRateLimitHelper basicRateLimitHelper) {
+        return basicRateLimitHelper;
+    }
+
+    // Singleton so every helper records its spans and counters in the same report
+    @Provides
+    @Singleton
+    public RunReportHelper provideRunReportHelper(BasicRunReportHelper basicRunReportHelper) {
+        return basicRunReportHelper;
+    }
+
+    // Singleton so there is only one HTTP connection pool and it can be closed when the JVM exits
+    @Provides
+    @Singleton
+    public SdkClientHelper provideSdkClientHelper(BasicSdkClientHelper basicSdkClientHelper) {
+        return basicSdkClientHelper;
+    }
+
+    @Provides
+    public LogTailHelper provideLogTailHelper(BasicLogTailHelper basicLogTailHelper) {
+        return basicLogTailHelper;
+    }
+
+    @Provides
+    public LogDownloadHelper provideLogDownloadHelper(BasicLogDownloadHelper basicLogDownloadHelper) {
+        return basicLogDownloadHelper;
+    }
+
     @Provides
     public ProgressHandler provideProgressHandler(BasicProgressHandler basicProgressHandler) {
         return basicProgressHandler;
@@ -237,12 +329,14 @@ public class AwsGreengrassProvisionerModule {
                                      BasicGroupQueryHelper basicGroupQueryHelper,
                                      BasicGroupUpdateHelper basicGroupUpdateHelper,
                                      BasicGroupTestHelper basicGroupTestHelper,
-                                     BasicHsiBootstrapHelper basicHsiBootstrapHelper) {
+                                     BasicHsiBootstrapHelper basicHsiBootstrapHelper,
+                                     BasicFleetHelper basicFleetHelper) {
         return new HashSet<>(Arrays.asList(basicDeploymentHelper,
                 basicGroupQueryHelper,
                 basicGroupUpdateHelper,
                 basicGroupTestHelper,
-                basicHsiBootstrapHelper));
+                basicHsiBootstrapHelper,
+                basicFleetHelper));
     }
 
     @Provides
@@ -270,6 +364,11 @@ public class AwsGreengrassProvisionerModule {
         return basicHsiBootstrapHelper;
     }
 
+    @Provides
+    public FleetHelper provideFleetHelper(BasicFleetHelper basicFleetHelper) {
+        return basicFleetHelper;
+    }
+
     @Provides
     public DeviceTesterHelper provideDeviceTesterHelper(BasicDeviceTesterHelper basicDeviceTesterHelper) {
         return basicDeviceTesterHelper;
@@ -285,11 +384,25 @@ public class AwsGreengrassProvisionerModule {
         return basicDiagnosticsHelper;
     }
 
+    // Singleton so the SSH sessions are pooled for the whole run
     @Provides
+    @Singleton
     public SshHelper provideSshHelper(BasicSshHelper basicSshHelper) {
         return basicSshHelper;
     }
 
+    // Singleton so the Docker clients and the image and container listings are shared for the whole run
+    @Provides
+    @Singleton
+    public DockerSessionHelper provideDockerSessionHelper(BasicDockerSessionHelper basicDockerSessionHelper) {
+        return basicDockerSessionHelper;
+    }
+
+    @Provides
+    public BootstrapHelper provideBootstrapHelper(BasicBootstrapHelper basicBootstrapHelper) {
+        return basicBootstrapHelper;
+    }
+
     // Diagnostic rules used in the diagnostic helper
     @Provides
     @ElementsIntoSet
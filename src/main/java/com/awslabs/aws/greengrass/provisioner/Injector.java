@@ -1,5 +1,6 @@
 package com.awslabs.aws.greengrass.provisioner;
 
+import com.awslabs.aws.greengrass.provisioner.docker.interfaces.DockerSessionHelper;
 import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.*;
 import com.awslabs.aws.greengrass.provisioner.lambda.AwsGreengrassProvisionerLambda;
 import com.awslabs.general.helpers.interfaces.JsonHelper;
@@ -8,6 +9,9 @@ import com.awslabs.iot.helpers.interfaces.V2IotHelper;
 import com.awslabs.resultsiterator.v2.interfaces.V2SdkErrorHandler;
 import dagger.Component;
 
+import javax.inject.Singleton;
+
+@Singleton
 @Component(modules = AwsGreengrassProvisionerModule.class)
 public interface Injector {
     AwsGreengrassProvisioner awsGreengrassProvisioner();
@@ -39,4 +43,12 @@ public interface Injector {
     JsonHelper jsonHelper();
 
     IotHelper iotHelper();
+
+    SdkClientHelper sdkClientHelper();
+
+    RunReportHelper runReportHelper();
+
+    SshHelper sshHelper();
+
+    DockerSessionHelper dockerSessionHelper();
 }
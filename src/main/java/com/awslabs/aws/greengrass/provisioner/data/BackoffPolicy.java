@@ -0,0 +1,51 @@
+package com.awslabs.aws.greengrass.provisioner.data;
+
+import org.immutables.value.Value;
+
+import java.time.Duration;
+import java.util.Optional;
+
+@Value.Immutable
+public abstract class BackoffPolicy {
+    // Waits are recorded under this name
+    public abstract String getName();
+
+    // The first wait is always exactly this long and no later wait is shorter
+    public abstract Duration getMinimumDelay();
+
+    public abstract Duration getMaximumDelay();
+
+    // The total time the operation may take, including the time spent in the operation itself
+    public abstract Duration getBudget();
+
+    @Value.Default
+    public double getMultiplier() {
+        return 2.0;
+    }
+
+    @Value.Default
+    public int getMaxAttempts() {
+        return Integer.MAX_VALUE;
+    }
+
+    // Logged as a warning before each wait
+    public abstract Optional<String> getRetryMessage();
+
+    // Logged as an error when the budget or the attempts run out
+    public abstract Optional<String> getExhaustedMessage();
+
+    @Value.Check
+    protected void check() {
+        if (getMinimumDelay().isNegative() || getMaximumDelay().compareTo(getMinimumDelay()) < 0) {
+            throw new IllegalStateException(String.join("", "Backoff policy [", getName(), "] must have a maximum delay that is at least as long as its non-negative minimum delay"));
+        }
+
+        if (getMultiplier() < 1.0) {
+            throw new IllegalStateException(String.join("", "Backoff policy [", getName(), "] must not shrink its delays"));
+        }
+
+        if (getMaxAttempts() < 1) {
+            throw new IllegalStateException(String.join("", "Backoff policy [", getName(), "] must allow at least one attempt"));
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.awslabs.aws.greengrass.provisioner.data;
+
+import org.immutables.value.Value;
+
+import java.time.Duration;
+
+@Value.Immutable
+public abstract class BackoffStats {
+    // The name of the policy these statistics were recorded under
+    public abstract String getName();
+
+    public abstract long getOperations();
+
+    public abstract long getAttempts();
+
+    public abstract Duration getTotalWait();
+
+    // The most time a single operation spent waiting
+    public abstract Duration getLongestWait();
+
+    // Operations that ran out of budget or attempts
+    public abstract long getExhausted();
+}
@@ -0,0 +1,13 @@
+package com.awslabs.aws.greengrass.provisioner.data;
+
+import org.immutables.value.Value;
+
+@Value.Immutable
+public abstract class BootstrapTarget {
+    // The group whose bootstrap script (build/gg.GROUP_NAME.sh) is copied to the host
+    public abstract String getGroupName();
+
+    public abstract String getHost();
+
+    public abstract String getUser();
+}
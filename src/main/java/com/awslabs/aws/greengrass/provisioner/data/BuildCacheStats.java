@@ -0,0 +1,15 @@
+package com.awslabs.aws.greengrass.provisioner.data;
+
+import org.immutables.value.Value;
+
+@Value.Immutable
+public abstract class BuildCacheStats {
+    public abstract long getHits();
+
+    public abstract long getMisses();
+
+    // The total size of the artifacts that were reused instead of being rebuilt
+    public abstract long getBytesSaved();
+
+    public abstract long getEvictions();
+}
@@ -0,0 +1,8 @@
+package com.awslabs.aws.greengrass.provisioner.data;
+
+public enum BuilderType {
+    EXECUTABLE,
+    GRADLE,
+    PYTHON3,
+    NODE
+}
@@ -0,0 +1,17 @@
+package com.awslabs.aws.greengrass.provisioner.data;
+
+import org.immutables.value.Value;
+
+import java.time.Duration;
+
+@Value.Immutable
+public abstract class ConfigCacheStats {
+    public abstract long getParses();
+
+    public abstract long getHits();
+
+    // Files that were modified but still had the same content so they didn't need to be parsed again
+    public abstract long getUnchangedContentHits();
+
+    public abstract Duration getParseTime();
+}
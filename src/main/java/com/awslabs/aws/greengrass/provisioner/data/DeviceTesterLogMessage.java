@@ -0,0 +1,20 @@
+package com.awslabs.aws.greengrass.provisioner.data;
+
+import io.vavr.collection.Map;
+import io.vavr.control.Option;
+import org.immutables.value.Value;
+
+// A Device Tester log line that has been parsed once, pass this around instead of the raw line
+@Value.Immutable
+public abstract class DeviceTesterLogMessage {
+    public abstract String getLogMessage();
+
+    public abstract Map<String, String> getValues();
+
+    public abstract DeviceTesterLogMessageType getType();
+
+    // The value of the msg field, empty if the line didn't have one
+    public abstract String getMessage();
+
+    public abstract Option<String> getTestCaseId();
+}
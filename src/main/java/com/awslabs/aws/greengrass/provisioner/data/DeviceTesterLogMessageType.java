@@ -1,60 +1,92 @@
 package com.awslabs.aws.greengrass.provisioner.data;
 
-import java.util.function.Function;
+import java.util.function.Predicate;
 
 public enum DeviceTesterLogMessageType {
-    CHECKING_GGC_VERSION(string -> string.equals("Checking whether version of Greengrass release is correct...")),
-    RUNNING(string -> string.equals("Running test case...")),
-    FINISHED(string -> string.equals("Finished running test case...")),
-    PASS(string -> string.equals("PASS")),
-    STARTING(string -> string.equals("Starting Greengrass...")),
-    START(string -> string.equals("start Greengrass executed successfully.")),
-    STOPPING(string -> string.equals("Stopping Greengrass...")),
-    STOP(string -> string.equals("stop Greengrass executed successfully.")),
-    PROVISIONING(string -> string.equals("Provisioning Greengrass...")),
-    FINISHED_PROVISIONING(string -> string.equals("Finished provisioning Greengrass.")),
-    CREATING_GGD(string -> string.equals("Creating GGD...")),
-    FINISHED_CREATING_GGD(string -> string.equals("Finished creating GGD...")),
-    PROVISIONING_GGD(string -> string.equals("Provisioning GGD...")),
-    FINISHED_PROVISIONING_GGD(string -> string.equals("Finished provisioning GGD.")),
-    CLEANING_UP(string -> string.equals("Cleaning up resources...")),
-    FAIL_WITHOUT_DURATION(string -> string.equals("FAIL")),
-    DEPLOYING_GROUP(string -> string.equals("Deploying group onto Greengrass core...")),
-    CREATING_GREENGRASS_LAMBDAS(string -> string.equals("Creating Greengrass Lambda(s)...")),
-    FINISHED_CREATING_GREENGRASS_LAMBDAS(string -> string.equals("Finished creating Greengrass Lambda(s).")),
-    CREATING_GREENGRASS_GROUP(string -> string.equals("Creating a Greengrass group...")),
-    FINISHED_DEPLOYING_GROUP(string -> string.equals("Finished deploying group onto Greengrass core.")),
-    RESTARTING_GREENGRASS(string -> string.equals("Restarting Greengrass...")),
-    RESTARTING_GREENGRASS_SUCCESSFUL(string -> string.equals("restart Greengrass executed successfully.")),
-    ERRORS_WHEN_CLEANING_UP_RESOURCES(string -> string.equals("Errors when cleaning up resources: ")),
-    RUNNING_GREENGRASS_ALREADY_INSTALLED(string -> string.equals("Running test with Greengrass already installed on your device at /greengrass...")),
-    COULD_NOT_FIND_GREENGRASS_RELEASE(string -> string.equals("Could not find Greengrass release in the location provided \"/greengrass\" on device under test. Please confirm that the correct location was provided.")),
+    CHECKING_GGC_VERSION(MatchType.EXACT, "Checking whether version of Greengrass release is correct..."),
+    RUNNING(MatchType.EXACT, "Running test case..."),
+    FINISHED(MatchType.EXACT, "Finished running test case..."),
+    PASS(MatchType.EXACT, "PASS"),
+    STARTING(MatchType.EXACT, "Starting Greengrass..."),
+    START(MatchType.EXACT, "start Greengrass executed successfully."),
+    STOPPING(MatchType.EXACT, "Stopping Greengrass..."),
+    STOP(MatchType.EXACT, "stop Greengrass executed successfully."),
+    PROVISIONING(MatchType.EXACT, "Provisioning Greengrass..."),
+    FINISHED_PROVISIONING(MatchType.EXACT, "Finished provisioning Greengrass."),
+    CREATING_GGD(MatchType.EXACT, "Creating GGD..."),
+    FINISHED_CREATING_GGD(MatchType.EXACT, "Finished creating GGD..."),
+    PROVISIONING_GGD(MatchType.EXACT, "Provisioning GGD..."),
+    FINISHED_PROVISIONING_GGD(MatchType.EXACT, "Finished provisioning GGD."),
+    CLEANING_UP(MatchType.EXACT, "Cleaning up resources..."),
+    FAIL_WITHOUT_DURATION(MatchType.EXACT, "FAIL"),
+    DEPLOYING_GROUP(MatchType.EXACT, "Deploying group onto Greengrass core..."),
+    CREATING_GREENGRASS_LAMBDAS(MatchType.EXACT, "Creating Greengrass Lambda(s)..."),
+    FINISHED_CREATING_GREENGRASS_LAMBDAS(MatchType.EXACT, "Finished creating Greengrass Lambda(s)."),
+    CREATING_GREENGRASS_GROUP(MatchType.EXACT, "Creating a Greengrass group..."),
+    FINISHED_DEPLOYING_GROUP(MatchType.EXACT, "Finished deploying group onto Greengrass core."),
+    RESTARTING_GREENGRASS(MatchType.EXACT, "Restarting Greengrass..."),
+    RESTARTING_GREENGRASS_SUCCESSFUL(MatchType.EXACT, "restart Greengrass executed successfully."),
+    ERRORS_WHEN_CLEANING_UP_RESOURCES(MatchType.EXACT, "Errors when cleaning up resources: "),
+    RUNNING_GREENGRASS_ALREADY_INSTALLED(MatchType.EXACT, "Running test with Greengrass already installed on your device at /greengrass..."),
+    COULD_NOT_FIND_GREENGRASS_RELEASE(MatchType.EXACT, "Could not find Greengrass release in the location provided \"/greengrass\" on device under test. Please confirm that the correct location was provided."),
     // Partial matches
-    FAIL_WITH_DURATION(string -> string.startsWith("--- FAIL: ")),
-    ALL_TESTS_FINISHED(string -> string.startsWith(Constants.ALL_TESTS_FINISHED_MESSAGE)),
-    REPORT_GENERATED(string -> string.startsWith(Constants.REPORT_GENERATED_MESSAGE)),
-    TEST_TIMED_OUT(string -> string.startsWith("Test timed out")),
-    TIMED_OUT(string -> string.startsWith("Timed out")),
-    UNKNOWN_FAILURE(string -> string.startsWith("Failing")),
-    XML_SYNTAX_ERROR(string -> string.startsWith("XML syntax error")),
-    CLEANING_UP_RESOURCES_FAILED(string -> string.startsWith("Cleaning ") && string.contains("failed with error")),
-    STATUS_CODE_ERROR(string -> string.contains("status code") && string.contains("request id")),
-    CREDENTIALS_NOT_FOUND(string -> string.contains("credentials not found")),
-    TEST_EXITED_UNSUCCESSFULLY(string -> string.contains("Test exited unsuccessfully")),
-    FAIL_TO_REMOVE_GREENGRASS(string -> string.contains("Fail to remove Greengrass")),
-    FAIL_TO_RESTORE_GREENGRASS(string -> string.contains("Fail to restore Greengrass")),
-    COMMAND_ON_REMOTE_HOST_FAILED_TO_START(string -> string.contains("Async command on remote host failed to start with error")),
-    FAIL_TO_ADD_REMOTE_FILE_RESOURCE(string -> string.contains("failed to add remote file resource")),
-    EMPTY(string -> string.isEmpty());
+    FAIL_WITH_DURATION(MatchType.PREFIX, "--- FAIL: "),
+    ALL_TESTS_FINISHED(MatchType.PREFIX, Constants.ALL_TESTS_FINISHED_MESSAGE),
+    REPORT_GENERATED(MatchType.PREFIX, Constants.REPORT_GENERATED_MESSAGE),
+    TEST_TIMED_OUT(MatchType.PREFIX, "Test timed out"),
+    TIMED_OUT(MatchType.PREFIX, "Timed out"),
+    UNKNOWN_FAILURE(MatchType.PREFIX, "Failing"),
+    XML_SYNTAX_ERROR(MatchType.PREFIX, "XML syntax error"),
+    CLEANING_UP_RESOURCES_FAILED(MatchType.PREFIX, "Cleaning ", string -> string.contains("failed with error")),
+    STATUS_CODE_ERROR(MatchType.CONTAINS, "status code", string -> string.contains("request id")),
+    CREDENTIALS_NOT_FOUND(MatchType.CONTAINS, "credentials not found"),
+    TEST_EXITED_UNSUCCESSFULLY(MatchType.CONTAINS, "Test exited unsuccessfully"),
+    FAIL_TO_REMOVE_GREENGRASS(MatchType.CONTAINS, "Fail to remove Greengrass"),
+    FAIL_TO_RESTORE_GREENGRASS(MatchType.CONTAINS, "Fail to restore Greengrass"),
+    COMMAND_ON_REMOTE_HOST_FAILED_TO_START(MatchType.CONTAINS, "Async command on remote host failed to start with error"),
+    FAIL_TO_ADD_REMOTE_FILE_RESOURCE(MatchType.CONTAINS, "failed to add remote file resource"),
+    EMPTY(MatchType.EXACT, "");
 
-    private final Function<String, Boolean> matcher;
+    private final MatchType matchType;
+    private final String text;
+    // Any extra condition beyond the text, checked only after the text matches
+    private final Predicate<String> condition;
 
-    DeviceTesterLogMessageType(Function<String, Boolean> matcher) {
-        this.matcher = matcher;
+    DeviceTesterLogMessageType(MatchType matchType, String text) {
+        this(matchType, text, string -> true);
+    }
+
+    DeviceTesterLogMessageType(MatchType matchType, String text, Predicate<String> condition) {
+        this.matchType = matchType;
+        this.text = text;
+        this.condition = condition;
+    }
+
+    public MatchType getMatchType() {
+        return matchType;
+    }
+
+    public String getText() {
+        return text;
     }
 
     public boolean matches(String string) {
-        return matcher.apply(string);
+        switch (matchType) {
+            case EXACT:
+                return string.equals(text) && condition.test(string);
+            case PREFIX:
+                return string.startsWith(text) && condition.test(string);
+            case CONTAINS:
+                return string.contains(text) && condition.test(string);
+            default:
+                throw new RuntimeException(String.join("", "Unexpected match type [", matchType.name(), "]"));
+        }
+    }
+
+    public enum MatchType {
+        EXACT,
+        PREFIX,
+        CONTAINS
     }
 
     public static class Constants {
@@ -0,0 +1,17 @@
+package com.awslabs.aws.greengrass.provisioner.data;
+
+import org.immutables.value.Value;
+
+import java.time.Duration;
+import java.util.Optional;
+
+@Value.Immutable
+public abstract class FleetGroupResult {
+    public abstract String getGroupName();
+
+    public abstract boolean isSuccessful();
+
+    public abstract Optional<String> getError();
+
+    public abstract Duration getDuration();
+}
@@ -0,0 +1,17 @@
+package com.awslabs.aws.greengrass.provisioner.data;
+
+import org.immutables.value.Value;
+
+import java.time.Duration;
+import java.util.Map;
+
+@Value.Immutable
+public abstract class LambdaProvisioningResult {
+    // The contents of each OEM file keyed by its path in the OEM archive
+    public abstract Map<String, String> getOemFiles();
+
+    // True for the first request handled by this container
+    public abstract boolean isColdStart();
+
+    public abstract Duration getDuration();
+}
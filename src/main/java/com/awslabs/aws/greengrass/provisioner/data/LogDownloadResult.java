@@ -0,0 +1,28 @@
+package com.awslabs.aws.greengrass.provisioner.data;
+
+import org.immutables.value.Value;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Value.Immutable
+public abstract class LogDownloadResult {
+    public abstract String getLogGroupName();
+
+    public abstract Path getFile();
+
+    // True if the download continued from the token saved by an earlier download
+    public abstract boolean isResumed();
+
+    public abstract long getEvents();
+
+    public abstract long getPages();
+
+    // Size of the log messages, before compression
+    public abstract long getBytesDownloaded();
+
+    // Size added to the file on disk, after compression
+    public abstract long getBytesWritten();
+
+    public abstract Duration getDuration();
+}
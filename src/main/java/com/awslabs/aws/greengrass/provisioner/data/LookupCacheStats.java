@@ -0,0 +1,16 @@
+package com.awslabs.aws.greengrass.provisioner.data;
+
+import org.immutables.value.Value;
+
+@Value.Immutable
+public abstract class LookupCacheStats {
+    public abstract String getName();
+
+    // Includes callers that waited for a lookup that was already in flight
+    public abstract long getHits();
+
+    public abstract long getDiskHits();
+
+    // Each miss is one remote call
+    public abstract long getMisses();
+}
@@ -0,0 +1,28 @@
+package com.awslabs.aws.greengrass.provisioner.data;
+
+import org.immutables.value.Value;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+@Value.Immutable
+public abstract class LookupKey<T> {
+    // Used for statistics, lookups with the same name and different qualifiers are counted together
+    public abstract String getName();
+
+    // Everything the value depends on, usually the region
+    public abstract List<String> getQualifiers();
+
+    public abstract Class<T> getType();
+
+    // When present the value is also written to disk and reused by later runs until it is this old
+    public abstract Optional<Duration> getTimeToLive();
+
+    @Value.Check
+    protected void check() {
+        if (getTimeToLive().isPresent() && !String.class.equals(getType())) {
+            throw new IllegalStateException(String.join("", "Only string values can be persisted, [", getName(), "] is a [", getType().getName(), "]"));
+        }
+    }
+}
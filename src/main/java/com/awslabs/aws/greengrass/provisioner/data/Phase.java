@@ -0,0 +1,17 @@
+package com.awslabs.aws.greengrass.provisioner.data;
+
+import io.vavr.CheckedFunction1;
+import org.immutables.value.Value;
+
+import java.util.List;
+
+@Value.Immutable
+public abstract class Phase {
+    // The phase's output is stored under its name
+    public abstract String getName();
+
+    // The names of the phases whose outputs this phase reads, it will not run until they have all completed
+    public abstract List<String> getInputs();
+
+    public abstract CheckedFunction1<PhaseResults, Object> getTask();
+}
@@ -0,0 +1,59 @@
+package com.awslabs.aws.greengrass.provisioner.data;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class PhaseResults {
+    private final Map<String, Optional<Object>> outputs;
+    private final Optional<Set<String>> optionalVisibleNames;
+
+    public PhaseResults() {
+        this(new ConcurrentHashMap<>(), Optional.empty());
+    }
+
+    private PhaseResults(Map<String, Optional<Object>> outputs, Optional<Set<String>> optionalVisibleNames) {
+        this.outputs = outputs;
+        this.optionalVisibleNames = optionalVisibleNames;
+    }
+
+    public <T> T get(String name) {
+        if (optionalVisibleNames.isPresent() && !optionalVisibleNames.get().contains(name)) {
+            throw new RuntimeException(String.join("", "The output of phase [", name, "] was requested but it is not a declared input"));
+        }
+
+        Optional<Object> optionalOutput = outputs.get(name);
+
+        if (optionalOutput == null) {
+            throw new RuntimeException(String.join("", "The output of phase [", name, "] is not available"));
+        }
+
+        return (T) optionalOutput.orElse(null);
+    }
+
+    public boolean contains(String name) {
+        return outputs.containsKey(name);
+    }
+
+    public int size() {
+        return outputs.size();
+    }
+
+    public void put(String name, Object output) {
+        // Phases that are only run for their side effects return NULL, ConcurrentHashMap does not allow NULL values
+        outputs.put(name, Optional.ofNullable(output));
+    }
+
+    /**
+     * Returns a view of these results that only allows access to the outputs of the specified phases
+     *
+     * @param names
+     * @return
+     */
+    public PhaseResults restrictTo(List<String> names) {
+        return new PhaseResults(outputs, Optional.of(new HashSet<>(names)));
+    }
+}
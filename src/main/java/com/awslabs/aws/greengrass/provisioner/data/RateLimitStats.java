@@ -0,0 +1,17 @@
+package com.awslabs.aws.greengrass.provisioner.data;
+
+import org.immutables.value.Value;
+
+import java.time.Duration;
+
+@Value.Immutable
+public abstract class RateLimitStats {
+    public abstract String getApiFamily();
+
+    public abstract long getRequests();
+
+    // Requests that had to wait for the limiter before they were sent
+    public abstract long getDelayedRequests();
+
+    public abstract Duration getTotalWait();
+}
@@ -0,0 +1,26 @@
+package com.awslabs.aws.greengrass.provisioner.data;
+
+import org.immutables.value.Value;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+@Value.Immutable
+public abstract class RunReport {
+    public abstract Instant getStart();
+
+    public abstract Duration getDuration();
+
+    // In the order they were started
+    public abstract List<RunReportSpan> getSpans();
+
+    // The totals include the work that was done outside of any span
+    public abstract long getApiCalls();
+
+    public abstract long getRetries();
+
+    public abstract long getBytesSent();
+
+    public abstract long getBytesReceived();
+}
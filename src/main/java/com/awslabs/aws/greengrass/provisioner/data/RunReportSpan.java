@@ -0,0 +1,36 @@
+package com.awslabs.aws.greengrass.provisioner.data;
+
+import org.immutables.value.Value;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+@Value.Immutable
+public abstract class RunReportSpan {
+    // Every span started from the same top level span shares its trace ID
+    public abstract String getTraceId();
+
+    public abstract String getSpanId();
+
+    public abstract Optional<String> getParentSpanId();
+
+    public abstract String getName();
+
+    public abstract Instant getStart();
+
+    public abstract Duration getDuration();
+
+    public abstract boolean isSuccessful();
+
+    public abstract Optional<String> getError();
+
+    // The counters only include the work done directly in this span, not in the spans it started
+    public abstract long getApiCalls();
+
+    public abstract long getRetries();
+
+    public abstract long getBytesSent();
+
+    public abstract long getBytesReceived();
+}
@@ -0,0 +1,13 @@
+package com.awslabs.aws.greengrass.provisioner.data;
+
+import org.immutables.value.Value;
+
+@Value.Immutable
+public abstract class SdkClientStats {
+    public abstract long getClientsCreated();
+
+    public abstract long getApiCalls();
+
+    // The pool only opens a new connection when none are idle so this is how many connections the run needed
+    public abstract int getPeakConnectionsInUse();
+}
@@ -0,0 +1,91 @@
+package com.awslabs.aws.greengrass.provisioner.data;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Topic filters stored one level per node so the filters that could match a topic are found by walking the topic's
+ * levels instead of comparing the topic to every filter
+ */
+public class TopicFilterTrie {
+    private static final String SINGLE_LEVEL_WILDCARD = "+";
+    private static final String MULTILEVEL_WILDCARD = "#";
+    private final Node root = new Node();
+
+    /**
+     * @param topicFilter
+     * @param levels      the topic filter already split into its levels
+     */
+    public void add(String topicFilter, List<String> levels) {
+        Node node = root;
+
+        for (String level : levels) {
+            node = node.children.computeIfAbsent(level, key -> new Node());
+        }
+
+        node.topicFilters.add(topicFilter);
+    }
+
+    /**
+     * Finds the topic filters that could match a topic, both the topic and the filters can contain wildcards. This can
+     * return filters that don't match, callers must still compare the topic to each candidate.
+     *
+     * @param levels the topic already split into its levels
+     * @return
+     */
+    public List<String> getCandidates(List<String> levels) {
+        List<String> candidates = new ArrayList<>();
+
+        collectCandidates(root, levels, 0, candidates);
+
+        return candidates;
+    }
+
+    private void collectCandidates(Node node, List<String> levels, int depth, List<String> candidates) {
+        String level = levels.get(depth);
+
+        if (SINGLE_LEVEL_WILDCARD.equals(level) || MULTILEVEL_WILDCARD.equals(level)) {
+            // A wildcard in the topic can match any level in the filters
+            node.children.forEach((childLevel, child) -> collectCandidates(childLevel, child, levels, depth, candidates));
+            return;
+        }
+
+        // Otherwise only the same level or a wildcard in the filters can match
+        for (String childLevel : new String[]{level, SINGLE_LEVEL_WILDCARD, MULTILEVEL_WILDCARD}) {
+            Node child = node.children.get(childLevel);
+
+            if (child != null) {
+                collectCandidates(childLevel, child, levels, depth, candidates);
+            }
+        }
+    }
+
+    private void collectCandidates(String childLevel, Node child, List<String> levels, int depth, List<String> candidates) {
+        // Filters that end at this level
+        candidates.addAll(child.topicFilters);
+
+        if (depth < levels.size() - 1) {
+            collectCandidates(child, levels, depth + 1, candidates);
+            return;
+        }
+
+        // This is the topic's last level, longer filters can only match if the topic ends in a multilevel wildcard or
+        // the filter has a single level wildcard here
+        if (MULTILEVEL_WILDCARD.equals(levels.get(depth)) || SINGLE_LEVEL_WILDCARD.equals(childLevel)) {
+            child.children.values().forEach(grandchild -> collectAllTopicFilters(grandchild, candidates));
+        }
+    }
+
+    private void collectAllTopicFilters(Node node, List<String> candidates) {
+        candidates.addAll(node.topicFilters);
+
+        node.children.values().forEach(child -> collectAllTopicFilters(child, candidates));
+    }
+
+    private static class Node {
+        private final Map<String, Node> children = new HashMap<>();
+        private final List<String> topicFilters = new ArrayList<>();
+    }
+}
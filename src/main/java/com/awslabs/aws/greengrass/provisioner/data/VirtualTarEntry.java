@@ -1,19 +1,18 @@
 package com.awslabs.aws.greengrass.provisioner.data;
 
+import io.vavr.CheckedFunction0;
 import org.immutables.value.Value;
-import org.kamranzafar.jtar.TarEntry;
 
 import java.io.InputStream;
 
 @Value.Immutable
 public abstract class VirtualTarEntry {
-    public abstract byte[] getContent();
-
     public abstract String getFilename();
 
     public abstract int getPermissions();
 
-    public abstract TarEntry getTarEntry();
+    public abstract long getSize();
 
-    public abstract InputStream getInputStream();
+    // Opens a new stream each time so the content is only read while the archive is being written
+    public abstract CheckedFunction0<InputStream> getInputStreamSupplier();
 }
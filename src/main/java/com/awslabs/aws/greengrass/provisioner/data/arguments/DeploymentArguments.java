@@ -1,9 +1,13 @@
 package com.awslabs.aws.greengrass.provisioner.data.arguments;
 
 import com.awslabs.aws.greengrass.provisioner.data.Architecture;
+import com.awslabs.aws.greengrass.provisioner.data.BuilderType;
 import com.awslabs.aws.greengrass.provisioner.data.EC2LinuxVersion;
 import com.beust.jcommander.Parameter;
 
+import java.util.EnumMap;
+import java.util.Map;
+
 public class DeploymentArguments extends Arguments {
     public static final String SHORT_DEPLOYMENT_CONFIG_OPTION = "-d";
     public static final String LONG_OEM_OUTPUT_OPTION = "--oem";
@@ -32,6 +36,7 @@ public class DeploymentArguments extends Arguments {
     private final String LONG_S3_BUCKET_OPTION = "--s3-bucket";
     private final String LONG_S3_DIRECTORY_OPTION = "--s3-directory";
     private final String LONG_MQTT_PORT_OPTION = "--mqtt-port";
+    private final String LONG_MAX_CONCURRENT_BUILDS_OPTION = "--max-concurrent-builds";
     @Parameter(names = {LONG_ARCHITECTURE_OPTION, SHORT_ARCHITECTURE_OPTION}, description = "Architecture (X86_64, ARM32, ARM64)")
     public String architectureString;
     //    private static final String LONG_DOCKER_SCRIPT_OUTPUT_OPTION = "--docker-script";
@@ -87,6 +92,8 @@ public class DeploymentArguments extends Arguments {
     public String certificateArn;
     @Parameter(names = {LONG_MQTT_PORT_OPTION}, description = "The MQTT port that the Greengrass core should listen on")
     public int mqttPort;
+    @Parameter(names = {LONG_MAX_CONCURRENT_BUILDS_OPTION}, description = "The maximum number of functions to build at the same time for each builder type, e.g. GRADLE=1,PYTHON3=2 (builder types left out keep their defaults)", converter = MaxConcurrentBuildsConverter.class)
+    public Map<BuilderType, Integer> maxConcurrentBuilds = new EnumMap<>(BuilderType.class);
     @Parameter(names = "--help", help = true)
     private boolean help;
 
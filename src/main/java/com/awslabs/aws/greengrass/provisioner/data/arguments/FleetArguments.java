@@ -0,0 +1,38 @@
+package com.awslabs.aws.greengrass.provisioner.data.arguments;
+
+import com.beust.jcommander.Parameter;
+
+public class FleetArguments extends Arguments {
+    private final String LONG_FLEET_OPTION = "--fleet";
+    public static final String LONG_MAX_CONCURRENT_GROUPS_OPTION = "--max-concurrent-groups";
+    private final String LONG_RESULTS_OPTION = "--results";
+    public static final String LONG_MAX_CONCURRENT_BOOTSTRAPS_OPTION = "--max-concurrent-bootstraps";
+    public static final String LONG_BOOTSTRAP_TIMEOUT_OPTION = "--bootstrap-timeout";
+    @Parameter(names = {LONG_FLEET_OPTION}, description = "Deploy every group in the specified fleet manifest")
+    public String manifestFilename;
+    @Parameter(names = {LONG_MAX_CONCURRENT_GROUPS_OPTION}, description = "The maximum number of groups to deploy at the same time (overrides the manifest)")
+    public Integer maxConcurrentGroups;
+    @Parameter(names = {LONG_RESULTS_OPTION}, description = "Where to write the JSON summary of each group's result (default: build/fleet.MANIFEST_NAME.json)")
+    public String resultsFilename;
+    @Parameter(names = {LONG_MAX_CONCURRENT_BOOTSTRAPS_OPTION}, description = "The maximum number of hosts to bootstrap at the same time for groups with a launch destination (overrides the manifest)")
+    public Integer maxConcurrentBootstraps;
+    @Parameter(names = {LONG_BOOTSTRAP_TIMEOUT_OPTION}, description = "The number of seconds a single host has to copy and start its bootstrap script (default: 300)")
+    public Integer bootstrapTimeoutSeconds;
+    @Parameter(names = "--help", help = true)
+    private boolean help;
+
+    @Override
+    public String getRequiredOptionName() {
+        return LONG_FLEET_OPTION;
+    }
+
+    @Override
+    public boolean isRequiredOptionSet() {
+        return (manifestFilename != null);
+    }
+
+    @Override
+    public boolean isHelp() {
+        return help;
+    }
+}
@@ -0,0 +1,48 @@
+package com.awslabs.aws.greengrass.provisioner.data.arguments;
+
+import com.awslabs.aws.greengrass.provisioner.data.BuilderType;
+import com.beust.jcommander.IStringConverter;
+import io.vavr.control.Try;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public class MaxConcurrentBuildsConverter implements IStringConverter<Map<BuilderType, Integer>> {
+    @Override
+    public Map<BuilderType, Integer> convert(String stringValue) {
+        List<String> keyValuePairs = Arrays.asList(stringValue.split(","));
+
+        Map<BuilderType, Integer> maxConcurrentBuilds = new EnumMap<>(BuilderType.class);
+
+        for (String keyValuePair : keyValuePairs) {
+            List<String> keyAndValue = Arrays.asList(keyValuePair.split("="));
+
+            if (keyAndValue.size() != 2) {
+                throw new RuntimeException(String.join("", "Key value pair in max concurrent builds [", keyValuePair, "] is not valid"));
+            }
+
+            String key = keyAndValue.get(0);
+            String value = keyAndValue.get(1);
+
+            BuilderType builderType = Try.of(() -> BuilderType.valueOf(key))
+                    .getOrElseThrow(throwable -> new RuntimeException(String.join("", "No match for builder type [", key, "], valid options are [", getBuilderTypeNames(), "]")));
+
+            int maxConcurrentBuildsForType = Try.of(() -> Integer.parseInt(value))
+                    .filter(parsedValue -> parsedValue > 0)
+                    .getOrElseThrow(throwable -> new RuntimeException(String.join("", "Max concurrent builds for builder type [", key, "] must be a positive integer, not [", value, "]")));
+
+            maxConcurrentBuilds.put(builderType, maxConcurrentBuildsForType);
+        }
+
+        return maxConcurrentBuilds;
+    }
+
+    private String getBuilderTypeNames() {
+        return Arrays.stream(BuilderType.values())
+                .map(BuilderType::name)
+                .collect(Collectors.joining(", "));
+    }
+}
@@ -12,6 +12,8 @@ public class QueryArguments extends Arguments {
     private final String LONG_DOWNLOAD_LOGS = "--download-logs";
     private final String LONG_WATCH_LOGS = "--watch-logs";
     private final String LONG_DIAGNOSE = "--diagnose";
+    private final String LONG_COMPRESS_LOGS = "--compress-logs";
+    private final String LONG_RESUME_LOGS = "--resume-logs";
     @Parameter(names = {LONG_QUERY_GROUP_OPTION}, description = "Query an existing Greengrass group (must specify additional options)")
     public boolean queryGroup;
     @Parameter(names = {LONG_GROUP_NAME_OPTION, SHORT_GROUP_NAME_OPTION}, description = "The name of the Greengrass group")
@@ -28,6 +30,10 @@ public class QueryArguments extends Arguments {
     public boolean writeToFile;
     @Parameter(names = {LONG_DOWNLOAD_LOGS}, description = "Download the group's CloudWatch logs")
     public boolean downloadLogs;
+    @Parameter(names = {LONG_COMPRESS_LOGS}, description = "(Optional) Gzip the downloaded logs")
+    public boolean compressLogs;
+    @Parameter(names = {LONG_RESUME_LOGS}, description = "(Optional) Continue the last log download instead of starting over")
+    public boolean resumeLogs;
     @Parameter(names = {LONG_DIAGNOSE}, description = "Diagnose Greengrass issues")
     public boolean diagnose;
     @Parameter(names = {LONG_WATCH_LOGS}, description = "Watch the group's CloudWatch logs")
@@ -4,6 +4,7 @@ import io.vavr.Tuple3;
 import software.amazon.awssdk.services.cloudwatchlogs.model.LogGroup;
 import software.amazon.awssdk.services.cloudwatchlogs.model.LogStream;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,6 +15,16 @@ public interface DiagnosticRule {
 
     Optional<List<String>> evaluate(Tuple3<LogGroup, LogStream, List<String>> input);
 
+    /**
+     * Text that appears in every line this rule can match. Lines without any of it are never passed to the rule, so the
+     * rule's patterns and JSON parsing only run on lines that could match
+     *
+     * @return the literals, or an empty list if the rule needs to see every line
+     */
+    default List<String> getLiterals() {
+        return Collections.emptyList();
+    }
+
     default boolean isGgIpDetectorLog(Tuple3<LogGroup, LogStream, List<String>> input) {
         return input._1.logGroupName().endsWith(GGIP_DETECTOR);
     }
@@ -20,6 +20,11 @@ public class FunctionTimedOutDiagnosticRule implements DiagnosticRule {
     public FunctionTimedOutDiagnosticRule() {
     }
 
+    @Override
+    public List<String> getLiterals() {
+        return Collections.singletonList("WorkItem reached max retry limit");
+    }
+
     @Override
     public Optional<List<String>> evaluate(Tuple3<LogGroup, LogStream, List<String>> input) {
         if (!isRuntimeLog(input)) {
@@ -20,6 +20,11 @@ public class FunctionTimingOutDiagnosticRule implements DiagnosticRule {
     public FunctionTimingOutDiagnosticRule() {
     }
 
+    @Override
+    public List<String> getLiterals() {
+        return Collections.singletonList("Timing out work item");
+    }
+
     @Override
     public Optional<List<String>> evaluate(Tuple3<LogGroup, LogStream, List<String>> input) {
         if (!isRuntimeLog(input)) {
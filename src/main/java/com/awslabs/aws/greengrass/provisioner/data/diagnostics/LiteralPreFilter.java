@@ -0,0 +1,140 @@
+package com.awslabs.aws.greengrass.provisioner.data.diagnostics;
+
+import java.util.*;
+
+/**
+ * Compiles the literals from all of the diagnostic rules into one Aho-Corasick automaton so each line is scanned once,
+ * no matter how many rules there are, to find the rules that could match it
+ */
+public class LiteralPreFilter {
+    private static final int ROOT = 0;
+    private final List<DiagnosticRule> rulesWithLiterals = new ArrayList<>();
+    private final List<DiagnosticRule> rulesWithoutLiterals = new ArrayList<>();
+    // Characters that don't appear in any literal share class 0 so the transition table stays small
+    private final int[] characterClasses = new int[Character.MAX_VALUE + 1];
+    private final int[][] transitions;
+    // The rules whose literals end at each state, null when there are none
+    private final BitSet[] outputs;
+
+    public LiteralPreFilter(Collection<DiagnosticRule> diagnosticRules) {
+        List<Map<Character, Integer>> children = new ArrayList<>();
+        List<BitSet> trieOutputs = new ArrayList<>();
+        children.add(new HashMap<>());
+        trieOutputs.add(null);
+
+        int classCount = 1;
+
+        for (DiagnosticRule diagnosticRule : diagnosticRules) {
+            if (diagnosticRule.getLiterals().isEmpty()) {
+                rulesWithoutLiterals.add(diagnosticRule);
+                continue;
+            }
+
+            int ruleIndex = rulesWithLiterals.size();
+            rulesWithLiterals.add(diagnosticRule);
+
+            for (String literal : diagnosticRule.getLiterals()) {
+                if (literal.isEmpty()) {
+                    throw new RuntimeException(String.join("", "Diagnostic rule [", diagnosticRule.getClass().getSimpleName(), "] has an empty literal"));
+                }
+
+                int state = ROOT;
+
+                for (char character : literal.toCharArray()) {
+                    if (characterClasses[character] == 0) {
+                        characterClasses[character] = classCount++;
+                    }
+
+                    Integer next = children.get(state).get(character);
+
+                    if (next == null) {
+                        next = children.size();
+                        children.add(new HashMap<>());
+                        trieOutputs.add(null);
+                        children.get(state).put(character, next);
+                    }
+
+                    state = next;
+                }
+
+                if (trieOutputs.get(state) == null) {
+                    trieOutputs.set(state, new BitSet());
+                }
+
+                trieOutputs.get(state).set(ruleIndex);
+            }
+        }
+
+        transitions = new int[children.size()][classCount];
+        outputs = trieOutputs.toArray(new BitSet[0]);
+
+        buildTransitions(children);
+    }
+
+    private void buildTransitions(List<Map<Character, Integer>> children) {
+        int[] failures = new int[children.size()];
+        Deque<Integer> queue = new ArrayDeque<>();
+
+        children.get(ROOT).forEach((character, child) -> {
+            transitions[ROOT][characterClasses[character]] = child;
+            queue.add(child);
+        });
+
+        // Breadth first so a state's failure state is always complete before the state itself
+        while (!queue.isEmpty()) {
+            int state = queue.remove();
+            int failure = failures[state];
+
+            // Every missing transition jumps straight to where the failure links would end up, scanning never backtracks
+            System.arraycopy(transitions[failure], 0, transitions[state], 0, transitions[state].length);
+
+            for (Map.Entry<Character, Integer> entry : children.get(state).entrySet()) {
+                int characterClass = characterClasses[entry.getKey()];
+                int child = entry.getValue();
+
+                failures[child] = transitions[failure][characterClass];
+                transitions[state][characterClass] = child;
+                queue.add(child);
+            }
+
+            if (outputs[failure] != null) {
+                if (outputs[state] == null) {
+                    outputs[state] = new BitSet();
+                }
+
+                // Literals that are suffixes of this one end here too
+                outputs[state].or(outputs[failure]);
+            }
+        }
+    }
+
+    /**
+     * @param line
+     * @return the rules that could match the line, usually none
+     */
+    public List<DiagnosticRule> getCandidates(String line) {
+        int state = ROOT;
+        BitSet matches = null;
+
+        for (int index = 0; index < line.length(); index++) {
+            state = transitions[state][characterClasses[line.charAt(index)]];
+
+            if (outputs[state] != null) {
+                if (matches == null) {
+                    matches = new BitSet();
+                }
+
+                matches.or(outputs[state]);
+            }
+        }
+
+        if (matches == null) {
+            return rulesWithoutLiterals;
+        }
+
+        List<DiagnosticRule> candidates = new ArrayList<>(rulesWithoutLiterals);
+        matches.stream().mapToObj(rulesWithLiterals::get).forEach(candidates::add);
+
+        return candidates;
+    }
+}
@@ -19,6 +19,11 @@ public class MissingRuntimeWithJsonErrorDiagnosticRule1 implements MissingRuntim
     public MissingRuntimeWithJsonErrorDiagnosticRule1() {
     }
 
+    @Override
+    public List<String> getLiterals() {
+        return Collections.singletonList("runtime execution error: unable to start lambda container");
+    }
+
     @Override
     public Pattern getFindJsonPattern() {
         return findJsonPattern;
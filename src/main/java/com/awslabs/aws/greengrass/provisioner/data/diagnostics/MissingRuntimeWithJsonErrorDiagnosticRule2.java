@@ -20,6 +20,11 @@ public class MissingRuntimeWithJsonErrorDiagnosticRule2 implements MissingRuntim
     public MissingRuntimeWithJsonErrorDiagnosticRule2() {
     }
 
+    @Override
+    public List<String> getLiterals() {
+        return Collections.singletonList("Failed to start worker");
+    }
+
     @Override
     public Pattern getFindJsonPattern() {
         return findJsonPattern;
@@ -1,16 +1,24 @@
 package com.awslabs.aws.greengrass.provisioner.data.diagnostics;
 
 import javax.inject.Inject;
+import java.util.Collections;
+import java.util.List;
 import java.util.regex.Pattern;
 
 public class MissingRuntimeWithTextErrorDiagnosticRule1 implements MissingRuntimeWithoutJsonDiagnosticRule {
+    private final Pattern pattern = Pattern.compile(".*unable to create worker process for (.*). cannot find executable (.*) under any of the provided paths.*");
+
     @Inject
     public MissingRuntimeWithTextErrorDiagnosticRule1() {
     }
 
     @Override
-    public Pattern getPattern() {
-        return Pattern.compile(".*unable to create worker process for (.*). cannot find executable (.*) under any of the provided paths.*");
+    public List<String> getLiterals() {
+        return Collections.singletonList("unable to create worker process for ");
+    }
 
+    @Override
+    public Pattern getPattern() {
+        return pattern;
     }
 }
@@ -18,6 +18,11 @@ public class NoConnectivityInformationDiagnosticRule implements DiagnosticRule {
     public NoConnectivityInformationDiagnosticRule() {
     }
 
+    @Override
+    public List<String> getLiterals() {
+        return Collections.singletonList("We do not have connectivity information for this GGC");
+    }
+
     @Override
     public Optional<List<String>> evaluate(Tuple3<LogGroup, LogStream, List<String>> input) {
         if (!isGgDeviceCertificateManager(input)) {
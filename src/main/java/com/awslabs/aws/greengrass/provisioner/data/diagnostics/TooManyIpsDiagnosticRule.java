@@ -18,6 +18,11 @@ public class TooManyIpsDiagnosticRule implements DiagnosticRule {
     public TooManyIpsDiagnosticRule() {
     }
 
+    @Override
+    public List<String> getLiterals() {
+        return Collections.singletonList("Too many items in the Connectivity Information list");
+    }
+
     @Override
     public Optional<List<String>> evaluate(Tuple3<LogGroup, LogStream, List<String>> input) {
         if (!isGgIpDetectorLog(input)) {
@@ -3,6 +3,7 @@ package com.awslabs.aws.greengrass.provisioner.docker;
 import com.awslabs.aws.greengrass.provisioner.data.Architecture;
 import com.awslabs.aws.greengrass.provisioner.docker.interfaces.DockerClientProvider;
 import com.awslabs.aws.greengrass.provisioner.docker.interfaces.DockerHelper;
+import com.awslabs.aws.greengrass.provisioner.docker.interfaces.DockerSessionHelper;
 import com.awslabs.aws.greengrass.provisioner.interfaces.ExceptionHelper;
 import com.awslabs.iot.data.GreengrassGroupName;
 import com.spotify.docker.client.DockerClient;
@@ -15,15 +16,19 @@ import io.vavr.control.Try;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import software.amazon.awssdk.services.ecr.EcrClient;
+import software.amazon.awssdk.services.ecr.model.BatchGetImageRequest;
 import software.amazon.awssdk.services.ecr.model.CreateRepositoryRequest;
 import software.amazon.awssdk.services.ecr.model.DescribeRepositoriesRequest;
 import software.amazon.awssdk.services.ecr.model.DescribeRepositoriesResponse;
+import software.amazon.awssdk.services.ecr.model.ImageIdentifier;
 import software.amazon.awssdk.services.ecr.model.RepositoryNotFoundException;
 
 import java.io.File;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import static io.vavr.API.*;
@@ -33,6 +38,9 @@ public abstract class AbstractDockerHelper implements DockerHelper {
     private static String dockerFileDirectory = String.join("/",
             "foundation",
             "docker");
+    // ACCOUNT_ID.dkr.ecr.REGION.amazonaws.com/REPOSITORY:TAG
+    private static final Pattern ECR_IMAGE_PATTERN = Pattern.compile("^([0-9]{12})\\.dkr\\.ecr\\.[a-z0-9-]+\\.amazonaws\\.com/([^:@]+):([^:@/]+)$");
+    private static final String RUNNING_STATE = "running";
     private final Logger log = LoggerFactory.getLogger(AbstractDockerHelper.class);
     private Optional<String> ecrRepositoryName;
     private Optional<String> ecrImageName;
@@ -41,6 +49,8 @@ public abstract class AbstractDockerHelper implements DockerHelper {
 
     abstract DockerClientProvider getDockerClientProvider();
 
+    protected abstract DockerSessionHelper getDockerSessionHelper();
+
     @Override
     public File getDockerfileForArchitecture(Architecture architecture) {
         String dockerfileName = String.join(".",
@@ -68,12 +78,13 @@ public abstract class AbstractDockerHelper implements DockerHelper {
     }
 
     private List<Image> listImages() throws DockerException, InterruptedException {
-        try (DockerClient dockerClient = getDockerClient()) {
-            return dockerClient.listImages(DockerClient.ListImagesParam.allImages());
-        }
+        return getDockerSessionHelper().listImages(getDockerClientProvider());
     }
 
-    protected abstract DockerClient getDockerClient();
+    // Shared for the whole run, don't close it
+    protected DockerClient getDockerClient() {
+        return getDockerSessionHelper().getDockerClient(getDockerClientProvider());
+    }
 
     @Override
     public void setEcrRepositoryName(Optional<String> ecrRepositoryName) {
@@ -137,8 +148,7 @@ public abstract class AbstractDockerHelper implements DockerHelper {
     @Override
     public Optional<Image> getImageFromTag(String tag) {
         Optional<Image> optionalImage = Try.of(() -> listImages().stream()
-                .filter(image -> image.repoTags() != null)
-                .filter(image -> image.repoTags().stream().anyMatch(s -> s.equals(tag)))
+                .filter(image -> hasTagOrDigest(image, tag))
                 .findFirst())
                 .recover(DockerException.class, this::printFailedToListImagesFromDockerAndReturnEmpty)
                 .recover(InterruptedException.class, this::printFailedToListImagesFromDockerAndReturnEmpty)
@@ -153,6 +163,15 @@ public abstract class AbstractDockerHelper implements DockerHelper {
         return optionalImage;
     }
 
+    private boolean hasTagOrDigest(Image image, String tagOrDigest) {
+        if ((image.repoTags() != null) && image.repoTags().contains(tagOrDigest)) {
+            return true;
+        }
+
+        // Images pulled by digest are referenced as REPOSITORY@sha256:...
+        return (image.repoDigests() != null) && image.repoDigests().contains(tagOrDigest);
+    }
+
     private Optional<Image> printFailedToListImagesFromDockerAndReturnEmpty(Throwable throwable) {
         log.error(String.join("", "Failed to list images from Docker [", throwable.getMessage(), "]"));
         return Optional.empty();
@@ -168,13 +187,15 @@ public abstract class AbstractDockerHelper implements DockerHelper {
 
         Image image = optionalImage.get();
 
-        try (DockerClient dockerClient = getDockerClient()) {
-            return Optional.of(dockerClient.createContainer(ContainerConfig.builder()
+        try {
+            return Optional.of(getDockerClient().createContainer(ContainerConfig.builder()
                     .image(image.id())
                     .build(), greengrassGroupName.getGroupName()).id());
         } catch (DockerException | InterruptedException e) {
             log.error(String.join("", "Couldn't create container [", e.getMessage(), "]"));
             throw new RuntimeException(e);
+        } finally {
+            getDockerSessionHelper().invalidateContainers();
         }
     }
 
@@ -188,9 +209,10 @@ public abstract class AbstractDockerHelper implements DockerHelper {
 
         String containerId = optionalContainerId.get();
 
-        try (DockerClient dockerClient = getDockerClient()) {
-            if (!isContainerRunning(greengrassGroupName, dockerClient)) {
-                dockerClient.startContainer(containerId);
+        try {
+            if (!isContainerRunning(greengrassGroupName)) {
+                getDockerClient().startContainer(containerId);
+                getDockerSessionHelper().invalidateContainers();
             } else {
                 log.info("The Docker container for this core is already running locally, the core should be redeploying now");
             }
@@ -200,14 +222,15 @@ public abstract class AbstractDockerHelper implements DockerHelper {
         }
     }
 
-    protected Optional<Container> getContainerByName(GreengrassGroupName greengrassGroupName, DockerClient dockerClient) throws DockerException, InterruptedException {
-        return dockerClient.listContainers(DockerClient.ListContainersParam.allContainers(true)).stream()
+    protected Optional<Container> getContainerByName(GreengrassGroupName greengrassGroupName) throws DockerException, InterruptedException {
+        return getDockerSessionHelper().listContainers(getDockerClientProvider()).stream()
                 .filter(getContainerPredicate(greengrassGroupName))
                 .findFirst();
     }
 
-    protected boolean isContainerRunning(GreengrassGroupName greengrassGroupName, DockerClient dockerClient) throws DockerException, InterruptedException {
-        return dockerClient.listContainers(DockerClient.ListContainersParam.withStatusRunning()).stream()
+    protected boolean isContainerRunning(GreengrassGroupName greengrassGroupName) throws DockerException, InterruptedException {
+        return getDockerSessionHelper().listContainers(getDockerClientProvider()).stream()
+                .filter(container -> RUNNING_STATE.equals(container.state()))
                 .anyMatch(getContainerPredicate(greengrassGroupName));
     }
 
@@ -250,8 +273,7 @@ public abstract class AbstractDockerHelper implements DockerHelper {
     }
 
     private List<Container> listContainers() {
-        return Try.withResources(this::getDockerClient)
-                .of(dockerClient -> dockerClient.listContainers(DockerClient.ListContainersParam.allContainers()))
+        return Try.of(() -> getDockerSessionHelper().listContainers(getDockerClientProvider()))
                 .get();
     }
 
@@ -289,8 +311,7 @@ public abstract class AbstractDockerHelper implements DockerHelper {
 
         Container container = optionalContainer.get();
 
-        Try.withResources(this::getDockerClient)
-                .of(dockerClient -> stopContainer(container, dockerClient))
+        Try.of(() -> stopContainer(container, getDockerClient()))
                 .onFailure(throwable -> Match(throwable).of(
                         Case($(instanceOf(DockerException.class)), this::printFailedToStopContainerAndThrow),
                         Case($(instanceOf(InterruptedException.class)), this::printFailedToStopContainerAndThrow),
@@ -300,6 +321,7 @@ public abstract class AbstractDockerHelper implements DockerHelper {
 
     public Void stopContainer(Container container, DockerClient dockerClient) throws DockerException, InterruptedException {
         dockerClient.stopContainer(container.id(), 5);
+        getDockerSessionHelper().invalidateContainers();
         return null;
     }
 
@@ -310,11 +332,51 @@ public abstract class AbstractDockerHelper implements DockerHelper {
 
     @Override
     public void pullImage(String name) {
-        try (DockerClient dockerClient = getDockerClient()) {
-            dockerClient.pull(name, getDockerClientProvider().getRegistryAuthSupplier().authFor(""), getProgressHandler());
+        Optional<String> optionalRemoteDigest = getRemoteDigest(name);
+
+        if (optionalRemoteDigest.isPresent() && isImageUpToDate(name, optionalRemoteDigest.get())) {
+            log.info(String.join("", "Image [", name, "] is already up to date, not pulling it"));
+            return;
+        }
+
+        try {
+            getDockerClient().pull(name, getDockerClientProvider().getRegistryAuthSupplier().authFor(""), getProgressHandler());
         } catch (DockerException | InterruptedException e) {
             log.error(String.join("", "Couldn't pull image [", e.getMessage(), "]"));
             throw new RuntimeException(e);
+        } finally {
+            getDockerSessionHelper().invalidateImages();
+        }
+    }
+
+    private Optional<String> getRemoteDigest(String name) {
+        Matcher matcher = ECR_IMAGE_PATTERN.matcher(name);
+
+        if (!matcher.matches()) {
+            // Only ECR images can be checked without pulling
+            return Optional.empty();
         }
+
+        // BatchGetImage is what a pull calls, so it is allowed wherever the image can be pulled
+        return Try.of(() -> getEcrClient().batchGetImage(BatchGetImageRequest.builder()
+                .registryId(matcher.group(1))
+                .repositoryName(matcher.group(2))
+                .imageIds(ImageIdentifier.builder().imageTag(matcher.group(3)).build())
+                .build()))
+                .map(batchGetImageResponse -> batchGetImageResponse.images().stream()
+                        .map(image -> image.imageId().imageDigest())
+                        .findFirst())
+                .onFailure(throwable -> log.debug(String.join("", "Couldn't get the digest of image [", name, "], pulling it [", throwable.getMessage(), "]")))
+                .getOrElse(Optional.empty());
+    }
+
+    private boolean isImageUpToDate(String name, String remoteDigest) {
+        String repositoryDigest = String.join("@", name.substring(0, name.lastIndexOf(":")), remoteDigest);
+
+        // The tag has to be on the same image, otherwise containers created from the tag would use an older image
+        return Try.of(() -> listImages().stream()
+                .filter(image -> (image.repoTags() != null) && image.repoTags().contains(name))
+                .anyMatch(image -> (image.repoDigests() != null) && image.repoDigests().contains(repositoryDigest)))
+                .getOrElse(false);
     }
 }
@@ -0,0 +1,179 @@
+package com.awslabs.aws.greengrass.provisioner.docker;
+
+import com.awslabs.aws.greengrass.provisioner.docker.interfaces.DockerClientProvider;
+import com.awslabs.aws.greengrass.provisioner.docker.interfaces.DockerSessionHelper;
+import com.spotify.docker.client.DockerClient;
+import com.spotify.docker.client.EventStream;
+import com.spotify.docker.client.exceptions.DockerException;
+import com.spotify.docker.client.messages.Container;
+import com.spotify.docker.client.messages.Event;
+import com.spotify.docker.client.messages.Image;
+import io.vavr.control.Try;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.inject.Inject;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class BasicDockerSessionHelper implements DockerSessionHelper {
+    private final Logger log = LoggerFactory.getLogger(BasicDockerSessionHelper.class);
+    // One client per registry since the registry auth is part of the client, they all talk to the same daemon
+    private final Map<Class<?>, DockerClient> dockerClients = new ConcurrentHashMap<>();
+    private final CachedListing<Image> cachedImages = new CachedListing<>();
+    private final CachedListing<Container> cachedContainers = new CachedListing<>();
+    private final AtomicBoolean eventsStarted = new AtomicBoolean(false);
+    private final AtomicLong listings = new AtomicLong();
+    private final AtomicLong cacheHits = new AtomicLong();
+    // Listings are only cached while the event stream is up, without it there is no way to know when they go stale
+    private volatile boolean listening = false;
+    private volatile Optional<EventStream> optionalEventStream = Optional.empty();
+
+    @Inject
+    public BasicDockerSessionHelper() {
+    }
+
+    @Override
+    public DockerClient getDockerClient(DockerClientProvider dockerClientProvider) {
+        return dockerClients.computeIfAbsent(dockerClientProvider.getClass(), key -> dockerClientProvider.get());
+    }
+
+    @Override
+    public List<Image> listImages(DockerClientProvider dockerClientProvider) throws DockerException, InterruptedException {
+        return list(dockerClientProvider, cachedImages, dockerClient -> dockerClient.listImages(DockerClient.ListImagesParam.allImages()));
+    }
+
+    @Override
+    public List<Container> listContainers(DockerClientProvider dockerClientProvider) throws DockerException, InterruptedException {
+        return list(dockerClientProvider, cachedContainers, dockerClient -> dockerClient.listContainers(DockerClient.ListContainersParam.allContainers()));
+    }
+
+    private <T> List<T> list(DockerClientProvider dockerClientProvider, CachedListing<T> cachedListing, Lister<T> lister) throws DockerException, InterruptedException {
+        // Subscribed before the first listing so no change after it is missed
+        startListening(dockerClientProvider);
+
+        Optional<List<T>> optionalItems = cachedListing.get();
+
+        if (optionalItems.isPresent()) {
+            cacheHits.incrementAndGet();
+            return optionalItems.get();
+        }
+
+        long generation = cachedListing.getGeneration();
+        List<T> items = lister.list(getDockerClient(dockerClientProvider));
+        listings.incrementAndGet();
+
+        if (listening) {
+            // Dropped if an event came in while listing, the next lookup lists again
+            cachedListing.put(generation, items);
+        }
+
+        return items;
+    }
+
+    private void startListening(DockerClientProvider dockerClientProvider) {
+        if (!eventsStarted.compareAndSet(false, true)) {
+            return;
+        }
+
+        Try.of(() -> getDockerClient(dockerClientProvider).events())
+                .onFailure(throwable -> log.warn(String.join("", "Couldn't subscribe to Docker events, image and container lookups won't be cached [", throwable.getMessage(), "]")))
+                .forEach(eventStream -> {
+                    optionalEventStream = Optional.of(eventStream);
+                    listening = true;
+
+                    // Daemon so a run that never closes the clients can still exit
+                    Thread thread = new Thread(() -> readEvents(eventStream), "DockerEvents");
+                    thread.setDaemon(true);
+                    thread.start();
+                });
+    }
+
+    private void readEvents(EventStream eventStream) {
+        // Ends when the stream is closed or the daemon goes away
+        Try.run(() -> {
+            while (eventStream.hasNext()) {
+                invalidate(eventStream.next());
+            }
+        });
+
+        listening = false;
+        invalidateImages();
+        invalidateContainers();
+    }
+
+    private void invalidate(Event event) {
+        Event.Type type = event.type();
+
+        // Older daemons don't send the type
+        if ((type == null) || (type == Event.Type.IMAGE)) {
+            invalidateImages();
+        }
+
+        if ((type == null) || (type == Event.Type.CONTAINER)) {
+            invalidateContainers();
+        }
+    }
+
+    @Override
+    public void invalidateImages() {
+        cachedImages.invalidate();
+    }
+
+    @Override
+    public void invalidateContainers() {
+        cachedContainers.invalidate();
+    }
+
+    @Override
+    public void closeDockerClients() {
+        listening = false;
+        optionalEventStream.ifPresent(eventStream -> Try.run(eventStream::close));
+        optionalEventStream = Optional.empty();
+        eventsStarted.set(false);
+        invalidateImages();
+        invalidateContainers();
+
+        dockerClients.keySet().forEach(key -> Optional.ofNullable(dockerClients.remove(key)).ifPresent(dockerClient -> Try.run(dockerClient::close)));
+
+        if ((listings.get() + cacheHits.get()) != 0) {
+            log.info(String.join("", "Docker image and container lookups [", String.valueOf(listings.get() + cacheHits.get()),
+                    "], served from cache [", String.valueOf(cacheHits.get()), "]"));
+        }
+    }
+
+    private interface Lister<T> {
+        List<T> list(DockerClient dockerClient) throws DockerException, InterruptedException;
+    }
+
+    private static class CachedListing<T> {
+        // Bumped by every invalidation so a listing that started before it isn't cached
+        private long generation = 0;
+        private Optional<List<T>> optionalItems = Optional.empty();
+
+        synchronized Optional<List<T>> get() {
+            return optionalItems;
+        }
+
+        synchronized long getGeneration() {
+            return generation;
+        }
+
+        synchronized void put(long generation, List<T> items) {
+            if (this.generation != generation) {
+                return;
+            }
+
+            optionalItems = Optional.of(items);
+        }
+
+        synchronized void invalidate() {
+            generation++;
+            optionalItems = Optional.empty();
+        }
+    }
+}
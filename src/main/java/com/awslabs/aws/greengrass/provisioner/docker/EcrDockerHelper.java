@@ -1,9 +1,9 @@
 package com.awslabs.aws.greengrass.provisioner.docker;
 
 import com.awslabs.aws.greengrass.provisioner.docker.interfaces.DockerClientProvider;
+import com.awslabs.aws.greengrass.provisioner.docker.interfaces.DockerSessionHelper;
 import com.awslabs.aws.greengrass.provisioner.docker.interfaces.EcrDockerClientProvider;
 import com.awslabs.aws.greengrass.provisioner.interfaces.ExceptionHelper;
-import com.spotify.docker.client.DockerClient;
 import com.spotify.docker.client.ProgressHandler;
 import software.amazon.awssdk.services.ecr.EcrClient;
 
@@ -19,6 +19,8 @@ public class EcrDockerHelper extends AbstractDockerHelper {
     ProgressHandler progressHandler;
     @Inject
     ExceptionHelper exceptionHelper;
+    @Inject
+    DockerSessionHelper dockerSessionHelper;
 
     @Inject
     public EcrDockerHelper() {
@@ -40,8 +42,8 @@ public class EcrDockerHelper extends AbstractDockerHelper {
     }
 
     @Override
-    protected DockerClient getDockerClient() {
-        return ecrDockerClientProvider.get();
+    protected DockerSessionHelper getDockerSessionHelper() {
+        return dockerSessionHelper;
     }
 
     protected EcrClient getEcrClient() {
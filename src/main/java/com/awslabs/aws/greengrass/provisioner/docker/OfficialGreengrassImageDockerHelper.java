@@ -1,6 +1,7 @@
 package com.awslabs.aws.greengrass.provisioner.docker;
 
 import com.awslabs.aws.greengrass.provisioner.docker.interfaces.DockerClientProvider;
+import com.awslabs.aws.greengrass.provisioner.docker.interfaces.DockerSessionHelper;
 import com.awslabs.aws.greengrass.provisioner.docker.interfaces.OfficialGreengrassImageDockerClientProvider;
 import com.awslabs.aws.greengrass.provisioner.interfaces.ExceptionHelper;
 import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.GGConstants;
@@ -47,6 +48,8 @@ public class OfficialGreengrassImageDockerHelper extends AbstractDockerHelper {
     IoHelper ioHelper;
     @Inject
     ExceptionHelper exceptionHelper;
+    @Inject
+    DockerSessionHelper dockerSessionHelper;
 
     @Inject
     public OfficialGreengrassImageDockerHelper() {
@@ -68,8 +71,8 @@ public class OfficialGreengrassImageDockerHelper extends AbstractDockerHelper {
     }
 
     @Override
-    protected DockerClient getDockerClient() {
-        return officialGreengrassImageDockerClientProvider.get();
+    protected DockerSessionHelper getDockerSessionHelper() {
+        return dockerSessionHelper;
     }
 
     @Override
@@ -96,8 +99,7 @@ public class OfficialGreengrassImageDockerHelper extends AbstractDockerHelper {
                 .onFailure(this::printCouldNotCreateTemporaryCredentialsAndThrow)
                 .get();
 
-        return Try.withResources(this::getDockerClient)
-                .of(dockerClient -> getOrCreateContainer(greengrassGroupName, image, absoluteCertsPath, absoluteConfigPath, tempDirectory, dockerClient))
+        return Try.of(() -> getOrCreateContainer(greengrassGroupName, image, absoluteCertsPath, absoluteConfigPath, tempDirectory, getDockerClient()))
                 .onFailure(throwable -> Match(throwable).of(
                         Case($(instanceOf(DockerException.class)), this::printCouldNotCreateContainerAndThrow),
                         Case($(instanceOf(InterruptedException.class)), this::printCouldNotCreateContainerAndThrow),
@@ -108,7 +110,7 @@ public class OfficialGreengrassImageDockerHelper extends AbstractDockerHelper {
 
     public Optional<String> getOrCreateContainer(GreengrassGroupName greengrassGroupName, Image image, String absoluteCertsPath, String absoluteConfigPath, Path tempDirectory, DockerClient dockerClient) throws DockerException, InterruptedException, IOException {
         // Is there any existing container with the group name?
-        Optional<Container> optionalContainer = getContainerByName(greengrassGroupName, dockerClient);
+        Optional<Container> optionalContainer = getContainerByName(greengrassGroupName);
 
         if (optionalContainer.isPresent()) {
             Container container = optionalContainer.get();
@@ -122,6 +124,7 @@ public class OfficialGreengrassImageDockerHelper extends AbstractDockerHelper {
                 .entrypoint("/greengrass-entrypoint.sh")
                 .exposedPorts("8883")
                 .build(), greengrassGroupName.getGroupName());
+        dockerSessionHelper.invalidateContainers();
 
         // Copy the certs to the container
         dockerClient.copyToContainer(tempDirectory.resolve(ggConstants.getCertsDirectoryPrefix()),
@@ -0,0 +1,49 @@
+package com.awslabs.aws.greengrass.provisioner.docker.interfaces;
+
+import com.spotify.docker.client.DockerClient;
+import com.spotify.docker.client.exceptions.DockerException;
+import com.spotify.docker.client.messages.Container;
+import com.spotify.docker.client.messages.Image;
+
+import java.util.List;
+
+public interface DockerSessionHelper {
+    /**
+     * Returns the client for this provider's registry, opened on first use and shared for the rest of the run. Callers
+     * must not close it.
+     *
+     * @param dockerClientProvider
+     * @return
+     */
+    DockerClient getDockerClient(DockerClientProvider dockerClientProvider);
+
+    /**
+     * Lists every local image. The listing is cached until the daemon reports an image event or invalidateImages is
+     * called.
+     *
+     * @param dockerClientProvider
+     * @return
+     */
+    List<Image> listImages(DockerClientProvider dockerClientProvider) throws DockerException, InterruptedException;
+
+    /**
+     * Lists every local container, running or not. The listing is cached until the daemon reports a container event or
+     * invalidateContainers is called.
+     *
+     * @param dockerClientProvider
+     * @return
+     */
+    List<Container> listContainers(DockerClientProvider dockerClientProvider) throws DockerException, InterruptedException;
+
+    /**
+     * Called after this run changes images itself, daemon events arrive asynchronously and can come after the next lookup
+     */
+    void invalidateImages();
+
+    void invalidateContainers();
+
+    /**
+     * Closes the shared clients and stops listening for daemon events
+     */
+    void closeDockerClients();
+}
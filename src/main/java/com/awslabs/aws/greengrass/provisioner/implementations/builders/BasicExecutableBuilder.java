@@ -65,15 +65,17 @@ public class BasicExecutableBuilder implements ExecutableBuilder {
         Optional<Integer> exitVal = processHelper.getOutputFromProcess(log, processBuilder, true, Optional.of(stdoutStrings::add), Optional.of(stderrStrings::add));
 
         if (!exitVal.isPresent() || exitVal.get() != 0) {
-            log.error("Something went wrong with while building the executable/native function");
+            String functionName = functionConf.getFunctionName().getName();
 
-            stderrStrings.forEach(log::warn);
+            loggingHelper.logErrorWithName(log, functionName, "Something went wrong with while building the executable/native function");
 
-            log.error("To resolve:");
-            log.error("1) GGP sometimes must run outside of Docker if the build script requires Docker. Try running GGP outside of Docker.");
-            log.error(String.join("", "2) Run ", BUILD_SH, " for the [", functionConf.getFunctionName().getName(), "] function outside of GGP and determine if it builds properly"));
+            stderrStrings.forEach(string -> loggingHelper.logWarnWithName(log, functionName, string));
 
-            System.exit(1);
+            loggingHelper.logErrorWithName(log, functionName, "To resolve:");
+            loggingHelper.logErrorWithName(log, functionName, "1) GGP sometimes must run outside of Docker if the build script requires Docker. Try running GGP outside of Docker.");
+            loggingHelper.logErrorWithName(log, functionName, String.join("", "2) Run ", BUILD_SH, " for the [", functionName, "] function outside of GGP and determine if it builds properly"));
+
+            throw new RuntimeException(String.join("", BUILD_SH, " failed for executable/native function [", functionName, "]"));
         }
     }
 
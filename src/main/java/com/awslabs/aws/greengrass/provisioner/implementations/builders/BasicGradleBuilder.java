@@ -2,19 +2,28 @@ package com.awslabs.aws.greengrass.provisioner.implementations.builders;
 
 import com.awslabs.aws.greengrass.provisioner.data.conf.FunctionConf;
 import com.awslabs.aws.greengrass.provisioner.interfaces.builders.GradleBuilder;
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.LoggingHelper;
 import com.awslabs.lambda.data.FunctionName;
 import io.vavr.control.Try;
 import org.gradle.tooling.BuildLauncher;
 import org.gradle.tooling.GradleConnector;
 import org.gradle.tooling.ProjectConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import javax.inject.Inject;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.StringReader;
 import java.nio.file.Path;
 import java.util.Optional;
 
 public class BasicGradleBuilder implements GradleBuilder {
     private static final String BUILD_GRADLE = "build.gradle";
+    private final Logger log = LoggerFactory.getLogger(BasicGradleBuilder.class);
+    @Inject
+    LoggingHelper loggingHelper;
 
     @Inject
     public BasicGradleBuilder() {
@@ -53,18 +62,33 @@ public class BasicGradleBuilder implements GradleBuilder {
             throw new RuntimeException("gradle build path is not present.  This is a bug.");
         }
 
+        String name = functionName.map(FunctionName::getName).orElse(gradleBuildPath.get().getName());
+
+        // Capture the output so builds running at the same time don't interleave their output on stdout/stderr
+        ByteArrayOutputStream standardOutput = new ByteArrayOutputStream();
+        ByteArrayOutputStream standardError = new ByteArrayOutputStream();
+
         // Guidance from: https://discuss.gradle.org/t/how-to-execute-a-gradle-task-from-java-code/7421
         Try.withResources(() -> getProjectConnection(gradleBuildPath))
-                .of(this::runBuild)
+                .of(projectConnection -> runBuild(projectConnection, standardOutput, standardError))
+                .andFinally(() -> logBuildOutput(name, standardOutput, standardError))
                 .get();
     }
 
-    private Void runBuild(ProjectConnection projectConnection) {
-        // Build with gradle and send the output to stdout
+    private void logBuildOutput(String name, ByteArrayOutputStream standardOutput, ByteArrayOutputStream standardError) {
+        new BufferedReader(new StringReader(standardOutput.toString())).lines()
+                .forEach(line -> loggingHelper.logInfoWithName(log, name, line));
+
+        new BufferedReader(new StringReader(standardError.toString())).lines()
+                .forEach(line -> loggingHelper.logWarnWithName(log, name, line));
+    }
+
+    private Void runBuild(ProjectConnection projectConnection, ByteArrayOutputStream standardOutput, ByteArrayOutputStream standardError) {
+        // Build with gradle and collect the output
         BuildLauncher build = projectConnection.newBuild();
         build.forTasks("build");
-        build.setStandardOutput(System.out);
-        build.setStandardError(System.err);
+        build.setStandardOutput(standardOutput);
+        build.setStandardError(standardError);
         build.run();
 
         return null;
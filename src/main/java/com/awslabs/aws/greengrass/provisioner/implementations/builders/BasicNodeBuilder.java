@@ -72,8 +72,11 @@ public class BasicNodeBuilder implements NodeBuilder {
         Optional<Integer> exitVal = processHelper.getOutputFromProcess(log, processBuilder, true, Optional.of(stdoutStrings::add), Optional.of(stderrStrings::add));
 
         if (!exitVal.isPresent() || exitVal.get() != 0) {
-            log.error("Failed to install Node dependency.  Make sure Node and npm are installed and on your path.");
-            System.exit(1);
+            String functionName = functionConf.getFunctionName().getName();
+
+            stderrStrings.forEach(string -> loggingHelper.logWarnWithName(log, functionName, string));
+
+            throw new RuntimeException("Failed to install Node dependency.  Make sure Node and npm are installed and on your path.");
         }
     }
 
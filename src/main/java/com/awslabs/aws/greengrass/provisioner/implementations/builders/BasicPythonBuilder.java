@@ -90,7 +90,7 @@ public abstract class BasicPythonBuilder implements PythonBuilder {
 
             Optional<Integer> exitVal = processHelper.getOutputFromProcess(log, processBuilder, true, Optional.of(stdoutStrings::add), Optional.of(stderrStrings::add));
 
-            checkPipStatus(exitVal, stdoutStrings, stderrStrings);
+            checkPipStatus(functionConf.getFunctionName().getName(), exitVal, stdoutStrings, stderrStrings);
         } else {
             loggingHelper.logInfoWithName(log, functionConf.getFunctionName().getName(), "No Python dependencies to install");
         }
@@ -110,44 +110,43 @@ public abstract class BasicPythonBuilder implements PythonBuilder {
         return buildDirectory.resolve(REQUIREMENTS_TXT).toFile().exists();
     }
 
-    private void checkPipStatus(Optional<Integer> exitVal, List<String> stdoutStrings, List<String> stderrStrings) {
+    private void checkPipStatus(String functionName, Optional<Integer> exitVal, List<String> stdoutStrings, List<String> stderrStrings) {
         if (!exitVal.isPresent() || exitVal.get() != 0) {
-            log.error("Something went wrong with pip");
+            loggingHelper.logErrorWithName(log, functionName, "Something went wrong with pip");
 
             if (stderrStrings.stream().anyMatch(string -> string.contains("'clang' failed"))) {
-                stdoutStrings.forEach(log::warn);
-                stderrStrings.forEach(log::error);
+                logPipOutput(functionName, stdoutStrings, stderrStrings);
 
-                log.error("Building this function failed because a dependency failed to compile. This can happen when a dependency needs to build a native library. Error messages are above.");
-
-                System.exit(1);
+                throw new RuntimeException("Building this function failed because a dependency failed to compile. This can happen when a dependency needs to build a native library.");
             }
 
             if (stderrStrings.stream().anyMatch(string -> string.contains("Could not find a version that satisfies the requirement")) ||
                     stderrStrings.stream().anyMatch(string -> string.contains("No matching distribution found"))) {
-                stdoutStrings.forEach(log::warn);
-                stderrStrings.forEach(log::error);
-
-                log.error("Building this function failed because a dependency was not available. Error messages are above.");
+                logPipOutput(functionName, stdoutStrings, stderrStrings);
 
-                System.exit(1);
+                throw new RuntimeException("Building this function failed because a dependency was not available.");
             }
 
             if (isCorrectPipVersion()) {
-                log.error("pip version is correct but the Python dependency failed to install");
+                loggingHelper.logErrorWithName(log, functionName, "pip version is correct but the Python dependency failed to install");
             } else {
-                log.error("pip version appears to be incorrect or pip is missing");
+                loggingHelper.logErrorWithName(log, functionName, "pip version appears to be incorrect or pip is missing");
             }
 
-            log.error("To resolve:");
-            log.error("1) Make sure Python and pip are installed and on your path");
-            log.error("2) Make sure pip version is 19.x (pip --version) and install it with get-pip.py if necessary (https://pip.pypa.io/en/stable/installing/)");
-            log.error("3) Try installing the dependency with pip and see if pip returns any installation errors");
+            loggingHelper.logErrorWithName(log, functionName, "To resolve:");
+            loggingHelper.logErrorWithName(log, functionName, "1) Make sure Python and pip are installed and on your path");
+            loggingHelper.logErrorWithName(log, functionName, "2) Make sure pip version is 19.x (pip --version) and install it with get-pip.py if necessary (https://pip.pypa.io/en/stable/installing/)");
+            loggingHelper.logErrorWithName(log, functionName, "3) Try installing the dependency with pip and see if pip returns any installation errors");
 
-            System.exit(1);
+            throw new RuntimeException("Python dependencies could not be installed with pip");
         }
     }
 
+    private void logPipOutput(String functionName, List<String> stdoutStrings, List<String> stderrStrings) {
+        stdoutStrings.forEach(string -> loggingHelper.logWarnWithName(log, functionName, string));
+        stderrStrings.forEach(string -> loggingHelper.logErrorWithName(log, functionName, string));
+    }
+
     protected abstract String getPip();
 
     private boolean isCorrectPipVersion() {
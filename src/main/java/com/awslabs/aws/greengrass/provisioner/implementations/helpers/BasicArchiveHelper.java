@@ -3,16 +3,26 @@ package com.awslabs.aws.greengrass.provisioner.implementations.helpers;
 import com.awslabs.aws.greengrass.provisioner.data.ImmutableVirtualTarEntry;
 import com.awslabs.aws.greengrass.provisioner.data.VirtualTarEntry;
 import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.ArchiveHelper;
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.IoHelper;
+import io.vavr.CheckedFunction0;
+import io.vavr.control.Try;
+import org.apache.commons.io.output.CloseShieldOutputStream;
 import org.kamranzafar.jtar.TarEntry;
 import org.kamranzafar.jtar.TarHeader;
 import org.kamranzafar.jtar.TarOutputStream;
 
 import javax.inject.Inject;
 import java.io.*;
+import java.net.URL;
+import java.net.URLConnection;
 import java.util.List;
 import java.util.Optional;
 
 public class BasicArchiveHelper implements ArchiveHelper {
+    private static final int COPY_BUFFER_SIZE = 65536;
+    @Inject
+    IoHelper ioHelper;
+
     @Inject
     public BasicArchiveHelper() {
     }
@@ -34,54 +44,92 @@ public class BasicArchiveHelper implements ArchiveHelper {
 
     @Override
     public VirtualTarEntry createVirtualTarEntry(String filename, byte[] content, int permissions) {
-        TarEntry tarEntry = new TarEntry(TarHeader.createHeader(filename, content.length, System.currentTimeMillis() / 1000, false, permissions));
-
-        InputStream inputStream;
+        return createVirtualTarEntry(filename, content.length, () -> new ByteArrayInputStream(content), permissions);
+    }
 
-        inputStream = new ByteArrayInputStream(content);
+    @Override
+    public VirtualTarEntry createVirtualTarEntry(String filename, File file, int permissions) {
+        if (!file.isFile()) {
+            throw new RuntimeException(String.join("", "File [", file.getPath(), "] does not exist, it cannot be added to the archive as [", filename, "]"));
+        }
 
-        return ImmutableVirtualTarEntry.builder()
-                .content(content)
-                .filename(filename)
-                .permissions(permissions)
-                .tarEntry(tarEntry)
-                .inputStream(inputStream)
-                .build();
+        return createVirtualTarEntry(filename, file.length(), () -> new FileInputStream(file), permissions);
     }
 
     @Override
-    public Optional<ByteArrayOutputStream> tar(Optional<List<VirtualTarEntry>> virtualTarEntryList) throws IOException {
-        if (!virtualTarEntryList.isPresent()) {
-            // This makes it safe to attempt to build archives the user hasn't requested without crashing
-            return Optional.empty();
+    public VirtualTarEntry createVirtualTarEntry(String filename, URL url, int permissions) {
+        if ("file".equals(url.getProtocol())) {
+            // The file's length is known without opening it
+            return createVirtualTarEntry(filename, Try.of(() -> new File(url.toURI())).get(), permissions);
         }
 
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        // Only ask for the length here, the content is read when the archive is written
+        long size = Try.of(() -> getContentLength(url)).get();
 
-        // Create a TarOutputStream
-        TarOutputStream out = new TarOutputStream(baos);
+        if (size < 0) {
+            throw new RuntimeException(String.join("", "The size of [", url.toString(), "] could not be determined, it cannot be added to the archive as [", filename, "]"));
+        }
+
+        return createVirtualTarEntry(filename, size, url::openStream, permissions);
+    }
 
-        // Loop through all of the entries and write them into the byte array output stream
-        for (VirtualTarEntry virtualTarEntry : virtualTarEntryList.get()) {
-            // Put the tar entry/header information for this file (does not write the content!)
-            out.putNextEntry(virtualTarEntry.getTarEntry());
+    private long getContentLength(URL url) throws IOException {
+        URLConnection urlConnection = url.openConnection();
 
-            // Grab the file and write its actual contents to the stream
-            BufferedInputStream origin = new BufferedInputStream(virtualTarEntry.getInputStream());
+        // Connecting opens the resource, close it so it isn't held open until the archive is written
+        try (InputStream inputStream = urlConnection.getInputStream()) {
+            return urlConnection.getContentLengthLong();
+        }
+    }
 
-            int count;
-            byte[] data = new byte[2048];
+    @Override
+    public VirtualTarEntry createVirtualTarEntry(String filename, long size, CheckedFunction0<InputStream> inputStreamSupplier, int permissions) {
+        return ImmutableVirtualTarEntry.builder()
+                .filename(filename)
+                .permissions(permissions)
+                .size(size)
+                .inputStreamSupplier(inputStreamSupplier)
+                .build();
+    }
 
-            while ((count = origin.read(data)) != -1) {
-                out.write(data, 0, count);
+    @Override
+    public void tar(List<VirtualTarEntry> virtualTarEntries, OutputStream outputStream) throws IOException {
+        // Closing the tar stream writes the end of archive blocks, the shield keeps the caller's stream open
+        try (TarOutputStream out = new TarOutputStream(CloseShieldOutputStream.wrap(outputStream))) {
+            byte[] buffer = new byte[COPY_BUFFER_SIZE];
+
+            for (VirtualTarEntry virtualTarEntry : virtualTarEntries) {
+                // Put the tar entry/header information for this file (does not write the content!)
+                out.putNextEntry(new TarEntry(TarHeader.createHeader(virtualTarEntry.getFilename(), virtualTarEntry.getSize(), System.currentTimeMillis() / 1000, false, virtualTarEntry.getPermissions())));
+
+                // Copy the content through a single reused buffer
+                try (InputStream inputStream = Try.of(virtualTarEntry.getInputStreamSupplier()).get()) {
+                    long bytesCopied = 0;
+                    int count;
+
+                    while ((count = inputStream.read(buffer)) != -1) {
+                        bytesCopied += count;
+
+                        if (bytesCopied > virtualTarEntry.getSize()) {
+                            break;
+                        }
+
+                        out.write(buffer, 0, count);
+                    }
+
+                    if (bytesCopied != virtualTarEntry.getSize()) {
+                        // The header has already been written so the archive would be corrupt if we continued
+                        throw new RuntimeException(String.join("", "Archive entry [", virtualTarEntry.getFilename(), "] was expected to be [", String.valueOf(virtualTarEntry.getSize()), "] byte(s) but its content changed while the archive was being written"));
+                    }
+                }
             }
-
-            out.flush();
-            origin.close();
         }
+    }
 
-        out.close();
-
-        return Optional.of(baos);
+    @Override
+    public byte[] readContent(VirtualTarEntry virtualTarEntry) {
+        return Try.withResources(virtualTarEntry.getInputStreamSupplier())
+                .of(ioHelper::getByteArrayFromInputStream)
+                .get();
     }
 }
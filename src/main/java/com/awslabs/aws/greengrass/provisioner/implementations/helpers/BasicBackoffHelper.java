@@ -0,0 +1,177 @@
+package com.awslabs.aws.greengrass.provisioner.implementations.helpers;
+
+import com.awslabs.aws.greengrass.provisioner.data.BackoffPolicy;
+import com.awslabs.aws.greengrass.provisioner.data.BackoffStats;
+import com.awslabs.aws.greengrass.provisioner.data.ImmutableBackoffStats;
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.BackoffHelper;
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.RunReportHelper;
+import io.vavr.CheckedConsumer;
+import io.vavr.CheckedFunction0;
+import io.vavr.control.Try;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.inject.Inject;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleSupplier;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+public class BasicBackoffHelper implements BackoffHelper {
+    private final Logger log = LoggerFactory.getLogger(BasicBackoffHelper.class);
+    private final Map<String, Counters> countersByName = new ConcurrentHashMap<>();
+    // Tests replace these so they can control time without really waiting
+    Clock clock = Clock.systemUTC();
+    CheckedConsumer<Duration> sleeper = duration -> Thread.sleep(duration.toMillis());
+    DoubleSupplier jitter = () -> ThreadLocalRandom.current().nextDouble();
+    @Inject
+    RunReportHelper runReportHelper;
+
+    @Inject
+    public BasicBackoffHelper() {
+    }
+
+    @Override
+    public <T> T execute(BackoffPolicy backoffPolicy, CheckedFunction0<T> operation, Predicate<T> shouldRetryResult, Predicate<Throwable> shouldRetryFailure) {
+        Instant start = clock.instant();
+        Duration waited = Duration.ZERO;
+        int attempts = 0;
+
+        while (true) {
+            attempts++;
+
+            Try<T> attempt = Try.of(operation);
+
+            boolean shouldRetry = attempt.isSuccess() ? shouldRetryResult.test(attempt.get()) : shouldRetryFailure.test(attempt.getCause());
+
+            if (!shouldRetry) {
+                record(backoffPolicy, attempts, waited, false);
+
+                return attempt.get();
+            }
+
+            // The budget covers the time spent in the operation too, not just the time spent waiting
+            Duration remaining = backoffPolicy.getBudget().minus(Duration.between(start, clock.instant()));
+
+            if ((attempts >= backoffPolicy.getMaxAttempts()) || remaining.isNegative() || remaining.isZero()) {
+                backoffPolicy.getExhaustedMessage().ifPresent(log::error);
+                record(backoffPolicy, attempts, waited, true);
+
+                // Either the last result or the last failure, the caller decides what that means
+                return attempt.get();
+            }
+
+            Duration delay = getDelay(backoffPolicy, attempts - 1);
+
+            if (delay.compareTo(remaining) > 0) {
+                delay = remaining;
+            }
+
+            logRetryMessage(backoffPolicy, attempt);
+
+            sleep(delay);
+
+            waited = waited.plus(delay);
+        }
+    }
+
+    private <T> void logRetryMessage(BackoffPolicy backoffPolicy, Try<T> attempt) {
+        if (!backoffPolicy.getRetryMessage().isPresent()) {
+            return;
+        }
+
+        if (attempt.isSuccess()) {
+            log.warn(backoffPolicy.getRetryMessage().get());
+            return;
+        }
+
+        log.warn(String.join("", backoffPolicy.getRetryMessage().get(), " [", String.valueOf(attempt.getCause().getMessage()), "]"));
+    }
+
+    @Override
+    public void pause(BackoffPolicy backoffPolicy, int idleIterations) {
+        Duration delay = getDelay(backoffPolicy, idleIterations);
+
+        sleep(delay);
+
+        record(backoffPolicy, 1, delay, false);
+    }
+
+    @Override
+    public Duration getDelay(BackoffPolicy backoffPolicy, int retries) {
+        long minimumMillis = backoffPolicy.getMinimumDelay().toMillis();
+
+        if (retries <= 0) {
+            // The first wait is never jittered so quick operations are checked again quickly
+            return backoffPolicy.getMinimumDelay();
+        }
+
+        double ceilingMillis = Math.min(backoffPolicy.getMaximumDelay().toMillis(), minimumMillis * Math.pow(backoffPolicy.getMultiplier(), retries));
+
+        // Full jitter, spreads out callers that started failing at the same time so they don't retry in lockstep
+        long delayMillis = minimumMillis + (long) (jitter.getAsDouble() * (ceilingMillis - minimumMillis));
+
+        return Duration.ofMillis(delayMillis);
+    }
+
+    private void sleep(Duration delay) {
+        if (delay.isZero() || delay.isNegative()) {
+            return;
+        }
+
+        Try.run(() -> sleeper.accept(delay)).get();
+    }
+
+    private void record(BackoffPolicy backoffPolicy, int attempts, Duration waited, boolean exhausted) {
+        Counters counters = countersByName.computeIfAbsent(backoffPolicy.getName(), name -> new Counters());
+
+        counters.operations.incrementAndGet();
+        counters.attempts.addAndGet(attempts);
+        counters.totalWaitMillis.addAndGet(waited.toMillis());
+        counters.longestWaitMillis.accumulateAndGet(waited.toMillis(), Math::max);
+
+        if (exhausted) {
+            counters.exhausted.incrementAndGet();
+        }
+
+        if (attempts > 1) {
+            runReportHelper.recordRetries(attempts - 1);
+            log.debug(String.join("", "[", backoffPolicy.getName(), "] took [", String.valueOf(attempts), "] attempt(s) and waited [", String.valueOf(waited.toMillis()), "] ms"));
+        }
+    }
+
+    @Override
+    public List<BackoffStats> getStats() {
+        return countersByName.entrySet().stream()
+                .map(entry -> toBackoffStats(entry.getKey(), entry.getValue()))
+                .sorted(Comparator.comparing(BackoffStats::getName))
+                .collect(Collectors.toList());
+    }
+
+    private BackoffStats toBackoffStats(String name, Counters counters) {
+        return ImmutableBackoffStats.builder()
+                .name(name)
+                .operations(counters.operations.get())
+                .attempts(counters.attempts.get())
+                .totalWait(Duration.ofMillis(counters.totalWaitMillis.get()))
+                .longestWait(Duration.ofMillis(counters.longestWaitMillis.get()))
+                .exhausted(counters.exhausted.get())
+                .build();
+    }
+
+    private static class Counters {
+        private final AtomicLong operations = new AtomicLong();
+        private final AtomicLong attempts = new AtomicLong();
+        private final AtomicLong totalWaitMillis = new AtomicLong();
+        private final AtomicLong longestWaitMillis = new AtomicLong();
+        private final AtomicLong exhausted = new AtomicLong();
+    }
+}
@@ -0,0 +1,250 @@
+package com.awslabs.aws.greengrass.provisioner.implementations.helpers;
+
+import com.awslabs.aws.greengrass.provisioner.data.BootstrapResult;
+import com.awslabs.aws.greengrass.provisioner.data.BootstrapTarget;
+import com.awslabs.aws.greengrass.provisioner.data.ImmutableBootstrapResult;
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.BootstrapHelper;
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.IoHelper;
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.RunReportHelper;
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.SshHelper;
+import com.jcraft.jsch.JSchException;
+import com.jcraft.jsch.Session;
+import io.vavr.control.Try;
+import org.gradle.internal.concurrent.ThreadFactoryImpl;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.inject.Inject;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+public class BasicBootstrapHelper implements BootstrapHelper {
+    private static final String SCREEN_NOT_AVAILABLE_ERROR_MESSAGE = "screen is not available on the host. Screen must be available to use this feature";
+    private static final String GREENGRASS_SESSION_NAME = "greengrass";
+    private static final String SCREEN_SESSION_NAME_IN_USE_ERROR_MESSAGE = String.join("", "A screen session with the specified name [", GREENGRASS_SESSION_NAME, "] already exists. Maybe Greengrass is already running on this host. If so, connect to the system and close the screen session before trying again.");
+    private final Logger log = LoggerFactory.getLogger(BasicBootstrapHelper.class);
+    @Inject
+    SshHelper sshHelper;
+    @Inject
+    IoHelper ioHelper;
+    @Inject
+    RunReportHelper runReportHelper;
+
+    @Inject
+    public BasicBootstrapHelper() {
+    }
+
+    @Override
+    public List<BootstrapResult> bootstrap(List<BootstrapTarget> bootstrapTargets, int maxConcurrentHosts, Duration timeoutPerHost) {
+        if (maxConcurrentHosts < 1) {
+            throw new RuntimeException(String.join("", "The maximum number of concurrent bootstraps must be at least 1, not [", String.valueOf(maxConcurrentHosts), "]"));
+        }
+
+        if (timeoutPerHost.isNegative() || timeoutPerHost.isZero()) {
+            throw new RuntimeException(String.join("", "The bootstrap timeout must be positive, not [", timeoutPerHost.toString(), "]"));
+        }
+
+        if (bootstrapTargets.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        int threads = Math.min(maxConcurrentHosts, bootstrapTargets.size());
+        ExecutorService hostExecutorService = Executors.newFixedThreadPool(threads, new ThreadFactoryImpl("BootstrapHost"));
+        // The SSH work runs on its own thread so the host's thread can give up on it when it runs out of time
+        ExecutorService workExecutorService = Executors.newCachedThreadPool(new ThreadFactoryImpl("BootstrapWork"));
+
+        try {
+            List<Callable<BootstrapResult>> callables = bootstrapTargets.stream()
+                    .map(bootstrapTarget -> (Callable<BootstrapResult>) () -> bootstrap(bootstrapTarget, timeoutPerHost, workExecutorService))
+                    .collect(Collectors.toList());
+
+            List<BootstrapResult> bootstrapResults = new ArrayList<>();
+
+            for (Future<BootstrapResult> future : hostExecutorService.invokeAll(callables)) {
+                bootstrapResults.add(getResult(future));
+            }
+
+            return bootstrapResults;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } finally {
+            hostExecutorService.shutdownNow();
+            workExecutorService.shutdownNow();
+        }
+    }
+
+    private BootstrapResult bootstrap(BootstrapTarget bootstrapTarget, Duration timeoutPerHost, ExecutorService workExecutorService) {
+        long startNanos = System.nanoTime();
+        String userAndHost = getUserAndHost(bootstrapTarget);
+        AtomicReference<Session> sessionReference = new AtomicReference<>();
+
+        Future<Void> future = workExecutorService.submit(() -> {
+            runReportHelper.runSpan(String.join(" ", "bootstrap", userAndHost), () -> {
+                Session session = sshHelper.getSshSession(bootstrapTarget.getHost(), bootstrapTarget.getUser());
+                sessionReference.set(session);
+                copyAndBootstrap(bootstrapTarget, session);
+            });
+
+            return null;
+        });
+
+        Try<Void> bootstrapTry = Try.of(() -> getResult(future, timeoutPerHost))
+                .onFailure(TimeoutException.class, throwable -> {
+                    future.cancel(true);
+                    // JSch reads don't notice interrupts, disconnecting ends them. The pool reconnects if the session is needed again.
+                    Optional.ofNullable(sessionReference.get()).ifPresent(session -> Try.run(session::disconnect));
+                })
+                .recoverWith(TimeoutException.class, throwable -> Try.failure(new RuntimeException(String.join("", "Timed out after [", String.valueOf(timeoutPerHost.getSeconds()), "] second(s)"))));
+
+        ImmutableBootstrapResult.Builder bootstrapResultBuilder = ImmutableBootstrapResult.builder()
+                .target(bootstrapTarget)
+                .isSuccessful(bootstrapTry.isSuccess())
+                .duration(Duration.ofNanos(System.nanoTime() - startNanos));
+
+        if (bootstrapTry.isFailure()) {
+            String error = String.valueOf(bootstrapTry.getCause().getMessage());
+            log.error(String.join("", "Bootstrap of [", userAndHost, "] failed [", error, "]"));
+            bootstrapResultBuilder.error(error);
+        }
+
+        return bootstrapResultBuilder.build();
+    }
+
+    private <T> T getResult(Future<T> future, Duration timeout) throws InterruptedException, TimeoutException {
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    private BootstrapResult getResult(Future<BootstrapResult> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    private String getUserAndHost(BootstrapTarget bootstrapTarget) {
+        return String.join("@", bootstrapTarget.getUser(), bootstrapTarget.getHost());
+    }
+
+    private void copyAndBootstrap(BootstrapTarget bootstrapTarget, Session session) throws JSchException, IOException {
+        String userAndHost = getUserAndHost(bootstrapTarget);
+        String filename = String.join(".", "gg", bootstrapTarget.getGroupName(), "sh");
+        String localFilename = String.join("/", "build", filename);
+        String remoteFilename = filename;
+        log.info(String.join("", "Copying bootstrap script to [", userAndHost, "] via scp..."));
+        ioHelper.sendFile(session, localFilename, remoteFilename);
+        ioHelper.runCommand(session, String.join(" ", "chmod", "+x", String.join("", "./", remoteFilename)));
+        log.info(String.join("", "Running bootstrap script on target host in screen, connect to the target host [", userAndHost, "] and run 'screen -r' to see the progress"));
+        runCommandInScreen(session, String.join(" ", String.join("", "./", remoteFilename), "--now"), Optional.of(GREENGRASS_SESSION_NAME), true);
+    }
+
+    private void runCommandInScreen(Session session, String command, Optional<String> screenSessionName, boolean keepSessionOpen) throws JSchException, IOException {
+        AtomicBoolean screenAvailable = new AtomicBoolean(false);
+
+        Consumer<String> screenAvailabilityChecker = getScreenAvailabilityChecker(screenAvailable);
+
+        String sessionNameOptions = screenSessionName
+                .map(name -> String.join(" ", "-S", name))
+                .orElse("");
+
+        List<String> checkCommands = new ArrayList<>();
+        checkCommands.add(String.join(" ", "screen", "--version"));
+        screenSessionName.ifPresent(name -> checkCommands.add(String.join(" ", "screen", sessionNameOptions, "-Q", "select", ".")));
+
+        // The checks don't depend on each other so they run on separate channels at the same time
+        List<List<String>> checkOutputs = ioHelper.runCommands(session, checkCommands);
+
+        checkOutputs.get(0).forEach(screenAvailabilityChecker);
+
+        if (!screenAvailable.get()) {
+            // Screen is not available, throw an exception
+            throw new RuntimeException(SCREEN_NOT_AVAILABLE_ERROR_MESSAGE);
+        }
+
+        if (screenSessionName.isPresent()) {
+            AtomicBoolean screenSessionNameAvailable = new AtomicBoolean(false);
+
+            Consumer<String> screenSessionNameChecker = getScreenSessionNameChecker(screenSessionNameAvailable);
+
+            checkOutputs.get(1).forEach(screenSessionNameChecker);
+
+            if (!screenSessionNameAvailable.get()) {
+                throw new RuntimeException(SCREEN_SESSION_NAME_IN_USE_ERROR_MESSAGE);
+            }
+        }
+
+        if (keepSessionOpen) {
+            command = String.join("", "bash -c \"", command, "; exec bash\"");
+        }
+
+        ioHelper.runCommand(session, String.join(" ", "screen", sessionNameOptions, "-d", "-m", command));
+    }
+
+    @NotNull
+    private Consumer<String> getScreenAvailabilityChecker(AtomicBoolean flag) {
+        return string -> {
+            // "screen --version" returns a string like: Screen version 4.05.00 (GNU) 10-Dec-16
+            if (!string.contains("Screen")) {
+                // Doesn't look like what we want
+                return;
+            }
+
+            // This should be it
+            flag.set(true);
+        };
+    }
+
+    @NotNull
+    private Consumer<String> getScreenSessionNameChecker(AtomicBoolean flag) {
+        return string -> {
+            // "screen -S session_name -Q select ." returns a string like: No screen session found
+            if (!string.contains("No screen session found")) {
+                // Doesn't look like what we want
+                return;
+            }
+
+            // This should be it
+            flag.set(true);
+        };
+    }
+
+    @Override
+    public void logResults(List<BootstrapResult> bootstrapResults) {
+        log.info(String.format("%-40s %-30s %-10s %10s", "Host", "Group", "Result", "Seconds"));
+
+        bootstrapResults.forEach(bootstrapResult -> log.info(String.format("%-40s %-30s %-10s %10.1f",
+                getUserAndHost(bootstrapResult.getTarget()),
+                bootstrapResult.getTarget().getGroupName(),
+                bootstrapResult.isSuccessful() ? "OK" : "FAILED",
+                bootstrapResult.getDuration().toMillis() / 1000.0)));
+
+        long failures = bootstrapResults.stream()
+                .filter(bootstrapResult -> !bootstrapResult.isSuccessful())
+                .count();
+
+        log.info(String.join("", "Bootstrapped [", String.valueOf(bootstrapResults.size() - failures), "] of [",
+                String.valueOf(bootstrapResults.size()), "] host(s)"));
+    }
+}
@@ -0,0 +1,342 @@
+package com.awslabs.aws.greengrass.provisioner.implementations.helpers;
+
+import com.awslabs.aws.greengrass.provisioner.data.BuildCacheStats;
+import com.awslabs.aws.greengrass.provisioner.data.BuilderType;
+import com.awslabs.aws.greengrass.provisioner.data.ImmutableBuildCacheStats;
+import com.awslabs.aws.greengrass.provisioner.data.Language;
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.BuildCacheHelper;
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.GGConstants;
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.ProcessHelper;
+import io.vavr.control.Try;
+import org.gradle.util.GradleVersion;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.inject.Inject;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class BasicBuildCacheHelper implements BuildCacheHelper {
+    // Bump this if the way keys are calculated changes so old entries are never reused
+    private static final String CACHE_KEY_VERSION = "2";
+    // Never sources wherever they are, the builder specific directories are only outputs at the top of the function
+    private static final List<String> ALWAYS_EXCLUDED_DIRECTORIES = Arrays.asList(".git", "__pycache__");
+    private static final String UNKNOWN_TOOL_VERSION = "unknown";
+    private final Logger log = LoggerFactory.getLogger(BasicBuildCacheHelper.class);
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong bytesSaved = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final Map<Path, Object> archiveLocks = new ConcurrentHashMap<>();
+    // The cache key of the artifact each archive path holds, for archives built or restored in this run
+    private final Map<Path, String> builtArchives = new ConcurrentHashMap<>();
+    // Looked up once per run, the installed tools don't change while it is running
+    private final Map<BuilderType, String> toolVersions = new ConcurrentHashMap<>();
+    @Inject
+    GGConstants ggConstants;
+    @Inject
+    ProcessHelper processHelper;
+
+    @Inject
+    public BasicBuildCacheHelper() {
+    }
+
+    @Override
+    public String getCacheKey(BuilderType builderType, Language language, Path buildDirectory, Path archivePath) {
+        MessageDigest messageDigest = Try.of(() -> MessageDigest.getInstance("SHA-256")).get();
+
+        update(messageDigest, CACHE_KEY_VERSION);
+        update(messageDigest, builderType.name());
+        // A different pip, npm, or Gradle can resolve or package the same sources differently
+        update(messageDigest, getToolVersion(builderType));
+        update(messageDigest, language.name());
+
+        Path normalizedBuildDirectory = buildDirectory.toAbsolutePath().normalize();
+        Path normalizedArchivePath = archivePath.toAbsolutePath().normalize();
+
+        for (Path path : getSourceFiles(builderType, normalizedBuildDirectory, normalizedArchivePath)) {
+            // Include the relative path so renaming or moving a file changes the key
+            update(messageDigest, normalizedBuildDirectory.relativize(path).toString().replace(File.separatorChar, '/'));
+            Try.run(() -> updateWithFileContents(messageDigest, path)).get();
+        }
+
+        return toHex(messageDigest.digest());
+    }
+
+    @Override
+    public boolean buildIfNecessary(BuilderType builderType, Language language, Path buildDirectory, Path archivePath, Runnable builder) {
+        Path normalizedArchivePath = archivePath.toAbsolutePath().normalize();
+
+        // Groups deployed at the same time can share functions, only one of them builds each artifact and the others
+        // wait for it instead of building in the same directory at the same time
+        synchronized (archiveLocks.computeIfAbsent(normalizedArchivePath, key -> new Object())) {
+            String cacheKey = getCacheKey(builderType, language, buildDirectory, archivePath);
+
+            if (cacheKey.equals(builtArchives.get(normalizedArchivePath)) && Files.isRegularFile(normalizedArchivePath)) {
+                // Already in place, copying it again could change the file while another group is uploading it
+                hits.incrementAndGet();
+                bytesSaved.addAndGet(Try.of(() -> Files.size(normalizedArchivePath)).getOrElse(0L));
+                return true;
+            }
+
+            boolean skipped = restore(cacheKey, archivePath);
+
+            if (!skipped) {
+                builder.run();
+                store(cacheKey, archivePath);
+            }
+
+            builtArchives.put(normalizedArchivePath, cacheKey);
+
+            return skipped;
+        }
+    }
+
+    private String getToolVersion(BuilderType builderType) {
+        return toolVersions.computeIfAbsent(builderType, this::lookUpToolVersion);
+    }
+
+    private String lookUpToolVersion(BuilderType builderType) {
+        switch (builderType) {
+            case PYTHON3:
+                // Also names the Python version pip runs under
+                return getCommandOutput(Arrays.asList("pip3", "--version"));
+            case NODE:
+                return String.join(" ", getCommandOutput(Arrays.asList("node", "--version")), getCommandOutput(Arrays.asList("npm", "--version")));
+            case GRADLE:
+                // Projects without a wrapper are built with the tooling API's Gradle version, the wrapper properties of
+                // the ones that have it are hashed with the sources
+                return Try.of(() -> GradleVersion.current().getVersion()).getOrElse(UNKNOWN_TOOL_VERSION);
+            default:
+                // Build scripts run whatever they need, only their contents can be part of the key
+                return "";
+        }
+    }
+
+    private String getCommandOutput(List<String> programAndArguments) {
+        StringBuilder stringBuilder = new StringBuilder();
+
+        Optional<Integer> optionalExitCode = processHelper.getOutputFromProcess(log, processHelper.getProcessBuilder(programAndArguments), true,
+                Optional.of(stringBuilder::append), Optional.empty());
+
+        if (!optionalExitCode.isPresent() || (optionalExitCode.get() != 0)) {
+            // The build reports the missing tool, the key just can't depend on its version
+            return UNKNOWN_TOOL_VERSION;
+        }
+
+        return stringBuilder.toString().trim();
+    }
+
+    private List<Path> getSourceFiles(BuilderType builderType, Path buildDirectory, Path archivePath) {
+        Set<String> excludedDirectories = new HashSet<>(ALWAYS_EXCLUDED_DIRECTORIES);
+        Set<Path> excludedTopLevelDirectories = getExcludedDirectories(builderType).stream()
+                .map(buildDirectory::resolve)
+                .collect(Collectors.toSet());
+
+        List<Path> sourceFiles = new ArrayList<>();
+
+        Try.of(() -> Files.walkFileTree(buildDirectory, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path directory, BasicFileAttributes attributes) {
+                if (excludedTopLevelDirectories.contains(directory) ||
+                        (!directory.equals(buildDirectory) && excludedDirectories.contains(directory.getFileName().toString()))) {
+                    // Skip build outputs and installed dependencies, they are derived from the manifests we do hash
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                if (attributes.isRegularFile() && !file.equals(archivePath)) {
+                    sourceFiles.add(file);
+                }
+
+                return FileVisitResult.CONTINUE;
+            }
+        })).get();
+
+        // Sort so the key doesn't depend on the order the file system returns entries in
+        Collections.sort(sourceFiles);
+
+        return sourceFiles;
+    }
+
+    private List<String> getExcludedDirectories(BuilderType builderType) {
+        switch (builderType) {
+            case PYTHON3:
+                return Collections.singletonList("package");
+            case NODE:
+                return Collections.singletonList("node_modules");
+            case GRADLE:
+                return Arrays.asList("build", ".gradle");
+            default:
+                return Collections.emptyList();
+        }
+    }
+
+    private void update(MessageDigest messageDigest, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+
+        // Length prefix each value so adjacent values can't run together and collide
+        messageDigest.update(String.valueOf(bytes.length).getBytes(StandardCharsets.UTF_8));
+        messageDigest.update((byte) ':');
+        messageDigest.update(bytes);
+    }
+
+    private void updateWithFileContents(MessageDigest messageDigest, Path path) throws IOException {
+        update(messageDigest, String.valueOf(Files.size(path)));
+
+        byte[] buffer = new byte[65536];
+
+        try (InputStream inputStream = Files.newInputStream(path)) {
+            int bytesRead;
+
+            while ((bytesRead = inputStream.read(buffer)) != -1) {
+                messageDigest.update(buffer, 0, bytesRead);
+            }
+        }
+    }
+
+    private String toHex(byte[] bytes) {
+        StringBuilder stringBuilder = new StringBuilder(bytes.length * 2);
+
+        for (byte value : bytes) {
+            stringBuilder.append(String.format("%02x", value));
+        }
+
+        return stringBuilder.toString();
+    }
+
+    private Path getCacheDirectory() {
+        return Paths.get(ggConstants.getFunctionBuildCacheDirectory());
+    }
+
+    private Path getCacheEntry(String cacheKey) {
+        return getCacheDirectory().resolve(cacheKey);
+    }
+
+    @Override
+    public boolean restore(String cacheKey, Path archivePath) {
+        Path cacheEntry = getCacheEntry(cacheKey);
+
+        if (!Files.isRegularFile(cacheEntry)) {
+            misses.incrementAndGet();
+            return false;
+        }
+
+        Try<Long> restoreTry = Try.of(() -> copyFromCache(cacheEntry, archivePath));
+
+        if (restoreTry.isFailure()) {
+            // A broken entry should never fail the build, treat it as a miss and let the build overwrite it
+            log.warn(String.join("", "Could not restore [", archivePath.toString(), "] from the build cache [", restoreTry.getCause().getMessage(), "]"));
+            misses.incrementAndGet();
+            return false;
+        }
+
+        hits.incrementAndGet();
+        bytesSaved.addAndGet(restoreTry.get());
+
+        return true;
+    }
+
+    private long copyFromCache(Path cacheEntry, Path archivePath) throws IOException {
+        Path parent = archivePath.toAbsolutePath().getParent();
+
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        Files.copy(cacheEntry, archivePath, StandardCopyOption.REPLACE_EXISTING);
+
+        // Mark the entry as recently used so eviction removes older entries first
+        Files.setLastModifiedTime(cacheEntry, FileTime.fromMillis(System.currentTimeMillis()));
+
+        return Files.size(cacheEntry);
+    }
+
+    @Override
+    public void store(String cacheKey, Path archivePath) {
+        if (!Files.isRegularFile(archivePath)) {
+            log.warn(String.join("", "Build did not produce [", archivePath.toString(), "], it will not be cached"));
+            return;
+        }
+
+        Try.run(() -> copyToCache(cacheKey, archivePath))
+                .onFailure(throwable -> log.warn(String.join("", "Could not add [", archivePath.toString(), "] to the build cache [", throwable.getMessage(), "]")));
+
+        evictIfNecessary();
+    }
+
+    private void copyToCache(String cacheKey, Path archivePath) throws IOException {
+        Path cacheDirectory = getCacheDirectory();
+        Files.createDirectories(cacheDirectory);
+
+        // Copy to a temporary file first so a concurrent restore never sees a partially written entry
+        Path temporaryEntry = Files.createTempFile(cacheDirectory, cacheKey, ".tmp");
+
+        try {
+            Files.copy(archivePath, temporaryEntry, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(temporaryEntry, getCacheEntry(cacheKey), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporaryEntry);
+        }
+    }
+
+    private synchronized void evictIfNecessary() {
+        List<File> entries = Try.of(this::getCacheEntries).getOrElse(Collections.emptyList());
+
+        long totalBytes = entries.stream()
+                .mapToLong(File::length)
+                .sum();
+
+        long maxBytes = ggConstants.getFunctionBuildCacheMaxBytes();
+
+        // Least recently used entries first
+        Iterator<File> iterator = entries.stream()
+                .sorted(Comparator.comparingLong(File::lastModified))
+                .iterator();
+
+        while ((totalBytes > maxBytes) && iterator.hasNext()) {
+            File entry = iterator.next();
+            long length = entry.length();
+
+            if (entry.delete()) {
+                totalBytes -= length;
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    private List<File> getCacheEntries() throws IOException {
+        try (Stream<Path> stream = Files.list(getCacheDirectory())) {
+            return stream
+                    .filter(path -> !path.getFileName().toString().endsWith(".tmp"))
+                    .map(Path::toFile)
+                    .filter(File::isFile)
+                    .collect(Collectors.toList());
+        }
+    }
+
+    @Override
+    public BuildCacheStats getStats() {
+        return ImmutableBuildCacheStats.builder()
+                .hits(hits.get())
+                .misses(misses.get())
+                .bytesSaved(bytesSaved.get())
+                .evictions(evictions.get())
+                .build();
+    }
+}
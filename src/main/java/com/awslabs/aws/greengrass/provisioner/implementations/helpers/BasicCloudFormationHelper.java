@@ -1,6 +1,9 @@
 package com.awslabs.aws.greengrass.provisioner.implementations.helpers;
 
+import com.awslabs.aws.greengrass.provisioner.data.BackoffPolicy;
+import com.awslabs.aws.greengrass.provisioner.data.ImmutableBackoffPolicy;
 import com.awslabs.aws.greengrass.provisioner.data.conf.FunctionConf;
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.BackoffHelper;
 import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.CloudFormationHelper;
 import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.IoHelper;
 import io.vavr.control.Try;
@@ -10,17 +13,27 @@ import software.amazon.awssdk.services.cloudformation.CloudFormationClient;
 import software.amazon.awssdk.services.cloudformation.model.*;
 
 import javax.inject.Inject;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 public class BasicCloudFormationHelper implements CloudFormationHelper {
+    // Stacks usually take minutes, polling quickly at first still catches the ones that only change a little
+    private static final BackoffPolicy STACK_LAUNCH_BACKOFF_POLICY = ImmutableBackoffPolicy.builder()
+            .name("CloudFormation stack launch")
+            .minimumDelay(Duration.ofSeconds(2))
+            .maximumDelay(Duration.ofSeconds(30))
+            .budget(Duration.ofHours(1))
+            .build();
     private final Logger log = LoggerFactory.getLogger(BasicCloudFormationHelper.class);
     @Inject
     CloudFormationClient cloudFormationClient;
     @Inject
     IoHelper ioHelper;
+    @Inject
+    BackoffHelper backoffHelper;
 
     @Inject
     public BasicCloudFormationHelper() {
@@ -112,12 +125,24 @@ public class BasicCloudFormationHelper implements CloudFormationHelper {
         DescribeStacksRequest describeStacksRequest = DescribeStacksRequest.builder()
                 .stackName(stackName)
                 .build();
+
+        StackStatus stackStatus = backoffHelper.poll(STACK_LAUNCH_BACKOFF_POLICY,
+                () -> getStackStatus(describeStacksRequest, stackName),
+                status -> !isInProgress(status));
+
+        if (isInProgress(stackStatus)) {
+            throw new RuntimeException(String.join("", "CloudFormation stack [", stackName, "] did not finish launching in time"));
+        }
+
+        log.info(String.join("", "CloudFormation stack ready [", stackName, "]"));
+    }
+
+    private StackStatus getStackStatus(DescribeStacksRequest describeStacksRequest, String stackName) {
         DescribeStacksResponse describeStacksResponse = cloudFormationClient.describeStacks(describeStacksRequest);
 
         StackStatus stackStatus = describeStacksResponse.stacks().get(0).stackStatus();
 
-        while (stackStatus.equals(StackStatus.CREATE_IN_PROGRESS) ||
-                stackStatus.equals(StackStatus.UPDATE_IN_PROGRESS)) {
+        if (isInProgress(stackStatus)) {
             if (stackStatus.equals(StackStatus.ROLLBACK_IN_PROGRESS) ||
                     (stackStatus.equals(StackStatus.ROLLBACK_COMPLETE)) ||
                     (stackStatus.equals(StackStatus.ROLLBACK_FAILED))) {
@@ -131,13 +156,13 @@ public class BasicCloudFormationHelper implements CloudFormationHelper {
             }
 
             log.info(String.join("", "Waiting for stack to finish ", action, " [", stackName, ", ", stackStatus.toString(), "]..."));
-
-            ioHelper.sleep(10000);
-
-            describeStacksResponse = cloudFormationClient.describeStacks(describeStacksRequest);
-            stackStatus = describeStacksResponse.stacks().get(0).stackStatus();
         }
 
-        log.info(String.join("", "CloudFormation stack ready [", stackName, "]"));
+        return stackStatus;
+    }
+
+    private boolean isInProgress(StackStatus stackStatus) {
+        return stackStatus.equals(StackStatus.CREATE_IN_PROGRESS) ||
+                stackStatus.equals(StackStatus.UPDATE_IN_PROGRESS);
     }
 }
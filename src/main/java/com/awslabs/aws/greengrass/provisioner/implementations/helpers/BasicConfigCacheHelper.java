@@ -0,0 +1,179 @@
+package com.awslabs.aws.greengrass.provisioner.implementations.helpers;
+
+import com.awslabs.aws.greengrass.provisioner.data.ConfigCacheStats;
+import com.awslabs.aws.greengrass.provisioner.data.ImmutableConfigCacheStats;
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.ConfigCacheHelper;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import io.vavr.control.Try;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.inject.Inject;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+public class BasicConfigCacheHelper implements ConfigCacheHelper {
+    private final Logger log = LoggerFactory.getLogger(BasicConfigCacheHelper.class);
+    // Config trees are immutable so every caller can share the same instance
+    private final Map<Path, FileEntry> fileEntries = new ConcurrentHashMap<>();
+    private final Map<String, Config> stringEntries = new ConcurrentHashMap<>();
+    // Oldest first, a warm Lambda container parses the function configuration of every Lambda it's asked about
+    private final Queue<String> stringEntryOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicLong parses = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong unchangedContentHits = new AtomicLong();
+    private final AtomicLong parseNanos = new AtomicLong();
+    // Tests lower this so they can fill the cache with a handful of strings
+    int maxStringEntries = 256;
+
+    @Inject
+    public BasicConfigCacheHelper() {
+    }
+
+    @Override
+    public Config parseFile(File file) {
+        if (!file.isFile()) {
+            return ConfigFactory.parseFile(file);
+        }
+
+        return getFileEntry(file).config;
+    }
+
+    @Override
+    public String readFile(File file) {
+        return getFileEntry(file).content;
+    }
+
+    @Override
+    public Config parseString(String config) {
+        String hash = getHash(config.getBytes(StandardCharsets.UTF_8));
+        Config existingConfig = stringEntries.get(hash);
+
+        if (existingConfig != null) {
+            hits.incrementAndGet();
+
+            return existingConfig;
+        }
+
+        Config parsedConfig = stringEntries.computeIfAbsent(hash, key -> {
+            stringEntryOrder.add(key);
+
+            return parse(() -> ConfigFactory.parseString(config));
+        });
+
+        evictOldestStringEntries();
+
+        return parsedConfig;
+    }
+
+    private void evictOldestStringEntries() {
+        while (stringEntries.size() > maxStringEntries) {
+            String oldestHash = stringEntryOrder.poll();
+
+            if (oldestHash == null) {
+                return;
+            }
+
+            stringEntries.remove(oldestHash);
+        }
+    }
+
+    private FileEntry getFileEntry(File file) {
+        // The real path so different relative paths to the same file share an entry
+        Path path = Try.of(() -> file.toPath().toRealPath()).get();
+
+        return fileEntries.compute(path, this::refresh);
+    }
+
+    private FileEntry refresh(Path path, FileEntry existingFileEntry) {
+        BasicFileAttributes basicFileAttributes = Try.of(() -> Files.readAttributes(path, BasicFileAttributes.class)).get();
+        long lastModified = basicFileAttributes.lastModifiedTime().toMillis();
+        long size = basicFileAttributes.size();
+
+        if ((existingFileEntry != null) && (existingFileEntry.lastModified == lastModified) && (existingFileEntry.size == size)) {
+            hits.incrementAndGet();
+
+            return existingFileEntry;
+        }
+
+        byte[] bytes = Try.of(() -> Files.readAllBytes(path)).get();
+        String hash = getHash(bytes);
+
+        if ((existingFileEntry != null) && existingFileEntry.hash.equals(hash)) {
+            // Touched or rewritten with the same content, keep the parsed tree
+            unchangedContentHits.incrementAndGet();
+
+            return new FileEntry(lastModified, size, hash, existingFileEntry.content, existingFileEntry.config);
+        }
+
+        if (existingFileEntry != null) {
+            log.debug(String.join("", "Configuration file [", path.toString(), "] changed, parsing it again"));
+        }
+
+        // Parsed from the file instead of the bytes so includes are still resolved relative to the file
+        Config config = parse(() -> ConfigFactory.parseFile(path.toFile()));
+
+        return new FileEntry(lastModified, size, hash, new String(bytes, StandardCharsets.UTF_8), config);
+    }
+
+    private Config parse(Supplier<Config> parser) {
+        long startNanos = System.nanoTime();
+
+        try {
+            return parser.get();
+        } finally {
+            parses.incrementAndGet();
+            parseNanos.addAndGet(System.nanoTime() - startNanos);
+        }
+    }
+
+    private String getHash(byte[] bytes) {
+        MessageDigest messageDigest = Try.of(() -> MessageDigest.getInstance("SHA-256")).get();
+
+        StringBuilder hash = new StringBuilder();
+
+        for (byte b : messageDigest.digest(bytes)) {
+            hash.append(String.format("%02x", b));
+        }
+
+        return hash.toString();
+    }
+
+    @Override
+    public ConfigCacheStats getStats() {
+        return ImmutableConfigCacheStats.builder()
+                .parses(parses.get())
+                .hits(hits.get())
+                .unchangedContentHits(unchangedContentHits.get())
+                .parseTime(Duration.ofNanos(parseNanos.get()))
+                .build();
+    }
+
+    private static class FileEntry {
+        private final long lastModified;
+        private final long size;
+        private final String hash;
+        private final String content;
+        private final Config config;
+
+        private FileEntry(long lastModified, long size, String hash, String content, Config config) {
+            this.lastModified = lastModified;
+            this.size = size;
+            this.hash = hash;
+            this.content = content;
+            this.config = config;
+        }
+    }
+}
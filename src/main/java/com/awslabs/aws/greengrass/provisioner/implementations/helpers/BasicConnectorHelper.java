@@ -5,7 +5,6 @@ import com.awslabs.aws.greengrass.provisioner.data.conf.ImmutableConnectorConf;
 import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.*;
 import com.awslabs.s3.helpers.interfaces.V2S3Helper;
 import com.typesafe.config.Config;
-import com.typesafe.config.ConfigFactory;
 import io.vavr.Tuple2;
 import io.vavr.control.Try;
 import org.slf4j.Logger;
@@ -33,6 +32,10 @@ public class BasicConnectorHelper implements ConnectorHelper {
     IoHelper ioHelper;
     @Inject
     V2S3Helper s3Helper;
+    @Inject
+    ConfigCacheHelper configCacheHelper;
+    // Relative to the working directory like the other configuration directories
+    File connectorsDirectory = new File(CONNECTORS);
 
     @Inject
     public BasicConnectorHelper() {
@@ -44,14 +47,17 @@ public class BasicConnectorHelper implements ConnectorHelper {
 
         List<File> connectorConfFiles = connectorConfFileNames.stream()
                 .map(filename -> String.join(".", filename, "conf"))
-                .map(filename -> String.join("/", CONNECTORS, filename))
-                .map(File::new)
+                .map(filename -> new File(connectorsDirectory, filename))
                 .collect(Collectors.toList());
 
         ioHelper.detectMissingConfigFiles(log, "connector", connectorConfFiles);
 
+        // Use the connector.defaults.conf values and then the default config (environment) values, built once for all of
+        // the connectors
+        Config fallbackConfig = ggVariables.getConnectorDefaults().withFallback(defaultConfig);
+
         for (File connectorConfFile : connectorConfFiles) {
-            ConnectorConf connectorConf = Try.of(() -> getConnectorConf(defaultConfig, connectorConfFile)).get();
+            ConnectorConf connectorConf = Try.of(() -> getConnectorConf(fallbackConfig, connectorConfFile)).get();
             connectorConfList.add(connectorConf);
         }
 
@@ -66,16 +72,12 @@ public class BasicConnectorHelper implements ConnectorHelper {
         return connectorConfList;
     }
 
-    private ConnectorConf getConnectorConf(Config defaultConfig, File connectorConfFile) {
+    private ConnectorConf getConnectorConf(Config fallbackConfig, File connectorConfFile) {
         ImmutableConnectorConf.Builder connectorConfBuilder = ImmutableConnectorConf.builder();
 
-        Config connectorDefaults = ggVariables.getConnectorDefaults();
-
-        Config config = ConfigFactory.parseFile(connectorConfFile)
-                // Use the connector.defaults.conf values
-                .withFallback(connectorDefaults)
-                // Use the default config (environment) values
-                .withFallback(defaultConfig)
+        Config config = configCacheHelper.parseFile(connectorConfFile)
+                // Use the connector.defaults.conf and default config (environment) values
+                .withFallback(fallbackConfig)
                 // Resolve the entire fallback config
                 .resolve();
 
@@ -1,6 +1,9 @@
 package com.awslabs.aws.greengrass.provisioner.implementations.helpers;
 
 import com.awslabs.aws.greengrass.provisioner.data.*;
+import com.awslabs.aws.greengrass.provisioner.data.ImmutablePhase;
+import com.awslabs.aws.greengrass.provisioner.data.Phase;
+import com.awslabs.aws.greengrass.provisioner.data.PhaseResults;
 import com.awslabs.aws.greengrass.provisioner.data.arguments.DeploymentArguments;
 import com.awslabs.aws.greengrass.provisioner.data.arguments.HsiParameters;
 import com.awslabs.aws.greengrass.provisioner.data.conf.*;
@@ -8,6 +11,7 @@ import com.awslabs.aws.greengrass.provisioner.data.exceptions.IamReassociationNe
 import com.awslabs.aws.greengrass.provisioner.docker.BasicProgressHandler;
 import com.awslabs.aws.greengrass.provisioner.docker.EcrDockerHelper;
 import com.awslabs.aws.greengrass.provisioner.docker.OfficialGreengrassImageDockerHelper;
+import com.awslabs.aws.greengrass.provisioner.docker.interfaces.DockerSessionHelper;
 import com.awslabs.aws.greengrass.provisioner.docker.interfaces.EcrDockerClientProvider;
 import com.awslabs.aws.greengrass.provisioner.docker.interfaces.OfficialGreengrassImageDockerClientProvider;
 import com.awslabs.aws.greengrass.provisioner.interfaces.ExceptionHelper;
@@ -29,14 +33,12 @@ import com.awslabs.s3.helpers.data.S3Bucket;
 import com.awslabs.s3.helpers.data.S3Path;
 import com.awslabs.s3.helpers.interfaces.V2S3Helper;
 import com.google.common.collect.ImmutableSet;
-import com.jcraft.jsch.JSchException;
-import com.jcraft.jsch.Session;
 import com.spotify.docker.client.DockerClient;
 import com.spotify.docker.client.exceptions.DockerException;
 import com.typesafe.config.*;
+import io.vavr.Tuple;
+import io.vavr.Tuple2;
 import io.vavr.control.Try;
-import net.jodah.failsafe.Failsafe;
-import net.jodah.failsafe.RetryPolicy;
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -50,9 +52,9 @@ import software.amazon.awssdk.services.iot.model.CreateRoleAliasResponse;
 import software.amazon.awssdk.services.s3.S3Client;
 
 import javax.inject.Inject;
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.net.URL;
 import java.time.Duration;
 import java.util.List;
@@ -60,10 +62,6 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.*;
-import java.util.concurrent.Callable;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -84,10 +82,59 @@ public class BasicDeploymentHelper implements DeploymentHelper {
     private static final String X86_AMAZON_LINUX_2_AMI_FILTER = "amzn2-ami-hvm-2.0.????????-x86_64-gp2";
     private static final String ARM64_AMAZON_LINUX_2_AMI_FILTER = "amzn2-ami-hvm-2.0.????????-arm64-gp2";
     private static final String DOES_NOT_EXIST = "does not exist";
-    private static final String SCREEN_NOT_AVAILABLE_ERROR_MESSAGE = "screen is not available on the host. Screen must be available to use this feature";
-    private static final String GREENGRASS_SESSION_NAME = "greengrass";
-    private static final String SCREEN_SESSION_NAME_IN_USE_ERROR_MESSAGE = String.join("", "A screen session with the specified name [", GREENGRASS_SESSION_NAME, "] already exists. Maybe Greengrass is already running on this host. If so, connect to the system and close the screen session before trying again.");
     private static final String GREENGRASS_EC2_INSTANCE_TAG_PREFIX = "greengrass";
+    private static final String DEPLOYMENT_CONF_PHASE = "deploymentConf";
+    private static final String GROUP_ID_PHASE = "groupId";
+    private static final String CORE_THING_ARN_PHASE = "coreThingArn";
+    private static final String DEFAULT_ENVIRONMENT_PHASE = "defaultEnvironment";
+    private static final String DEFAULT_CONFIG_PHASE = "defaultConfig";
+    private static final String FUNCTION_CONFS_PHASE = "functionConfs";
+    private static final String CONNECTOR_CONFS_PHASE = "connectorConfs";
+    private static final String CONNECTOR_DEFINITION_PHASE = "connectorDefinition";
+    private static final String MERGED_DEPLOYMENT_CONF_PHASE = "mergedDeploymentConf";
+    private static final String CORE_ROLE_PHASE = "coreRole";
+    private static final String SERVICE_ROLE_PHASE = "serviceRole";
+    private static final String ROLE_ALIAS_PHASE = "roleAlias";
+    private static final String CORE_CERTIFICATE_PHASE = "coreCertificate";
+    private static final String CORE_POLICY_NAME_PHASE = "corePolicyName";
+    private static final String CORE_CERTIFICATE_ATTACHMENT_PHASE = "coreCertificateAttachment";
+    private static final String CORE_ROLE_ASSOCIATION_PHASE = "coreRoleAssociation";
+    private static final String CORE_DEFINITION_PHASE = "coreDefinition";
+    private static final String LOGGER_DEFINITION_PHASE = "loggerDefinition";
+    private static final String LAMBDA_ROLE_PHASE = "lambdaRole";
+    private static final String CONTAINER_CHECK_PHASE = "containerCheck";
+    private static final String CLOUDFORMATION_STACKS_PHASE = "cloudFormationStacks";
+    private static final String FUNCTIONS_PHASE = "functions";
+    private static final String RESOURCE_DEFINITION_PHASE = "resourceDefinition";
+    private static final String FUNCTION_DEFINITION_PHASE = "functionDefinition";
+    private static final String SUBSCRIPTION_DEFINITION_PHASE = "subscriptionDefinition";
+    private static final String CONNECTED_SHADOW_THINGS_PHASE = "connectedShadowThings";
+    private static final String GROUP_VERSION_PHASE = "groupVersion";
+    private static final String OUTPUT_FILES_PHASE = "outputFiles";
+    // Redeployments are driven by the deployment status check, they don't need to wait between attempts
+    private static final BackoffPolicy IAM_REASSOCIATION_BACKOFF_POLICY = ImmutableBackoffPolicy.builder()
+            .name("Greengrass IAM reassociation")
+            .minimumDelay(Duration.ZERO)
+            .maximumDelay(Duration.ZERO)
+            .budget(Duration.ofMinutes(30))
+            .maxAttempts(4)
+            .build();
+    private static final BackoffPolicy IAM_SETTLE_BACKOFF_POLICY = ImmutableBackoffPolicy.builder()
+            .name("Greengrass IAM association")
+            .minimumDelay(Duration.ofSeconds(1))
+            .maximumDelay(Duration.ofSeconds(10))
+            .budget(Duration.ofSeconds(90))
+            .retryMessage("Letting IAM settle...")
+            .build();
+    // EC2 resources are eventually consistent, new ones usually show up within a few seconds
+    private static final BackoffPolicy EC2_VISIBILITY_BACKOFF_POLICY = ImmutableBackoffPolicy.builder()
+            .name("EC2 visibility")
+            .minimumDelay(Duration.ofSeconds(1))
+            .maximumDelay(Duration.ofSeconds(10))
+            .budget(Duration.ofMinutes(1))
+            .build();
+    // New AMIs are published every few weeks, a day old image is still a good image to launch
+    private static final Duration AMI_ID_TIME_TO_LIVE = Duration.ofDays(1);
     private final Logger log = LoggerFactory.getLogger(BasicDeploymentHelper.class);
     private final int normalFilePermissions = 0644;
     private final int scriptPermissions = 0755;
@@ -122,6 +169,10 @@ public class BasicDeploymentHelper implements DeploymentHelper {
     @Inject
     V2IotHelper v2IotHelper;
     @Inject
+    LookupCacheHelper lookupCacheHelper;
+    @Inject
+    ConfigCacheHelper configCacheHelper;
+    @Inject
     CloudFormationHelper cloudFormationHelper;
     @Inject
     ArchiveHelper archiveHelper;
@@ -136,9 +187,9 @@ public class BasicDeploymentHelper implements DeploymentHelper {
     @Inject
     BasicProgressHandler basicProgressHandler;
     @Inject
-    Ec2Client ec2Client;
+    DockerSessionHelper dockerSessionHelper;
     @Inject
-    ThreadHelper threadHelper;
+    Ec2Client ec2Client;
     @Inject
     DeploymentArgumentHelper deploymentArgumentHelper;
     @Inject
@@ -148,16 +199,24 @@ public class BasicDeploymentHelper implements DeploymentHelper {
     @Inject
     JsonHelper jsonHelper;
     @Inject
-    SshHelper sshHelper;
+    BootstrapHelper bootstrapHelper;
     @Inject
     TypeSafeConfigHelper typeSafeConfigHelper;
     @Inject
     ConnectorHelper connectorHelper;
     @Inject
     V2S3Helper v2S3Helper;
+    @Inject
+    PhaseGraphHelper phaseGraphHelper;
+    @Inject
+    BackoffHelper backoffHelper;
+    @Inject
+    RunReportHelper runReportHelper;
 
     private Optional<List<VirtualTarEntry>> installScriptVirtualTarEntries = Optional.empty();
     private Optional<List<VirtualTarEntry>> oemVirtualTarEntries = Optional.empty();
+    // Set when the caller wants the OEM files back instead of written to disk
+    private boolean returnOemFiles = false;
 
     @Inject
     public BasicDeploymentHelper() {
@@ -171,8 +230,8 @@ public class BasicDeploymentHelper implements DeploymentHelper {
             throw new RuntimeException(String.join("", "The specified deployment configuration file [", deploymentConfigFilename, "] does not exist."));
         }
 
-        Config config = ConfigFactory.parseFile(deploymentConfigFile)
-                .withValue(EnvironmentHelper.ACCOUNT_ID, ConfigValueFactory.fromAnyRef(iamHelper.getAccountId().getId()))
+        Config config = configCacheHelper.parseFile(deploymentConfigFile)
+                .withValue(EnvironmentHelper.ACCOUNT_ID, ConfigValueFactory.fromAnyRef(lookupCacheHelper.getAccountId()))
                 .withValue(EnvironmentHelper.REGION, ConfigValueFactory.fromAnyRef(awsHelper.getCurrentRegion().id()))
                 .withValue(EnvironmentHelper.AWS_IOT_THING_NAME, ConfigValueFactory.fromAnyRef(coreThingName.getName()))
                 .withFallback(getFallbackConfig())
@@ -361,13 +420,10 @@ public class BasicDeploymentHelper implements DeploymentHelper {
         // Wait for the deployment status to change //
         //////////////////////////////////////////////
 
-        RetryPolicy<DeploymentStatus> deploymentStatusRetryPolicy = new RetryPolicy<DeploymentStatus>()
-                // If we need a redeployment we'll handle that up to three times
-                .withMaxRetries(3)
-                .handleIf(throwable -> requiresIamReassociation(throwable, deploymentId, serviceRole, coreRole, greengrassGroupId, groupVersionId));
-
-        DeploymentStatus deploymentStatus = Failsafe.with(deploymentStatusRetryPolicy)
-                .get(() -> greengrassHelper.waitForDeploymentStatusToChange(greengrassGroupId, deploymentId.toString()));
+        // If we need a redeployment we'll handle that up to three times
+        DeploymentStatus deploymentStatus = backoffHelper.retry(IAM_REASSOCIATION_BACKOFF_POLICY,
+                () -> greengrassHelper.waitForDeploymentStatusToChange(greengrassGroupId, deploymentId.toString()),
+                throwable -> requiresIamReassociation(throwable, deploymentId, serviceRole, coreRole, greengrassGroupId, groupVersionId));
 
         return deploymentStatus;
     }
@@ -408,9 +464,8 @@ public class BasicDeploymentHelper implements DeploymentHelper {
         log.warn("Disassociating role from group");
         greengrassHelper.disassociateRoleFromGroup(greengrassGroupId);
 
-        log.warn("Letting IAM settle...");
-
-        ioHelper.sleep(30000);
+        // Wait until Greengrass no longer reports the associations instead of sleeping for a fixed amount of time
+        waitForRoleAssociations(greengrassGroupId, Optional.empty(), Optional.empty());
 
         // Reassociate roles
         log.warn("Reassociating Greengrass service role");
@@ -418,21 +473,29 @@ public class BasicDeploymentHelper implements DeploymentHelper {
         log.warn("Reassociating Greengrass group role");
         associateRoleToGroup(greengrassRole.get(), greengrassGroupId);
 
-        log.warn("Letting IAM settle...");
-
-        ioHelper.sleep(30000);
+        waitForRoleAssociations(greengrassGroupId, Optional.of(greengrassServiceRole.get().arn()), Optional.of(greengrassRole.get().arn()));
 
         log.warn("Trying another deployment");
         deploymentId = greengrassHelper.createDeployment(greengrassGroupId, groupVersionId);
         log.warn(String.join("", "Deployment created [", deploymentId, "]"));
 
-        log.warn("Letting deployment settle...");
-
-        ioHelper.sleep(30000);
+        // The deployment status check polls with backoff so there's no need to let the deployment settle here
 
         return deploymentId;
     }
 
+    private void waitForRoleAssociations(GreengrassGroupId greengrassGroupId, Optional<String> expectedServiceRoleArn, Optional<String> expectedGroupRoleArn) {
+        boolean settled = backoffHelper.poll(IAM_SETTLE_BACKOFF_POLICY,
+                () -> greengrassHelper.getServiceRoleArnForAccount().equals(expectedServiceRoleArn) &&
+                        greengrassHelper.getAssociatedRoleArn(greengrassGroupId).equals(expectedGroupRoleArn),
+                associationsMatch -> associationsMatch);
+
+        if (!settled) {
+            // The redeployment will tell us if this is really a problem
+            log.warn("Greengrass did not report the expected role associations in time, continuing anyway");
+        }
+    }
+
     @Override
     public void associateRoleToGroup(Role greengrassRole, GreengrassGroupId greengrassGroupId) {
         log.info("Associating the Greengrass role to the group");
@@ -446,8 +509,21 @@ public class BasicDeploymentHelper implements DeploymentHelper {
         greengrassHelper.associateServiceRoleToAccount(greengrassServiceRole);
     }
 
+    @Override
+    public Map<String, String> executeAndGetOemFiles(DeploymentArguments deploymentArguments) {
+        returnOemFiles = true;
+
+        execute(deploymentArguments);
+
+        return getOemFiles(oemVirtualTarEntries.orElseThrow(() -> new RuntimeException("The deployment did not create any OEM files")));
+    }
+
     @Override
     public void execute(DeploymentArguments deploymentArguments) {
+        runReportHelper.runSpan(String.join(" ", "deploy", deploymentArguments.groupName), () -> deploy(deploymentArguments));
+    }
+
+    private void deploy(DeploymentArguments deploymentArguments) {
         // Make the directories for build, if necessary
         ioHelper.createDirectoryIfNecessary(ggConstants.getBuildDirectory());
 
@@ -457,37 +533,10 @@ public class BasicDeploymentHelper implements DeploymentHelper {
         // Get the core thing name
         ImmutableThingName coreThingName = ggVariables.getCoreThingName(greengrassGroupName);
 
-        ///////////////////////////////////////
-        // Load the deployment configuration //
-        ///////////////////////////////////////
-
-        DeploymentConf deploymentConf;
-
-        if (isEmptyDeployment(deploymentArguments)) {
-            deploymentConf = getEmptyDeploymentConf(deploymentArguments, greengrassGroupName);
-        } else {
-            deploymentConf = Try.of(() -> getDeploymentConf(coreThingName, deploymentArguments.deploymentConfigFilename, greengrassGroupName)).get();
-        }
-
-        ///////////////////////////////////////////////////
-        // Create an AWS Greengrass Group and get its ID //
-        ///////////////////////////////////////////////////
-
         if (v2GreengrassHelper.groupExists(greengrassGroupName) && (deploymentArguments.ec2LinuxVersion != null)) {
             throw new RuntimeException(String.join("", "Group [", deploymentArguments.groupName, "] already exists, cannot launch another EC2 instance for this group.  You can update the group configuration by not specifying the EC2 launch option."));
         }
 
-        log.info("Creating a Greengrass group, if necessary");
-        String groupId = greengrassHelper.createGroupIfNecessary(greengrassGroupName);
-        GreengrassGroupId greengrassGroupId = ImmutableGreengrassGroupId.builder().groupId(groupId).build();
-
-        ///////////////////////
-        // Create core thing //
-        ///////////////////////
-
-        log.info("Creating core thing");
-        ThingArn coreThingArn = v2IotHelper.createThing(coreThingName);
-
         ///////////////////////////////////////////////////
         // Determine the default function isolation mode //
         ///////////////////////////////////////////////////
@@ -506,594 +555,846 @@ public class BasicDeploymentHelper implements DeploymentHelper {
             defaultFunctionIsolationMode = ggVariables.getDefaultFunctionIsolationMode();
         }
 
-        ////////////////////////////////////////////////////////////
-        // Build the default environment for all Lambda functions //
-        ////////////////////////////////////////////////////////////
+        ////////////////////////////////////////////////////////////////////////////////////
+        // Create everything the group version needs, independent phases run concurrently //
+        ////////////////////////////////////////////////////////////////////////////////////
 
-        Map<String, String> defaultEnvironment = environmentHelper.getDefaultEnvironment(greengrassGroupId, coreThingName, coreThingArn, greengrassGroupName);
+        List<Phase> phases = getDeploymentPhases(deploymentArguments, greengrassGroupName, coreThingName, defaultFunctionIsolationMode);
 
-        // Get a config object with the default environment values (eg. "${AWS_IOT_THING_NAME}" used in the function and connector configuration)
-        Config defaultConfig = typeSafeConfigHelper.addDefaultValues(defaultEnvironment, Optional.empty());
+        PhaseResults phaseResults = phaseGraphHelper.run(phases, ggConstants.getMaxConcurrentDeploymentPhases());
 
-        //////////////////////////////////////////////////////////////////////
-        // Find enabled functions and create function conf objects for them //
-        //////////////////////////////////////////////////////////////////////
+        GreengrassGroupId greengrassGroupId = phaseResults.get(GROUP_ID_PHASE);
+        List<FunctionConf> functionConfs = phaseResults.get(FUNCTION_CONFS_PHASE);
+        Role coreRole = phaseResults.get(CORE_ROLE_PHASE);
+        Optional<Role> optionalGreengrassServiceRole = phaseResults.get(SERVICE_ROLE_PHASE);
+        List<String> cloudFormationStacksLaunched = phaseResults.get(CLOUDFORMATION_STACKS_PHASE);
+        String groupVersionId = phaseResults.get(GROUP_VERSION_PHASE);
 
-        List<FunctionConf> functionConfs = getFunctionConfs(deploymentConf, defaultFunctionIsolationMode, defaultConfig);
+        //////////////////////////////////////////////////
+        // Start building the EC2 instance if necessary //
+        //////////////////////////////////////////////////
 
-        ///////////////////////////
-        // Create the connectors //
-        ///////////////////////////
+        Optional<String> optionalInstanceId = Optional.empty();
 
-        List<ConnectorConf> connectorConfs = connectorHelper.getConnectorConfObjects(defaultConfig, deploymentConf.getConnectors());
+        if (deploymentArguments.ec2LinuxVersion != null) {
+            log.info("Launching EC2 instance");
 
-        log.info("Creating connector definition");
-        Optional<String> optionalConnectionDefinitionVersionArn = greengrassHelper.createConnectorDefinitionVersion(connectorConfs);
+            Set<Integer> openPorts = functionConfs.stream()
+                    // Get all of the environment variables from each function
+                    .map(FunctionConf::getEnvironmentVariables)
+                    // Extract the PORT variables
+                    .map(environmentVariables -> Optional.ofNullable(environmentVariables.get("PORT")))
+                    // Filter out missing values
+                    .filter(Optional::isPresent)
+                    .map(Optional::get)
+                    // Parse the string into an integer
+                    .map(Integer::parseInt)
+                    .collect(Collectors.toSet());
 
-        ////////////////////////////////////////////////////////////////////////////////////////////////////////////
-        // Merge any additional permissions that the functions need into the core and service role configurations //
-        ////////////////////////////////////////////////////////////////////////////////////////////////////////////
+            optionalInstanceId = runReportHelper.span("launchEc2Instance", () -> launchEc2Instance(deploymentArguments.groupName, deploymentArguments.architecture, deploymentArguments.ec2LinuxVersion, deploymentArguments.mqttPort, openPorts));
 
-        List<Map> additionalCoreRoleIamPolicies = getRoleIamPolicies(functionConfs.stream()
-                .map(FunctionConf::getCoreRoleIamPolicy));
+            if (!optionalInstanceId.isPresent()) {
+                // Something went wrong, bail out
+                throw new RuntimeException("Couldn't obtain EC2 instance ID, bailing out");
+            }
+        }
 
-        List<String> additionalCoreRoleIamManagedPolicies = getRoleIamManagedPolicies(functionConfs.stream()
-                .map(FunctionConf::getCoreRoleIamManagedPolicies));
+        ///////////////////////////////////////////////////
+        // Start the Docker container build if necessary //
+        ///////////////////////////////////////////////////
 
-        RoleConf mergedCoreRoleConf = mergeRoleConf(deploymentConf.getCoreRoleConf(), additionalCoreRoleIamPolicies, additionalCoreRoleIamManagedPolicies);
+        if (deploymentArguments.buildContainer) {
+            runReportHelper.runSpan("buildContainer", () -> buildContainer(deploymentArguments));
+        }
 
-        // Use the merged core role conf
-        deploymentConf = ImmutableDeploymentConf.builder().from(deploymentConf)
-                .coreRoleConf(mergedCoreRoleConf)
-                .build();
+        // Create a deployment and wait for it to succeed.  Return if it fails.
+        runReportHelper.runSpan("waitForDeployment", () -> createAndWaitForDeployment(optionalGreengrassServiceRole, Optional.of(coreRole), greengrassGroupId, groupVersionId));
 
-        if (deploymentConf.getServiceRoleConf().isPresent()) {
-            List<Map> additionalServiceRoleIamPolicies = getRoleIamPolicies(functionConfs.stream()
-                    .map(FunctionConf::getServiceRoleIamPolicy));
+        //////////////////////////////////////////////
+        // Launch the Docker container if necessary //
+        //////////////////////////////////////////////
 
-            List<String> additionalServiceRoleIamManagedPolicies = getRoleIamManagedPolicies(functionConfs.stream()
-                    .map(FunctionConf::getServiceRoleIamManagedPolicies));
+        if (deploymentArguments.dockerLaunch) {
+            log.info("Launching Docker container");
+            runReportHelper.runSpan("dockerLaunch", () -> {
+                String officialGreengrassDockerImage = ggConstants.getOfficialGreengrassDockerImage();
+                officialGreengrassImageDockerHelper.pullImage(officialGreengrassDockerImage);
+                officialGreengrassImageDockerHelper.createAndStartContainer(officialGreengrassDockerImage, greengrassGroupName);
+            });
+        }
 
-            RoleConf mergedServiceRoleConf = mergeRoleConf(deploymentConf.getServiceRoleConf().get(), additionalServiceRoleIamPolicies, additionalServiceRoleIamManagedPolicies);
+        ///////////////////////////////////////////////////////
+        // Wait for the EC2 instance to launch, if necessary //
+        ///////////////////////////////////////////////////////
 
-            // Use the merged service role conf
-            deploymentConf = ImmutableDeploymentConf.builder().from(deploymentConf)
-                    .serviceRoleConf(mergedServiceRoleConf)
+        if (optionalInstanceId.isPresent()) {
+            String instanceId = optionalInstanceId.get();
+
+            DescribeInstancesRequest describeInstancesRequest = DescribeInstancesRequest.builder()
+                    .instanceIds(instanceId)
                     .build();
-        }
 
-        /////////////////////////////////////////////////////////////////////////////////////////////////////////////
-        // Merge any additional permissions that the connectors need into the core and service role configurations //
-        /////////////////////////////////////////////////////////////////////////////////////////////////////////////
+            BackoffPolicy describeInstancesBackoffPolicy = ImmutableBackoffPolicy.builder()
+                    .from(EC2_VISIBILITY_BACKOFF_POLICY)
+                    .name("EC2 describe instances")
+                    .retryMessage("Waiting for the instance to become visible...")
+                    .exhaustedMessage("Instance never became visible. Cannot continue.")
+                    .build();
 
-        additionalCoreRoleIamPolicies = getRoleIamPolicies(connectorConfs.stream()
-                .map(ConnectorConf::getCoreRoleIamPolicy));
+            DescribeInstancesResponse describeInstancesResponse = runReportHelper.span("waitForEc2Instance", () -> backoffHelper.retry(describeInstancesBackoffPolicy,
+                    () -> ec2Client.describeInstances(describeInstancesRequest),
+                    this::doesNotExistYet));
 
-        additionalCoreRoleIamManagedPolicies = getRoleIamManagedPolicies(connectorConfs.stream()
-                .map(ConnectorConf::getCoreRoleIamManagedPolicies));
+            Optional<Reservation> optionalReservation = describeInstancesResponse.reservations().stream().findFirst();
 
-        mergedCoreRoleConf = mergeRoleConf(deploymentConf.getCoreRoleConf(), additionalCoreRoleIamPolicies, additionalCoreRoleIamManagedPolicies);
+            if (!optionalReservation.isPresent()) {
+                throw new RuntimeException("Error finding the EC2 reservation to wait for the instance to finish launching, this should never happen");
+            }
 
-        // Use the merged core role conf
-        deploymentConf = ImmutableDeploymentConf.builder().from(deploymentConf)
-                .coreRoleConf(mergedCoreRoleConf)
-                .build();
+            Reservation reservation = optionalReservation.get();
 
-        if (deploymentConf.getServiceRoleConf().isPresent()) {
-            List<Map> additionalServiceRoleIamPolicies = getRoleIamPolicies(connectorConfs.stream()
-                    .map(ConnectorConf::getServiceRoleIamPolicy));
+            Optional<Instance> optionalInstance = reservation.instances().stream().findFirst();
 
-            List<String> additionalServiceRoleIamManagedPolicies = getRoleIamManagedPolicies(connectorConfs.stream()
-                    .map(ConnectorConf::getServiceRoleIamManagedPolicies));
+            if (!optionalInstance.isPresent()) {
+                throw new RuntimeException("Error finding the EC2 instance to wait for it to finish launching, this should never happen");
+            }
 
-            RoleConf mergedServiceRoleConf = mergeRoleConf(deploymentConf.getServiceRoleConf().get(), additionalServiceRoleIamPolicies, additionalServiceRoleIamManagedPolicies);
+            Instance instance = optionalInstance.get();
 
-            // Use the merged service role conf
-            deploymentConf = ImmutableDeploymentConf.builder().from(deploymentConf)
-                    .serviceRoleConf(mergedServiceRoleConf)
-                    .build();
-        }
+            String publicIpAddress = instance.publicIpAddress();
 
-        //////////////////////////////////////////////////////////
-        // Create the service role and role alias, if necessary //
-        //////////////////////////////////////////////////////////
+            if (publicIpAddress == null) {
+                throw new RuntimeException("Public IP address returned from EC2 was NULL, skipping EC2 setup");
+            }
 
-        Optional<Role> optionalGreengrassServiceRole;
-        Optional<CreateRoleAliasResponse> optionalCreateRoleAliasResponse;
+            Optional<String> username = Optional.empty();
 
-        // Create the role for the core, if necessary
-        Role coreRole;
+            if (deploymentArguments.ec2LinuxVersion.equals(EC2LinuxVersion.Ubuntu1804)) {
+                username = Optional.of("ubuntu");
+            }
 
-        if (deploymentArguments.coreRoleName != null) {
-            RoleName coreRoleName = ImmutableRoleName.builder().name(deploymentArguments.coreRoleName).build();
-            Optional<Role> optionalCoreRole = iamHelper.getRole(coreRoleName);
+            if (deploymentArguments.ec2LinuxVersion.equals(EC2LinuxVersion.AmazonLinux2)) {
+                username = Optional.of("ec2-user");
+            }
 
-            if (!optionalCoreRole.isPresent()) {
-                throw new RuntimeException(String.join("", "Greengrass core role is not present or GetRole failed due to insufficient permissions on [", deploymentArguments.coreRoleName, "]"));
+            if (!username.isPresent()) {
+                throw new RuntimeException(String.join("", "Unexpected EC2 Linux version requested [", deploymentArguments.ec2LinuxVersion.name(), "], this is a bug 2 [couldn't determine SSH username]"));
             }
 
-            coreRole = optionalCoreRole.get();
-        } else {
-            coreRole = createCoreRole(deploymentConf.getCoreRoleConf());
+            attemptBootstrap(deploymentArguments, publicIpAddress, username.get());
         }
 
-        if (!deploymentArguments.serviceRoleExists) {
-            // If the service role does not exist we should create it
-            Role serviceRole = createServiceRole(deploymentConf.getServiceRoleConf().get());
-            optionalGreengrassServiceRole = Optional.of(serviceRole);
-        } else {
-            // The service role exists already, do not try to create or modify it
-            optionalGreengrassServiceRole = Optional.empty();
+        ///////////////////////////////////////////
+        // Launch a non-EC2 system, if necessary //
+        ///////////////////////////////////////////
+
+        if (deploymentArguments.launch != null) {
+            attemptBootstrap(deploymentArguments, deploymentArguments.launchHost, deploymentArguments.launchUser);
         }
 
-        // Create the role alias so we can use IoT as a credentials provider with certificate based authentication
-        if (!deploymentConf.getCoreRoleConf().getAlias().isPresent()) {
-            throw new RuntimeException(String.join("", "No role alias specified for the Greengrass core role [", deploymentConf.getCoreRoleConf().getName(), "]"));
+        //////////////////////////////////////////////////////////////////////////
+        // Wait for the CloudFormation stacks to finish launching, if necessary //
+        //////////////////////////////////////////////////////////////////////////
+
+        if (cloudFormationStacksLaunched.size() != 0) {
+            waitForStacksToLaunch(cloudFormationStacksLaunched);
         }
 
-        ImmutableRoleAlias coreRoleAlias = ImmutableRoleAlias.builder().name(deploymentConf.getCoreRoleConf().getAlias().get()).build();
-        log.info(String.join("", "Creating core role alias [", coreRoleAlias.getName(), "]"));
-        optionalCreateRoleAliasResponse = Optional.of(v2IotHelper.forceCreateRoleAlias(coreRole, coreRoleAlias));
+        logBackoffStats();
+        logLookupCacheStats();
+        logConfigCacheStats();
+    }
 
-        //////////////////////////////////
-        // Create or reuse certificates //
-        //////////////////////////////////
+    private void logConfigCacheStats() {
+        ConfigCacheStats configCacheStats = configCacheHelper.getStats();
 
-        Optional<GroupVersion> optionalGroupVersion = v2GreengrassHelper.getLatestGroupVersionByNameOrId(groupId);
-        Optional<KeysAndCertificate> optionalCoreKeysAndCertificate = Optional.empty();
+        log.info(String.join("", "Parsed [", String.valueOf(configCacheStats.getParses()),
+                "] configuration(s) in [", String.valueOf(configCacheStats.getParseTime().toMillis()),
+                "] ms, reused a parsed configuration [", String.valueOf(configCacheStats.getHits() + configCacheStats.getUnchangedContentHits()),
+                "] time(s)"));
+    }
 
-        Optional<CertificateArn> optionalCoreCertificateArn = Optional.empty();
+    private void logLookupCacheStats() {
+        lookupCacheHelper.getStats()
+                .forEach(lookupCacheStats -> log.info(String.join("", "Looked up [", lookupCacheStats.getName(),
+                        "] remotely [", String.valueOf(lookupCacheStats.getMisses()),
+                        "] time(s), reused it [", String.valueOf(lookupCacheStats.getHits() + lookupCacheStats.getDiskHits()),
+                        "] time(s), [", String.valueOf(lookupCacheStats.getDiskHits()), "] from disk")));
+    }
 
-        if (deploymentArguments.certificateArn != null) {
-            // Use the certificate ARN supplied by the user, new or existing group
-            log.info(String.join("", "Using user supplied certificate ARN for core certificate [", deploymentArguments.certificateArn, "]"));
-            optionalCoreCertificateArn = Optional.of(ImmutableCertificateArn.builder().arn(deploymentArguments.certificateArn).build());
-        } else if (deploymentArguments.csr != null) {
-            // Sign the CSR supplied by the user, new or existing group
-            log.info("Using user supplied CSR for core certificate");
-            optionalCoreCertificateArn = Optional.of(v2IotHelper.signCsrAndReturnCertificateArn(ImmutableCertificateSigningRequest.builder().request(deploymentArguments.csr).build()));
-        } else if (!optionalGroupVersion.isPresent()) {
-            // New group, create new keys
-            log.info("Group is new, no certificate ARN or CSR supplied, creating new keys");
-            KeysAndCertificate coreKeysAndCertificate = iotHelper.createKeysAndCertificateForCore(greengrassGroupName);
-            iotHelper.writePublicSignedCertificateFileForCore(coreKeysAndCertificate, greengrassGroupName);
-            iotHelper.writePrivateKeyFileForCore(coreKeysAndCertificate, greengrassGroupName);
-            iotHelper.writeRootCaFile(greengrassGroupName);
-            iotHelper.writeIotCpPropertiesFile(greengrassGroupName, coreThingName, coreRoleAlias);
-            optionalCoreKeysAndCertificate = Optional.of(coreKeysAndCertificate);
-        } else {
-            GroupVersion groupVersion = optionalGroupVersion.get();
+    private void logBackoffStats() {
+        backoffHelper.getStats().stream()
+                // Only operations that had to wait are interesting
+                .filter(backoffStats -> backoffStats.getAttempts() > backoffStats.getOperations())
+                .forEach(backoffStats -> log.info(String.join("", "Waited [", String.valueOf(backoffStats.getTotalWait().toMillis()),
+                        "] ms in [", String.valueOf(backoffStats.getOperations()),
+                        "] operation(s) for [", backoffStats.getName(),
+                        "], longest [", String.valueOf(backoffStats.getLongestWait().toMillis()),
+                        "] ms, gave up [", String.valueOf(backoffStats.getExhausted()), "] time(s)")));
+    }
 
-            // Existing group, can we find the existing keys?
-            optionalCoreKeysAndCertificate = iotHelper.loadKeysAndCertificateForCore(greengrassGroupName);
+    /**
+     * Builds the graph of phases that create the group version and the output files. Each phase declares the phases
+     * whose outputs it reads so phases that don't depend on each other can run at the same time.
+     */
+    private List<Phase> getDeploymentPhases(DeploymentArguments deploymentArguments, GreengrassGroupName greengrassGroupName, ThingName coreThingName, FunctionIsolationMode defaultFunctionIsolationMode) {
+        List<Phase> phases = new ArrayList<>();
 
-            if (optionalCoreKeysAndCertificate.isPresent()) {
-                // Found keys, we'll reuse them
-                log.info("Group is not new, loaded keys from credentials directory");
-            } else if (deploymentArguments.forceCreateNewKeysOption) {
-                // Didn't find keys but the user has requested that they be recreated
-                log.info("Group is not new, user forcing new keys to be created");
-                KeysAndCertificate coreKeysAndCertificate = iotHelper.createKeysAndCertificateForCore(greengrassGroupName);
-                optionalCoreKeysAndCertificate = Optional.of(coreKeysAndCertificate);
-            } else {
-                log.info("Group is not new, keys could not be found, but user not forcing new keys to be created");
-                log.info("Attempting to get the core certificate ARN from the latest group version information");
-                optionalCoreCertificateArn = v2GreengrassHelper.getCoreCertificateArn(groupVersion);
-            }
-        }
+        ///////////////////////////////////////
+        // Load the deployment configuration //
+        ///////////////////////////////////////
 
-        if (optionalCoreKeysAndCertificate.isPresent()) {
-            // If we have keys and certificate then get the certificate ARN
-            optionalCoreCertificateArn = optionalCoreKeysAndCertificate.map(KeysAndCertificate::getCertificateArn);
-        }
+        phases.add(ImmutablePhase.builder()
+                .name(DEPLOYMENT_CONF_PHASE)
+                .task(results -> {
+                    if (isEmptyDeployment(deploymentArguments)) {
+                        return getEmptyDeploymentConf(deploymentArguments, greengrassGroupName);
+                    }
 
-        if (!optionalCoreCertificateArn.isPresent()) {
-            // We need the certificate ARN at this point, fail if we don't have it
-            StringBuilder message = new StringBuilder();
-            message.append("Core certificate information/ARN could not be found. ");
-            message.append(String.join("", "If you would like to recreate the keys you must specify the [", DeploymentArguments.LONG_FORCE_CREATE_NEW_KEYS_OPTION, "] option. "));
-            message.append(String.join("", "If you'd like to reuse an existing certificate you must specify the [", DeploymentArguments.LONG_CERTIFICATE_ARN_OPTION, "] option."));
+                    return getDeploymentConf(coreThingName, deploymentArguments.deploymentConfigFilename, greengrassGroupName);
+                })
+                .build());
 
-            throw new RuntimeException(message.toString());
-        }
+        ///////////////////////////////////////////////////
+        // Create an AWS Greengrass Group and get its ID //
+        ///////////////////////////////////////////////////
 
-        CertificateArn coreCertificateArn = optionalCoreCertificateArn.get();
+        phases.add(ImmutablePhase.builder()
+                .name(GROUP_ID_PHASE)
+                // After the configuration loads so an invalid configuration doesn't leave a group behind
+                .addInputs(DEPLOYMENT_CONF_PHASE)
+                .task(results -> {
+                    log.info("Creating a Greengrass group, if necessary");
+                    String groupId = greengrassHelper.createGroupIfNecessary(greengrassGroupName);
+                    return ImmutableGreengrassGroupId.builder().groupId(groupId).build();
+                })
+                .build());
 
-        ////////////////////////////////////////////////////
-        // IoT policy creation for the core, if necessary //
-        ////////////////////////////////////////////////////
+        ///////////////////////
+        // Create core thing //
+        ///////////////////////
 
-        PolicyName corePolicyName;
+        phases.add(ImmutablePhase.builder()
+                .name(CORE_THING_ARN_PHASE)
+                .addInputs(DEPLOYMENT_CONF_PHASE)
+                .task(results -> {
+                    log.info("Creating core thing");
+                    return v2IotHelper.createThing(coreThingName);
+                })
+                .build());
 
-        if (deploymentArguments.corePolicyName == null) {
-            if (!deploymentConf.getCoreRoleConf().getIotPolicy().isPresent()) {
-                throw new RuntimeException(String.join("", "No IoT policy specified for core role [", deploymentConf.getCoreRoleConf().getName(), "]"));
-            }
+        ////////////////////////////////////////////////////////////
+        // Build the default environment for all Lambda functions //
+        ////////////////////////////////////////////////////////////
 
-            log.info("Creating policy for core");
-            v2IotHelper.createPolicyIfNecessary(ggVariables.getCorePolicyName(greengrassGroupName),
-                    ImmutablePolicyDocument.builder().document(deploymentConf.getCoreRoleConf().getIotPolicy().get()).build());
-            corePolicyName = ggVariables.getCorePolicyName(greengrassGroupName);
-        } else {
-            corePolicyName = ImmutablePolicyName.builder().name(deploymentArguments.corePolicyName).build();
-        }
+        phases.add(ImmutablePhase.builder()
+                .name(DEFAULT_ENVIRONMENT_PHASE)
+                .addInputs(GROUP_ID_PHASE, CORE_THING_ARN_PHASE)
+                .task(results -> environmentHelper.getDefaultEnvironment(results.get(GROUP_ID_PHASE), coreThingName, results.get(CORE_THING_ARN_PHASE), greengrassGroupName))
+                .build());
+
+        // Get a config object with the default environment values (eg. "${AWS_IOT_THING_NAME}" used in the function and connector configuration)
+        phases.add(ImmutablePhase.builder()
+                .name(DEFAULT_CONFIG_PHASE)
+                .addInputs(DEFAULT_ENVIRONMENT_PHASE)
+                .task(results -> typeSafeConfigHelper.addDefaultValues(results.get(DEFAULT_ENVIRONMENT_PHASE), Optional.empty()))
+                .build());
+
+        //////////////////////////////////////////////////////////////////////
+        // Find enabled functions and create function conf objects for them //
+        //////////////////////////////////////////////////////////////////////
+
+        phases.add(ImmutablePhase.builder()
+                .name(FUNCTION_CONFS_PHASE)
+                .addInputs(DEPLOYMENT_CONF_PHASE, DEFAULT_CONFIG_PHASE)
+                .task(results -> getFunctionConfs(results.get(DEPLOYMENT_CONF_PHASE), defaultFunctionIsolationMode, results.get(DEFAULT_CONFIG_PHASE)))
+                .build());
+
+        ///////////////////////////
+        // Create the connectors //
+        ///////////////////////////
+
+        phases.add(ImmutablePhase.builder()
+                .name(CONNECTOR_CONFS_PHASE)
+                .addInputs(DEPLOYMENT_CONF_PHASE, DEFAULT_CONFIG_PHASE)
+                .task(results -> {
+                    DeploymentConf deploymentConf = results.get(DEPLOYMENT_CONF_PHASE);
+                    return connectorHelper.getConnectorConfObjects(results.get(DEFAULT_CONFIG_PHASE), deploymentConf.getConnectors());
+                })
+                .build());
+
+        phases.add(ImmutablePhase.builder()
+                .name(CONNECTOR_DEFINITION_PHASE)
+                .addInputs(CONNECTOR_CONFS_PHASE)
+                .task(results -> {
+                    log.info("Creating connector definition");
+                    return greengrassHelper.createConnectorDefinitionVersion(results.get(CONNECTOR_CONFS_PHASE));
+                })
+                .build());
+
+        /////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+        // Merge any additional permissions that the functions and connectors need into the core and service role configurations //
+        /////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+        phases.add(ImmutablePhase.builder()
+                .name(MERGED_DEPLOYMENT_CONF_PHASE)
+                .addInputs(DEPLOYMENT_CONF_PHASE, FUNCTION_CONFS_PHASE, CONNECTOR_CONFS_PHASE)
+                .task(results -> mergeFunctionAndConnectorRoleConfs(results.get(DEPLOYMENT_CONF_PHASE), results.get(FUNCTION_CONFS_PHASE), results.get(CONNECTOR_CONFS_PHASE)))
+                .build());
+
+        //////////////////////////////////////////////////////////
+        // Create the service role and role alias, if necessary //
+        //////////////////////////////////////////////////////////
+
+        phases.add(ImmutablePhase.builder()
+                .name(CORE_ROLE_PHASE)
+                .addInputs(MERGED_DEPLOYMENT_CONF_PHASE)
+                .task(results -> {
+                    DeploymentConf deploymentConf = results.get(MERGED_DEPLOYMENT_CONF_PHASE);
+
+                    if (deploymentArguments.coreRoleName == null) {
+                        // Create the role for the core
+                        return createCoreRole(deploymentConf.getCoreRoleConf());
+                    }
+
+                    RoleName coreRoleName = ImmutableRoleName.builder().name(deploymentArguments.coreRoleName).build();
+                    Optional<Role> optionalCoreRole = iamHelper.getRole(coreRoleName);
+
+                    if (!optionalCoreRole.isPresent()) {
+                        throw new RuntimeException(String.join("", "Greengrass core role is not present or GetRole failed due to insufficient permissions on [", deploymentArguments.coreRoleName, "]"));
+                    }
+
+                    return optionalCoreRole.get();
+                })
+                .build());
+
+        phases.add(ImmutablePhase.builder()
+                .name(SERVICE_ROLE_PHASE)
+                .addInputs(MERGED_DEPLOYMENT_CONF_PHASE)
+                .task(results -> {
+                    if (deploymentArguments.serviceRoleExists) {
+                        // The service role exists already, do not try to create or modify it
+                        return Optional.empty();
+                    }
+
+                    // If the service role does not exist we should create it
+                    DeploymentConf deploymentConf = results.get(MERGED_DEPLOYMENT_CONF_PHASE);
+                    return Optional.of(createServiceRole(deploymentConf.getServiceRoleConf().get()));
+                })
+                .build());
+
+        // Create the role alias so we can use IoT as a credentials provider with certificate based authentication
+        phases.add(ImmutablePhase.builder()
+                .name(ROLE_ALIAS_PHASE)
+                .addInputs(DEPLOYMENT_CONF_PHASE, CORE_ROLE_PHASE)
+                .task(results -> {
+                    ImmutableRoleAlias coreRoleAlias = getCoreRoleAlias(results.get(DEPLOYMENT_CONF_PHASE));
+                    log.info(String.join("", "Creating core role alias [", coreRoleAlias.getName(), "]"));
+                    return Optional.of(v2IotHelper.forceCreateRoleAlias(results.get(CORE_ROLE_PHASE), coreRoleAlias));
+                })
+                .build());
 
         //////////////////////////////////
-        // Attach policy to certificate //
+        // Create or reuse certificates //
         //////////////////////////////////
 
-        v2IotHelper.attachPrincipalPolicy(corePolicyName, coreCertificateArn);
+        phases.add(ImmutablePhase.builder()
+                .name(CORE_CERTIFICATE_PHASE)
+                .addInputs(DEPLOYMENT_CONF_PHASE, GROUP_ID_PHASE)
+                .task(results -> getCoreKeysAndCertificateArn(deploymentArguments, greengrassGroupName, coreThingName, results.get(GROUP_ID_PHASE), getCoreRoleAlias(results.get(DEPLOYMENT_CONF_PHASE))))
+                .build());
+
+        ////////////////////////////////////////////////////
+        // IoT policy creation for the core, if necessary //
+        ////////////////////////////////////////////////////
+
+        phases.add(ImmutablePhase.builder()
+                .name(CORE_POLICY_NAME_PHASE)
+                .addInputs(DEPLOYMENT_CONF_PHASE)
+                .task(results -> {
+                    if (deploymentArguments.corePolicyName != null) {
+                        return ImmutablePolicyName.builder().name(deploymentArguments.corePolicyName).build();
+                    }
+
+                    DeploymentConf deploymentConf = results.get(DEPLOYMENT_CONF_PHASE);
 
-        /////////////////////////////////
-        // Attach thing to certificate //
-        /////////////////////////////////
+                    if (!deploymentConf.getCoreRoleConf().getIotPolicy().isPresent()) {
+                        throw new RuntimeException(String.join("", "No IoT policy specified for core role [", deploymentConf.getCoreRoleConf().getName(), "]"));
+                    }
+
+                    log.info("Creating policy for core");
+                    v2IotHelper.createPolicyIfNecessary(ggVariables.getCorePolicyName(greengrassGroupName),
+                            ImmutablePolicyDocument.builder().document(deploymentConf.getCoreRoleConf().getIotPolicy().get()).build());
+                    return ggVariables.getCorePolicyName(greengrassGroupName);
+                })
+                .build());
+
+        ////////////////////////////////////////////////////
+        // Attach the policy and thing to the certificate //
+        ////////////////////////////////////////////////////
 
-        v2IotHelper.attachThingPrincipal(ggVariables.getCoreThingName(greengrassGroupName), coreCertificateArn);
+        phases.add(ImmutablePhase.builder()
+                .name(CORE_CERTIFICATE_ATTACHMENT_PHASE)
+                .addInputs(CORE_CERTIFICATE_PHASE, CORE_POLICY_NAME_PHASE, CORE_THING_ARN_PHASE)
+                .task(results -> {
+                    Tuple2<Optional<KeysAndCertificate>, CertificateArn> coreKeysAndCertificateArn = results.get(CORE_CERTIFICATE_PHASE);
+                    v2IotHelper.attachPrincipalPolicy(results.get(CORE_POLICY_NAME_PHASE), coreKeysAndCertificateArn._2);
+                    v2IotHelper.attachThingPrincipal(coreThingName, coreKeysAndCertificateArn._2);
+                    return null;
+                })
+                .build());
 
         ////////////////////////////////////////////////
         // Associate the Greengrass role to the group //
         ////////////////////////////////////////////////
 
-        associateRoleToGroup(coreRole, greengrassGroupId);
+        phases.add(ImmutablePhase.builder()
+                .name(CORE_ROLE_ASSOCIATION_PHASE)
+                .addInputs(CORE_ROLE_PHASE, GROUP_ID_PHASE)
+                .task(results -> {
+                    associateRoleToGroup(results.get(CORE_ROLE_PHASE), results.get(GROUP_ID_PHASE));
+                    return null;
+                })
+                .build());
 
         ////////////////////////////////////////////
         // Create a core definition and a version //
         ////////////////////////////////////////////
 
-        log.info("Creating core definition");
-        String coreDefinitionVersionArn = greengrassHelper.createCoreDefinitionAndVersion(ggVariables.getCoreDefinitionName(greengrassGroupName), coreCertificateArn, coreThingArn, deploymentConf.isSyncShadow());
+        phases.add(ImmutablePhase.builder()
+                .name(CORE_DEFINITION_PHASE)
+                .addInputs(DEPLOYMENT_CONF_PHASE, CORE_CERTIFICATE_PHASE, CORE_THING_ARN_PHASE)
+                .task(results -> {
+                    DeploymentConf deploymentConf = results.get(DEPLOYMENT_CONF_PHASE);
+                    Tuple2<Optional<KeysAndCertificate>, CertificateArn> coreKeysAndCertificateArn = results.get(CORE_CERTIFICATE_PHASE);
+                    log.info("Creating core definition");
+                    return greengrassHelper.createCoreDefinitionAndVersion(ggVariables.getCoreDefinitionName(greengrassGroupName), coreKeysAndCertificateArn._2, results.get(CORE_THING_ARN_PHASE), deploymentConf.isSyncShadow());
+                })
+                .build());
 
         //////////////////////////////////////////////
         // Create a logger definition and a version //
         //////////////////////////////////////////////
 
-        log.info("Creating logger definition");
-        String loggerDefinitionVersionArn;
+        phases.add(ImmutablePhase.builder()
+                .name(LOGGER_DEFINITION_PHASE)
+                .addInputs(DEPLOYMENT_CONF_PHASE)
+                .task(results -> {
+                    DeploymentConf deploymentConf = results.get(DEPLOYMENT_CONF_PHASE);
+                    log.info("Creating logger definition");
 
-        if (!deploymentConf.getLoggers().isPresent()) {
-            log.warn("No loggers section defined in configuration files, using default logger configuration");
-            loggerDefinitionVersionArn = greengrassHelper.createDefaultLoggerDefinitionAndVersion();
-        } else {
-            loggerDefinitionVersionArn = greengrassHelper.createLoggerDefinitionAndVersion(deploymentConf.getLoggers().get());
-        }
+                    if (!deploymentConf.getLoggers().isPresent()) {
+                        log.warn("No loggers section defined in configuration files, using default logger configuration");
+                        return greengrassHelper.createDefaultLoggerDefinitionAndVersion();
+                    }
+
+                    return greengrassHelper.createLoggerDefinitionAndVersion(deploymentConf.getLoggers().get());
+                })
+                .build());
 
         //////////////////////////////////////////////
         // Create the Lambda role for the functions //
         //////////////////////////////////////////////
 
-        Optional<Role> optionalLambdaRole = Optional.empty();
+        phases.add(ImmutablePhase.builder()
+                .name(LAMBDA_ROLE_PHASE)
+                .addInputs(DEPLOYMENT_CONF_PHASE)
+                .task(results -> {
+                    DeploymentConf deploymentConf = results.get(DEPLOYMENT_CONF_PHASE);
 
-        if (!deploymentConf.getFunctions().isEmpty()) {
-            log.info("Creating Lambda role");
+                    if (deploymentConf.getFunctions().isEmpty()) {
+                        return Optional.empty();
+                    }
 
-            RoleConf lambdaRoleConf = deploymentConf.getLambdaRoleConf().get();
+                    log.info("Creating Lambda role");
 
-            requireAssumeRolePolicy(lambdaRoleConf, "Lambda");
+                    RoleConf lambdaRoleConf = deploymentConf.getLambdaRoleConf().get();
 
-            optionalLambdaRole = Optional.of(createRoleFromRoleConf(lambdaRoleConf));
-        }
+                    requireAssumeRolePolicy(lambdaRoleConf, "Lambda");
 
-        ////////////////////////////////////////////////////////
-        // Start building the subscription and function lists //
-        ////////////////////////////////////////////////////////
-
-        List<Subscription> subscriptions = new ArrayList<>();
-
-        ////////////////////////////////////////////////////
-        // Determine if any functions need to run as root //
-        ////////////////////////////////////////////////////
-
-        boolean functionsRunningAsRoot = functionConfs.stream()
-                .anyMatch(functionConf -> ((functionConf.getUid().isPresent() && (functionConf.getUid().get() == 0))
-                        || (functionConf.getGid().isPresent() && (functionConf.getGid().get() == 0))));
-
-        if (functionsRunningAsRoot) {
-            log.warn("At least one function was detected that is configured to run as root");
-        }
-
-        ////////////////////////////////////////////////////////////////////////////
-        // Determine if any functions are running inside the Greengrass container //
-        ////////////////////////////////////////////////////////////////////////////
-
-        List<FunctionName> functionsRunningInGreengrassContainer = functionConfs.stream()
-                .filter(FunctionConf::isGreengrassContainer)
-                .map(FunctionConf::getFunctionName)
-                .collect(Collectors.toList());
+                    return Optional.of(createRoleFromRoleConf(lambdaRoleConf));
+                })
+                .build());
 
         /////////////////////////////////////////////////////////////////////////////////////////////////////////////
         // Check if launching or building a Docker container and functions are running in the Greengrass container //
         /////////////////////////////////////////////////////////////////////////////////////////////////////////////
 
-        if ((deploymentArguments.dockerLaunch || deploymentArguments.buildContainer) && !functionsRunningInGreengrassContainer.isEmpty()) {
-            log.error("The following functions are marked to run in the Greengrass container:");
-
-            functionsRunningInGreengrassContainer
-                    .forEach(name -> log.error(String.join("", "  ", name.getName())));
-
-            log.error("When running in Docker all functions must be running without the Greengrass container.");
-            log.error("Set the greengrassContainer option to false in the functions.default.conf and/or the individual function configurations and try again.");
-            System.exit(1);
-        }
+        phases.add(ImmutablePhase.builder()
+                .name(CONTAINER_CHECK_PHASE)
+                .addInputs(FUNCTION_CONFS_PHASE)
+                .task(results -> {
+                    checkFunctionsCanRunInDocker(deploymentArguments, results.get(FUNCTION_CONFS_PHASE));
+                    return null;
+                })
+                .build());
 
         /////////////////////////////////////////////////////
         // Launch any CloudFormation templates we've found //
         /////////////////////////////////////////////////////
 
-        List<String> cloudFormationStacksLaunched = functionConfs.stream()
-                .map(functionConf -> cloudFormationHelper.deployCloudFormationTemplate(defaultEnvironment, deploymentArguments.groupName, functionConf))
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .collect(Collectors.toList());
+        phases.add(ImmutablePhase.builder()
+                .name(CLOUDFORMATION_STACKS_PHASE)
+                .addInputs(DEFAULT_ENVIRONMENT_PHASE, FUNCTION_CONFS_PHASE, CONTAINER_CHECK_PHASE)
+                .task(results -> {
+                    Map<String, String> defaultEnvironment = results.get(DEFAULT_ENVIRONMENT_PHASE);
+                    List<FunctionConf> functionConfs = results.get(FUNCTION_CONFS_PHASE);
+
+                    return functionConfs.stream()
+                            .map(functionConf -> cloudFormationHelper.deployCloudFormationTemplate(defaultEnvironment, deploymentArguments.groupName, functionConf))
+                            .filter(Optional::isPresent)
+                            .map(Optional::get)
+                            .collect(Collectors.toList());
+                })
+                .build());
 
         /////////////////////////
         // Build the functions //
         /////////////////////////
 
-        Map<Function, FunctionConf> functionToConfMap = new HashMap<>();
+        phases.add(ImmutablePhase.builder()
+                .name(FUNCTIONS_PHASE)
+                .addInputs(FUNCTION_CONFS_PHASE, LAMBDA_ROLE_PHASE, CONTAINER_CHECK_PHASE)
+                .task(results -> {
+                    Optional<Role> optionalLambdaRole = results.get(LAMBDA_ROLE_PHASE);
 
-        // Only try to create functions if we have a Lambda role
-        if (optionalLambdaRole.isPresent()) {
-            Role lambdaRole = optionalLambdaRole.get();
+                    // Only try to create functions if we have a Lambda role
+                    if (!optionalLambdaRole.isPresent()) {
+                        return new HashMap<Function, FunctionConf>();
+                    }
 
-            // Verify that all of the functions in the list are supported
-            functionHelper.verifyFunctionsAreSupported(functionConfs);
+                    List<FunctionConf> functionConfs = results.get(FUNCTION_CONFS_PHASE);
 
-            // Get the map of functions to function configuration (builds functions and publishes them to Lambda)
-            functionToConfMap = functionHelper.buildFunctionsAndGenerateMap(deploymentArguments.s3Bucket, deploymentArguments.s3Directory, functionConfs, lambdaRole);
-        }
+                    // Verify that all of the functions in the list are supported
+                    functionHelper.verifyFunctionsAreSupported(functionConfs);
+
+                    // Get the map of functions to function configuration (builds functions and publishes them to Lambda)
+                    return functionHelper.buildFunctionsAndGenerateMap(deploymentArguments.s3Bucket, deploymentArguments.s3Directory, functionConfs, optionalLambdaRole.get(), deploymentArguments.maxConcurrentBuilds);
+                })
+                .build());
 
         ////////////////////////////
         // Set up local resources //
         ////////////////////////////
 
-        log.info("Creating resource definition");
-        String resourceDefinitionVersionArn = greengrassHelper.createResourceDefinitionFromFunctionConfs(functionConfs);
+        phases.add(ImmutablePhase.builder()
+                .name(RESOURCE_DEFINITION_PHASE)
+                .addInputs(FUNCTION_CONFS_PHASE)
+                .task(results -> {
+                    log.info("Creating resource definition");
+                    return greengrassHelper.createResourceDefinitionFromFunctionConfs(results.get(FUNCTION_CONFS_PHASE));
+                })
+                .build());
 
         /////////////////////////////////////////////////////////////////////////
         // Build the function definition for the Lambda function and a version //
         /////////////////////////////////////////////////////////////////////////
 
-        log.info("Creating function definition");
-        String functionDefinitionVersionArn = greengrassHelper.createFunctionDefinitionVersion(ImmutableSet.copyOf(functionToConfMap.keySet()), defaultFunctionIsolationMode);
-
-        ///////////////////////////////////////////////
-        // Connection functions to cloud and shadows //
-        ///////////////////////////////////////////////
-
-        subscriptions.addAll(functionToConfMap.entrySet().stream()
-                .flatMap(entry -> subscriptionHelper.createCloudSubscriptionsForArn(
-                        entry.getValue().getFromCloudSubscriptions(),
-                        entry.getValue().getToCloudSubscriptions(),
-                        entry.getKey().functionArn()).stream())
-                .collect(Collectors.toList()));
-
-        subscriptions.addAll(subscriptionHelper.connectFunctionsToShadows(functionToConfMap));
-
-        ////////////////////////////////////////
-        // Connection functions to each other //
-        ////////////////////////////////////////
-
-        subscriptions.addAll(subscriptionHelper.connectFunctions(functionToConfMap));
+        phases.add(ImmutablePhase.builder()
+                .name(FUNCTION_DEFINITION_PHASE)
+                .addInputs(FUNCTIONS_PHASE)
+                .task(results -> {
+                    Map<Function, FunctionConf> functionToConfMap = results.get(FUNCTIONS_PHASE);
+                    log.info("Creating function definition");
+                    return greengrassHelper.createFunctionDefinitionVersion(ImmutableSet.copyOf(functionToConfMap.keySet()), defaultFunctionIsolationMode);
+                })
+                .build());
 
         //////////////////////////////////////////////////////
-        // Get a list of all of the connected thing shadows //
+        // Create the subscription definition from our list //
         //////////////////////////////////////////////////////
 
-        Set<ThingName> connectedShadowThings = new HashSet<>();
+        phases.add(ImmutablePhase.builder()
+                .name(SUBSCRIPTION_DEFINITION_PHASE)
+                .addInputs(FUNCTIONS_PHASE)
+                .task(results -> {
+                    List<Subscription> subscriptions = getSubscriptions(results.get(FUNCTIONS_PHASE));
+                    log.info("Creating subscription definition");
+                    return greengrassHelper.createSubscriptionDefinitionAndVersion(subscriptions);
+                })
+                .build());
 
-        for (FunctionConf functionConf : functionToConfMap.values()) {
-            connectedShadowThings.addAll(functionConf.getConnectedShadows().stream()
-                    .map(connectedShadow -> ImmutableThingName.builder().name(connectedShadow).build())
-                    .collect(Collectors.toList()));
+        //////////////////////////////////////////////////
+        // Make sure all of the connected shadows exist //
+        //////////////////////////////////////////////////
 
-            for (String connectedShadow : functionConf.getConnectedShadows()) {
-                // Make sure all of the connected shadows exist
-                v2IotHelper.createThing(ImmutableThingName.builder().name(connectedShadow).build());
-            }
-        }
+        phases.add(ImmutablePhase.builder()
+                .name(CONNECTED_SHADOW_THINGS_PHASE)
+                .addInputs(FUNCTIONS_PHASE)
+                .task(results -> {
+                    Map<Function, FunctionConf> functionToConfMap = results.get(FUNCTIONS_PHASE);
 
-        //////////////////////////////////////////////////////
-        // Create the subscription definition from our list //
-        //////////////////////////////////////////////////////
+                    functionToConfMap.values().stream()
+                            .flatMap(functionConf -> functionConf.getConnectedShadows().stream())
+                            .distinct()
+                            .map(connectedShadow -> ImmutableThingName.builder().name(connectedShadow).build())
+                            .forEach(v2IotHelper::createThing);
 
-        log.info("Creating subscription definition");
-        String subscriptionDefinitionVersionArn = greengrassHelper.createSubscriptionDefinitionAndVersion(subscriptions);
+                    return null;
+                })
+                .build());
 
         ////////////////////////////////////
         // Create a minimal group version //
         ////////////////////////////////////
 
-        log.info("Creating group version");
-
-        GroupVersion.Builder groupVersionBuilder = GroupVersion.builder();
-
-        // Connector definition can not be empty or the cloud service will reject it
-        optionalConnectionDefinitionVersionArn.ifPresent(groupVersionBuilder::connectorDefinitionVersionArn);
-        groupVersionBuilder.coreDefinitionVersionArn(coreDefinitionVersionArn);
-        groupVersionBuilder.functionDefinitionVersionArn(functionDefinitionVersionArn);
-        groupVersionBuilder.loggerDefinitionVersionArn(loggerDefinitionVersionArn);
-        groupVersionBuilder.resourceDefinitionVersionArn(resourceDefinitionVersionArn);
-        groupVersionBuilder.subscriptionDefinitionVersionArn(subscriptionDefinitionVersionArn);
-
-        GroupVersion groupVersion = groupVersionBuilder.build();
-
-        String groupVersionId = greengrassHelper.createGroupVersion(greengrassGroupId, groupVersion);
+        phases.add(ImmutablePhase.builder()
+                .name(GROUP_VERSION_PHASE)
+                .addInputs(GROUP_ID_PHASE,
+                        CONNECTOR_DEFINITION_PHASE,
+                        CORE_DEFINITION_PHASE,
+                        FUNCTION_DEFINITION_PHASE,
+                        LOGGER_DEFINITION_PHASE,
+                        RESOURCE_DEFINITION_PHASE,
+                        SUBSCRIPTION_DEFINITION_PHASE,
+                        // These phases have no output but must be finished before the group is deployed
+                        CONNECTED_SHADOW_THINGS_PHASE,
+                        CORE_CERTIFICATE_ATTACHMENT_PHASE,
+                        CORE_ROLE_ASSOCIATION_PHASE)
+                .task(results -> {
+                    log.info("Creating group version");
+
+                    GroupVersion.Builder groupVersionBuilder = GroupVersion.builder();
+
+                    // Connector definition can not be empty or the cloud service will reject it
+                    Optional<String> optionalConnectionDefinitionVersionArn = results.get(CONNECTOR_DEFINITION_PHASE);
+                    optionalConnectionDefinitionVersionArn.ifPresent(groupVersionBuilder::connectorDefinitionVersionArn);
+                    groupVersionBuilder.coreDefinitionVersionArn(results.get(CORE_DEFINITION_PHASE));
+                    groupVersionBuilder.functionDefinitionVersionArn(results.get(FUNCTION_DEFINITION_PHASE));
+                    groupVersionBuilder.loggerDefinitionVersionArn(results.get(LOGGER_DEFINITION_PHASE));
+                    groupVersionBuilder.resourceDefinitionVersionArn(results.get(RESOURCE_DEFINITION_PHASE));
+                    groupVersionBuilder.subscriptionDefinitionVersionArn(results.get(SUBSCRIPTION_DEFINITION_PHASE));
+
+                    GroupVersion groupVersion = groupVersionBuilder.build();
+
+                    return greengrassHelper.createGroupVersion(results.get(GROUP_ID_PHASE), groupVersion);
+                })
+                .build());
 
         /////////////////////////////////////////////
         // Do all of the output file related stuff //
         /////////////////////////////////////////////
 
-        buildOutputFiles(deploymentArguments,
-                greengrassGroupName,
-                optionalCreateRoleAliasResponse,
-                greengrassGroupId,
-                coreThingName,
-                coreThingArn,
-                optionalCoreKeysAndCertificate,
-                coreCertificateArn,
-                functionsRunningAsRoot);
+        phases.add(ImmutablePhase.builder()
+                .name(OUTPUT_FILES_PHASE)
+                .addInputs(ROLE_ALIAS_PHASE, GROUP_ID_PHASE, CORE_THING_ARN_PHASE, CORE_CERTIFICATE_PHASE, FUNCTION_CONFS_PHASE)
+                .task(results -> {
+                    Tuple2<Optional<KeysAndCertificate>, CertificateArn> coreKeysAndCertificateArn = results.get(CORE_CERTIFICATE_PHASE);
+
+                    buildOutputFiles(deploymentArguments,
+                            greengrassGroupName,
+                            results.get(ROLE_ALIAS_PHASE),
+                            results.get(GROUP_ID_PHASE),
+                            coreThingName,
+                            results.get(CORE_THING_ARN_PHASE),
+                            coreKeysAndCertificateArn._1,
+                            coreKeysAndCertificateArn._2,
+                            isAnyFunctionRunningAsRoot(results.get(FUNCTION_CONFS_PHASE)));
+
+                    return null;
+                })
+                .build());
+
+        return phases;
+    }
 
-        //////////////////////////////////////////////////
-        // Start building the EC2 instance if necessary //
-        //////////////////////////////////////////////////
+    private DeploymentConf mergeFunctionAndConnectorRoleConfs(DeploymentConf deploymentConf, List<FunctionConf> functionConfs, List<ConnectorConf> connectorConfs) {
+        /////////////////////////////////////////////////////////////////////////////////////////////////////////////
+        // Merge any additional permissions that the functions need into the core and service role configurations //
+        /////////////////////////////////////////////////////////////////////////////////////////////////////////////
 
-        Optional<String> optionalInstanceId = Optional.empty();
+        List<Map> additionalCoreRoleIamPolicies = getRoleIamPolicies(functionConfs.stream()
+                .map(FunctionConf::getCoreRoleIamPolicy));
 
-        if (deploymentArguments.ec2LinuxVersion != null) {
-            log.info("Launching EC2 instance");
+        List<String> additionalCoreRoleIamManagedPolicies = getRoleIamManagedPolicies(functionConfs.stream()
+                .map(FunctionConf::getCoreRoleIamManagedPolicies));
 
-            Set<Integer> openPorts = functionConfs.stream()
-                    // Get all of the environment variables from each function
-                    .map(FunctionConf::getEnvironmentVariables)
-                    // Extract the PORT variables
-                    .map(environmentVariables -> Optional.ofNullable(environmentVariables.get("PORT")))
-                    // Filter out missing values
-                    .filter(Optional::isPresent)
-                    .map(Optional::get)
-                    // Parse the string into an integer
-                    .map(Integer::parseInt)
-                    .collect(Collectors.toSet());
+        RoleConf mergedCoreRoleConf = mergeRoleConf(deploymentConf.getCoreRoleConf(), additionalCoreRoleIamPolicies, additionalCoreRoleIamManagedPolicies);
+
+        // Use the merged core role conf
+        deploymentConf = ImmutableDeploymentConf.builder().from(deploymentConf)
+                .coreRoleConf(mergedCoreRoleConf)
+                .build();
+
+        if (deploymentConf.getServiceRoleConf().isPresent()) {
+            List<Map> additionalServiceRoleIamPolicies = getRoleIamPolicies(functionConfs.stream()
+                    .map(FunctionConf::getServiceRoleIamPolicy));
+
+            List<String> additionalServiceRoleIamManagedPolicies = getRoleIamManagedPolicies(functionConfs.stream()
+                    .map(FunctionConf::getServiceRoleIamManagedPolicies));
 
-            optionalInstanceId = launchEc2Instance(deploymentArguments.groupName, deploymentArguments.architecture, deploymentArguments.ec2LinuxVersion, deploymentArguments.mqttPort, openPorts);
+            RoleConf mergedServiceRoleConf = mergeRoleConf(deploymentConf.getServiceRoleConf().get(), additionalServiceRoleIamPolicies, additionalServiceRoleIamManagedPolicies);
 
-            if (!optionalInstanceId.isPresent()) {
-                // Something went wrong, bail out
-                throw new RuntimeException("Couldn't obtain EC2 instance ID, bailing out");
-            }
+            // Use the merged service role conf
+            deploymentConf = ImmutableDeploymentConf.builder().from(deploymentConf)
+                    .serviceRoleConf(mergedServiceRoleConf)
+                    .build();
         }
 
-        ///////////////////////////////////////////////////
-        // Start the Docker container build if necessary //
-        ///////////////////////////////////////////////////
+        /////////////////////////////////////////////////////////////////////////////////////////////////////////////
+        // Merge any additional permissions that the connectors need into the core and service role configurations //
+        /////////////////////////////////////////////////////////////////////////////////////////////////////////////
 
-        if (deploymentArguments.buildContainer) {
-            log.info("Configuring container build");
+        additionalCoreRoleIamPolicies = getRoleIamPolicies(connectorConfs.stream()
+                .map(ConnectorConf::getCoreRoleIamPolicy));
 
-            ecrDockerHelper.setEcrRepositoryName(Optional.ofNullable(deploymentArguments.ecrRepositoryNameString));
-            ecrDockerHelper.setEcrImageName(Optional.ofNullable(deploymentArguments.ecrImageNameString));
-            String imageName = ecrDockerHelper.getImageName();
-            String currentDirectory = System.getProperty(USER_DIR);
+        additionalCoreRoleIamManagedPolicies = getRoleIamManagedPolicies(connectorConfs.stream()
+                .map(ConnectorConf::getCoreRoleIamManagedPolicies));
 
-            File dockerfile = officialGreengrassImageDockerHelper.getDockerfileForArchitecture(deploymentArguments.architecture);
-            String dockerfileTemplate = ioHelper.readFileAsString(dockerfile);
-            dockerfileTemplate = dockerfileTemplate.replaceAll("GROUP_NAME", deploymentArguments.groupName);
+        mergedCoreRoleConf = mergeRoleConf(deploymentConf.getCoreRoleConf(), additionalCoreRoleIamPolicies, additionalCoreRoleIamManagedPolicies);
 
-            // Add the group name and UUID so we don't accidentally overwrite an existing file
-            File tempDockerfile = dockerfile.toPath().getParent().resolve(
-                    String.join(".", "Dockerfile", deploymentArguments.groupName, ioHelper.getUuid())).toFile();
-            ioHelper.writeFile(tempDockerfile.toString(), dockerfileTemplate.getBytes());
-            tempDockerfile.deleteOnExit();
+        // Use the merged core role conf
+        deploymentConf = ImmutableDeploymentConf.builder().from(deploymentConf)
+                .coreRoleConf(mergedCoreRoleConf)
+                .build();
 
-            try (DockerClient dockerClient = officialGreengrassImageDockerClientProvider.get()) {
-                log.info("Building container");
+        if (deploymentConf.getServiceRoleConf().isPresent()) {
+            List<Map> additionalServiceRoleIamPolicies = getRoleIamPolicies(connectorConfs.stream()
+                    .map(ConnectorConf::getServiceRoleIamPolicy));
 
-                // Pull the official Greengrass Docker container first
-                String officialGreengrassDockerImage = ggConstants.getOfficialGreengrassDockerImage();
-                officialGreengrassImageDockerHelper.pullImage(officialGreengrassDockerImage);
+            List<String> additionalServiceRoleIamManagedPolicies = getRoleIamManagedPolicies(connectorConfs.stream()
+                    .map(ConnectorConf::getServiceRoleIamManagedPolicies));
 
-                String imageId = dockerClient.build(new File(currentDirectory).toPath(),
-                        basicProgressHandler,
-                        DockerClient.BuildParam.dockerfile(tempDockerfile.toPath()));
+            RoleConf mergedServiceRoleConf = mergeRoleConf(deploymentConf.getServiceRoleConf().get(), additionalServiceRoleIamPolicies, additionalServiceRoleIamManagedPolicies);
 
-                dockerClient.tag(imageId, imageName);
-                pushContainerIfNecessary(deploymentArguments, imageId);
-            } catch (DockerException | InterruptedException | IOException e) {
-                log.error("Container build failed");
-                throw new RuntimeException(e);
-            }
+            // Use the merged service role conf
+            deploymentConf = ImmutableDeploymentConf.builder().from(deploymentConf)
+                    .serviceRoleConf(mergedServiceRoleConf)
+                    .build();
         }
 
-        // Create a deployment and wait for it to succeed.  Return if it fails.
-        Try.run(() -> createAndWaitForDeployment(optionalGreengrassServiceRole, Optional.of(coreRole), greengrassGroupId, groupVersionId))
-                .get();
-
-        //////////////////////////////////////////////
-        // Launch the Docker container if necessary //
-        //////////////////////////////////////////////
+        return deploymentConf;
+    }
 
-        if (deploymentArguments.dockerLaunch) {
-            log.info("Launching Docker container");
-            String officialGreengrassDockerImage = ggConstants.getOfficialGreengrassDockerImage();
-            officialGreengrassImageDockerHelper.pullImage(officialGreengrassDockerImage);
-            officialGreengrassImageDockerHelper.createAndStartContainer(officialGreengrassDockerImage, greengrassGroupName);
+    private ImmutableRoleAlias getCoreRoleAlias(DeploymentConf deploymentConf) {
+        if (!deploymentConf.getCoreRoleConf().getAlias().isPresent()) {
+            throw new RuntimeException(String.join("", "No role alias specified for the Greengrass core role [", deploymentConf.getCoreRoleConf().getName(), "]"));
         }
 
-        ///////////////////////////////////////////////////////
-        // Wait for the EC2 instance to launch, if necessary //
-        ///////////////////////////////////////////////////////
-
-        if (optionalInstanceId.isPresent()) {
-            String instanceId = optionalInstanceId.get();
+        return ImmutableRoleAlias.builder().name(deploymentConf.getCoreRoleConf().getAlias().get()).build();
+    }
 
-            DescribeInstancesRequest describeInstancesRequest = DescribeInstancesRequest.builder()
-                    .instanceIds(instanceId)
-                    .build();
+    private Tuple2<Optional<KeysAndCertificate>, CertificateArn> getCoreKeysAndCertificateArn(DeploymentArguments deploymentArguments, GreengrassGroupName greengrassGroupName, ThingName coreThingName, GreengrassGroupId greengrassGroupId, ImmutableRoleAlias coreRoleAlias) {
+        Optional<GroupVersion> optionalGroupVersion = v2GreengrassHelper.getLatestGroupVersionByNameOrId(greengrassGroupId.getGroupId());
+        Optional<KeysAndCertificate> optionalCoreKeysAndCertificate = Optional.empty();
 
-            // Describe instances retry policy
-            RetryPolicy<DescribeInstancesResponse> describeInstancesRetryPolicy = new RetryPolicy<DescribeInstancesResponse>()
-                    .handleIf(throwable -> throwable.getMessage().contains(DOES_NOT_EXIST))
-                    .withDelay(Duration.ofSeconds(5))
-                    .withMaxRetries(3)
-                    .onRetry(failure -> log.warn("Waiting for the instance to become visible..."))
-                    .onRetriesExceeded(failure -> log.error("Instance never became visible. Cannot continue."));
+        Optional<CertificateArn> optionalCoreCertificateArn = Optional.empty();
 
-            DescribeInstancesResponse describeInstancesResponse = Failsafe.with(describeInstancesRetryPolicy).get(() ->
-                    ec2Client.describeInstances(describeInstancesRequest));
+        if (deploymentArguments.certificateArn != null) {
+            // Use the certificate ARN supplied by the user, new or existing group
+            log.info(String.join("", "Using user supplied certificate ARN for core certificate [", deploymentArguments.certificateArn, "]"));
+            optionalCoreCertificateArn = Optional.of(ImmutableCertificateArn.builder().arn(deploymentArguments.certificateArn).build());
+        } else if (deploymentArguments.csr != null) {
+            // Sign the CSR supplied by the user, new or existing group
+            log.info("Using user supplied CSR for core certificate");
+            optionalCoreCertificateArn = Optional.of(v2IotHelper.signCsrAndReturnCertificateArn(ImmutableCertificateSigningRequest.builder().request(deploymentArguments.csr).build()));
+        } else if (!optionalGroupVersion.isPresent()) {
+            // New group, create new keys
+            log.info("Group is new, no certificate ARN or CSR supplied, creating new keys");
+            KeysAndCertificate coreKeysAndCertificate = iotHelper.createKeysAndCertificateForCore(greengrassGroupName);
+            iotHelper.writePublicSignedCertificateFileForCore(coreKeysAndCertificate, greengrassGroupName);
+            iotHelper.writePrivateKeyFileForCore(coreKeysAndCertificate, greengrassGroupName);
+            iotHelper.writeRootCaFile(greengrassGroupName);
+            iotHelper.writeIotCpPropertiesFile(greengrassGroupName, coreThingName, coreRoleAlias);
+            optionalCoreKeysAndCertificate = Optional.of(coreKeysAndCertificate);
+        } else {
+            GroupVersion groupVersion = optionalGroupVersion.get();
 
-            Optional<Reservation> optionalReservation = describeInstancesResponse.reservations().stream().findFirst();
+            // Existing group, can we find the existing keys?
+            optionalCoreKeysAndCertificate = iotHelper.loadKeysAndCertificateForCore(greengrassGroupName);
 
-            if (!optionalReservation.isPresent()) {
-                throw new RuntimeException("Error finding the EC2 reservation to wait for the instance to finish launching, this should never happen");
+            if (optionalCoreKeysAndCertificate.isPresent()) {
+                // Found keys, we'll reuse them
+                log.info("Group is not new, loaded keys from credentials directory");
+            } else if (deploymentArguments.forceCreateNewKeysOption) {
+                // Didn't find keys but the user has requested that they be recreated
+                log.info("Group is not new, user forcing new keys to be created");
+                KeysAndCertificate coreKeysAndCertificate = iotHelper.createKeysAndCertificateForCore(greengrassGroupName);
+                optionalCoreKeysAndCertificate = Optional.of(coreKeysAndCertificate);
+            } else {
+                log.info("Group is not new, keys could not be found, but user not forcing new keys to be created");
+                log.info("Attempting to get the core certificate ARN from the latest group version information");
+                optionalCoreCertificateArn = v2GreengrassHelper.getCoreCertificateArn(groupVersion);
             }
+        }
 
-            Reservation reservation = optionalReservation.get();
-
-            Optional<Instance> optionalInstance = reservation.instances().stream().findFirst();
+        if (optionalCoreKeysAndCertificate.isPresent()) {
+            // If we have keys and certificate then get the certificate ARN
+            optionalCoreCertificateArn = optionalCoreKeysAndCertificate.map(KeysAndCertificate::getCertificateArn);
+        }
 
-            if (!optionalInstance.isPresent()) {
-                throw new RuntimeException("Error finding the EC2 instance to wait for it to finish launching, this should never happen");
-            }
+        if (!optionalCoreCertificateArn.isPresent()) {
+            // We need the certificate ARN at this point, fail if we don't have it
+            StringBuilder message = new StringBuilder();
+            message.append("Core certificate information/ARN could not be found. ");
+            message.append(String.join("", "If you would like to recreate the keys you must specify the [", DeploymentArguments.LONG_FORCE_CREATE_NEW_KEYS_OPTION, "] option. "));
+            message.append(String.join("", "If you'd like to reuse an existing certificate you must specify the [", DeploymentArguments.LONG_CERTIFICATE_ARN_OPTION, "] option."));
 
-            Instance instance = optionalInstance.get();
+            throw new RuntimeException(message.toString());
+        }
 
-            String publicIpAddress = instance.publicIpAddress();
+        return Tuple.of(optionalCoreKeysAndCertificate, optionalCoreCertificateArn.get());
+    }
 
-            if (publicIpAddress == null) {
-                throw new RuntimeException("Public IP address returned from EC2 was NULL, skipping EC2 setup");
-            }
+    private boolean isAnyFunctionRunningAsRoot(List<FunctionConf> functionConfs) {
+        boolean functionsRunningAsRoot = functionConfs.stream()
+                .anyMatch(functionConf -> ((functionConf.getUid().isPresent() && (functionConf.getUid().get() == 0))
+                        || (functionConf.getGid().isPresent() && (functionConf.getGid().get() == 0))));
 
-            Optional<String> username = Optional.empty();
+        if (functionsRunningAsRoot) {
+            log.warn("At least one function was detected that is configured to run as root");
+        }
 
-            if (deploymentArguments.ec2LinuxVersion.equals(EC2LinuxVersion.Ubuntu1804)) {
-                username = Optional.of("ubuntu");
-            }
+        return functionsRunningAsRoot;
+    }
 
-            if (deploymentArguments.ec2LinuxVersion.equals(EC2LinuxVersion.AmazonLinux2)) {
-                username = Optional.of("ec2-user");
-            }
+    private void checkFunctionsCanRunInDocker(DeploymentArguments deploymentArguments, List<FunctionConf> functionConfs) {
+        if (!deploymentArguments.dockerLaunch && !deploymentArguments.buildContainer) {
+            return;
+        }
 
-            if (!username.isPresent()) {
-                throw new RuntimeException(String.join("", "Unexpected EC2 Linux version requested [", deploymentArguments.ec2LinuxVersion.name(), "], this is a bug 2 [couldn't determine SSH username]"));
-            }
+        List<FunctionName> functionsRunningInGreengrassContainer = functionConfs.stream()
+                .filter(FunctionConf::isGreengrassContainer)
+                .map(FunctionConf::getFunctionName)
+                .collect(Collectors.toList());
 
-            attemptBootstrap(deploymentArguments, publicIpAddress, username.get());
+        if (functionsRunningInGreengrassContainer.isEmpty()) {
+            return;
         }
 
-        ///////////////////////////////////////////
-        // Launch a non-EC2 system, if necessary //
-        ///////////////////////////////////////////
+        log.error("The following functions are marked to run in the Greengrass container:");
 
-        if (deploymentArguments.launch != null) {
-            attemptBootstrap(deploymentArguments, deploymentArguments.launchHost, deploymentArguments.launchUser);
-        }
+        functionsRunningInGreengrassContainer
+                .forEach(name -> log.error(String.join("", "  ", name.getName())));
 
-        //////////////////////////////////////////////////////////////////////////
-        // Wait for the CloudFormation stacks to finish launching, if necessary //
-        //////////////////////////////////////////////////////////////////////////
+        log.error("When running in Docker all functions must be running without the Greengrass container.");
+        // Thrown instead of exiting so callers running in-process (e.g. the Lambda function) keep their JVM
+        throw new RuntimeException("Set the greengrassContainer option to false in the functions.default.conf and/or the individual function configurations and try again.");
+    }
 
-        if (cloudFormationStacksLaunched.size() != 0) {
-            waitForStacksToLaunch(cloudFormationStacksLaunched);
-        }
+    private List<Subscription> getSubscriptions(Map<Function, FunctionConf> functionToConfMap) {
+        List<Subscription> subscriptions = new ArrayList<>();
+
+        ///////////////////////////////////////////////
+        // Connection functions to cloud and shadows //
+        ///////////////////////////////////////////////
+
+        subscriptions.addAll(functionToConfMap.entrySet().stream()
+                .flatMap(entry -> subscriptionHelper.createCloudSubscriptionsForArn(
+                        entry.getValue().getFromCloudSubscriptions(),
+                        entry.getValue().getToCloudSubscriptions(),
+                        entry.getKey().functionArn()).stream())
+                .collect(Collectors.toList()));
+
+        subscriptions.addAll(subscriptionHelper.connectFunctionsToShadows(functionToConfMap));
+
+        ////////////////////////////////////////
+        // Connection functions to each other //
+        ////////////////////////////////////////
+
+        subscriptions.addAll(subscriptionHelper.connectFunctions(functionToConfMap));
+
+        return subscriptions;
     }
 
     @NotNull
@@ -1246,10 +1547,15 @@ public class BasicDeploymentHelper implements DeploymentHelper {
                 .build();
     }
 
-    private void attemptBootstrap(DeploymentArguments deploymentArguments, String ipAddress, String user) {
-        Session session = sshHelper.getSshSession(ipAddress, user);
+    private void attemptBootstrap(DeploymentArguments deploymentArguments, String host, String user) {
+        BootstrapTarget bootstrapTarget = ImmutableBootstrapTarget.builder()
+                .groupName(deploymentArguments.groupName)
+                .host(host)
+                .user(user)
+                .build();
 
-        threadHelper.timeLimitTask(getCopyAndBootstrapCallable(deploymentArguments, ipAddress, user, session), 5, TimeUnit.MINUTES);
+        // A failed bootstrap is logged but doesn't fail the deployment, the group itself was created
+        bootstrapHelper.logResults(bootstrapHelper.bootstrap(Collections.singletonList(bootstrapTarget), 1, ggConstants.getBootstrapTimeout()));
     }
 
     @Override
@@ -1262,92 +1568,6 @@ public class BasicDeploymentHelper implements DeploymentHelper {
         return new DeploymentArguments();
     }
 
-    private Callable<Boolean> getCopyAndBootstrapCallable(DeploymentArguments deploymentArguments, String publicIpAddress, String user, Session session) {
-        return () -> copyAndBootstrap(deploymentArguments, publicIpAddress, user, session);
-    }
-
-    private Boolean copyAndBootstrap(DeploymentArguments deploymentArguments, String host, String user, Session session) throws JSchException, IOException {
-        String filename = String.join(".", "gg", deploymentArguments.groupName, "sh");
-        String localFilename = String.join("/", "build", filename);
-        String remoteFilename = filename;
-        log.info("Copying bootstrap script to host via scp...");
-        ioHelper.sendFile(session, localFilename, remoteFilename);
-        ioHelper.runCommand(session, String.join(" ", "chmod", "+x", String.join("", "./", remoteFilename)));
-        log.info(String.join("", "Running bootstrap script on target host in screen, connect to the target host [", user, "@", host, "] and run 'screen -r' to see the progress"));
-        runCommandInScreen(session, String.join(" ", String.join("", "./", remoteFilename), "--now"), Optional.of(GREENGRASS_SESSION_NAME), true);
-        session.disconnect();
-        return true;
-    }
-
-    private void runCommandInScreen(Session session, String command, Optional<String> screenSessionName, boolean keepSessionOpen) throws JSchException, IOException {
-        AtomicBoolean screenAvailable = new AtomicBoolean(false);
-
-        Consumer<String> screenAvailabilityChecker = getScreenAvailabilityChecker(screenAvailable);
-
-        ioHelper.runCommand(session, String.join(" ", "screen", "--version"), Optional.of(screenAvailabilityChecker));
-
-        if (!screenAvailable.get()) {
-            // Screen is not available, throw an exception
-            session.disconnect();
-            throwRuntimeException(SCREEN_NOT_AVAILABLE_ERROR_MESSAGE);
-        }
-
-        String sessionNameOptions = "";
-
-        if (screenSessionName.isPresent()) {
-            AtomicBoolean screenSessionNameAvailable = new AtomicBoolean(false);
-
-            Consumer<String> screenSessionNameChecker = getScreenSessionNameChecker(screenSessionNameAvailable);
-
-            sessionNameOptions = String.join(" ", "-S", screenSessionName.get());
-
-            ioHelper.runCommand(session, String.join(" ", "screen", sessionNameOptions, "-Q", "select", "."), Optional.of(screenSessionNameChecker));
-
-            if (!screenSessionNameAvailable.get()) {
-                session.disconnect();
-                throwRuntimeException(SCREEN_SESSION_NAME_IN_USE_ERROR_MESSAGE);
-            }
-        }
-
-        if (keepSessionOpen) {
-            command = String.join("", "bash -c \"", command, "; exec bash\"");
-        }
-
-        ioHelper.runCommand(session, String.join(" ", "screen", sessionNameOptions, "-d", "-m", command));
-    }
-
-    @NotNull
-    private Consumer<String> getScreenAvailabilityChecker(AtomicBoolean flag) {
-        return string -> {
-            // "screen --version" returns a string like: Screen version 4.05.00 (GNU) 10-Dec-16
-            if (!string.contains("Screen")) {
-                // Doesn't look like what we want
-                return;
-            }
-
-            // This should be it
-            flag.set(true);
-        };
-    }
-
-    @NotNull
-    private Consumer<String> getScreenSessionNameChecker(AtomicBoolean flag) {
-        return string -> {
-            // "screen -S session_name -Q select ." returns a string like: No screen session found
-            if (!string.contains("No screen session found")) {
-                // Doesn't look like what we want
-                return;
-            }
-
-            // This should be it
-            flag.set(true);
-        };
-    }
-
-    private Void throwRuntimeException(String errorMessage) {
-        throw new RuntimeException(errorMessage);
-    }
-
     private Optional<String> launchEc2Instance(String groupName, Architecture architecture, EC2LinuxVersion ec2LinuxVersion, int mqttPort, Set<Integer> openPorts) {
         String instanceTagName = String.join("-", GREENGRASS_EC2_INSTANCE_TAG_PREFIX, groupName);
 
@@ -1365,9 +1585,9 @@ public class BasicDeploymentHelper implements DeploymentHelper {
             throw new RuntimeException(String.join("", "Unexpected architecture [", architecture.toString(), "] for EC2 launch"));
         }
 
-        Optional<Image> optionalImage = getImage(optionalNameFilter.get(), optionalAccountId.get());
+        Optional<String> optionalImageId = getImageId(optionalNameFilter.get(), optionalAccountId.get());
 
-        if (!optionalImage.isPresent()) {
+        if (!optionalImageId.isPresent()) {
             log.error(String.join("", "No [", ec2LinuxVersion.name(), "] image found in this region, not launching the instance"));
             return Optional.empty();
         }
@@ -1386,8 +1606,6 @@ public class BasicDeploymentHelper implements DeploymentHelper {
 
         log.warn(String.join("", "Automatically chose the first key pair available [", keyPairInfo.keyName(), "]"));
 
-        Image image = optionalImage.get();
-
         String securityGroupName = String.join("-", instanceTagName, ioHelper.getUuid());
 
         CreateSecurityGroupRequest createSecurityGroupRequest = CreateSecurityGroupRequest.builder()
@@ -1398,12 +1616,12 @@ public class BasicDeploymentHelper implements DeploymentHelper {
         ec2Client.createSecurityGroup(createSecurityGroupRequest);
 
         // Sometimes the security group isn't immediately visible so we need retries
-        RetryPolicy<AuthorizeSecurityGroupIngressResponse> securityGroupRetryPolicy = new RetryPolicy<AuthorizeSecurityGroupIngressResponse>()
-                .handleIf(throwable -> throwable.getMessage().contains(DOES_NOT_EXIST))
-                .withDelay(Duration.ofSeconds(5))
-                .withMaxRetries(6)
-                .onRetry(failure -> log.warn("Waiting for security group to become visible..."))
-                .onRetriesExceeded(failure -> log.error("Security group never became visible. Cannot continue."));
+        BackoffPolicy securityGroupBackoffPolicy = ImmutableBackoffPolicy.builder()
+                .from(EC2_VISIBILITY_BACKOFF_POLICY)
+                .name("EC2 authorize security group ingress")
+                .retryMessage("Waiting for security group to become visible...")
+                .exhaustedMessage("Security group never became visible. Cannot continue.")
+                .build();
 
         List<IpPermission> ipPermissions = openPorts.stream()
                 .map(this::openTcpPortToWorld)
@@ -1422,11 +1640,12 @@ public class BasicDeploymentHelper implements DeploymentHelper {
                 .ipPermissions(ipPermissions)
                 .build();
 
-        Failsafe.with(securityGroupRetryPolicy).get(() ->
-                ec2Client.authorizeSecurityGroupIngress(authorizeSecurityGroupIngressRequest));
+        backoffHelper.retry(securityGroupBackoffPolicy,
+                () -> ec2Client.authorizeSecurityGroupIngress(authorizeSecurityGroupIngressRequest),
+                this::doesNotExistYet);
 
         RunInstancesRequest runInstancesRequest = RunInstancesRequest.builder()
-                .imageId(image.imageId())
+                .imageId(optionalImageId.get())
                 .instanceType(instanceType.get())
                 .maxCount(1)
                 .minCount(1)
@@ -1455,21 +1674,26 @@ public class BasicDeploymentHelper implements DeploymentHelper {
                 .resources(instanceId)
                 .build();
 
-        RetryPolicy<CreateTagsResponse> createTagsResponseRetryPolicy = new RetryPolicy<CreateTagsResponse>()
-                .handleIf(throwable -> throwable.getMessage().contains(DOES_NOT_EXIST))
-                .withDelay(Duration.ofSeconds(5))
-                .withMaxRetries(3)
-                .onRetry(failure -> log.warn("Instance may still be starting, trying again..."))
-                .onRetriesExceeded(failure -> log.error("Failed to find the instance in EC2, it was not launched"));
+        BackoffPolicy createTagsBackoffPolicy = ImmutableBackoffPolicy.builder()
+                .from(EC2_VISIBILITY_BACKOFF_POLICY)
+                .name("EC2 create tags")
+                .retryMessage("Instance may still be starting, trying again...")
+                .exhaustedMessage("Failed to find the instance in EC2, it was not launched")
+                .build();
 
-        Failsafe.with(createTagsResponseRetryPolicy).get(() ->
-                ec2Client.createTags(createTagsRequest));
+        backoffHelper.retry(createTagsBackoffPolicy,
+                () -> ec2Client.createTags(createTagsRequest),
+                this::doesNotExistYet);
 
         log.info(String.join("", "Launched instance [", instanceId, "] with tag [", instanceTagName, "]"));
 
         return Optional.of(instanceId);
     }
 
+    private boolean doesNotExistYet(Throwable throwable) {
+        return String.valueOf(throwable.getMessage()).contains(DOES_NOT_EXIST);
+    }
+
     private IpPermission openTcpPortToWorld(int port) {
         log.warn(String.join("", "Opening security group for inbound TCP traffic on all IPs on port [", String.valueOf(port), "]"));
 
@@ -1508,6 +1732,26 @@ public class BasicDeploymentHelper implements DeploymentHelper {
                 .findFirst();
     }
 
+    private Optional<String> getImageId(String nameFilter, String accountId) {
+        LookupKey<String> lookupKey = ImmutableLookupKey.<String>builder()
+                .name("ami-id")
+                .addQualifiers(awsHelper.getCurrentRegion().id(), accountId, nameFilter)
+                .type(String.class)
+                .timeToLive(AMI_ID_TIME_TO_LIVE)
+                .build();
+
+        // Failures are never cached so a missing image is looked up again on the next launch
+        Try<String> imageId = Try.of(() -> lookupCacheHelper.get(lookupKey, () -> getImage(nameFilter, accountId)
+                .map(Image::imageId)
+                .orElseThrow(() -> new NoSuchElementException(String.join("", "No image matches [", nameFilter, "]")))));
+
+        if (imageId.isFailure() && (imageId.getCause() instanceof NoSuchElementException)) {
+            return Optional.empty();
+        }
+
+        return Optional.of(imageId.get());
+    }
+
     public Optional<String> getNameFilter(Architecture architecture, EC2LinuxVersion ec2LinuxVersion) {
         Optional<String> nameFilter = Optional.empty();
 
@@ -1614,7 +1858,7 @@ public class BasicDeploymentHelper implements DeploymentHelper {
             installScriptVirtualTarEntries = Optional.of(new ArrayList<>());
         }
 
-        if ((deploymentArguments.oemOutput) || (deploymentArguments.oemJsonOutput != null)) {
+        if ((deploymentArguments.oemOutput) || (deploymentArguments.oemJsonOutput != null) || returnOemFiles) {
             oemVirtualTarEntries = Optional.of(new ArrayList<>());
         }
 
@@ -1666,7 +1910,7 @@ public class BasicDeploymentHelper implements DeploymentHelper {
                 ggConstants.getCorePublicCertificateName(),
                 ggConstants.getCorePrivateKeyName(),
                 awsIotThingArn,
-                v2IotHelper.getEndpoint(V2IotEndpointType.DATA_ATS),
+                lookupCacheHelper.getIotEndpoint(V2IotEndpointType.DATA_ATS),
                 currentRegion,
                 deploymentArguments,
                 functionsRunningAsRoot);
@@ -1683,9 +1927,9 @@ public class BasicDeploymentHelper implements DeploymentHelper {
         log.info("Getting root CA");
         String rootCaPath = String.join("/", ggConstants.getCertsDirectoryPrefix(), ggConstants.getRootCaName());
 
-        // Use ifPresent here so we don't download the root CA if we don't need to add it to the archive
-        installScriptVirtualTarEntries.ifPresent(archive -> archiveHelper.addVirtualTarEntry(archive, rootCaPath, ioHelper.download(ggConstants.getRootCaUrl()).getBytes(), normalFilePermissions));
-        oemVirtualTarEntries.ifPresent(archive -> archiveHelper.addVirtualTarEntry(archive, rootCaPath, ioHelper.download(ggConstants.getRootCaUrl()).getBytes(), normalFilePermissions));
+        // Use ifPresent here so we don't download the root CA if we don't need to add it to the archive, the lookup cache makes sure it is only downloaded once
+        installScriptVirtualTarEntries.ifPresent(archive -> archiveHelper.addVirtualTarEntry(archive, rootCaPath, lookupCacheHelper.getRootCa().getBytes(), normalFilePermissions));
+        oemVirtualTarEntries.ifPresent(archive -> archiveHelper.addVirtualTarEntry(archive, rootCaPath, lookupCacheHelper.getRootCa().getBytes(), normalFilePermissions));
 
         //////////////////////////////////////////////////////////////////////////////////////////////////////////////////
         // Add some extra files to the OEM deployment so that Docker based deployments can do a redeployment on startup //
@@ -1729,16 +1973,11 @@ public class BasicDeploymentHelper implements DeploymentHelper {
             Architecture architecture = optionalArchitecture.get();
             URL architectureUrl = getArchitectureUrl(deploymentArguments);
 
-            // Use ifPresent here to avoid reading the file if it isn't necessary
-            installScriptVirtualTarEntries.ifPresent(archive -> archiveHelper.addVirtualTarEntry(archive, architecture.getFilename(), ioHelper.readFile(architectureUrl), normalFilePermissions));
-
-            log.info(String.join("", "Building script [", ggShScriptName, "]"));
-            ByteArrayOutputStream ggScriptTemplate = new ByteArrayOutputStream();
-
-            Try.run(() -> writePayload(architecture, ggScriptTemplate)).get();
+            // The binary is streamed from its URL when the script is written instead of being read into memory here
+            installScriptVirtualTarEntries.get().add(archiveHelper.createVirtualTarEntry(architecture.getFilename(), architectureUrl, normalFilePermissions));
 
             log.info(String.join("", "Writing script [", ggShScriptName, "]"));
-            ioHelper.writeFile(ggShScriptName, ggScriptTemplate.toByteArray());
+            ioHelper.writeFile(ggShScriptName, outputStream -> writePayload(architecture, outputStream));
             ioHelper.makeExecutable(ggShScriptName);
 
             // Copy to S3 if necessary
@@ -1750,13 +1989,13 @@ public class BasicDeploymentHelper implements DeploymentHelper {
             }
         }
 
-        if (oemVirtualTarEntries.isPresent()) {
+        if (oemVirtualTarEntries.isPresent() && !returnOemFiles) {
             if (deploymentArguments.oemJsonOutput != null) {
                 writeOemJsonOutput(oemVirtualTarEntries.get(), deploymentArguments.oemJsonOutput);
             } else {
                 String oemArchiveName = ggVariables.getOemArchiveName(greengrassGroupName);
                 log.info(String.join("", "Writing OEM file [", oemArchiveName, "]"));
-                ioHelper.writeFile(oemArchiveName, getByteArrayOutputStream(oemVirtualTarEntries).get().toByteArray());
+                ioHelper.writeFile(oemArchiveName, outputStream -> archiveHelper.tar(oemVirtualTarEntries.get(), outputStream));
                 ioHelper.makeExecutable(oemArchiveName);
 
                 // Copy to S3 if necessary
@@ -1795,18 +2034,62 @@ public class BasicDeploymentHelper implements DeploymentHelper {
         archiveHelper.addVirtualTarEntry(tarEntries, publicCertificatePath, coreKeysAndCertificate.getCertificatePem().getPem().getBytes(), normalFilePermissions);
     }
 
+    private Map<String, String> getOemFiles(List<VirtualTarEntry> oemVirtualTarEntries) {
+        return oemVirtualTarEntries.stream()
+                .collect(Collectors.toMap(VirtualTarEntry::getFilename, entry -> new String(archiveHelper.readContent(entry))));
+    }
+
     private void writeOemJsonOutput(List<VirtualTarEntry> oemVirtualTarEntries, String oemJsonFilename) {
-        Map<String, String> oemJson = oemVirtualTarEntries.stream()
-                .collect(Collectors.toMap(VirtualTarEntry::getFilename, entry -> new String(entry.getContent())));
+        Map<String, String> oemJson = getOemFiles(oemVirtualTarEntries);
 
         log.info(String.join("", "Writing OEM JSON output to [", oemJsonFilename, "]"));
         ioHelper.writeFile(oemJsonFilename, jsonHelper.toJson(oemJson).getBytes());
     }
 
-    private void writePayload(Architecture architecture, ByteArrayOutputStream ggScriptTemplate) throws IOException {
-        ggScriptTemplate.write(scriptHelper.generateGgScript(architecture).getBytes());
-        ggScriptTemplate.write("PAYLOAD:\n".getBytes());
-        ggScriptTemplate.write(getByteArrayOutputStream(installScriptVirtualTarEntries).get().toByteArray());
+    private void writePayload(Architecture architecture, OutputStream outputStream) throws IOException {
+        outputStream.write(scriptHelper.generateGgScript(architecture).getBytes());
+        outputStream.write("PAYLOAD:\n".getBytes());
+        archiveHelper.tar(installScriptVirtualTarEntries.get(), outputStream);
+    }
+
+    private void buildContainer(DeploymentArguments deploymentArguments) {
+        log.info("Configuring container build");
+
+        ecrDockerHelper.setEcrRepositoryName(Optional.ofNullable(deploymentArguments.ecrRepositoryNameString));
+        ecrDockerHelper.setEcrImageName(Optional.ofNullable(deploymentArguments.ecrImageNameString));
+        String imageName = ecrDockerHelper.getImageName();
+        String currentDirectory = System.getProperty(USER_DIR);
+
+        File dockerfile = officialGreengrassImageDockerHelper.getDockerfileForArchitecture(deploymentArguments.architecture);
+        String dockerfileTemplate = ioHelper.readFileAsString(dockerfile);
+        dockerfileTemplate = dockerfileTemplate.replaceAll("GROUP_NAME", deploymentArguments.groupName);
+
+        // Add the group name and UUID so we don't accidentally overwrite an existing file
+        File tempDockerfile = dockerfile.toPath().getParent().resolve(
+                String.join(".", "Dockerfile", deploymentArguments.groupName, ioHelper.getUuid())).toFile();
+        ioHelper.writeFile(tempDockerfile.toString(), dockerfileTemplate.getBytes());
+        tempDockerfile.deleteOnExit();
+
+        DockerClient dockerClient = dockerSessionHelper.getDockerClient(officialGreengrassImageDockerClientProvider);
+
+        try {
+            log.info("Building container");
+
+            // Pull the official Greengrass Docker container first
+            String officialGreengrassDockerImage = ggConstants.getOfficialGreengrassDockerImage();
+            officialGreengrassImageDockerHelper.pullImage(officialGreengrassDockerImage);
+
+            String imageId = dockerClient.build(new File(currentDirectory).toPath(),
+                    basicProgressHandler,
+                    DockerClient.BuildParam.dockerfile(tempDockerfile.toPath()));
+
+            dockerClient.tag(imageId, imageName);
+            dockerSessionHelper.invalidateImages();
+            pushContainerIfNecessary(deploymentArguments, imageId);
+        } catch (DockerException | InterruptedException | IOException e) {
+            log.error("Container build failed");
+            throw new RuntimeException(e);
+        }
     }
 
     private void pushContainerIfNecessary(DeploymentArguments deploymentArguments, String imageId) {
@@ -1819,16 +2102,17 @@ public class BasicDeploymentHelper implements DeploymentHelper {
         String shortEcrEndpoint = ecrEndpoint.substring("https://".length()); // Remove leading https://
         String shortEcrEndpointAndRepo = String.join("/", shortEcrEndpoint, deploymentArguments.ecrRepositoryNameString);
 
-        try (DockerClient dockerClient = ecrDockerClientProvider.get()) {
-            Try.run(() -> tagImage(deploymentArguments, imageId, shortEcrEndpointAndRepo, dockerClient))
-                    .get();
+        DockerClient dockerClient = dockerSessionHelper.getDockerClient(ecrDockerClientProvider);
 
-            Try.run(() -> push(shortEcrEndpointAndRepo, dockerClient))
-                    .onFailure(throwable -> Match(throwable).of(
-                            Case($(instanceOf(DockerException.class)), this::logDockerPushFailedAndThrow),
-                            Case($(), exceptionHelper::rethrowAsRuntimeException)))
-                    .get();
-        }
+        Try.run(() -> tagImage(deploymentArguments, imageId, shortEcrEndpointAndRepo, dockerClient))
+                .andFinally(dockerSessionHelper::invalidateImages)
+                .get();
+
+        Try.run(() -> push(shortEcrEndpointAndRepo, dockerClient))
+                .onFailure(throwable -> Match(throwable).of(
+                        Case($(instanceOf(DockerException.class)), this::logDockerPushFailedAndThrow),
+                        Case($(), exceptionHelper::rethrowAsRuntimeException)))
+                .get();
 
         String containerName = String.join("", shortEcrEndpointAndRepo, ":", deploymentArguments.groupName);
         log.info(String.join("", "Container pushed to [", containerName, "]"));
@@ -1881,14 +2165,8 @@ public class BasicDeploymentHelper implements DeploymentHelper {
     private void waitForStacksToLaunch(List<String> cloudFormationStacksLaunched) {
         log.info("Waiting for your stacks to launch...");
 
-        cloudFormationStacksLaunched
-                .forEach(cloudFormationHelper::waitForStackToLaunch);
-    }
-
-    private Optional<ByteArrayOutputStream> getByteArrayOutputStream
-            (Optional<List<VirtualTarEntry>> virtualTarEntries) {
-        return Try.of(() -> archiveHelper.tar(virtualTarEntries))
-                .get();
+        runReportHelper.runSpan("waitForCloudFormationStacks", () -> cloudFormationStacksLaunched
+                .forEach(cloudFormationHelper::waitForStackToLaunch));
     }
 
     /**
@@ -1912,8 +2190,7 @@ public class BasicDeploymentHelper implements DeploymentHelper {
         Optional<URL> architectureUrlOptional = architecture.flatMap(Architecture::getResourceUrl);
 
         if (architecture.isPresent() && !architectureUrlOptional.isPresent()) {
-            log.error(String.join("", "The GG software for your architecture [", architecture.get().getFilename(), "] is not available, please download it from the Greengrass console and put it in the [", architecture.get().getDIST(), "] directory"));
-            System.exit(3);
+            throw new RuntimeException(String.join("", "The GG software for your architecture [", architecture.get().getFilename(), "] is not available, please download it from the Greengrass console and put it in the [", architecture.get().getDIST(), "] directory"));
         }
 
         return architectureUrlOptional.get();
@@ -1,9 +1,10 @@
 package com.awslabs.aws.greengrass.provisioner.implementations.helpers;
 
+import com.awslabs.aws.greengrass.provisioner.data.DeviceTesterLogMessage;
 import com.awslabs.aws.greengrass.provisioner.data.DeviceTesterLogMessageType;
+import com.awslabs.aws.greengrass.provisioner.data.ImmutableDeviceTesterLogMessage;
 import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.DeviceTesterHelper;
-import io.vavr.Tuple2;
-import io.vavr.Tuple3;
+import io.vavr.collection.HashMap;
 import io.vavr.collection.List;
 import io.vavr.collection.Map;
 import io.vavr.control.Option;
@@ -14,8 +15,6 @@ import org.slf4j.LoggerFactory;
 
 import javax.inject.Inject;
 import java.time.Duration;
-import java.util.AbstractMap;
-import java.util.Arrays;
 import java.util.Optional;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -24,7 +23,8 @@ import static io.vavr.API.*;
 
 public class BasicDeviceTesterHelper implements DeviceTesterHelper {
     private static final String TIME = "time";
-    private static final String KEY_PATTERN = "[a-zA-Z]+=";
+    private static final Pattern KEY_PATTERN = Pattern.compile("[a-zA-Z]+=");
+    private static final Pattern DURATION_PATTERN = Pattern.compile("\\([0-9]+\\.[0-9]+s\\)");
     private static final List<DeviceTesterLogMessageType> IGNORED_MESSAGE_TYPES = List.of(
             DeviceTesterLogMessageType.CHECKING_GGC_VERSION,
             DeviceTesterLogMessageType.FINISHED_PROVISIONING,
@@ -65,6 +65,29 @@ public class BasicDeviceTesterHelper implements DeviceTesterHelper {
             DeviceTesterLogMessageType.FAIL_TO_REMOVE_GREENGRASS,
             DeviceTesterLogMessageType.COMMAND_ON_REMOTE_HOST_FAILED_TO_START,
             DeviceTesterLogMessageType.FAIL_TO_ADD_REMOTE_FILE_RESOURCE);
+    private static final java.util.Map<String, DeviceTesterLogMessageType> EXACT_MESSAGE_TYPES = new java.util.HashMap<>();
+    private static final java.util.Map<Character, java.util.List<DeviceTesterLogMessageType>> PREFIX_MESSAGE_TYPES_BY_FIRST_CHARACTER = new java.util.HashMap<>();
+    private static final java.util.List<DeviceTesterLogMessageType> CONTAINS_MESSAGE_TYPES = new java.util.ArrayList<>();
+
+    static {
+        // values() is in declaration order so every list stays in declaration order too
+        for (DeviceTesterLogMessageType deviceTesterLogMessageType : DeviceTesterLogMessageType.values()) {
+            String text = deviceTesterLogMessageType.getText();
+
+            switch (deviceTesterLogMessageType.getMatchType()) {
+                case EXACT:
+                    EXACT_MESSAGE_TYPES.putIfAbsent(text, deviceTesterLogMessageType);
+                    break;
+                case PREFIX:
+                    PREFIX_MESSAGE_TYPES_BY_FIRST_CHARACTER.computeIfAbsent(text.charAt(0), character -> new java.util.ArrayList<>()).add(deviceTesterLogMessageType);
+                    break;
+                case CONTAINS:
+                    CONTAINS_MESSAGE_TYPES.add(deviceTesterLogMessageType);
+                    break;
+            }
+        }
+    }
+
     private final Logger log = LoggerFactory.getLogger(BasicDeviceTesterHelper.class);
 
     @Inject
@@ -72,33 +95,66 @@ public class BasicDeviceTesterHelper implements DeviceTesterHelper {
     }
 
     @Override
-    public DeviceTesterLogMessageType getLogMessageType(String logMessage) {
+    public DeviceTesterLogMessage parse(String logMessage) {
         Map<String, String> values = extractValuesFromLogMessage(logMessage);
         String message = values.get(MESSAGE_FIELD_NAME).get();
 
-        // Find the first message type that matches this string
-        Optional<DeviceTesterLogMessageType> optionalDeviceTesterLogMessageType = Arrays.stream(DeviceTesterLogMessageType.values())
-                .filter(type -> type.matches(message))
-                .findFirst();
+        return ImmutableDeviceTesterLogMessage.builder()
+                .logMessage(logMessage)
+                .values(values)
+                .type(getLogMessageType(logMessage, message))
+                .message(message)
+                .testCaseId(getOptionalTestCaseId(values))
+                .build();
+    }
 
-        if (!optionalDeviceTesterLogMessageType.isPresent()) {
+    private DeviceTesterLogMessageType getLogMessageType(String logMessage, String message) {
+        // Types are checked in the order they are declared and the first match wins, the tables only narrow down which
+        // types need to be checked
+        DeviceTesterLogMessageType deviceTesterLogMessageType = EXACT_MESSAGE_TYPES.get(message);
+
+        if (!message.isEmpty()) {
+            java.util.List<DeviceTesterLogMessageType> prefixMessageTypes = PREFIX_MESSAGE_TYPES_BY_FIRST_CHARACTER.get(message.charAt(0));
+
+            if (prefixMessageTypes != null) {
+                deviceTesterLogMessageType = getFirstMatch(deviceTesterLogMessageType, prefixMessageTypes, message);
+            }
+        }
+
+        deviceTesterLogMessageType = getFirstMatch(deviceTesterLogMessageType, CONTAINS_MESSAGE_TYPES, message);
+
+        if (deviceTesterLogMessageType == null) {
             // No match was found, throw an exception immediately
             throw new RuntimeException(String.format("No match for log message [%s]", logMessage));
         }
 
-        return optionalDeviceTesterLogMessageType.get();
+        return deviceTesterLogMessageType;
+    }
+
+    private DeviceTesterLogMessageType getFirstMatch(DeviceTesterLogMessageType currentMatch, java.util.List<DeviceTesterLogMessageType> candidates, String message) {
+        for (DeviceTesterLogMessageType candidate : candidates) {
+            if ((currentMatch != null) && (candidate.ordinal() > currentMatch.ordinal())) {
+                // Declared after the current match, it can't win
+                return currentMatch;
+            }
+
+            if (candidate.matches(message)) {
+                return candidate;
+            }
+        }
+
+        return currentMatch;
     }
 
     @Override
-    public void log(String logMessage) {
-        DeviceTesterLogMessageType deviceTesterLogMessageType = getLogMessageType(logMessage);
-        Map<String, String> values = extractValuesFromLogMessage(logMessage);
-        String message = values.get(MESSAGE_FIELD_NAME).get();
-        Option<String> optionalTestCaseId = getOptionalTestCaseId(values);
+    public void log(DeviceTesterLogMessage deviceTesterLogMessage) {
+        String logMessage = deviceTesterLogMessage.getLogMessage();
+        String message = deviceTesterLogMessage.getMessage();
+        Option<String> optionalTestCaseId = deviceTesterLogMessage.getTestCaseId();
 
         log.debug(logMessage);
 
-        Match(deviceTesterLogMessageType).of(
+        Match(deviceTesterLogMessage.getType()).of(
                 // Do nothing with ignored message types
                 Case($(IGNORED_MESSAGE_TYPES::contains), type -> type),
                 // Info log level messages
@@ -193,8 +249,7 @@ public class BasicDeviceTesterHelper implements DeviceTesterHelper {
     }
 
     private Optional<Duration> extractDurationFromFailureMessage(String logMessage) {
-        Pattern pattern = Pattern.compile("\\([0-9]+\\.[0-9]+s\\)");
-        Matcher matcher = pattern.matcher(logMessage);
+        Matcher matcher = DURATION_PATTERN.matcher(logMessage);
 
         if (!matcher.find()) {
             return Optional.empty();
@@ -215,41 +270,28 @@ public class BasicDeviceTesterHelper implements DeviceTesterHelper {
 
     @Override
     public Map<String, String> extractValuesFromLogMessage(String logMessage) {
-        // Find the indexes of the names of the log message values
-        Pattern pattern = Pattern.compile(KEY_PATTERN);
-        Matcher matcher = pattern.matcher(logMessage);
+        // Find the names of the log message values, each value runs until the space before the next name
+        Matcher matcher = KEY_PATTERN.matcher(logMessage);
+        java.util.Map<String, String> javaValues = new java.util.HashMap<>();
 
-        // Start with an empty list
-        List<Tuple2<Integer, Integer>> startAndEndLocations = List.empty();
+        String key = null;
+        int valueStart = 0;
 
-        // Loop through all of the matches
         while (matcher.find()) {
-            // Store the start and end of the name so it can be extracted later
-            startAndEndLocations = startAndEndLocations.append(new Tuple2(matcher.start(), matcher.end()));
-        }
-
-        // Add a final entry to the list so we can easily find the end of the last value
-        startAndEndLocations = startAndEndLocations.append(new Tuple2(logMessage.length(), 0));
-
-        // Create a list of the locations that's easier to work with (key start, key end, value end)
-        List<Tuple3<Integer, Integer, Integer>> finalLocations = List.empty();
-
-        // Map the values in the original list to the final location list
-        for (int loop = 0; loop < startAndEndLocations.length() - 1; loop++) {
-            Tuple2<Integer, Integer> currentLocation = startAndEndLocations.get(loop);
-            Tuple2<Integer, Integer> nextLocation = startAndEndLocations.get(loop + 1);
+            if (key != null) {
+                javaValues.put(key, logMessage.substring(valueStart, Math.max(valueStart, matcher.start() - 1)));
+            }
 
-            int keyStart = currentLocation._1;
-            int keyEnd = currentLocation._2;
-            int valueEnd = nextLocation._1;
+            key = logMessage.substring(matcher.start(), matcher.end() - 1);
+            valueStart = matcher.end();
+        }
 
-            Tuple3<Integer, Integer, Integer> finalLocation = new Tuple3(keyStart, keyEnd, valueEnd);
-            finalLocations = finalLocations.append(finalLocation);
+        if (key != null) {
+            // The last value runs to the end of the message
+            javaValues.put(key, logMessage.substring(valueStart));
         }
 
-        Map<String, String> values = finalLocations.toStream()
-                .map(tuple3 -> tupleToKeyValue(logMessage, tuple3))
-                .toMap(AbstractMap.SimpleEntry::getKey, AbstractMap.SimpleEntry::getValue);
+        Map<String, String> values = HashMap.ofAll(javaValues);
 
         if (values.get(MESSAGE_FIELD_NAME).isEmpty()) {
             values = values.put(MESSAGE_FIELD_NAME, "");
@@ -276,17 +318,4 @@ public class BasicDeviceTesterHelper implements DeviceTesterHelper {
 
         return values;
     }
-
-    private AbstractMap.SimpleEntry<String, String> tupleToKeyValue(String logMessage, Tuple3<Integer, Integer, Integer> tuple3) {
-        int keyStart = tuple3._1;
-        int keyEnd = tuple3._2 - 1;
-
-        int valueStart = tuple3._2;
-        int valueEnd = (tuple3._3 == logMessage.length()) ? tuple3._3 : tuple3._3 - 1;
-
-        String key = logMessage.substring(keyStart, keyEnd);
-        String value = logMessage.substring(valueStart, valueEnd);
-
-        return new AbstractMap.SimpleEntry<>(key, value);
-    }
 }
@@ -1,6 +1,7 @@
 package com.awslabs.aws.greengrass.provisioner.implementations.helpers;
 
 import com.awslabs.aws.greengrass.provisioner.data.diagnostics.DiagnosticRule;
+import com.awslabs.aws.greengrass.provisioner.data.diagnostics.LiteralPreFilter;
 import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.DiagnosticsHelper;
 import io.vavr.Tuple;
 import io.vavr.Tuple3;
@@ -11,13 +12,16 @@ import software.amazon.awssdk.services.cloudwatchlogs.model.LogStream;
 
 import javax.inject.Inject;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
 public class BasicDiagnosticsHelper implements DiagnosticsHelper {
+    private static final Pattern NEWLINE_PATTERN = Pattern.compile("\n");
     private final Logger log = LoggerFactory.getLogger(BasicDiagnosticsHelper.class);
     @Inject
     Set<DiagnosticRule> diagnosticRules;
+    private LiteralPreFilter literalPreFilter;
 
     @Inject
     public BasicDiagnosticsHelper() {
@@ -25,25 +29,48 @@ public class BasicDiagnosticsHelper implements DiagnosticsHelper {
 
     @Override
     public void runDiagnostics(java.util.List<Tuple3<LogGroup, LogStream, String>> logs) {
-        List<String> recommendations = logs.stream()
-                .map(this::splitLog)
-                .flatMap(this::evaluateRules)
-                .distinct()
-                .collect(Collectors.toList());
+        Set<String> recommendations = new HashSet<>();
 
-        recommendations.forEach(log::warn);
+        logs.forEach(log -> runDiagnostics(log._1, log._2, NEWLINE_PATTERN.splitAsStream(log._3), recommendation -> logRecommendation(recommendations, recommendation)));
     }
 
-    private Tuple3<LogGroup, LogStream, List<String>> splitLog(Tuple3<LogGroup, LogStream, String> log) {
-        return Tuple.of(log._1, log._2, Arrays.asList(log._3.split("\n")));
+    private void logRecommendation(Set<String> recommendations, String recommendation) {
+        if (!recommendations.add(recommendation)) {
+            return;
+        }
+
+        log.warn(recommendation);
+    }
+
+    @Override
+    public void runDiagnostics(LogGroup logGroup, LogStream logStream, Stream<String> lines, Consumer<String> recommendationConsumer) {
+        LiteralPreFilter literalPreFilter = getLiteralPreFilter();
+
+        lines.forEach(line -> evaluateRules(logGroup, logStream, line, literalPreFilter.getCandidates(line), recommendationConsumer));
     }
 
-    private Stream<String> evaluateRules(Tuple3<LogGroup, LogStream, List<String>> log) {
-        return diagnosticRules.stream()
-                .map(diagnosticRule -> diagnosticRule.evaluate(log))
+    private void evaluateRules(LogGroup logGroup, LogStream logStream, String line, List<DiagnosticRule> candidates, Consumer<String> recommendationConsumer) {
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        // Only lines that contain one of the rule's literals get here so the rule's patterns run on very few lines
+        Tuple3<LogGroup, LogStream, List<String>> input = Tuple.of(logGroup, logStream, Collections.singletonList(line));
+
+        candidates.stream()
+                .map(diagnosticRule -> diagnosticRule.evaluate(input))
                 .filter(Optional::isPresent)
                 .map(Optional::get)
-                .flatMap(Collection::stream);
+                .flatMap(Collection::stream)
+                .forEach(recommendationConsumer);
+    }
+
+    private synchronized LiteralPreFilter getLiteralPreFilter() {
+        if (literalPreFilter == null) {
+            literalPreFilter = new LiteralPreFilter(diagnosticRules);
+        }
+
+        return literalPreFilter;
     }
 
     @Override
@@ -51,4 +78,3 @@ public class BasicDiagnosticsHelper implements DiagnosticsHelper {
         return logGroup.logGroupName().replaceAll("^.*/([^/].*)$", "$1");
     }
 }
-
@@ -2,7 +2,7 @@ package com.awslabs.aws.greengrass.provisioner.implementations.helpers;
 
 import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.AwsHelper;
 import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.EnvironmentHelper;
-import com.awslabs.iam.helpers.interfaces.V2IamHelper;
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.LookupCacheHelper;
 import com.awslabs.iot.data.GreengrassGroupId;
 import com.awslabs.iot.data.GreengrassGroupName;
 import com.awslabs.iot.data.ThingArn;
@@ -16,7 +16,7 @@ public class BasicEnvironmentHelper implements EnvironmentHelper {
     @Inject
     AwsHelper awsHelper;
     @Inject
-    V2IamHelper iamHelper;
+    LookupCacheHelper lookupCacheHelper;
 
     @Inject
     public BasicEnvironmentHelper() {
@@ -34,7 +34,7 @@ public class BasicEnvironmentHelper implements EnvironmentHelper {
         defaultEnvironment.put(AWS_IOT_THING_ARN, coreThingArn.getArn());
         defaultEnvironment.put(AWS_GREENGRASS_GROUP_NAME, greengrassGroupName.getGroupName());
         defaultEnvironment.put(REGION, awsHelper.getCurrentRegion().id());
-        defaultEnvironment.put(ACCOUNT_ID, iamHelper.getAccountId().getId());
+        defaultEnvironment.put(ACCOUNT_ID, lookupCacheHelper.getAccountId());
 
         return defaultEnvironment;
     }
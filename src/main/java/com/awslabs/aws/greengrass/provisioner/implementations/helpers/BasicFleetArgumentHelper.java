@@ -0,0 +1,60 @@
+package com.awslabs.aws.greengrass.provisioner.implementations.helpers;
+
+import com.awslabs.aws.greengrass.provisioner.data.arguments.FleetArguments;
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.FleetArgumentHelper;
+import com.beust.jcommander.JCommander;
+
+import javax.inject.Inject;
+import java.io.File;
+
+public class BasicFleetArgumentHelper implements FleetArgumentHelper {
+    @Inject
+    public BasicFleetArgumentHelper() {
+    }
+
+    @Override
+    public void displayUsage() {
+        FleetArguments fleetArguments = new FleetArguments();
+
+        JCommander.newBuilder()
+                .addObject(fleetArguments)
+                .build()
+                .usage();
+    }
+
+    @Override
+    public FleetArguments parseArguments(String[] args) {
+        FleetArguments fleetArguments = new FleetArguments();
+
+        JCommander.newBuilder()
+                .addObject(fleetArguments)
+                .build()
+                .parse(args);
+
+        if (fleetArguments.isHelp()) {
+            return fleetArguments;
+        }
+
+        if (!fleetArguments.isRequiredOptionSet()) {
+            throw new RuntimeException("A fleet manifest file name is required");
+        }
+
+        if (!new File(fleetArguments.manifestFilename).exists()) {
+            throw new RuntimeException(String.join("", "The specified fleet manifest [", fleetArguments.manifestFilename, "] does not exist."));
+        }
+
+        if ((fleetArguments.maxConcurrentGroups != null) && (fleetArguments.maxConcurrentGroups < 1)) {
+            throw new RuntimeException(String.join("", "The maximum number of concurrent groups [", FleetArguments.LONG_MAX_CONCURRENT_GROUPS_OPTION, "] must be at least 1, not [", String.valueOf(fleetArguments.maxConcurrentGroups), "]"));
+        }
+
+        if ((fleetArguments.maxConcurrentBootstraps != null) && (fleetArguments.maxConcurrentBootstraps < 1)) {
+            throw new RuntimeException(String.join("", "The maximum number of concurrent bootstraps [", FleetArguments.LONG_MAX_CONCURRENT_BOOTSTRAPS_OPTION, "] must be at least 1, not [", String.valueOf(fleetArguments.maxConcurrentBootstraps), "]"));
+        }
+
+        if ((fleetArguments.bootstrapTimeoutSeconds != null) && (fleetArguments.bootstrapTimeoutSeconds < 1)) {
+            throw new RuntimeException(String.join("", "The bootstrap timeout [", FleetArguments.LONG_BOOTSTRAP_TIMEOUT_OPTION, "] must be at least 1 second, not [", String.valueOf(fleetArguments.bootstrapTimeoutSeconds), "]"));
+        }
+
+        return fleetArguments;
+    }
+}
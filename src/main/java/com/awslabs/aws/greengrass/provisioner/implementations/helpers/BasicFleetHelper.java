@@ -0,0 +1,415 @@
+package com.awslabs.aws.greengrass.provisioner.implementations.helpers;
+
+import com.awslabs.aws.greengrass.provisioner.data.BootstrapResult;
+import com.awslabs.aws.greengrass.provisioner.data.BootstrapTarget;
+import com.awslabs.aws.greengrass.provisioner.data.FleetGroupResult;
+import com.awslabs.aws.greengrass.provisioner.data.ImmutableBootstrapTarget;
+import com.awslabs.aws.greengrass.provisioner.data.ImmutableFleetGroupResult;
+import com.awslabs.aws.greengrass.provisioner.data.arguments.Arguments;
+import com.awslabs.aws.greengrass.provisioner.data.arguments.DeploymentArguments;
+import com.awslabs.aws.greengrass.provisioner.data.arguments.FleetArguments;
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.*;
+import com.awslabs.general.helpers.interfaces.JsonHelper;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigUtil;
+import io.vavr.control.Try;
+import org.gradle.internal.concurrent.ThreadFactoryImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.inject.Inject;
+import javax.inject.Provider;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+public class BasicFleetHelper implements FleetHelper {
+    private static final String CONF_OPTIONS = "conf.options";
+    private static final String CONF_GROUPS = "conf.groups";
+    private static final String CONF_MAX_CONCURRENT_GROUPS = "conf.maxConcurrentGroups";
+    private static final String CONF_MAX_CONCURRENT_BOOTSTRAPS = "conf.maxConcurrentBootstraps";
+    private static final String CONF_REQUESTS_PER_SECOND = "conf.requestsPerSecond";
+    private static final String CONF_RATE_LIMITS = "conf.rateLimits";
+    private static final String GROUP_NAME = "name";
+    private static final String GROUP_OPTIONS = "options";
+    private final Logger log = LoggerFactory.getLogger(BasicFleetHelper.class);
+    @Inject
+    FleetArgumentHelper fleetArgumentHelper;
+    @Inject
+    DeploymentArgumentHelper deploymentArgumentHelper;
+    // A new deployment helper for each group since it keeps state for the group it is deploying
+    @Inject
+    Provider<DeploymentHelper> deploymentHelperProvider;
+    @Inject
+    RateLimitHelper rateLimitHelper;
+    @Inject
+    ConfigCacheHelper configCacheHelper;
+    @Inject
+    GGConstants ggConstants;
+    @Inject
+    IoHelper ioHelper;
+    @Inject
+    JsonHelper jsonHelper;
+    @Inject
+    BootstrapHelper bootstrapHelper;
+
+    @Inject
+    public BasicFleetHelper() {
+    }
+
+    @Override
+    public void execute(FleetArguments fleetArguments) {
+        Config manifest = configCacheHelper.parseFile(new File(fleetArguments.manifestFilename)).resolve();
+
+        // Check every group's arguments before anything is created so a typo doesn't leave the fleet half deployed
+        List<DeploymentArguments> groupDeploymentArguments = getGroupDeploymentArguments(manifest);
+        int maxConcurrentGroups = getMaxConcurrentGroups(fleetArguments, manifest);
+        int maxConcurrentBootstraps = getMaxConcurrentBootstraps(fleetArguments, manifest);
+        Duration bootstrapTimeout = getBootstrapTimeout(fleetArguments);
+        List<BootstrapTarget> bootstrapTargets = takeBootstrapTargets(groupDeploymentArguments);
+
+        setRateLimits(manifest);
+
+        ioHelper.createDirectoryIfNecessary(ggConstants.getBuildDirectory());
+
+        log.info(String.join("", "Deploying [", String.valueOf(groupDeploymentArguments.size()), "] group(s), up to [", String.valueOf(maxConcurrentGroups), "] at a time"));
+
+        long startNanos = System.nanoTime();
+        List<FleetGroupResult> fleetGroupResults;
+
+        RateLimitExecutionInterceptor.install(rateLimitHelper);
+
+        try {
+            fleetGroupResults = deploy(groupDeploymentArguments, maxConcurrentGroups);
+        } finally {
+            RateLimitExecutionInterceptor.uninstall();
+        }
+
+        Duration duration = Duration.ofNanos(System.nanoTime() - startNanos);
+        List<BootstrapResult> bootstrapResults = bootstrap(bootstrapTargets, fleetGroupResults, maxConcurrentBootstraps, bootstrapTimeout);
+        String resultsFilename = getResultsFilename(fleetArguments);
+
+        writeResults(resultsFilename, fleetGroupResults, bootstrapResults, duration);
+        logResults(fleetGroupResults, duration);
+
+        if (!bootstrapResults.isEmpty()) {
+            bootstrapHelper.logResults(bootstrapResults);
+        }
+
+        logRateLimitStats();
+
+        long failures = fleetGroupResults.stream()
+                .filter(fleetGroupResult -> !fleetGroupResult.isSuccessful())
+                .count();
+
+        if (failures != 0) {
+            throw new RuntimeException(String.join("", String.valueOf(failures), " of ", String.valueOf(fleetGroupResults.size()), " group(s) failed to deploy, see [", resultsFilename, "] for details"));
+        }
+
+        long bootstrapFailures = bootstrapResults.stream()
+                .filter(bootstrapResult -> !bootstrapResult.isSuccessful())
+                .count();
+
+        if (bootstrapFailures != 0) {
+            throw new RuntimeException(String.join("", String.valueOf(bootstrapFailures), " of ", String.valueOf(bootstrapResults.size()), " host(s) failed to bootstrap, see [", resultsFilename, "] for details"));
+        }
+    }
+
+    private List<BootstrapTarget> takeBootstrapTargets(List<DeploymentArguments> groupDeploymentArguments) {
+        List<BootstrapTarget> bootstrapTargets = new ArrayList<>();
+
+        for (DeploymentArguments deploymentArguments : groupDeploymentArguments) {
+            if (deploymentArguments.launch == null) {
+                continue;
+            }
+
+            bootstrapTargets.add(ImmutableBootstrapTarget.builder()
+                    .groupName(deploymentArguments.groupName)
+                    .host(deploymentArguments.launchHost)
+                    .user(deploymentArguments.launchUser)
+                    .build());
+
+            // The group still writes its bootstrap script, the hosts are bootstrapped together after the groups are deployed
+            deploymentArguments.launch = null;
+        }
+
+        return bootstrapTargets;
+    }
+
+    private List<BootstrapResult> bootstrap(List<BootstrapTarget> bootstrapTargets, List<FleetGroupResult> fleetGroupResults, int maxConcurrentBootstraps, Duration bootstrapTimeout) {
+        Set<String> deployedGroupNames = fleetGroupResults.stream()
+                .filter(FleetGroupResult::isSuccessful)
+                .map(FleetGroupResult::getGroupName)
+                .collect(Collectors.toSet());
+
+        // A group that failed may not have a bootstrap script, or one with credentials that don't work
+        List<BootstrapTarget> deployedBootstrapTargets = bootstrapTargets.stream()
+                .filter(bootstrapTarget -> deployedGroupNames.contains(bootstrapTarget.getGroupName()))
+                .collect(Collectors.toList());
+
+        if (deployedBootstrapTargets.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        log.info(String.join("", "Bootstrapping [", String.valueOf(deployedBootstrapTargets.size()), "] host(s), up to [", String.valueOf(maxConcurrentBootstraps), "] at a time"));
+
+        return bootstrapHelper.bootstrap(deployedBootstrapTargets, maxConcurrentBootstraps, bootstrapTimeout);
+    }
+
+    @Override
+    public List<DeploymentArguments> getGroupDeploymentArguments(Config manifest) {
+        if (!manifest.hasPath(CONF_GROUPS) || manifest.getConfigList(CONF_GROUPS).isEmpty()) {
+            throw new RuntimeException("The fleet manifest does not contain any groups");
+        }
+
+        List<String> sharedOptions = getOptions(manifest, CONF_OPTIONS);
+        Set<String> groupNames = new HashSet<>();
+        List<DeploymentArguments> groupDeploymentArguments = new ArrayList<>();
+
+        for (Config group : manifest.getConfigList(CONF_GROUPS)) {
+            String groupName = group.getString(GROUP_NAME);
+
+            if (!groupNames.add(groupName)) {
+                throw new RuntimeException(String.join("", "Group [", groupName, "] is in the fleet manifest more than once"));
+            }
+
+            List<String> args = new ArrayList<>(sharedOptions);
+            args.addAll(getOptions(group, GROUP_OPTIONS));
+            // Last so the name in the manifest always wins
+            args.add(Arguments.SHORT_GROUP_NAME_OPTION);
+            args.add(groupName);
+
+            DeploymentArguments deploymentArguments = Try.of(() -> deploymentArgumentHelper.parseArguments(args.toArray(new String[0])))
+                    .getOrElseThrow(throwable -> new RuntimeException(String.join("", "Invalid options for group [", groupName, "] [", throwable.getMessage(), "]"), throwable));
+
+            groupDeploymentArguments.add(deploymentArguments);
+        }
+
+        return groupDeploymentArguments;
+    }
+
+    private List<String> getOptions(Config config, String path) {
+        if (!config.hasPath(path)) {
+            return new ArrayList<>();
+        }
+
+        return config.getStringList(path);
+    }
+
+    private int getMaxConcurrentGroups(FleetArguments fleetArguments, Config manifest) {
+        if (fleetArguments.maxConcurrentGroups != null) {
+            return fleetArguments.maxConcurrentGroups;
+        }
+
+        if (manifest.hasPath(CONF_MAX_CONCURRENT_GROUPS)) {
+            return getAtLeastOne(manifest, CONF_MAX_CONCURRENT_GROUPS);
+        }
+
+        return ggConstants.getMaxConcurrentFleetGroups();
+    }
+
+    private int getMaxConcurrentBootstraps(FleetArguments fleetArguments, Config manifest) {
+        if (fleetArguments.maxConcurrentBootstraps != null) {
+            return fleetArguments.maxConcurrentBootstraps;
+        }
+
+        if (manifest.hasPath(CONF_MAX_CONCURRENT_BOOTSTRAPS)) {
+            return getAtLeastOne(manifest, CONF_MAX_CONCURRENT_BOOTSTRAPS);
+        }
+
+        return ggConstants.getMaxConcurrentBootstraps();
+    }
+
+    private Duration getBootstrapTimeout(FleetArguments fleetArguments) {
+        if (fleetArguments.bootstrapTimeoutSeconds != null) {
+            return Duration.ofSeconds(fleetArguments.bootstrapTimeoutSeconds);
+        }
+
+        return ggConstants.getBootstrapTimeout();
+    }
+
+    // Checked when the manifest is read, a thread pool with no threads would only fail after the groups are deployed
+    private int getAtLeastOne(Config manifest, String path) {
+        int value = manifest.getInt(path);
+
+        if (value < 1) {
+            throw new RuntimeException(String.join("", "[", path, "] in the fleet manifest must be at least 1, not [", String.valueOf(value), "]"));
+        }
+
+        return value;
+    }
+
+    private void setRateLimits(Config manifest) {
+        rateLimitHelper.setDefaultRequestsPerSecond(manifest.hasPath(CONF_REQUESTS_PER_SECOND) ?
+                manifest.getDouble(CONF_REQUESTS_PER_SECOND) :
+                ggConstants.getFleetRequestsPerSecond());
+
+        if (!manifest.hasPath(CONF_RATE_LIMITS)) {
+            return;
+        }
+
+        // Keys are SDK service names (Greengrass, Iot, Iam, Lambda, ...)
+        Config rateLimits = manifest.getConfig(CONF_RATE_LIMITS);
+
+        rateLimits.root().keySet()
+                .forEach(apiFamily -> rateLimitHelper.setRequestsPerSecond(apiFamily, rateLimits.getDouble(ConfigUtil.joinPath(apiFamily))));
+    }
+
+    @Override
+    public List<FleetGroupResult> deploy(List<DeploymentArguments> groupDeploymentArguments, int maxConcurrentGroups) {
+        if (groupDeploymentArguments.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        if (maxConcurrentGroups < 1) {
+            throw new RuntimeException(String.join("", "The maximum number of concurrent groups must be at least 1, not [", String.valueOf(maxConcurrentGroups), "]"));
+        }
+
+        int threads = Math.min(maxConcurrentGroups, groupDeploymentArguments.size());
+        ExecutorService executorService = Executors.newFixedThreadPool(threads, new ThreadFactoryImpl("FleetGroup"));
+
+        try {
+            List<Callable<FleetGroupResult>> callables = groupDeploymentArguments.stream()
+                    .map(deploymentArguments -> (Callable<FleetGroupResult>) () -> deploy(deploymentArguments))
+                    .collect(Collectors.toList());
+
+            List<FleetGroupResult> fleetGroupResults = new ArrayList<>();
+
+            for (Future<FleetGroupResult> future : executorService.invokeAll(callables)) {
+                fleetGroupResults.add(getFleetGroupResult(future));
+            }
+
+            return fleetGroupResults;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private FleetGroupResult deploy(DeploymentArguments deploymentArguments) {
+        long startNanos = System.nanoTime();
+
+        log.info(String.join("", "Starting group [", deploymentArguments.groupName, "]"));
+
+        Try<Void> deploymentTry = Try.run(() -> deploymentHelperProvider.get().execute(deploymentArguments));
+
+        ImmutableFleetGroupResult.Builder fleetGroupResultBuilder = ImmutableFleetGroupResult.builder()
+                .groupName(deploymentArguments.groupName)
+                .isSuccessful(deploymentTry.isSuccess())
+                .duration(Duration.ofNanos(System.nanoTime() - startNanos));
+
+        if (deploymentTry.isFailure()) {
+            String error = String.valueOf(deploymentTry.getCause().getMessage());
+            log.error(String.join("", "Group [", deploymentArguments.groupName, "] failed [", error, "]"));
+            fleetGroupResultBuilder.error(error);
+        } else {
+            log.info(String.join("", "Group [", deploymentArguments.groupName, "] finished"));
+        }
+
+        return fleetGroupResultBuilder.build();
+    }
+
+    private FleetGroupResult getFleetGroupResult(Future<FleetGroupResult> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    private String getResultsFilename(FleetArguments fleetArguments) {
+        if (fleetArguments.resultsFilename != null) {
+            return fleetArguments.resultsFilename;
+        }
+
+        String manifestName = new File(fleetArguments.manifestFilename).getName().replaceAll(".conf$", "");
+
+        return String.join("/", ggConstants.getBuildDirectory(), String.join(".", "fleet", manifestName, "json"));
+    }
+
+    private double getGroupsPerMinute(List<FleetGroupResult> fleetGroupResults, Duration duration) {
+        return fleetGroupResults.size() * 60000.0 / Math.max(1, duration.toMillis());
+    }
+
+    private void writeResults(String resultsFilename, List<FleetGroupResult> fleetGroupResults, List<BootstrapResult> bootstrapResults, Duration duration) {
+        List<Map<String, Object>> groups = fleetGroupResults.stream()
+                .map(fleetGroupResult -> {
+                    Map<String, Object> group = new LinkedHashMap<>();
+                    group.put("groupName", fleetGroupResult.getGroupName());
+                    group.put("successful", fleetGroupResult.isSuccessful());
+                    group.put("durationMillis", fleetGroupResult.getDuration().toMillis());
+                    fleetGroupResult.getError().ifPresent(error -> group.put("error", error));
+                    return group;
+                })
+                .collect(Collectors.toList());
+
+        List<Map<String, Object>> bootstraps = bootstrapResults.stream()
+                .map(bootstrapResult -> {
+                    Map<String, Object> bootstrap = new LinkedHashMap<>();
+                    bootstrap.put("groupName", bootstrapResult.getTarget().getGroupName());
+                    bootstrap.put("host", bootstrapResult.getTarget().getHost());
+                    bootstrap.put("user", bootstrapResult.getTarget().getUser());
+                    bootstrap.put("successful", bootstrapResult.isSuccessful());
+                    bootstrap.put("durationMillis", bootstrapResult.getDuration().toMillis());
+                    bootstrapResult.getError().ifPresent(error -> bootstrap.put("error", error));
+                    return bootstrap;
+                })
+                .collect(Collectors.toList());
+
+        Map<String, Object> results = new LinkedHashMap<>();
+        results.put("groups", groups);
+        results.put("bootstraps", bootstraps);
+        results.put("durationMillis", duration.toMillis());
+        results.put("groupsPerMinute", getGroupsPerMinute(fleetGroupResults, duration));
+
+        ioHelper.writeFile(resultsFilename, jsonHelper.toJson(results).getBytes(StandardCharsets.UTF_8));
+
+        log.info(String.join("", "Fleet results written to [", resultsFilename, "]"));
+    }
+
+    private void logResults(List<FleetGroupResult> fleetGroupResults, Duration duration) {
+        log.info(String.format("%-40s %-10s %10s", "Group", "Result", "Seconds"));
+
+        fleetGroupResults.forEach(fleetGroupResult -> log.info(String.format("%-40s %-10s %10.1f",
+                fleetGroupResult.getGroupName(),
+                fleetGroupResult.isSuccessful() ? "OK" : "FAILED",
+                fleetGroupResult.getDuration().toMillis() / 1000.0)));
+
+        log.info(String.join("", "Deployed [", String.valueOf(fleetGroupResults.size()), "] group(s) in [",
+                String.valueOf(duration.getSeconds()), "] second(s), [",
+                String.format("%.1f", getGroupsPerMinute(fleetGroupResults, duration)), "] group(s) per minute"));
+    }
+
+    private void logRateLimitStats() {
+        rateLimitHelper.getStats().stream()
+                // Only families that had to wait are interesting
+                .filter(rateLimitStats -> rateLimitStats.getDelayedRequests() != 0)
+                .forEach(rateLimitStats -> log.info(String.join("", "Rate limited [", String.valueOf(rateLimitStats.getDelayedRequests()),
+                        "] of [", String.valueOf(rateLimitStats.getRequests()),
+                        "] request(s) to [", rateLimitStats.getApiFamily(),
+                        "], waited [", String.valueOf(rateLimitStats.getTotalWait().toMillis()), "] ms in total")));
+    }
+
+    @Override
+    public ArgumentHelper<FleetArguments> getArgumentHelper() {
+        return fleetArgumentHelper;
+    }
+
+    @Override
+    public FleetArguments getArguments() {
+        return new FleetArguments();
+    }
+}
@@ -15,11 +15,10 @@ import com.awslabs.s3.helpers.data.S3Bucket;
 import com.awslabs.s3.helpers.data.S3Key;
 import com.awslabs.s3.helpers.interfaces.V2S3Helper;
 import com.typesafe.config.*;
-import io.vavr.Tuple3;
 import io.vavr.control.Either;
 import io.vavr.control.Try;
 import org.apache.commons.io.FileUtils;
-import org.bouncycastle.util.encoders.Base64;
+import org.gradle.internal.concurrent.ThreadFactoryImpl;
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -28,19 +27,19 @@ import software.amazon.awssdk.services.greengrass.model.EncodingType;
 import software.amazon.awssdk.services.greengrass.model.Function;
 import software.amazon.awssdk.services.greengrass.model.FunctionIsolationMode;
 import software.amazon.awssdk.services.iam.model.Role;
-import software.amazon.awssdk.services.lambda.model.CreateFunctionResponse;
 import software.amazon.awssdk.services.lambda.model.FunctionCode;
-import software.amazon.awssdk.services.lambda.model.UpdateFunctionConfigurationResponse;
 
 import javax.inject.Inject;
 import java.io.File;
 import java.io.FileFilter;
 import java.io.IOException;
-import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Optional;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -75,6 +74,12 @@ public class BasicFunctionHelper implements FunctionHelper {
     TypeSafeConfigHelper typeSafeConfigHelper;
     @Inject
     V2S3Helper v2S3Helper;
+    @Inject
+    LoggingHelper loggingHelper;
+    @Inject
+    BuildCacheHelper buildCacheHelper;
+    @Inject
+    ConfigCacheHelper configCacheHelper;
 
     @Inject
     public BasicFunctionHelper() {
@@ -276,8 +281,10 @@ public class BasicFunctionHelper implements FunctionHelper {
     private List<FunctionConf> getFunctionConfObjects(Config defaultConfig, DeploymentConf deploymentConf, List<Either<FunctionAliasArn, File>> enabledFunctionConfs, FunctionIsolationMode defaultFunctionIsolationMode) {
         List<FunctionConf> enabledFunctionConfObjects = new ArrayList<>();
 
+        Config fallbackConfig = getFunctionFallbackConfig(defaultConfig, defaultFunctionIsolationMode);
+
         for (Either<FunctionAliasArn, File> enabledFunctionConf : enabledFunctionConfs) {
-            FunctionConf functionConf = Try.of(() -> getFunctionConf(defaultConfig, deploymentConf, enabledFunctionConf, defaultFunctionIsolationMode)).get();
+            FunctionConf functionConf = Try.of(() -> getFunctionConf(fallbackConfig, deploymentConf, enabledFunctionConf)).get();
 
             enabledFunctionConfObjects.add(functionConf);
         }
@@ -293,7 +300,19 @@ public class BasicFunctionHelper implements FunctionHelper {
         return enabledFunctionConfObjects;
     }
 
-    private FunctionConf getFunctionConf(Config defaultConfig, DeploymentConf deploymentConf, Either<FunctionAliasArn, File> functionConf, FunctionIsolationMode defaultFunctionIsolationMode) {
+    // Built once for all of the functions, withFallback is associative so merging each function into this is the same as
+    // merging it with the defaults and then the environment
+    private Config getFunctionFallbackConfig(Config defaultConfig, FunctionIsolationMode defaultFunctionIsolationMode) {
+        Config functionDefaults = ggVariables.getFunctionDefaults();
+
+        // Make sure we use the calculated default function isolation mode as the default (forced to no container when using Docker)
+        functionDefaults = functionDefaults.withValue(ggConstants.getConfGreengrassContainer(), ConfigValueFactory.fromAnyRef(FunctionIsolationMode.GREENGRASS_CONTAINER.equals(defaultFunctionIsolationMode) ? true : false));
+
+        // Use the function.defaults.conf values and then the default config (environment) values
+        return functionDefaults.withFallback(defaultConfig);
+    }
+
+    protected FunctionConf getFunctionConf(Config fallbackConfig, DeploymentConf deploymentConf, Either<FunctionAliasArn, File> functionConf) {
         ImmutableFunctionConf.Builder functionConfBuilder = ImmutableFunctionConf.builder();
 
         Config config;
@@ -309,14 +328,14 @@ public class BasicFunctionHelper implements FunctionHelper {
             String functionConfFromLambda = getLambdaFunctionConf(functionAliasArn);
             functionConfBuilder.rawConfig(functionConfFromLambda);
 
-            config = ConfigFactory.parseString(functionConfFromLambda);
+            config = configCacheHelper.parseString(functionConfFromLambda);
         } else {
             // We have the function conf in a file
             File functionConfFile = functionConf.get();
 
-            functionConfBuilder.rawConfig(ioHelper.readFileAsString(functionConfFile));
+            functionConfBuilder.rawConfig(configCacheHelper.readFile(functionConfFile));
 
-            config = ConfigFactory.parseFile(functionConfFile);
+            config = configCacheHelper.parseFile(functionConfFile);
 
             Path functionPath = getFunctionPath(functionConfFile);
             functionConfBuilder.buildDirectory(functionPath);
@@ -324,16 +343,8 @@ public class BasicFunctionHelper implements FunctionHelper {
             optionalFunctionPath = Optional.of(functionPath);
         }
 
-        Config functionDefaults = ggVariables.getFunctionDefaults();
-
-        // Make sure we use the calculated default function isolation mode as the default (forced to no container when using Docker)
-        functionDefaults = functionDefaults.withValue(ggConstants.getConfGreengrassContainer(), ConfigValueFactory.fromAnyRef(FunctionIsolationMode.GREENGRASS_CONTAINER.equals(defaultFunctionIsolationMode) ? true : false));
-
-        // Use the function.defaults.conf values
-        config = config.withFallback(functionDefaults);
-
-        // Use the default config (environment) values
-        config = config.withFallback(defaultConfig);
+        // Use the function.defaults.conf and default config (environment) values
+        config = config.withFallback(fallbackConfig);
 
         // Resolve the entire fallback config
         config = config.resolve();
@@ -697,19 +708,17 @@ public class BasicFunctionHelper implements FunctionHelper {
     }
 
     @Override
-    public Map<Function, FunctionConf> buildFunctionsAndGenerateMap(String s3Bucket, String s3Directory, List<FunctionConf> functionConfList, Role lambdaRole) {
-        List<FunctionConfAndFunctionCode> builtFunctions = buildExistingFunctions(functionConfList).stream()
+    public Map<Function, FunctionConf> buildFunctionsAndGenerateMap(String s3Bucket, String s3Directory, List<FunctionConf> functionConfList, Role lambdaRole, Map<BuilderType, Integer> maxConcurrentBuilds) {
+        List<FunctionConfAndFunctionCode> builtFunctions = buildExistingFunctions(functionConfList, maxConcurrentBuilds).stream()
                 .map(zipFilePathAndFunctionConf -> convertZipFileToFunctionCode(s3Bucket, s3Directory, zipFilePathAndFunctionConf))
                 .collect(Collectors.toList());
 
-        // Create or update the functions as necessary
-        List<Either<CreateFunctionResponse, UpdateFunctionConfigurationResponse>> lambdaResponsesForBuiltFunctions = builtFunctions.stream()
-                .map(functionConfAndFunctionCode -> lambdaHelper.createOrUpdateFunction(functionConfAndFunctionCode, lambdaRole))
-                .collect(Collectors.toList());
+        // Create or update, publish, and alias the functions
+        List<LambdaFunctionArnInfo> deployedFunctionLambdaInfo = lambdaHelper.deployFunctions(builtFunctions, lambdaRole);
 
         // Get the function ARNs from the built functions
-        List<String> functionArnsForBuiltFunctions = lambdaResponsesForBuiltFunctions.stream()
-                .map(either -> either.fold(CreateFunctionResponse::functionArn, UpdateFunctionConfigurationResponse::functionArn))
+        List<String> functionArnsForBuiltFunctions = deployedFunctionLambdaInfo.stream()
+                .map(LambdaFunctionArnInfo::getBaseArn)
                 .collect(Collectors.toList());
 
         // Create a map of the unqualified function ARN to the function conf for functions we built
@@ -735,19 +744,17 @@ public class BasicFunctionHelper implements FunctionHelper {
                 .map(functionConf -> setEnvironmentVariables(environmentVariablesForLocalLambdas, functionConf))
                 .collect(Collectors.toList());
 
-        return buildCombinedMapOfGreengrassFunctionModels(functionConfsWithEnvironmentVariables);
+        return buildCombinedMapOfGreengrassFunctionModels(functionConfsWithEnvironmentVariables, deployedFunctionLambdaInfo);
     }
 
-    private ImmutableFunctionConfAndFunctionCode convertZipFileToFunctionCode(String s3BucketString, String s3DirectoryString, ZipFilePathAndFunctionConf zipFilePathAndFunctionConf) {
+    protected ImmutableFunctionConfAndFunctionCode convertZipFileToFunctionCode(String s3BucketString, String s3DirectoryString, ZipFilePathAndFunctionConf zipFilePathAndFunctionConf) {
         File zipFile = new File(zipFilePathAndFunctionConf.getZipFilePath().get());
         String functionName = zipFilePathAndFunctionConf.getFunctionConf().getFunctionName().getName();
 
         FunctionCode functionCode;
 
-        int base64Length = Base64.encode(ioHelper.readFile(zipFile)).length;
-
-        // Base64 encoded length can not be larger than this constant value or the direct upload will fail
-        if (base64Length > LAMBDA_FUNCTION_DIRECT_UPLOAD_SIZE_LIMIT_IN_BYTES) {
+        // Decide on the route from the file size alone so large artifacts are never read into memory
+        if (requiresS3Upload(zipFile)) {
             // File is too big, need to put it in S3
             if ((s3BucketString == null) || (s3DirectoryString == null)) {
                 throw new RuntimeException(String.join("", "Lambda function [", functionName, "] is greater than the direct upload limit for Lambda. It must be uploaded to S3. Re-run GGP with the --s3-bucket and --s3-directory options specified to upload to S3 automatically."));
@@ -767,7 +774,7 @@ public class BasicFunctionHelper implements FunctionHelper {
                     .build();
         } else {
             functionCode = FunctionCode.builder()
-                    .zipFile(SdkBytes.fromByteBuffer(ByteBuffer.wrap(ioHelper.readFile(zipFile))))
+                    .zipFile(readZipFileForDirectUpload(zipFile))
                     .build();
         }
 
@@ -777,6 +784,21 @@ public class BasicFunctionHelper implements FunctionHelper {
                 .build();
     }
 
+    static long getBase64EncodedLength(long length) {
+        // Every 3 bytes become 4 characters and a partial final group is padded out to 4
+        return ((length + 2) / 3) * 4;
+    }
+
+    boolean requiresS3Upload(File zipFile) {
+        // Base64 encoded length can not be larger than this constant value or the direct upload will fail
+        return getBase64EncodedLength(zipFile.length()) > LAMBDA_FUNCTION_DIRECT_UPLOAD_SIZE_LIMIT_IN_BYTES;
+    }
+
+    SdkBytes readZipFileForDirectUpload(File zipFile) {
+        // The request body needs the whole zip, read it once into an exactly sized array and let the SDK use it without copying
+        return SdkBytes.fromByteArrayUnsafe(ioHelper.readFile(zipFile));
+    }
+
     @NotNull
     private List<FunctionConf> getExistingFunctions(List<FunctionConf> functionConfList) {
         return functionConfList.stream()
@@ -792,12 +814,14 @@ public class BasicFunctionHelper implements FunctionHelper {
     }
 
     @NotNull
-    private List<ZipFilePathAndFunctionConf> buildExistingFunctions(List<FunctionConf> functionConfList) {
+    List<ZipFilePathAndFunctionConf> buildExistingFunctions(List<FunctionConf> functionConfList, Map<BuilderType, Integer> maxConcurrentBuilds) {
         // Get the list of functions to be built
         List<FunctionConf> functionsToBeBuilt = getBuildableFunctions(functionConfList);
 
         // Build the functions
-        List<ZipFilePathAndFunctionConf> builtFunctions = buildFunctions(functionsToBeBuilt);
+        List<ZipFilePathAndFunctionConf> builtFunctions = buildFunctions(functionsToBeBuilt, maxConcurrentBuilds);
+
+        logBuildCacheStats();
 
         // Were there any errors?
         List<ZipFilePathAndFunctionConf> buildProcessErrors = builtFunctions.stream()
@@ -809,16 +833,25 @@ public class BasicFunctionHelper implements FunctionHelper {
 
             buildProcessErrors.forEach(this::logErrorInLambdaFunction);
 
-            System.exit(1);
+            String failedFunctionNames = buildProcessErrors.stream()
+                    .map(ZipFilePathAndFunctionConf::getFunctionConf)
+                    .map(FunctionConf::getFunctionName)
+                    .map(FunctionName::getName)
+                    .collect(Collectors.joining(", "));
+
+            throw new RuntimeException(String.join("", String.valueOf(buildProcessErrors.size()), " of ", String.valueOf(builtFunctions.size()), " Lambda function(s) failed to build [", failedFunctionNames, "]"));
         }
 
         return builtFunctions;
     }
 
     @NotNull
-    private Map<Function, FunctionConf> buildCombinedMapOfGreengrassFunctionModels(List<FunctionConf> functionConfList) {
+    private Map<Function, FunctionConf> buildCombinedMapOfGreengrassFunctionModels(List<FunctionConf> functionConfList, List<LambdaFunctionArnInfo> deployedFunctionLambdaInfo) {
+        // Associate the deployed Lambda function ARNs with the built function list
+        Map<LambdaFunctionArnInfo, FunctionConf> builtLambdaFunctionArnToFunctionConfMap = getLambdaFunctionArnToFunctionConfMap(deployedFunctionLambdaInfo, getBuildableFunctions(functionConfList));
+
         // Get the map for functions that are built (conversion step adds the lambda ARN to the function conf)
-        Map<Function, FunctionConf> builtFunctionToConfMap = buildGreengrassFunctionModels(convertToCompleteFunctionConf(getBuiltFunctionMap(functionConfList)));
+        Map<Function, FunctionConf> builtFunctionToConfMap = buildGreengrassFunctionModels(convertToCompleteFunctionConf(builtLambdaFunctionArnToFunctionConfMap));
 
         // Get the map for functions that exist already
         Map<Function, FunctionConf> existingFunctionToConfMap = buildGreengrassFunctionModels(getExistingFunctions(functionConfList));
@@ -837,49 +870,6 @@ public class BasicFunctionHelper implements FunctionHelper {
                 .collect(Collectors.toList());
     }
 
-    private Map<LambdaFunctionArnInfo, FunctionConf> getBuiltFunctionMap(List<FunctionConf> functionConfList) {
-        // Get the list of functions that were built
-        List<FunctionConf> builtFunctions = getBuildableFunctions(functionConfList);
-
-        // Publish all of the built functions to Lambda
-        List<LambdaFunctionArnInfo> builtFunctionLambdaInfo = builtFunctions.stream()
-                .map(FunctionConf::getGroupFunctionName)
-                .map(lambdaHelper::publishLambdaFunctionVersion)
-                .collect(Collectors.toList());
-
-        // Associate the Lambda function ARNs with the built function list
-        Map<LambdaFunctionArnInfo, FunctionConf> builtLambdaFunctionArnToFunctionConfMap = getLambdaFunctionArnToFunctionConfMap(builtFunctionLambdaInfo, builtFunctions);
-
-        // Create aliases for all of the built functions in Lambda
-        List<FunctionAliasArn> aliases = builtLambdaFunctionArnToFunctionConfMap.entrySet().stream()
-                .map(entry -> new Tuple3<>(entry.getValue().getGroupFunctionName(),
-                        ImmutableFunctionVersion.builder().version(entry.getKey().getQualifier()).build(),
-                        entry.getValue().getAliasName()))
-                .map(tuple3 -> v2LambdaHelper.createAlias(tuple3._1, tuple3._2, tuple3._3))
-                .collect(Collectors.toList());
-
-        builtLambdaFunctionArnToFunctionConfMap = addAliasesToMap(builtLambdaFunctionArnToFunctionConfMap, aliases);
-
-        return builtLambdaFunctionArnToFunctionConfMap;
-    }
-
-    private Map<LambdaFunctionArnInfo, FunctionConf> addAliasesToMap(Map<LambdaFunctionArnInfo, FunctionConf> lambdaFunctionArnToFunctionConfMap, List<FunctionAliasArn> aliases) {
-        return lambdaFunctionArnToFunctionConfMap.entrySet().stream()
-                .map(entry -> addAliasToMap(entry, aliases))
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-    }
-
-    private Map.Entry<LambdaFunctionArnInfo, FunctionConf> addAliasToMap(Map.Entry<LambdaFunctionArnInfo, FunctionConf> entry, List<FunctionAliasArn> aliases) {
-        List<String> aliasStrings = aliases.stream().map(FunctionAliasArn::getAliasArn).collect(Collectors.toList());
-        String alias = findStringThatStartsWith(aliasStrings, entry.getKey().getBaseArn());
-
-        LambdaFunctionArnInfo updatedLambdaFunctionArnInfo = ImmutableLambdaFunctionArnInfo.builder().from(entry.getKey())
-                .aliasArn(alias)
-                .build();
-
-        return new AbstractMap.SimpleEntry<>(updatedLambdaFunctionArnInfo, entry.getValue());
-    }
-
     @NotNull
     private Map<String, FunctionConf> getFunctionArnToFunctionConfMap(List<FunctionConf> functionConfList, List<String> functionArns) {
         return functionConfList.stream()
@@ -900,14 +890,6 @@ public class BasicFunctionHelper implements FunctionHelper {
                 .get();
     }
 
-    private String findStringThatStartsWith(List<String> strings, String startsWithString) {
-        // This will throw an exception if the value isn't found
-        return strings.stream()
-                .filter(string -> string.startsWith(startsWithString))
-                .findFirst()
-                .get();
-    }
-
     private LambdaFunctionArnInfo findLambdaFunctionArnInfoThatEndsWith(List<LambdaFunctionArnInfo> lambdaFunctionArnInfoList, String endsWithString) {
         // This will throw an exception if the value isn't found
         return lambdaFunctionArnInfoList.stream()
@@ -959,35 +941,103 @@ public class BasicFunctionHelper implements FunctionHelper {
         log.error(String.join("", "  Error [", error.getError().get(), "]"));
     }
 
-    private List<ZipFilePathAndFunctionConf> buildFunctions(List<FunctionConf> functionConfList) {
-        List<ZipFilePathAndFunctionConf> executableFunctions = functionConfList.stream()
-                .filter(getExecutablePredicate())
-                .map(lambdaHelper::buildExecutableFunction)
-                .collect(Collectors.toList());
+    private List<ZipFilePathAndFunctionConf> buildFunctions(List<FunctionConf> functionConfList, Map<BuilderType, Integer> maxConcurrentBuilds) {
+        // Each builder type gets its own pool so heavy builders (Gradle, pip) can't starve the lighter ones
+        Map<BuilderType, ExecutorService> executorServices = new EnumMap<>(BuilderType.class);
 
-        List<ZipFilePathAndFunctionConf> gradleFunctions = functionConfList.stream()
-                .filter(getJavaPredicate())
-                .filter(gradleBuilder::isGradleFunction)
-                .map(lambdaHelper::buildJavaFunction)
-                .collect(Collectors.toList());
+        try {
+            List<Future<ZipFilePathAndFunctionConf>> futures = new ArrayList<>();
 
-        List<ZipFilePathAndFunctionConf> python3Functions = functionConfList.stream()
-                .filter(getPython3Predicate())
-                .map(lambdaHelper::buildPython3Function)
-                .collect(Collectors.toList());
+            for (FunctionConf functionConf : functionConfList) {
+                Optional<BuilderType> optionalBuilderType = getBuilderType(functionConf);
 
-        List<ZipFilePathAndFunctionConf> nodeFunctions = functionConfList.stream()
-                .filter(getNodePredicate())
-                .map(lambdaHelper::buildNodeFunction)
-                .collect(Collectors.toList());
+                if (!optionalBuilderType.isPresent()) {
+                    // Unsupported functions are reported by verifyFunctionsAreSupported
+                    continue;
+                }
 
-        List<ZipFilePathAndFunctionConf> allFunctions = new ArrayList<>();
+                ExecutorService executorService = executorServices.computeIfAbsent(optionalBuilderType.get(), builderType -> getBuildExecutorService(builderType, maxConcurrentBuilds));
+                futures.add(executorService.submit(() -> buildFunction(optionalBuilderType.get(), functionConf)));
+            }
 
-        allFunctions.addAll(executableFunctions);
-        allFunctions.addAll(gradleFunctions);
-        allFunctions.addAll(python3Functions);
-        allFunctions.addAll(nodeFunctions);
+            return futures.stream()
+                    .map(future -> Try.of(future::get).get())
+                    .collect(Collectors.toList());
+        } finally {
+            executorServices.values().forEach(ExecutorService::shutdownNow);
+        }
+    }
+
+    private void logBuildCacheStats() {
+        BuildCacheStats buildCacheStats = buildCacheHelper.getStats();
+
+        if (buildCacheStats.getHits() + buildCacheStats.getMisses() == 0) {
+            return;
+        }
 
-        return allFunctions;
+        log.info(String.join("", "Build cache hits [", String.valueOf(buildCacheStats.getHits()),
+                "], misses [", String.valueOf(buildCacheStats.getMisses()),
+                "], bytes reused [", String.valueOf(buildCacheStats.getBytesSaved()),
+                "], evictions [", String.valueOf(buildCacheStats.getEvictions()), "]"));
+    }
+
+    private ExecutorService getBuildExecutorService(BuilderType builderType, Map<BuilderType, Integer> maxConcurrentBuilds) {
+        int maxConcurrentBuildsForType = Optional.ofNullable(maxConcurrentBuilds.get(builderType))
+                .orElseGet(() -> ggConstants.getMaxConcurrentBuilds(builderType));
+
+        return Executors.newFixedThreadPool(maxConcurrentBuildsForType, new ThreadFactoryImpl(String.join("-", "FunctionBuilder", builderType.name())));
+    }
+
+    private Optional<BuilderType> getBuilderType(FunctionConf functionConf) {
+        if (getExecutablePredicate().test(functionConf)) {
+            return Optional.of(BuilderType.EXECUTABLE);
+        }
+
+        if (getJavaPredicate().test(functionConf) && gradleBuilder.isGradleFunction(functionConf)) {
+            return Optional.of(BuilderType.GRADLE);
+        }
+
+        if (getPython3Predicate().test(functionConf)) {
+            return Optional.of(BuilderType.PYTHON3);
+        }
+
+        if (getNodePredicate().test(functionConf)) {
+            return Optional.of(BuilderType.NODE);
+        }
+
+        return Optional.empty();
+    }
+
+    private ZipFilePathAndFunctionConf buildFunction(BuilderType builderType, FunctionConf functionConf) {
+        long startTime = System.currentTimeMillis();
+
+        // Any exception is turned into an error on this function so one failed build doesn't hide the others
+        ZipFilePathAndFunctionConf zipFilePathAndFunctionConf = Try.of(() -> runBuilder(builderType, functionConf))
+                .getOrElseGet(throwable -> ImmutableZipFilePathAndFunctionConf.builder()
+                        .functionConf(functionConf)
+                        .error(String.valueOf(throwable.getMessage()))
+                        .build());
+
+        String duration = String.valueOf((System.currentTimeMillis() - startTime) / 1000.0);
+        String result = zipFilePathAndFunctionConf.getError().isPresent() ? "Build failed" : "Build finished";
+
+        loggingHelper.logInfoWithName(log, functionConf.getFunctionName().getName(), String.join("", result, " in ", duration, " second(s)"));
+
+        return zipFilePathAndFunctionConf;
+    }
+
+    private ZipFilePathAndFunctionConf runBuilder(BuilderType builderType, FunctionConf functionConf) {
+        switch (builderType) {
+            case EXECUTABLE:
+                return lambdaHelper.buildExecutableFunction(functionConf);
+            case GRADLE:
+                return lambdaHelper.buildJavaFunction(functionConf);
+            case PYTHON3:
+                return lambdaHelper.buildPython3Function(functionConf);
+            case NODE:
+                return lambdaHelper.buildNodeFunction(functionConf);
+            default:
+                throw new RuntimeException(String.join("", "No builder for builder type [", builderType.name(), "], this is a bug"));
+        }
     }
 }
@@ -1,20 +1,24 @@
 package com.awslabs.aws.greengrass.provisioner.implementations.helpers;
 
+import com.awslabs.aws.greengrass.provisioner.data.BuilderType;
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.ConfigCacheHelper;
 import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.GGConstants;
 import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.IoHelper;
 import com.typesafe.config.Config;
-import com.typesafe.config.ConfigFactory;
 import software.amazon.awssdk.services.greengrass.model.Function;
 import software.amazon.awssdk.services.greengrass.model.FunctionConfiguration;
 
 import javax.inject.Inject;
 import java.io.File;
+import java.time.Duration;
 
 public class BasicGGConstants implements GGConstants {
     private static final String DEPLOYMENTS_DIRECTORY = "deployments";
     public static final String DOCKER_GREENGRASS_VERSION = "1.11.0";
     @Inject
     IoHelper ioHelper;
+    @Inject
+    ConfigCacheHelper configCacheHelper;
 
     @Inject
     public BasicGGConstants() {
@@ -65,6 +69,100 @@ public class BasicGGConstants implements GGConstants {
         return "build";
     }
 
+    @Override
+    public String getFunctionBuildCacheDirectory() {
+        return String.join("/", getBuildDirectory(), "function-build-cache");
+    }
+
+    @Override
+    public long getFunctionBuildCacheMaxBytes() {
+        // 1 GB
+        return 1024L * 1024L * 1024L;
+    }
+
+    @Override
+    public String getLookupCacheDirectory() {
+        return String.join("/", getBuildDirectory(), "lookup-cache");
+    }
+
+    @Override
+    public int getMaxConcurrentDeploymentPhases() {
+        // Most phases are waiting on AWS API calls so a small pool is enough to cover the widest part of the graph
+        return 4;
+    }
+
+    @Override
+    public int getMaxConcurrentLambdaDeployments() {
+        // Kept low because the Lambda control plane APIs have low per-account rate limits
+        return 4;
+    }
+
+    @Override
+    public int getMaxConcurrentLogStreamPolls() {
+        // GetLogEvents is limited per account and region, more threads than this just get throttled
+        return 8;
+    }
+
+    @Override
+    public int getMaxConcurrentFleetGroups() {
+        // Each group runs its own deployment phases and Lambda deployments, this keeps them within the SDK connection pool
+        return 8;
+    }
+
+    @Override
+    public double getFleetRequestsPerSecond() {
+        // Per API family, below the lowest control plane limits that a fleet deployment calls repeatedly
+        return 10.0;
+    }
+
+    @Override
+    public int getMaxConcurrentBootstraps() {
+        // Each host is mostly waiting on its own scp upload and SSH round trips, the local work per host is small
+        return 16;
+    }
+
+    @Override
+    public int getMaxConcurrentBuilds(BuilderType builderType) {
+        // Gradle builds start a daemon per project and pip/npm installs are heavy so they get fewer slots than build scripts
+        switch (builderType) {
+            case GRADLE:
+                return 2;
+            case PYTHON3:
+            case NODE:
+                return 3;
+            default:
+                return 4;
+        }
+    }
+
+    @Override
+    public Duration getBootstrapTimeout() {
+        // Copying the script and starting it in screen, the installation itself runs on the host after this
+        return Duration.ofMinutes(5);
+    }
+
+    @Override
+    public int getSdkMaxConnections() {
+        // Shared by every SDK client, enough for the concurrent phases and Lambda deployments together
+        return 64;
+    }
+
+    @Override
+    public Duration getSdkConnectionTimeToLive() {
+        // Recycles long lived connections so DNS changes on the service side are eventually picked up
+        return Duration.ofMinutes(1);
+    }
+
+    @Override
+    public Duration getSdkConnectionTimeout() {
+        return Duration.ofSeconds(10);
+    }
+
+    @Override
+    public Duration getSdkSocketTimeout() {
+        return Duration.ofSeconds(60);
+    }
+
     @Override
     public String getCertsDirectoryPrefix() {
         return "certs";
@@ -107,7 +205,7 @@ public class BasicGGConstants implements GGConstants {
 
     @Override
     public Config getDeploymentDefaults() {
-        return ConfigFactory.parseFile(getDeploymentDefaultsConf());
+        return configCacheHelper.parseFile(getDeploymentDefaultsConf());
     }
 
     @Override
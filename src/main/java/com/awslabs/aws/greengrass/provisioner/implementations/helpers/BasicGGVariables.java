@@ -1,10 +1,10 @@
 package com.awslabs.aws.greengrass.provisioner.implementations.helpers;
 
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.ConfigCacheHelper;
 import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.GGConstants;
 import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.GGVariables;
 import com.awslabs.iot.data.*;
 import com.typesafe.config.Config;
-import com.typesafe.config.ConfigFactory;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.greengrass.model.FunctionIsolationMode;
 
@@ -13,6 +13,8 @@ import javax.inject.Inject;
 public class BasicGGVariables implements GGVariables {
     @Inject
     GGConstants ggConstants;
+    @Inject
+    ConfigCacheHelper configCacheHelper;
 
     @Inject
     public BasicGGVariables() {
@@ -65,12 +67,12 @@ public class BasicGGVariables implements GGVariables {
 
     @Override
     public Config getFunctionDefaults() {
-        return ConfigFactory.parseFile(ggConstants.getFunctionDefaultsConf());
+        return configCacheHelper.parseFile(ggConstants.getFunctionDefaultsConf());
     }
 
     @Override
     public Config getConnectorDefaults() {
-        return ConfigFactory.parseFile(ggConstants.getConnectorDefaultsConf());
+        return configCacheHelper.parseFile(ggConstants.getConnectorDefaultsConf());
     }
 
     @Override
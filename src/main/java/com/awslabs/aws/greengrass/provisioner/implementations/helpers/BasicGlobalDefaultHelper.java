@@ -1,8 +1,8 @@
 package com.awslabs.aws.greengrass.provisioner.implementations.helpers;
 
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.ConfigCacheHelper;
 import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.GlobalDefaultHelper;
 import com.typesafe.config.Config;
-import com.typesafe.config.ConfigFactory;
 
 import javax.inject.Inject;
 import java.io.File;
@@ -11,6 +11,8 @@ import java.util.Optional;
 public class BasicGlobalDefaultHelper implements GlobalDefaultHelper {
     public static final String USER_HOME = "user.home";
     public static final String GLOBAL_DEFAULTS_DIRECTORY = ".ggprovisioner";
+    @Inject
+    ConfigCacheHelper configCacheHelper;
 
     @Inject
     public BasicGlobalDefaultHelper() {
@@ -30,7 +32,7 @@ public class BasicGlobalDefaultHelper implements GlobalDefaultHelper {
             return Optional.empty();
         }
 
-        Config defaults = ConfigFactory.parseFile(file);
+        Config defaults = configCacheHelper.parseFile(file);
 
         return Optional.of(defaults);
     }
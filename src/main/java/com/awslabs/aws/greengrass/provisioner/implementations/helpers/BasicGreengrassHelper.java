@@ -1,6 +1,8 @@
 package com.awslabs.aws.greengrass.provisioner.implementations.helpers;
 
+import com.awslabs.aws.greengrass.provisioner.data.BackoffPolicy;
 import com.awslabs.aws.greengrass.provisioner.data.DeploymentStatus;
+import com.awslabs.aws.greengrass.provisioner.data.ImmutableBackoffPolicy;
 import com.awslabs.aws.greengrass.provisioner.data.conf.ConnectorConf;
 import com.awslabs.aws.greengrass.provisioner.data.conf.FunctionConf;
 import com.awslabs.aws.greengrass.provisioner.data.exceptions.IamReassociationNecessaryException;
@@ -14,7 +16,6 @@ import com.awslabs.lambda.data.FunctionAliasArn;
 import com.google.common.collect.ImmutableSet;
 import net.jodah.failsafe.Failsafe;
 import net.jodah.failsafe.Fallback;
-import net.jodah.failsafe.RetryPolicy;
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.LoggerFactory;
 import software.amazon.awssdk.services.greengrass.GreengrassClient;
@@ -35,6 +36,14 @@ public class BasicGreengrassHelper implements GreengrassHelper {
     private static final String IN_PROGRESS = "InProgress";
     private static final String SUCCESS = "Success";
     private static final String BUILDING = "Building";
+    private static final BackoffPolicy DEPLOYMENT_BUILDING_BACKOFF_POLICY = ImmutableBackoffPolicy.builder()
+            .name("Greengrass deployment building")
+            .minimumDelay(Duration.ofSeconds(1))
+            .maximumDelay(Duration.ofSeconds(10))
+            .budget(Duration.ofMinutes(2))
+            .retryMessage("Waiting for the deployment to transition to in progress...")
+            .exhaustedMessage("Deployment never transitioned to in progress. Cannot continue.")
+            .build();
 
     private final org.slf4j.Logger log = LoggerFactory.getLogger(BasicGreengrassHelper.class);
     @Inject
@@ -55,6 +64,8 @@ public class BasicGreengrassHelper implements GreengrassHelper {
     ConnectorHelper connectorHelper;
     @Inject
     V2GreengrassHelper v2GreengrassHelper;
+    @Inject
+    BackoffHelper backoffHelper;
 
     @Inject
     public BasicGreengrassHelper() {
@@ -558,14 +569,6 @@ public class BasicGreengrassHelper implements GreengrassHelper {
                 .deploymentId(deploymentId)
                 .build();
 
-        // If the deployment is building we will retry
-        RetryPolicy<GetDeploymentStatusResponse> buildingDeploymentPolicy = new RetryPolicy<GetDeploymentStatusResponse>()
-                .withDelay(Duration.ofSeconds(5))
-                .withMaxRetries(10)
-                .handleResultIf(this::isBuilding)
-                .onRetry(failure -> log.warn("Waiting for the deployment to transition to in progress..."))
-                .onRetriesExceeded(failure -> log.error("Deployment never transitioned to in progress. Cannot continue."));
-
         // If the deployment has any of these fatal errors we will give up immediately
         Fallback<GetDeploymentStatusResponse> failureDeploymentStatusPolicy = Fallback.of(GetDeploymentStatusResponse.builder().deploymentStatus(FAILURE).build())
                 // Greengrass probably can't read a SageMaker model #1
@@ -600,8 +603,11 @@ public class BasicGreengrassHelper implements GreengrassHelper {
 
         log.info("Checking deployment status...");
 
-        GetDeploymentStatusResponse getDeploymentStatusResponse = Failsafe.with(needsIamReassociationPolicy, failureDeploymentStatusPolicy, buildingDeploymentPolicy)
-                .get(() -> greengrassClient.getDeploymentStatus(getDeploymentStatusRequest));
+        // If the deployment is building we will poll until it isn't, the fallbacks only see the final status
+        GetDeploymentStatusResponse getDeploymentStatusResponse = Failsafe.with(needsIamReassociationPolicy, failureDeploymentStatusPolicy)
+                .get(() -> backoffHelper.poll(DEPLOYMENT_BUILDING_BACKOFF_POLICY,
+                        () -> greengrassClient.getDeploymentStatus(getDeploymentStatusRequest),
+                        statusResponse -> !isBuilding(statusResponse)));
 
         String deploymentStatus = getDeploymentStatusResponse.deploymentStatus();
 
@@ -923,6 +929,29 @@ public class BasicGreengrassHelper implements GreengrassHelper {
                 .build());
     }
 
+    @Override
+    public Optional<String> getServiceRoleArnForAccount() {
+        try {
+            return Optional.ofNullable(greengrassClient.getServiceRoleForAccount(GetServiceRoleForAccountRequest.builder().build()).roleArn());
+        } catch (GreengrassException e) {
+            // Greengrass returns an error instead of an empty response when no role is associated
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public Optional<String> getAssociatedRoleArn(GreengrassGroupId greengrassGroupId) {
+        try {
+            return Optional.ofNullable(greengrassClient.getAssociatedRole(GetAssociatedRoleRequest.builder()
+                    .groupId(greengrassGroupId.getGroupId())
+                    .build())
+                    .roleArn());
+        } catch (GreengrassException e) {
+            // Greengrass returns an error instead of an empty response when no role is associated
+            return Optional.empty();
+        }
+    }
+
     @Override
     public Optional<String> createConnectorDefinitionVersion(List<ConnectorConf> connectorConfList) {
         if (connectorConfList.isEmpty()) {
@@ -1,5 +1,6 @@
 package com.awslabs.aws.greengrass.provisioner.implementations.helpers;
 
+import com.awslabs.aws.greengrass.provisioner.data.LogDownloadResult;
 import com.awslabs.aws.greengrass.provisioner.data.arguments.QueryArguments;
 import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.*;
 import com.awslabs.general.helpers.interfaces.JsonHelper;
@@ -11,8 +12,6 @@ import io.vavr.Tuple;
 import io.vavr.Tuple2;
 import io.vavr.Tuple3;
 import io.vavr.control.Try;
-import net.jodah.failsafe.Failsafe;
-import net.jodah.failsafe.RetryPolicy;
 import org.apache.commons.io.FileUtils;
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
@@ -24,8 +23,6 @@ import software.amazon.awssdk.services.greengrass.model.*;
 import javax.inject.Inject;
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.Path;
-import java.time.Duration;
 import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -58,6 +55,14 @@ public class BasicGroupQueryHelper implements GroupQueryHelper {
     GGVariables ggVariables;
     @Inject
     DiagnosticsHelper diagnosticsHelper;
+    @Inject
+    BackoffHelper backoffHelper;
+    @Inject
+    LogTailHelper logTailHelper;
+    @Inject
+    LogDownloadHelper logDownloadHelper;
+    @Inject
+    RunReportHelper runReportHelper;
 
     @Inject
     public BasicGroupQueryHelper() {
@@ -65,6 +70,10 @@ public class BasicGroupQueryHelper implements GroupQueryHelper {
 
     @Override
     public void execute(QueryArguments queryArguments) {
+        runReportHelper.runSpan(String.join(" ", "query", queryArguments.groupName), () -> query(queryArguments));
+    }
+
+    private void query(QueryArguments queryArguments) {
         if (!queryArguments.getGroupCa &&
                 !queryArguments.listSubscriptions &&
                 !queryArguments.listFunctions &&
@@ -76,7 +85,7 @@ public class BasicGroupQueryHelper implements GroupQueryHelper {
         }
 
         GreengrassGroupName greengrassGroupName = ImmutableGreengrassGroupName.builder().groupName(queryArguments.groupName).build();
-        Optional<GroupInformation> optionalGroupInformation = v2GreengrassHelper.getGroupInformation(greengrassGroupName).findFirst();
+        Optional<GroupInformation> optionalGroupInformation = runReportHelper.span("findGroup", () -> v2GreengrassHelper.getGroupInformation(greengrassGroupName).findFirst());
 
         if (!optionalGroupInformation.isPresent()) {
             throw new RuntimeException(String.join("", "Group [", queryArguments.groupName, "] not found"));
@@ -85,7 +94,7 @@ public class BasicGroupQueryHelper implements GroupQueryHelper {
         GroupInformation groupInformation = optionalGroupInformation.get();
 
         if (queryArguments.getGroupCa) {
-            Optional<GetGroupCertificateAuthorityResponse> optionalGetGroupCertificateAuthorityResponse = v2GreengrassHelper.getGroupCertificateAuthorityResponse(groupInformation);
+            Optional<GetGroupCertificateAuthorityResponse> optionalGetGroupCertificateAuthorityResponse = runReportHelper.span("getGroupCa", () -> v2GreengrassHelper.getGroupCertificateAuthorityResponse(groupInformation));
 
             if (!optionalGetGroupCertificateAuthorityResponse.isPresent()) {
                 throw new RuntimeException("Couldn't get the group CA");
@@ -102,7 +111,7 @@ public class BasicGroupQueryHelper implements GroupQueryHelper {
         }
 
         if (queryArguments.listSubscriptions) {
-            List<Subscription> subscriptions = v2GreengrassHelper.getSubscriptions(groupInformation)
+            List<Subscription> subscriptions = runReportHelper.span("listSubscriptions", () -> v2GreengrassHelper.getSubscriptions(groupInformation))
                     .orElseThrow(() -> new RuntimeException("Group not found, can not continue"));
 
             log.info("Subscriptions:");
@@ -117,7 +126,7 @@ public class BasicGroupQueryHelper implements GroupQueryHelper {
         }
 
         if (queryArguments.listFunctions) {
-            List<Function> functions = v2GreengrassHelper.getFunctions(groupInformation)
+            List<Function> functions = runReportHelper.span("listFunctions", () -> v2GreengrassHelper.getFunctions(groupInformation))
                     .orElseThrow(() -> new RuntimeException("Group not found, can not continue"));
 
             log.info("Functions:");
@@ -132,7 +141,7 @@ public class BasicGroupQueryHelper implements GroupQueryHelper {
         }
 
         if (queryArguments.listDevices) {
-            List<Device> devices = v2GreengrassHelper.getDevices(groupInformation)
+            List<Device> devices = runReportHelper.span("listDevices", () -> v2GreengrassHelper.getDevices(groupInformation))
                     .orElseThrow(() -> new RuntimeException("Group not found, can not continue"));
 
             log.info("Devices:");
@@ -147,11 +156,14 @@ public class BasicGroupQueryHelper implements GroupQueryHelper {
         }
 
         if (queryArguments.downloadLogs) {
-            Stream<Tuple3<LogGroup, LogStream, String>> logs = getLatestLogMessagesForGroup(greengrassGroupName, groupInformation);
+            List<Tuple2<LogGroup, LogStream>> allLogStreams = runReportHelper.span("listLogStreams", () -> getAllLogStreamsForGreengrassGroup(greengrassGroupName, getAllLogGroupsForGreengrassGroup(groupInformation)));
 
-            File directory = cleanAndCreateDirectory(queryArguments.groupName);
+            // Resuming needs the files and checkpoints from the last download
+            File directory = queryArguments.resumeLogs ? createDirectory(queryArguments.groupName) : cleanAndCreateDirectory(queryArguments.groupName);
 
-            logs.forEach(events -> saveLogEvents(directory, events));
+            List<LogDownloadResult> logDownloadResults = runReportHelper.span("downloadLogs", () -> logDownloadHelper.download(allLogStreams, directory.toPath(), queryArguments.compressLogs, queryArguments.resumeLogs));
+
+            logDownloadResults.forEach(this::logDownloadResult);
 
             if (!ioHelper.isRunningInDocker()) {
                 log.info(String.join("", "Logs written to [", directory.getPath(), "]"));
@@ -164,32 +176,19 @@ public class BasicGroupQueryHelper implements GroupQueryHelper {
         }
 
         if (queryArguments.watchLogs) {
-            Stream<Tuple3<LogGroup, LogStream, GetLogEventsResponse>> logEvents = getLatestLogEventsForGroup(greengrassGroupName, groupInformation);
-
-            Stream<Tuple3<LogGroup, LogStream, String>> logGroupStreamAndForwardTokens = logEvents
-                    .map(this::getNextForwardTokenForEvents);
+            List<LogGroup> allLogGroups = getAllLogGroupsForGreengrassGroup(groupInformation);
 
-            do {
-                // Get the new events using the forward tokens
-                List<Tuple3<LogGroup, LogStream, GetLogEventsResponse>> newEvents = logGroupStreamAndForwardTokens
-                        .map(this::getLogEvents)
-                        .collect(Collectors.toList());
+            List<Tuple2<LogGroup, LogStream>> allLogStreams = getAllLogStreamsForGreengrassGroup(greengrassGroupName, allLogGroups);
 
-                // Print the new events
-                newEvents.forEach(this::printLogEvents);
+            // Runs until the user stops it
+            logTailHelper.tail(allLogStreams, this::printLogEvent, () -> false);
 
-                // Get the next set of forward tokens
-                logGroupStreamAndForwardTokens = newEvents.stream()
-                        .map(this::getNextForwardTokenForEvents);
-
-                // Sleep so we don't hit the CloudWatch Logs APIs too much
-                ioHelper.sleep(1000);
-            } while (true);
+            return;
         }
 
         if (queryArguments.diagnose) {
-            List<Tuple3<LogGroup, LogStream, String>> logs = getLatestLogMessagesForGroup(greengrassGroupName, groupInformation)
-                    .collect(Collectors.toList());
+            List<Tuple3<LogGroup, LogStream, String>> logs = runReportHelper.span("readLatestLogs", () -> getLatestLogMessagesForGroup(greengrassGroupName, groupInformation)
+                    .collect(Collectors.toList()));
 
             if (!topLevelLogsPresent(logs)) {
                 log.error("Not all of the Greengrass logs are present in CloudWatch. Turn on CloudWatch logging in your Greengrass group, redeploy, and try again.");
@@ -197,7 +196,7 @@ public class BasicGroupQueryHelper implements GroupQueryHelper {
                 return;
             }
 
-            diagnosticsHelper.runDiagnostics(logs);
+            runReportHelper.runSpan("runDiagnostics", () -> diagnosticsHelper.runDiagnostics(logs));
 
             return;
         }
@@ -228,28 +227,10 @@ public class BasicGroupQueryHelper implements GroupQueryHelper {
         return getLogEventsForLogStreams(allLogStreams);
     }
 
-    private void printLogEvents(Tuple3<LogGroup, LogStream, GetLogEventsResponse> logGroupStreamAndEvents) {
-        List<OutputLogEvent> outputLogEvents = logGroupStreamAndEvents._3.events();
-
-        if (outputLogEvents.size() == 0) {
-            // Nothing to do
-            return;
-        }
-
-        LogGroup logGroup = logGroupStreamAndEvents._1;
-        String trimmedLogGroupName = diagnosticsHelper.trimLogGroupName(logGroup);
-
-        String header = String.join("", trimmedLogGroupName, " - ");
-
-        outputLogEvents.forEach(event -> printLogEvent(header, event.message()));
-    }
-
-    private void printLogEvent(String header, String message) {
-        System.out.print(header + message);
-    }
+    private void printLogEvent(Tuple3<LogGroup, LogStream, OutputLogEvent> logGroupStreamAndEvent) {
+        String trimmedLogGroupName = diagnosticsHelper.trimLogGroupName(logGroupStreamAndEvent._1);
 
-    private Tuple3<LogGroup, LogStream, String> getNextForwardTokenForEvents(Tuple3<LogGroup, LogStream, GetLogEventsResponse> logGroupStreamAndEvents) {
-        return Tuple.of(logGroupStreamAndEvents._1, logGroupStreamAndEvents._2, logGroupStreamAndEvents._3.nextForwardToken());
+        System.out.print(String.join("", trimmedLogGroupName, " - ", logGroupStreamAndEvent._3.message()));
     }
 
     private Stream<Tuple3<LogGroup, LogStream, GetLogEventsResponse>> getLogEventsForLogStreams(List<Tuple2<LogGroup, LogStream>> allLogStreams) {
@@ -269,32 +250,64 @@ public class BasicGroupQueryHelper implements GroupQueryHelper {
     }
 
     @NotNull
-    private List<LogGroup> getAllLogGroupsForGreengrassGroup(GroupInformation groupInformation) {
-        List<LogGroup> greengrassTopLevelLogGroups = greengrassTopLevelLogNames.stream()
-                .map(this::findLogGroupByName)
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .collect(Collectors.toList());
-
+    List<LogGroup> getAllLogGroupsForGreengrassGroup(GroupInformation groupInformation) {
         List<Function> functions = v2GreengrassHelper.getFunctions(groupInformation)
                 .orElseThrow(() -> new RuntimeException("Group not found, can not continue"));
 
-        List<LogGroup> functionLogGroups = functions.stream()
+        List<String> logGroupNames = new ArrayList<>(greengrassTopLevelLogNames);
+
+        functions.stream()
                 // Remove all internal functions (no region, no account number) since they won't have logs
                 .filter(function -> !function.functionArn().contains(":::"))
                 // Convert function names into CloudWatch Logs log group format
                 .map(this::convertFunctionToCloudWatchLogGroupName)
-                // Get the LogGroup object for each
-                .map(this::findLogGroupByName)
-                .filter(Optional::isPresent)
-                .map(Optional::get)
+                .forEach(logGroupNames::add);
+
+        Map<String, LogGroup> logGroupIndex = indexLogGroups(logGroupNames);
+
+        // Log groups that don't exist yet are skipped, the function may never have logged anything
+        return logGroupNames.stream()
+                .map(logGroupIndex::get)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
+    }
+
+    /**
+     * Lists the log groups under each parent path of the requested names once and indexes the ones that were requested.
+     * Looking names up one at a time meant paging through every log group in the account for each name.
+     *
+     * @param logGroupNames
+     * @return
+     */
+    private Map<String, LogGroup> indexLogGroups(Collection<String> logGroupNames) {
+        Set<String> requestedLogGroupNames = new HashSet<>(logGroupNames);
+        Map<String, LogGroup> logGroupIndex = new HashMap<>();
+
+        getLogGroupNamePrefixes(logGroupNames)
+                .forEach(logGroupNamePrefix -> describeLogGroups(logGroupNamePrefix).stream()
+                        .filter(logGroup -> requestedLogGroupNames.contains(logGroup.logGroupName()))
+                        .forEach(logGroup -> logGroupIndex.put(logGroup.logGroupName(), logGroup)));
+
+        return logGroupIndex;
+    }
 
-        List<LogGroup> allLogGroups = new ArrayList<>();
-        allLogGroups.addAll(greengrassTopLevelLogGroups);
-        allLogGroups.addAll(functionLogGroups);
+    private List<String> getLogGroupNamePrefixes(Collection<String> logGroupNames) {
+        // Sorted so a prefix always comes before the longer prefixes it already covers
+        SortedSet<String> parentPaths = logGroupNames.stream()
+                .map(logGroupName -> logGroupName.substring(0, logGroupName.lastIndexOf('/') + 1))
+                .collect(Collectors.toCollection(TreeSet::new));
 
-        return allLogGroups;
+        List<String> logGroupNamePrefixes = new ArrayList<>();
+
+        for (String parentPath : parentPaths) {
+            boolean covered = logGroupNamePrefixes.stream().anyMatch(parentPath::startsWith);
+
+            if (!covered) {
+                logGroupNamePrefixes.add(parentPath);
+            }
+        }
+
+        return logGroupNamePrefixes;
     }
 
     private String convertFunctionToCloudWatchLogGroupName(Function function) {
@@ -313,17 +326,19 @@ public class BasicGroupQueryHelper implements GroupQueryHelper {
         return name;
     }
 
-    private void saveLogEvents(File directory, Tuple3<LogGroup, LogStream, String> logEvents) {
-        Path directoryPath = directory.toPath();
-
-        String[] fileNameParts = logEvents._1.logGroupName().split("/");
-        String fileName = String.join(".", fileNameParts[fileNameParts.length - 1], "log");
+    private void logDownloadResult(LogDownloadResult logDownloadResult) {
+        double seconds = Math.max(logDownloadResult.getDuration().toMillis(), 1) / 1000.0;
+        double megabytesDownloaded = logDownloadResult.getBytesDownloaded() / (1024.0 * 1024.0);
 
-        ioHelper.writeFile(directoryPath.resolve(fileName).toFile(), logEvents._3.getBytes());
+        log.info(String.join("", logDownloadResult.isResumed() ? "Resumed [" : "Downloaded [", logDownloadResult.getLogGroupName(),
+                "], [", String.valueOf(logDownloadResult.getEvents()), "] event(s) in [", String.valueOf(logDownloadResult.getPages()),
+                "] page(s), [", String.format("%.1f", megabytesDownloaded), "] MB downloaded, [",
+                String.format("%.1f", logDownloadResult.getBytesWritten() / (1024.0 * 1024.0)), "] MB written, [",
+                String.format("%.1f", megabytesDownloaded / seconds), "] MB/s"));
     }
 
     @NotNull
-    private File cleanAndCreateDirectory(String groupName) {
+    private File getLogDirectory(String groupName) {
         String directoryName = String.join("/", "logs", groupName);
 
         if (ioHelper.isRunningInDocker()) {
@@ -331,7 +346,22 @@ public class BasicGroupQueryHelper implements GroupQueryHelper {
             directoryName = String.join("", "/", directoryName);
         }
 
-        File directory = new File(directoryName);
+        return new File(directoryName);
+    }
+
+    @NotNull
+    private File createDirectory(String groupName) {
+        File directory = getLogDirectory(groupName);
+
+        directory.mkdirs();
+
+        return directory;
+    }
+
+    @NotNull
+    private File cleanAndCreateDirectory(String groupName) {
+        File directory = getLogDirectory(groupName);
+        String directoryName = directory.getPath();
 
         if (directory.exists()) {
             log.warn(String.join("", "Directory for logs [", directoryName, "] already exists. Removing old logs."));
@@ -395,26 +425,25 @@ public class BasicGroupQueryHelper implements GroupQueryHelper {
         }
     }
 
-    // Adapted from AWS SDK v2 integration tests
-    private Optional<LogGroup> findLogGroupByName(String logGroupName) {
+    private List<LogGroup> describeLogGroups(String logGroupNamePrefix) {
         String nextToken = null;
 
+        List<LogGroup> logGroups = new ArrayList<>();
+
         do {
             DescribeLogGroupsResponse result = cloudWatchLogsClient
-                    .describeLogGroups(DescribeLogGroupsRequest.builder().nextToken(nextToken).build());
-
-            Optional<LogGroup> optionalLogGroup = result.logGroups().stream()
-                    .filter(group -> group.logGroupName().equals(logGroupName))
-                    .findFirst();
+                    .describeLogGroups(DescribeLogGroupsRequest.builder()
+                            // An empty prefix isn't allowed, it means every log group in the account
+                            .logGroupNamePrefix(logGroupNamePrefix.isEmpty() ? null : logGroupNamePrefix)
+                            .nextToken(nextToken)
+                            .build());
 
-            if (optionalLogGroup.isPresent()) {
-                return optionalLogGroup;
-            }
+            logGroups.addAll(result.logGroups());
 
             nextToken = result.nextToken();
         } while (nextToken != null);
 
-        return Optional.empty();
+        return logGroups;
     }
 
     private Optional<LogStream> findLatestLogStream(final String logGroupName,
@@ -457,28 +486,8 @@ public class BasicGroupQueryHelper implements GroupQueryHelper {
     }
 
     private GetLogEventsResponse safeGetLogEvents(GetLogEventsRequest getLogEventsRequest) {
-        RetryPolicy<GetLogEventsResponse> getLogEventsResponseRetryPolicy = new RetryPolicy<GetLogEventsResponse>()
-                .handleIf(throwable -> throwable.getMessage().contains("Rate exceeded"))
-                .withDelay(Duration.ofSeconds(5))
-                .withMaxRetries(3)
-                .onRetry(failure -> log.warn("Rate exceeded for CloudWatchEvents GetLogEvents. Temporarily backing off."))
-                .onRetriesExceeded(failure -> log.error("Rate exceeded multiple times, giving up"));
-
-        return Failsafe.with(getLogEventsResponseRetryPolicy).get(() ->
-                cloudWatchLogsClient.getLogEvents(getLogEventsRequest));
-    }
-
-    private Tuple3<LogGroup, LogStream, GetLogEventsResponse> getLogEvents(Tuple3<LogGroup, LogStream, String> logGroupStreamAndForwardToken) {
-        return getLogEvents(logGroupStreamAndForwardToken._1, logGroupStreamAndForwardToken._2, logGroupStreamAndForwardToken._3);
-    }
-
-    private Tuple3<LogGroup, LogStream, GetLogEventsResponse> getLogEvents(LogGroup logGroup, LogStream logStream, String forwardToken) {
-        GetLogEventsRequest getLogEventsRequest = GetLogEventsRequest.builder()
-                .logGroupName(logGroup.logGroupName())
-                .logStreamName(logStream.logStreamName())
-                .nextToken(forwardToken)
-                .build();
-
-        return Tuple.of(logGroup, logStream, safeGetLogEvents(getLogEventsRequest));
+        return backoffHelper.retry(GGConstants.GET_LOG_EVENTS_BACKOFF_POLICY,
+                () -> cloudWatchLogsClient.getLogEvents(getLogEventsRequest),
+                throwable -> String.valueOf(throwable.getMessage()).contains("Rate exceeded"));
     }
 }
@@ -1,11 +1,11 @@
 package com.awslabs.aws.greengrass.provisioner.implementations.helpers;
 
 import com.awslabs.aws.greengrass.provisioner.data.Architecture;
+import com.awslabs.aws.greengrass.provisioner.data.DeviceTesterLogMessage;
 import com.awslabs.aws.greengrass.provisioner.data.DeviceTesterLogMessageType;
 import com.awslabs.aws.greengrass.provisioner.data.arguments.TestArguments;
 import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.*;
 import com.awslabs.general.helpers.interfaces.JsonHelper;
-import com.awslabs.iam.helpers.interfaces.V2IamHelper;
 import com.awslabs.iot.data.*;
 import com.awslabs.iot.helpers.interfaces.V2GreengrassHelper;
 import com.awslabs.iot.helpers.interfaces.V2IotHelper;
@@ -68,13 +68,15 @@ public class BasicGroupTestHelper implements GroupTestHelper {
     @Inject
     IoHelper ioHelper;
     @Inject
-    V2IamHelper iamHelper;
+    LookupCacheHelper lookupCacheHelper;
     @Inject
     ProcessHelper processHelper;
     @Inject
     DeviceTesterHelper deviceTesterHelper;
     @Inject
     SshHelper sshHelper;
+    @Inject
+    RunReportHelper runReportHelper;
     private Option<String> optionalCurrentRunningTest = Option.none();
 
     @Inject
@@ -83,6 +85,10 @@ public class BasicGroupTestHelper implements GroupTestHelper {
 
     @Override
     public void execute(TestArguments testArguments) {
+        runReportHelper.runSpan(String.join(" ", "test", testArguments.groupName), () -> test(testArguments));
+    }
+
+    private void test(TestArguments testArguments) {
         GreengrassGroupName greengrassGroupName = ImmutableGreengrassGroupName.builder().groupName(testArguments.groupName).build();
         LocalDateTime testStartLocalDateTime = LocalDateTime.now();
 
@@ -102,7 +108,7 @@ public class BasicGroupTestHelper implements GroupTestHelper {
 
         String urlForDeviceTester = optionalUrlForDeviceTester.get();
 
-        Optional<GroupInformation> optionalGroupInformation = v2GreengrassHelper.getGroupInformation(greengrassGroupName).findFirst();
+        Optional<GroupInformation> optionalGroupInformation = runReportHelper.span("findGroup", () -> v2GreengrassHelper.getGroupInformation(greengrassGroupName).findFirst());
 
         if (!optionalGroupInformation.isPresent()) {
             throw new RuntimeException(String.join("", "Group [", testArguments.groupName, "] not found"));
@@ -123,214 +129,207 @@ public class BasicGroupTestHelper implements GroupTestHelper {
 
             if (deviceTesterLocation.isFile()) {
                 // It's the archive, we need to extract it
-                deviceTesterDirectory = Try.of(() -> extractDeviceTester(deviceTesterLocation)).get();
+                deviceTesterDirectory = runReportHelper.span("extractDeviceTester", () -> extractDeviceTester(deviceTesterLocation));
             }
         } else {
             File deviceTesterZip = Try.of(() -> ioHelper.getTempFile("devicetester", "zip")).get();
             log.info("Downloading Device Tester to [{}] ...", deviceTesterZip.getAbsolutePath());
             // CloudFront requires the referer to be filled in
-            Try.run(() -> ioHelper.download(urlForDeviceTester, deviceTesterZip, Optional.of("https://aws.amazon.com/greengrass/device-tester/"))).get();
-            deviceTesterDirectory = Try.of(() -> extractDeviceTester(deviceTesterZip)).get();
+            runReportHelper.runSpan("downloadDeviceTester", () -> ioHelper.download(urlForDeviceTester, deviceTesterZip, Optional.of("https://aws.amazon.com/greengrass/device-tester/")));
+            deviceTesterDirectory = runReportHelper.span("extractDeviceTester", () -> extractDeviceTester(deviceTesterZip));
         }
 
         // Create the <AWS Account #>.<Region>.CoreAndGroupInfo.json file for /var/lib/GGQ on the device
         log.info("Download and extraction of Device Tester is complete");
 
-        // Connect to the device under test via SSH
-        Session session = null;
-
-        try {
-            session = sshHelper.getSshSession(testArguments.deviceUnderTest,
-                    testArguments.user,
-                    SSH_CONNECTED_MESSAGE,
-                    SSH_TIMED_OUT_MESSAGE,
-                    SSH_CONNECTION_REFUSED_MESSAGE,
-                    SSH_ERROR_MESSAGE,
-                    SSH_TIMEOUT_IN_MINUTES,
-                    TimeUnit.MINUTES);
-
-            // Create a final version of this variable so it can be used in lambdas
-            final Session finalSession = session;
-
-            // Clear out the GGQ directory
-            if (testArguments.clean) {
-                log.info("Cleaning the {} directory", VAR_LIB_GGQ);
-                Try.of(() -> ioHelper.runCommand(finalSession, String.join(" ", "sudo rm -rf", VAR_LIB_GGQ))).get();
-            } else if (testArguments.generateConfig) {
-                log.info("Generating the {} config", VAR_LIB_GGQ);
-                // Copy the <AWS Account #>.<Region>.CoreAndGroupInfo.json to /var/lib/GGQ on the device
-                Try.of(() -> ioHelper.runCommand(finalSession, String.join(" ", "sudo mkdir -p", VAR_LIB_GGQ))).get();
-
-                Try.of(() -> ioHelper.runCommand(finalSession, String.join(" ", "sudo chmod 777", VAR_LIB_GGQ))).get();
-
-                File coreAndGroupInfoJsonTemp = Try.of(() -> ioHelper.getTempFile("CoreAndGroupInfoJson", "tmp")).get();
-                coreAndGroupInfoJsonTemp.deleteOnExit();
-
-                String coreAndGroupInfoJson = generateCoreAndGroupInfoJson(groupInformation);
-                ioHelper.writeFile(coreAndGroupInfoJsonTemp, coreAndGroupInfoJson.getBytes());
-
-                String remoteCoreAndGroupInfoFilename = String.join("/",
-                        VAR_LIB_GGQ,
-                        String.join(".",
-                                iamHelper.getAccountId().getId(),
-                                awsHelper.getCurrentRegion().toString(),
-                                "CoreAndGroupInfo",
-                                "json"));
-
-                Try.run(() -> ioHelper.sendFile(finalSession, coreAndGroupInfoJsonTemp.getAbsolutePath(), remoteCoreAndGroupInfoFilename)).get();
-            } else {
-                log.info("Not cleaning or generating the config in {}", VAR_LIB_GGQ);
-            }
-
-            // Stop Greengrass if it is running already
-            log.info("Stopping Greengrass if it is running");
-            Try.of(() -> ioHelper.runCommand(finalSession, "sudo systemctl stop greengrass")).get();
-            Try.of(() -> ioHelper.runCommand(finalSession, "/greengrass/ggc/core/greengrassd stop")).get();
+        // Connect to the device under test via SSH, the session is pooled and closed when the provisioner exits
+        Session session = runReportHelper.span("connect", () -> sshHelper.getSshSession(testArguments.deviceUnderTest,
+                testArguments.user,
+                SSH_CONNECTED_MESSAGE,
+                SSH_TIMED_OUT_MESSAGE,
+                SSH_CONNECTION_REFUSED_MESSAGE,
+                SSH_ERROR_MESSAGE,
+                SSH_TIMEOUT_IN_MINUTES,
+                TimeUnit.MINUTES));
+
+        // Create a final version of this variable so it can be used in lambdas
+        final Session finalSession = session;
+
+        // Clear out the GGQ directory
+        if (testArguments.clean) {
+            log.info("Cleaning the {} directory", VAR_LIB_GGQ);
+            Try.of(() -> ioHelper.runCommand(finalSession, String.join(" ", "sudo rm -rf", VAR_LIB_GGQ))).get();
+        } else if (testArguments.generateConfig) {
+            log.info("Generating the {} config", VAR_LIB_GGQ);
+            // Copy the <AWS Account #>.<Region>.CoreAndGroupInfo.json to /var/lib/GGQ on the device
+            Try.of(() -> ioHelper.runCommand(finalSession, String.join(" ", "sudo mkdir -p", VAR_LIB_GGQ))).get();
+
+            Try.of(() -> ioHelper.runCommand(finalSession, String.join(" ", "sudo chmod 777", VAR_LIB_GGQ))).get();
+
+            File coreAndGroupInfoJsonTemp = Try.of(() -> ioHelper.getTempFile("CoreAndGroupInfoJson", "tmp")).get();
+            coreAndGroupInfoJsonTemp.deleteOnExit();
+
+            String coreAndGroupInfoJson = generateCoreAndGroupInfoJson(groupInformation);
+            ioHelper.writeFile(coreAndGroupInfoJsonTemp, coreAndGroupInfoJson.getBytes());
+
+            String remoteCoreAndGroupInfoFilename = String.join("/",
+                    VAR_LIB_GGQ,
+                    String.join(".",
+                            lookupCacheHelper.getAccountId(),
+                            awsHelper.getCurrentRegion().toString(),
+                            "CoreAndGroupInfo",
+                            "json"));
+
+            Try.run(() -> ioHelper.sendFile(finalSession, coreAndGroupInfoJsonTemp.getAbsolutePath(), remoteCoreAndGroupInfoFilename)).get();
+        } else {
+            log.info("Not cleaning or generating the config in {}", VAR_LIB_GGQ);
+        }
 
-            // Create the config.json for the local configs directory
-            String localConfigJson = createLocalConfigJson();
+        // Stop Greengrass if it is running already
+        log.info("Stopping Greengrass if it is running");
+        // One after the other, both stop the same daemon
+        Try.of(() -> ioHelper.runCommand(finalSession, "sudo systemctl stop greengrass")).get();
+        Try.of(() -> ioHelper.runCommand(finalSession, "/greengrass/ggc/core/greengrassd stop")).get();
 
-            // Create the device.json for the local configs directory
-            String localDeviceJson = createLocalDeviceJson(testArguments.deviceUnderTest, testArguments.user, testArguments.privateKeyPath, testArguments.architecture);
+        // Create the config.json for the local configs directory
+        String localConfigJson = createLocalConfigJson();
 
-            List<File> topLevelFiles = List.of(deviceTesterDirectory.listFiles());
+        // Create the device.json for the local configs directory
+        String localDeviceJson = createLocalDeviceJson(testArguments.deviceUnderTest, testArguments.user, testArguments.privateKeyPath, testArguments.architecture);
 
-            if (topLevelFiles.size() != 1) {
-                throw new RuntimeException("Extracted more files than expected, could not find configs directory");
-            }
+        List<File> topLevelFiles = List.of(deviceTesterDirectory.listFiles());
 
-            deviceTesterDirectory = topLevelFiles.single();
+        if (topLevelFiles.size() != 1) {
+            throw new RuntimeException("Extracted more files than expected, could not find configs directory");
+        }
 
-            Path configsPath = deviceTesterDirectory.toPath().resolve("configs");
+        deviceTesterDirectory = topLevelFiles.single();
 
-            if (!configsPath.toFile().exists()) {
-                throw new RuntimeException("Could not find configs directory");
-            }
+        Path configsPath = deviceTesterDirectory.toPath().resolve("configs");
 
-            // Copy config.json to the local configs directory
-            ioHelper.writeFile(configsPath.resolve("config.json").toAbsolutePath().toString(), localConfigJson.getBytes());
+        if (!configsPath.toFile().exists()) {
+            throw new RuntimeException("Could not find configs directory");
+        }
 
-            // Copy device.json to the local configs directory
-            ioHelper.writeFile(configsPath.resolve("device.json").toAbsolutePath().toString(), localDeviceJson.getBytes());
+        // Copy config.json to the local configs directory
+        ioHelper.writeFile(configsPath.resolve("config.json").toAbsolutePath().toString(), localConfigJson.getBytes());
 
-            Path deviceTesterPath = deviceTesterDirectory.toPath();
+        // Copy device.json to the local configs directory
+        ioHelper.writeFile(configsPath.resolve("device.json").toAbsolutePath().toString(), localDeviceJson.getBytes());
 
-            // Look for all of the binaries in subdirectories and make them executable
-            Try.of(() -> java.nio.file.Files.walk(deviceTesterPath.resolve("tests"))).get()
-                    .map(path -> path.toAbsolutePath().toString())
-                    .filter(path -> path.matches(".*/bin/[^/]+$"))
-                    .forEach(ioHelper::makeExecutable);
+        Path deviceTesterPath = deviceTesterDirectory.toPath();
 
-            // Execute some cleanup commands to prevent test failures
+        // Look for all of the binaries in subdirectories and make them executable
+        Try.of(() -> java.nio.file.Files.walk(deviceTesterPath.resolve("tests"))).get()
+                .map(path -> path.toAbsolutePath().toString())
+                .filter(path -> path.matches(".*/bin/[^/]+$"))
+                .forEach(ioHelper::makeExecutable);
 
-            // Prevent "File exists" error on ipd_test_1 and ipd_test_2 if the test ran previously
-            Try.of(() -> ioHelper.runCommand(finalSession, "sudo ip address del 172.0.0.2/32 dev lo")).get();
+        // Execute some cleanup commands to prevent test failures
 
-            // Find the binary and execute it
-            List<File> mainExecutables = List.of(deviceTesterDirectory.toPath().resolve("bin").toFile().listFiles());
+        // Prevent "File exists" error on ipd_test_1 and ipd_test_2 if the test ran previously
+        Try.of(() -> ioHelper.runCommand(finalSession, "sudo ip address del 172.0.0.2/32 dev lo")).get();
 
-            if (mainExecutables.size() != 1) {
-                throw new RuntimeException("Could not locate the Device Tester binary");
-            }
+        // Find the binary and execute it
+        List<File> mainExecutables = List.of(deviceTesterDirectory.toPath().resolve("bin").toFile().listFiles());
 
-            File mainExecutable = mainExecutables.single();
-            ioHelper.makeExecutable(mainExecutable.getAbsolutePath());
+        if (mainExecutables.size() != 1) {
+            throw new RuntimeException("Could not locate the Device Tester binary");
+        }
 
-            File executionDirectory = mainExecutable.getParentFile().getParentFile();
+        File mainExecutable = mainExecutables.single();
+        ioHelper.makeExecutable(mainExecutable.getAbsolutePath());
 
-            List<String> deviceTesterAndArguments = List.of(
-                    String.join("", "./bin/", mainExecutable.getName()),
-                    "run-suite",
-                    "--suite-id",
-                    "GGQ_1",
-                    "--pool-id",
-                    DEVICE_POOL_ID);
+        File executionDirectory = mainExecutable.getParentFile().getParentFile();
 
-            ProcessBuilder deviceTesterProcessBuilder = processHelper.getProcessBuilder(deviceTesterAndArguments.asJava())
-                    .directory(executionDirectory);
+        List<String> deviceTesterAndArguments = List.of(
+                String.join("", "./bin/", mainExecutable.getName()),
+                "run-suite",
+                "--suite-id",
+                "GGQ_1",
+                "--pool-id",
+                DEVICE_POOL_ID);
 
-            Instant testStart = Instant.now();
-            java.util.HashMap<String, Try> testStatus = new java.util.HashMap<>();
-            java.util.List<String> reportLocations = new ArrayList<>();
+        ProcessBuilder deviceTesterProcessBuilder = processHelper.getProcessBuilder(deviceTesterAndArguments.asJava())
+                .directory(executionDirectory);
 
-            // Kill any existing proxies left over from previous runs
-            killRemoteProcessesBySearchString(finalSession, PROXY_SEARCH_STRING);
+        Instant testStart = Instant.now();
+        java.util.HashMap<String, Try> testStatus = new java.util.HashMap<>();
+        java.util.List<String> reportLocations = new ArrayList<>();
 
-            // Kill any existing daemons left over from previous runs
-            killRemoteProcessesBySearchString(finalSession, DAEMON_SEARCH_STRING);
+        // Kill any existing proxies, daemons, and tail commands left over from previous runs. These don't depend on
+        // each other so they run on separate channels at the same time.
+        Try.of(() -> ioHelper.runCommands(finalSession, List.of(
+                getKillRemoteProcessesCommand(PROXY_SEARCH_STRING),
+                getKillRemoteProcessesCommand(DAEMON_SEARCH_STRING),
+                getKillRemoteProcessesCommand(TAIL_FOLLOW_COMMAND)).asJava())).get();
 
-            // Kill any existing tail commands we may have started in previous runs
-            killRemoteProcessesBySearchString(finalSession, TAIL_FOLLOW_COMMAND);
+        // Remove the existing runtime.log once the daemon is gone so it can't write to it again
+        Try.of(() -> ioHelper.runCommand(finalSession, String.join(" ", "sudo rm -f", FULL_RUNTIME_LOG_PATH))).get();
 
-            // Remove the existing runtime.log
-            Try.of(() -> ioHelper.runCommand(finalSession, String.join(" ", "sudo rm -f", FULL_RUNTIME_LOG_PATH))).get();
+        // Start device tester
+        Optional<Integer> exitVal = runReportHelper.span("runDeviceTester", () -> processHelper.getOutputFromProcess(log, deviceTesterProcessBuilder, true,
+                Optional.of(stdoutLogMessage -> handleLogMessage(stdoutLogMessage, testStatus, reportLocations)),
+                Optional.of(stderrLogMessage -> handleLogMessage(stderrLogMessage, testStatus, reportLocations))));
 
-            // Start device tester
-            Optional<Integer> exitVal = processHelper.getOutputFromProcess(log, deviceTesterProcessBuilder, true,
-                    Optional.of(stdoutLogMessage -> handleLogMessage(stdoutLogMessage, testStatus, reportLocations)),
-                    Optional.of(stderrLogMessage -> handleLogMessage(stderrLogMessage, testStatus, reportLocations)));
+        Instant testEnd = Instant.now();
 
-            Instant testEnd = Instant.now();
+        Duration testDuration = Duration.between(testStart, testEnd);
 
-            Duration testDuration = Duration.between(testStart, testEnd);
+        log.info("Test duration: [{}]", testDuration);
 
-            log.info("Test duration: [{}]", testDuration);
+        exitVal.ifPresent(this::logIfDeviceTesterExitedWithError);
 
-            exitVal.ifPresent(this::logIfDeviceTesterExitedWithError);
+        java.util.List<String> testNames = testStatus.entrySet()
+                .stream()
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
 
-            java.util.List<String> testNames = testStatus.entrySet()
-                    .stream()
-                    .map(Map.Entry::getKey)
-                    .collect(Collectors.toList());
+        java.util.List<String> passingTests = testStatus.entrySet()
+                .stream()
+                .filter(entry -> entry.getValue().isSuccess())
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
 
-            java.util.List<String> passingTests = testStatus.entrySet()
-                    .stream()
-                    .filter(entry -> entry.getValue().isSuccess())
-                    .map(Map.Entry::getKey)
-                    .collect(Collectors.toList());
+        java.util.List<String> failingTests = testStatus.entrySet()
+                .stream()
+                .filter(entry -> entry.getValue().isFailure())
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
 
-            java.util.List<String> failingTests = testStatus.entrySet()
-                    .stream()
-                    .filter(entry -> entry.getValue().isFailure())
-                    .map(Map.Entry::getKey)
-                    .collect(Collectors.toList());
+        if (testNames.size() == 0) {
+            log.error("No tests executed");
+        } else {
+            log.info("Tests executed: ");
 
-            if (testNames.size() == 0) {
-                log.error("No tests executed");
-            } else {
-                log.info("Tests executed: ");
+            testNames.stream().forEach(log::info);
+        }
 
-                testNames.stream().forEach(log::info);
-            }
+        if (passingTests.size() == 0) {
+            log.error("No tests passed");
+        } else {
+            log.info("Tests passed: ");
 
-            if (passingTests.size() == 0) {
-                log.error("No tests passed");
-            } else {
-                log.info("Tests passed: ");
+            passingTests.forEach(log::info);
+        }
 
-                passingTests.forEach(log::info);
-            }
+        if (failingTests.size() == 0) {
+            log.info("No tests failed");
+        } else {
+            log.warn("Tests failed: ");
 
-            if (failingTests.size() == 0) {
-                log.info("No tests failed");
-            } else {
-                log.warn("Tests failed: ");
+            failingTests.forEach(log::warn);
+        }
 
-                failingTests.forEach(log::warn);
-            }
+        // Move the results to the requested location
+        String groupName = testArguments.groupName;
+        String outputDirectory = String.join("/", testArguments.outputDirectory,
+                String.join("-", groupName, testStartLocalDateTime.toString()));
 
-            // Move the results to the requested location
-            String groupName = testArguments.groupName;
-            String outputDirectory = String.join("/", testArguments.outputDirectory,
-                    String.join("-", groupName, testStartLocalDateTime.toString()));
-
-            reportLocations.stream().findFirst().ifPresent(path ->
-                    Try.run(() -> moveParentDirectory(path, outputDirectory))
-                            .onFailure(Throwable::printStackTrace)
-                            .get());
-        } finally {
-            safeDisconnect(session);
-        }
+        reportLocations.stream().findFirst().ifPresent(path ->
+                Try.run(() -> moveParentDirectory(path, outputDirectory))
+                        .onFailure(Throwable::printStackTrace)
+                        .get());
     }
 
     private void moveParentDirectory(String path, String outputDirectory) throws IOException {
@@ -348,13 +347,8 @@ public class BasicGroupTestHelper implements GroupTestHelper {
         FileUtils.copyDirectory(parentFile, resultsDirectory);
     }
 
-    private void killRemoteProcessesBySearchString(Session finalSession, String searchString) {
-        Try.of(() -> ioHelper.runCommand(finalSession, String.join("", "ps ax | grep '", searchString, "' | awk '{ print $1 }' | xargs sudo kill -9"))).get();
-    }
-
-    private void safeDisconnect(Session session) {
-        // Don't call get here, we don't care if it fails
-        Try.run(session::disconnect);
+    private String getKillRemoteProcessesCommand(String searchString) {
+        return String.join("", "ps ax | grep '", searchString, "' | awk '{ print $1 }' | xargs sudo kill -9");
     }
 
     private File extractDeviceTester(File deviceTesterZip) throws IOException {
@@ -375,9 +369,12 @@ public class BasicGroupTestHelper implements GroupTestHelper {
     private void handleLogMessage(String logMessage,
                                   java.util.HashMap<String, Try> testStatus,
                                   java.util.List<String> reportLocations) {
-        deviceTesterHelper.log(logMessage);
+        // Parsed once, everything below uses the parsed values
+        DeviceTesterLogMessage deviceTesterLogMessage = deviceTesterHelper.parse(logMessage);
 
-        DeviceTesterLogMessageType logMessageType = deviceTesterHelper.getLogMessageType(logMessage);
+        deviceTesterHelper.log(deviceTesterLogMessage);
+
+        DeviceTesterLogMessageType logMessageType = deviceTesterLogMessage.getType();
 
         // Failure to add a remote file resource can indicate that there was a failure to sudo inside of device tester
         if (logMessageType.equals(DeviceTesterLogMessageType.FAIL_TO_ADD_REMOTE_FILE_RESOURCE)) {
@@ -388,9 +385,7 @@ public class BasicGroupTestHelper implements GroupTestHelper {
             log.warn("If Device Tester fails after this point please enable passwordless sudo for the user and try again.");
         }
 
-        io.vavr.collection.Map<String, String> values = deviceTesterHelper.extractValuesFromLogMessage(logMessage);
-
-        Option<String> optionalTestCaseId = deviceTesterHelper.getOptionalTestCaseId(values);
+        Option<String> optionalTestCaseId = deviceTesterLogMessage.getTestCaseId();
 
         if (logMessageType.equals(DeviceTesterLogMessageType.RUNNING)) {
             // A test started
@@ -416,14 +411,14 @@ public class BasicGroupTestHelper implements GroupTestHelper {
         }
 
         if (logMessageType.equals(DeviceTesterLogMessageType.ALL_TESTS_FINISHED)) {
-            String message = deviceTesterHelper.extractValuesFromLogMessage(logMessage).get(DeviceTesterHelper.MESSAGE_FIELD_NAME).get();
+            String message = deviceTesterLogMessage.getMessage();
             String aggregatedReportLocation = message.substring(DeviceTesterLogMessageType.Constants.ALL_TESTS_FINISHED_MESSAGE.length());
             reportLocations.add(aggregatedReportLocation);
             return;
         }
 
         if (logMessageType.equals(DeviceTesterLogMessageType.REPORT_GENERATED)) {
-            String message = deviceTesterHelper.extractValuesFromLogMessage(logMessage).get(DeviceTesterHelper.MESSAGE_FIELD_NAME).get();
+            String message = deviceTesterLogMessage.getMessage();
             String reportLocation = message.substring(DeviceTesterLogMessageType.Constants.REPORT_GENERATED_MESSAGE.length());
             reportLocations.add(reportLocation);
             return;
@@ -536,7 +531,7 @@ public class BasicGroupTestHelper implements GroupTestHelper {
         Map<String, String> coreInfo = HashMap.of("ThingArn", v2IotHelper.getThingArn(coreThingName).get().getArn())
                 .put("ThingName", coreThingName.getName())
                 .put("CertArn", v2IotHelper.getThingPrincipals(coreThingName).findFirst().get().getPrincipal())
-                .put("IotEndpoint", v2IotHelper.getEndpoint(V2IotEndpointType.DATA_ATS))
+                .put("IotEndpoint", lookupCacheHelper.getIotEndpoint(V2IotEndpointType.DATA_ATS))
                 .toJavaMap();
 
         Map<String, Object> outerMap = HashMap.of("CoreInfo", (Object) coreInfo)
@@ -53,6 +53,8 @@ public class BasicGroupUpdateHelper implements GroupUpdateHelper {
     JsonHelper jsonHelper;
     @Inject
     UpdateArgumentHelper updateArgumentHelper;
+    @Inject
+    RunReportHelper runReportHelper;
 
     @Inject
     public BasicGroupUpdateHelper() {
@@ -60,6 +62,10 @@ public class BasicGroupUpdateHelper implements GroupUpdateHelper {
 
     @Override
     public void execute(UpdateArguments updateArguments) {
+        runReportHelper.runSpan(String.join(" ", "update", updateArguments.groupName), () -> update(updateArguments));
+    }
+
+    private void update(UpdateArguments updateArguments) {
         if (!updateArguments.addSubscription &&
                 !updateArguments.removeSubscription &&
                 (updateArguments.addDevice == null) &&
@@ -70,7 +76,7 @@ public class BasicGroupUpdateHelper implements GroupUpdateHelper {
         }
 
         GreengrassGroupName greengrassGroupName = ImmutableGreengrassGroupName.builder().groupName(updateArguments.groupName).build();
-        Optional<GroupInformation> optionalGroupInformation = v2GreengrassHelper.getGroupInformation(greengrassGroupName).findFirst();
+        Optional<GroupInformation> optionalGroupInformation = runReportHelper.span("findGroup", () -> v2GreengrassHelper.getGroupInformation(greengrassGroupName).findFirst());
 
         if (!optionalGroupInformation.isPresent()) {
             throw new RuntimeException(String.join("", "Group [", updateArguments.groupName, "] not found"));
@@ -220,14 +226,14 @@ public class BasicGroupUpdateHelper implements GroupUpdateHelper {
     }
 
     private void createAndWaitForDeployment(GreengrassGroupId greengrassGroupId, GroupVersion newGroupVersion, Consumer<? super Void> successHandler) {
-        String groupVersionId = greengrassHelper.createGroupVersion(greengrassGroupId, newGroupVersion);
+        String groupVersionId = runReportHelper.span("createGroupVersion", () -> greengrassHelper.createGroupVersion(greengrassGroupId, newGroupVersion));
 
         if (successHandler == null) {
             successHandler = (Consumer<Void>) aVoid -> {
             };
         }
 
-        Try.run(() -> deploymentHelper.createAndWaitForDeployment(Optional.empty(), Optional.empty(), greengrassGroupId, groupVersionId))
+        Try.run(() -> runReportHelper.runSpan("waitForDeployment", () -> deploymentHelper.createAndWaitForDeployment(Optional.empty(), Optional.empty(), greengrassGroupId, groupVersionId)))
                 .onSuccess(successHandler)
                 .get();
     }
@@ -15,8 +15,10 @@ import software.amazon.awssdk.services.sts.model.GetSessionTokenResponse;
 import javax.inject.Inject;
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 public class BasicHsiBootstrapHelper implements HsiBootstrapHelper {
     public static final String BOOTSTRAP_COMMON_SH = "bootstrap-common.sh";
@@ -71,8 +73,7 @@ public class BasicHsiBootstrapHelper implements HsiBootstrapHelper {
         Try.run(() -> ioHelper.sendFile(session, bootstrapVendorShStream, bootstrapVendorResourcePath, bootstrapVendorPath)).get();
 
         // Make them executable
-        makeExecutable(session, bootstrapVendorPath);
-        makeExecutable(session, BOOTSTRAP_COMMON_SH);
+        makeExecutable(session, bootstrapVendorPath, BOOTSTRAP_COMMON_SH);
 
         String temporaryConfiguration = getTemporaryConfiguration();
 
@@ -82,9 +83,6 @@ public class BasicHsiBootstrapHelper implements HsiBootstrapHelper {
         List<String> output = Try.of(() -> ioHelper.runCommand(session, command, Optional.of(log::info))).get();
         log.info("Finished running HSI bootstrap script");
 
-        // Disconnect SSH so GGP can exit
-        session.disconnect();
-
         Optional<String> optionalSuccess = output.stream()
                 .filter(string -> string.contains(SUCCESS))
                 .filter(string -> string.contains(ARN_AWS_IOT))
@@ -135,8 +133,13 @@ public class BasicHsiBootstrapHelper implements HsiBootstrapHelper {
         return stringBuilder.toString();
     }
 
-    public void makeExecutable(Session session, String filename) {
-        Try.of(() -> ioHelper.runCommand(session, String.join(" ", "chmod", "+x", String.join("", "./", filename)))).get();
+    public void makeExecutable(Session session, String... filenames) {
+        // One command for all of the files instead of a channel and a round trip for each
+        String paths = Arrays.stream(filenames)
+                .map(filename -> String.join("", "./", filename))
+                .collect(Collectors.joining(" "));
+
+        Try.of(() -> ioHelper.runCommand(session, String.join(" ", "chmod", "+x", paths))).get();
     }
 
     @Override
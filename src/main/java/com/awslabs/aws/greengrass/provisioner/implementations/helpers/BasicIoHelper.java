@@ -1,12 +1,16 @@
 package com.awslabs.aws.greengrass.provisioner.implementations.helpers;
 
+import com.awslabs.aws.greengrass.provisioner.data.BackoffPolicy;
+import com.awslabs.aws.greengrass.provisioner.data.ImmutableBackoffPolicy;
 import com.awslabs.aws.greengrass.provisioner.data.exceptions.SshRecoverableException;
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.BackoffHelper;
 import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.GlobalDefaultHelper;
 import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.IoHelper;
 import com.jcraft.jsch.*;
+import io.vavr.Tuple;
+import io.vavr.Tuple2;
 import io.vavr.control.Try;
-import net.jodah.failsafe.Failsafe;
-import net.jodah.failsafe.RetryPolicy;
+import org.gradle.internal.concurrent.ThreadFactoryImpl;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -17,14 +21,14 @@ import java.net.URLConnection;
 import java.net.UnknownHostException;
 import java.nio.channels.Channels;
 import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.security.MessageDigest;
 import java.time.Duration;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
-import java.util.Properties;
-import java.util.concurrent.Callable;
+import java.util.*;
+import java.util.concurrent.*;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -34,9 +38,29 @@ import java.util.zip.ZipInputStream;
 public class BasicIoHelper implements IoHelper {
     public static final String BEGIN_RSA_PRIVATE_KEY = "BEGIN RSA PRIVATE KEY";
     private static final String OPENSSH_HELP = "If your keys are in OpenSSH format try converting them with the 'ssh-keygen -p -m PEM -f YOUR_KEY_FILE' command.";
+    // Hosts that are still booting usually accept connections within a minute
+    private static final BackoffPolicy SSH_SESSION_BACKOFF_POLICY = ImmutableBackoffPolicy.builder()
+            .name("SSH session")
+            .minimumDelay(Duration.ofSeconds(2))
+            .maximumDelay(Duration.ofSeconds(15))
+            .budget(Duration.ofSeconds(90))
+            .retryMessage("Waiting for target host to become available")
+            .exhaustedMessage("Target host never became available")
+            .build();
+    // Pooled sessions sit idle between steps, keep-alives stop NAT gateways and firewalls from dropping them
+    private static final int SSH_KEEP_ALIVE_INTERVAL_MS = 15000;
+    private static final int SSH_KEEP_ALIVE_COUNT_MAX = 4;
+    // OpenSSH allows 10 channels per connection by default (MaxSessions)
+    private static final int MAX_CONCURRENT_CHANNELS = 8;
+    private static final Duration EXIT_STATUS_TIMEOUT = Duration.ofSeconds(5);
+    private static final int SCP_BUFFER_SIZE = 256 * 1024;
+    private static final Duration PROGRESS_LOG_INTERVAL = Duration.ofSeconds(5);
+    private static final double BYTES_PER_MEGABYTE = 1024.0 * 1024.0;
     private final Logger log = LoggerFactory.getLogger(BasicIoHelper.class);
     @Inject
     GlobalDefaultHelper globalDefaultHelper;
+    @Inject
+    BackoffHelper backoffHelper;
 
     @Inject
     public BasicIoHelper() {
@@ -192,15 +216,9 @@ public class BasicIoHelper implements IoHelper {
     }
 
     private Session getSession(String hostname, String user, JSch jsch, String connectedMessage, String timeoutMessage, String refusedMessage, String errorMessage) {
-        RetryPolicy<Session> sessionRetryPolicy = new RetryPolicy<Session>()
-                .handle(SshRecoverableException.class)
-                .withDelay(Duration.ofSeconds(10))
-                .withMaxRetries(3)
-                .onRetry(failure -> log.warn(String.join("", "Waiting for target host to become available [", failure.getLastFailure().getMessage(), "]")))
-                .onRetriesExceeded(failure -> log.error(String.join("", "Target host never became available [", failure.getFailure().getMessage(), "]")));
-
-        return Failsafe.with(sessionRetryPolicy)
-                .get(() -> innerGetSession(hostname, user, jsch, connectedMessage, timeoutMessage, refusedMessage, errorMessage));
+        return backoffHelper.retry(SSH_SESSION_BACKOFF_POLICY,
+                () -> innerGetSession(hostname, user, jsch, connectedMessage, timeoutMessage, refusedMessage, errorMessage),
+                throwable -> throwable instanceof SshRecoverableException);
     }
 
     private Session innerGetSession(String hostname, String user, JSch jsch, String connectedMessage, String timeoutMessage, String refusedMessage, String errorMessage) throws JSchException {
@@ -208,6 +226,8 @@ public class BasicIoHelper implements IoHelper {
         Properties config = new Properties();
         config.put("StrictHostKeyChecking", "no");
         innerSession.setConfig(config);
+        innerSession.setServerAliveInterval(SSH_KEEP_ALIVE_INTERVAL_MS);
+        innerSession.setServerAliveCountMax(SSH_KEEP_ALIVE_COUNT_MAX);
 
         try {
             innerSession.connect(10000);
@@ -251,108 +271,299 @@ public class BasicIoHelper implements IoHelper {
 
     @Override
     public List<String> runCommand(Session session, String command, Optional<Consumer<String>> optionalStringConsumer) throws JSchException, IOException {
-        Channel channel = session.openChannel("exec");
-        ((ChannelExec) channel).setCommand(command);
-
-        StringBuilder lineStringBuilder = new StringBuilder();
         List<String> output = new ArrayList<>();
 
-        try (InputStream commandOutput = channel.getInputStream()) {
-            channel.connect();
-            int readByte = commandOutput.read();
-
-            while (readByte != 0xffffffff) {
-                char character = (char) readByte;
-                readByte = commandOutput.read();
-
-                if (character == '\r') {
-                    // Throw away \r
-                } else if (character == '\n') {
-                    String line = lineStringBuilder.toString();
-                    optionalStringConsumer.ifPresent(consumer -> consumer.accept(line));
-                    output.add(line);
-                    lineStringBuilder = new StringBuilder();
-                } else {
-                    lineStringBuilder.append(character);
-                }
+        Consumer<String> stdoutConsumer = line -> {
+            optionalStringConsumer.ifPresent(consumer -> consumer.accept(line));
+            output.add(line);
+        };
+
+        // Callers only look at stdout, stderr is kept for troubleshooting
+        getResult(startCommand(session, command, StandardCharsets.UTF_8, stdoutConsumer, line -> log.debug(String.join("", "[", command, "] stderr: ", line))));
+
+        return output;
+    }
+
+    @Override
+    public CompletableFuture<Integer> startCommand(Session session, String command, Charset charset, Consumer<String> stdoutConsumer, Consumer<String> stderrConsumer) throws JSchException, IOException {
+        ChannelExec channelExec = (ChannelExec) session.openChannel("exec");
+        channelExec.setCommand(command);
+
+        // Both streams must be requested before connecting, JSch discards the data of streams nobody asked for
+        InputStream stdout = channelExec.getInputStream();
+        InputStream stderr = channelExec.getErrStream();
+
+        try {
+            channelExec.connect();
+        } catch (JSchException e) {
+            channelExec.disconnect();
+            throw e;
+        }
+
+        // Created per call like the other executors. The consumers run on these threads, a slow consumer slows down
+        //   reading which stops the channel's window from being adjusted and that makes the remote side wait.
+        ExecutorService executorService = Executors.newFixedThreadPool(2, new ThreadFactoryImpl("SshCommandOutput"));
+
+        CompletableFuture<Void> stdoutFuture = CompletableFuture.runAsync(() -> Try.run(() -> readLines(stdout, charset, stdoutConsumer)).get(), executorService);
+        CompletableFuture<Void> stderrFuture = CompletableFuture.runAsync(() -> Try.run(() -> readLines(stderr, charset, stderrConsumer)).get(), executorService);
+
+        return CompletableFuture.allOf(stdoutFuture, stderrFuture)
+                .thenApply(nothing -> getExitStatus(channelExec))
+                .whenComplete((exitStatus, throwable) -> {
+                    channelExec.disconnect();
+                    executorService.shutdown();
+                });
+    }
+
+    protected void readLines(InputStream inputStream, Charset charset, Consumer<String> lineConsumer) throws IOException {
+        LineDecoder lineDecoder = new LineDecoder(charset, lineConsumer);
+        byte[] buffer = new byte[LineDecoder.BUFFER_SIZE];
+        int length;
+
+        while ((length = inputStream.read(buffer)) != -1) {
+            lineDecoder.decode(buffer, 0, length);
+        }
+
+        lineDecoder.finish();
+    }
+
+    private int getExitStatus(ChannelExec channelExec) {
+        // The exit status can arrive just after the end of the output, the channel is closed once it is in
+        long deadline = System.nanoTime() + EXIT_STATUS_TIMEOUT.toNanos();
+
+        while (!channelExec.isClosed() && (System.nanoTime() < deadline)) {
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                // Stop waiting, the caller sees -1 if the status hasn't arrived and can check the interrupt itself
+                Thread.currentThread().interrupt();
+                break;
             }
+        }
+
+        return channelExec.getExitStatus();
+    }
+
+    @Override
+    public List<List<String>> runCommands(Session session, List<String> commands) throws JSchException, IOException {
+        if (commands.size() == 1) {
+            return Collections.singletonList(runCommand(session, commands.get(0)));
+        }
+
+        // Created per call like the other executors so nothing outlives the commands
+        ExecutorService executorService = Executors.newFixedThreadPool(Math.max(1, Math.min(commands.size(), MAX_CONCURRENT_CHANNELS)), new ThreadFactoryImpl("SshChannel"));
+
+        try {
+            List<Future<List<String>>> futures = new ArrayList<>();
+
+            for (String command : commands) {
+                futures.add(executorService.submit(() -> runCommand(session, command)));
+            }
+
+            List<List<String>> outputs = new ArrayList<>();
+
+            for (Future<List<String>> future : futures) {
+                outputs.add(getResult(future));
+            }
+
+            return outputs;
         } finally {
-            channel.disconnect();
+            executorService.shutdownNow();
         }
+    }
 
-        return output;
+    private <T> T getResult(Future<T> future) throws JSchException, IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+
+            if (cause instanceof CompletionException) {
+                cause = cause.getCause();
+            }
+
+            if (cause instanceof JSchException) {
+                throw (JSchException) cause;
+            }
+
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+
+            throw new RuntimeException(cause);
+        }
     }
 
     @Override
     public void sendFile(Session session, InputStream inputFileStream, String localFilename, String remoteFilename) throws JSchException, IOException {
+        // scp needs the size before the content so a stream of unknown length is read into memory first, only small
+        //   resources are sent this way. Files are streamed from disk.
         byte[] byteArrayFromInputStream = getByteArrayFromInputStream(inputFileStream);
 
-        // exec 'scp -t rfile' remotely
-        remoteFilename = remoteFilename.replace("'", "'\"'\"'");
-        remoteFilename = String.join("", "'", remoteFilename, "'");
+        String checksum = upload(session, new ByteArrayInputStream(byteArrayFromInputStream), byteArrayFromInputStream.length, localFilename, remoteFilename);
 
-        String command = String.join("", "scp ", " -t ", remoteFilename);
+        verifyChecksums(session, Collections.singletonMap(remoteFilename, checksum));
+    }
 
-        Channel channel = session.openChannel("exec");
-        ((ChannelExec) channel).setCommand(command);
+    @Override
+    public void sendFile(Session session, String localFilename, String remoteFilename) throws JSchException, IOException {
+        sendFiles(session, Collections.singletonMap(localFilename, remoteFilename));
+    }
+
+    @Override
+    public void sendFiles(Session session, Map<String, String> remoteFilenamesByLocalFilename) throws JSchException, IOException {
+        Map<String, String> checksumsByRemoteFilename = new LinkedHashMap<>();
+
+        for (Map.Entry<String, String> entry : remoteFilenamesByLocalFilename.entrySet()) {
+            File localFile = new File(entry.getKey());
+
+            try (InputStream inputStream = new FileInputStream(localFile)) {
+                checksumsByRemoteFilename.put(entry.getValue(), upload(session, inputStream, localFile.length(), entry.getKey(), entry.getValue()));
+            }
+        }
+
+        verifyChecksums(session, checksumsByRemoteFilename);
+    }
+
+    // Returns the SHA-256 of what was sent
+    private String upload(Session session, InputStream inputStream, long size, String localFilename, String remoteFilename) throws JSchException, IOException {
+        String filename = localFilename.lastIndexOf('/') > 0 ? localFilename.substring(localFilename.lastIndexOf('/') + 1) : localFilename;
+        MessageDigest messageDigest = Try.of(() -> MessageDigest.getInstance("SHA-256")).get();
+        TransferProgress transferProgress = new TransferProgress(remoteFilename, size);
+
+        // exec 'scp -t rfile' remotely
+        ChannelExec channelExec = (ChannelExec) session.openChannel("exec");
+        channelExec.setCommand(String.join(" ", "scp", "-t", quote(remoteFilename)));
 
         // get I/O streams for remote scp
-        try (OutputStream outputStream = channel.getOutputStream();
-             InputStream inputStream = channel.getInputStream()) {
-            channel.connect();
+        try (OutputStream outputStream = channelExec.getOutputStream();
+             InputStream ackInputStream = channelExec.getInputStream()) {
+            channelExec.connect();
 
-            if (checkAck(inputStream) != 0) {
+            if (checkAck(ackInputStream) != 0) {
                 throw new RuntimeException("Bad acknowledgement while secure copying file, bailing out");
             }
 
             // send "C0644 filesize filename", where filename should not include '/'
-            long filesize = byteArrayFromInputStream.length;
+            outputStream.write(String.join("", "C0644 ", String.valueOf(size), " ", filename, "\n").getBytes(StandardCharsets.UTF_8));
+            outputStream.flush();
 
-            command = String.join("", "C0644 ", String.valueOf(filesize), " ");
+            if (checkAck(ackInputStream) != 0) {
+                throw new RuntimeException("Failure when calling checkAck in sendFile [2]");
+            }
 
-            if (localFilename.lastIndexOf('/') > 0) {
-                command += localFilename.substring(localFilename.lastIndexOf('/') + 1);
-            } else {
-                command += localFilename;
+            // Large reads and no flushes, JSch fills whole packets and only waits when the remote window is full
+            byte[] buffer = new byte[SCP_BUFFER_SIZE];
+            long sent = 0;
+            int length;
+
+            while ((sent < size) && ((length = inputStream.read(buffer, 0, (int) Math.min(buffer.length, size - sent))) != -1)) {
+                outputStream.write(buffer, 0, length);
+                messageDigest.update(buffer, 0, length);
+                sent += length;
+                transferProgress.update(sent);
             }
 
-            command += "\n";
+            if (sent != size) {
+                throw new RuntimeException(String.join("", "[", localFilename, "] was expected to be [", String.valueOf(size), "] byte(s) but only [", String.valueOf(sent), "] could be read"));
+            }
 
-            outputStream.write(command.getBytes());
+            // send '\0'
+            outputStream.write(0);
             outputStream.flush();
 
-            if (checkAck(inputStream) != 0) {
-                throw new RuntimeException("Failure when calling checkAck in sendFile [2]");
+            if (checkAck(ackInputStream) != 0) {
+                throw new RuntimeException("Failure when calling checkAck in sendFile [3]");
             }
+        } finally {
+            channelExec.disconnect();
+        }
 
-            byte[] bytes = new byte[1024];
+        transferProgress.finish();
 
-            // send a content of localFilename
-            try (ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(byteArrayFromInputStream)) {
-                while (true) {
-                    int length = byteArrayInputStream.read(bytes, 0, bytes.length);
-                    if (length <= 0) break;
-                    outputStream.write(bytes, 0, length); //out.flush();
-                }
+        return toHex(messageDigest.digest());
+    }
+
+    private void verifyChecksums(Session session, Map<String, String> checksumsByRemoteFilename) throws JSchException, IOException {
+        // One command checks every file
+        String command = String.join(" ", "sha256sum", checksumsByRemoteFilename.keySet().stream()
+                .map(this::quote)
+                .collect(Collectors.joining(" ")));
+
+        Map<String, String> remoteChecksumsByRemoteFilename = new HashMap<>();
+        List<String> errors = new ArrayList<>();
+
+        int exitStatus = getResult(startCommand(session, command, StandardCharsets.UTF_8,
+                line -> parseChecksumLine(line).ifPresent(checksumAndFilename -> remoteChecksumsByRemoteFilename.put(checksumAndFilename._2, checksumAndFilename._1)),
+                errors::add));
+
+        // A missing sha256sum or a file that isn't there both exit with a non-zero status
+        if (exitStatus != 0) {
+            throw new RuntimeException(String.join("", "Could not verify the checksums of the uploaded files, sha256sum exited with [",
+                    String.valueOf(exitStatus), "] ", String.valueOf(errors)));
+        }
+
+        for (Map.Entry<String, String> entry : checksumsByRemoteFilename.entrySet()) {
+            String remoteChecksum = remoteChecksumsByRemoteFilename.get(entry.getKey());
+
+            if (remoteChecksum == null) {
+                throw new RuntimeException(String.join("", "Could not verify the checksum of [", entry.getKey(), "], sha256sum didn't report it"));
             }
 
-            // send '\0'
-            bytes[0] = 0;
+            if (!remoteChecksum.equalsIgnoreCase(entry.getValue())) {
+                throw new RuntimeException(String.join("", "Checksum mismatch for [", entry.getKey(), "], sent [", entry.getValue(), "] but the host has [", remoteChecksum, "]"));
+            }
+        }
+    }
 
-            outputStream.write(bytes, 0, 1);
-            outputStream.flush();
+    // Lines look like "<checksum>  <filename>", or "<checksum> *<filename>" in binary mode. GNU sha256sum starts the
+    //   line with a backslash when it had to escape a backslash or newline in the filename.
+    private Optional<Tuple2<String, String>> parseChecksumLine(String line) {
+        boolean escaped = line.startsWith("\\");
+        String unprefixed = escaped ? line.substring(1) : line;
+        int separator = unprefixed.indexOf(' ');
 
-            if (checkAck(inputStream) != 0) {
-                throw new RuntimeException("Failure when calling checkAck in sendFile [3]");
+        if ((separator == -1) || (unprefixed.length() < separator + 2)) {
+            return Optional.empty();
+        }
+
+        String filename = unprefixed.substring(separator + 2);
+
+        return Optional.of(Tuple.of(unprefixed.substring(0, separator), escaped ? unescapeFilename(filename) : filename));
+    }
+
+    private String unescapeFilename(String filename) {
+        StringBuilder stringBuilder = new StringBuilder();
+
+        for (int index = 0; index < filename.length(); index++) {
+            char character = filename.charAt(index);
+
+            if ((character == '\\') && (index + 1 < filename.length())) {
+                index++;
+                stringBuilder.append(filename.charAt(index) == 'n' ? '\n' : filename.charAt(index));
+            } else {
+                stringBuilder.append(character);
             }
         }
 
-        channel.disconnect();
+        return stringBuilder.toString();
     }
 
-    @Override
-    public void sendFile(Session session, String localFilename, String remoteFilename) throws JSchException, IOException {
-        sendFile(session, new FileInputStream(localFilename), localFilename, remoteFilename);
+    private String quote(String remoteFilename) {
+        return String.join("", "'", remoteFilename.replace("'", "'\"'\"'"), "'");
+    }
+
+    private String toHex(byte[] bytes) {
+        StringBuilder hash = new StringBuilder();
+
+        for (byte b : bytes) {
+            hash.append(String.format("%02x", b));
+        }
+
+        return hash.toString();
     }
 
     private int checkAck(InputStream inputStream) throws IOException {
@@ -388,4 +599,43 @@ public class BasicIoHelper implements IoHelper {
 
         return statusByte;
     }
+
+    private class TransferProgress {
+        private final String name;
+        private final long size;
+        private final long startNanos = System.nanoTime();
+        private long nextLogNanos = startNanos + PROGRESS_LOG_INTERVAL.toNanos();
+        private long sent;
+
+        private TransferProgress(String name, long size) {
+            this.name = name;
+            this.size = size;
+        }
+
+        private void update(long sent) {
+            this.sent = sent;
+
+            long now = System.nanoTime();
+
+            if (now < nextLogNanos) {
+                return;
+            }
+
+            nextLogNanos = now + PROGRESS_LOG_INTERVAL.toNanos();
+
+            log.info(String.format("Sending [%s] %d%% (%.1f MB/s)", name, size == 0 ? 100 : (sent * 100) / size, getMegabytesPerSecond()));
+        }
+
+        private void finish() {
+            log.info(String.format("Sent [%s] %.1f MB in %.1f s (%.1f MB/s)", name, sent / BYTES_PER_MEGABYTE, getSeconds(), getMegabytesPerSecond()));
+        }
+
+        private double getSeconds() {
+            return (System.nanoTime() - startNanos) / 1_000_000_000.0;
+        }
+
+        private double getMegabytesPerSecond() {
+            return (sent / BYTES_PER_MEGABYTE) / Math.max(getSeconds(), 0.001);
+        }
+    }
 }
@@ -4,6 +4,7 @@ import com.awslabs.aws.greengrass.provisioner.data.KeysAndCertificate;
 import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.GGConstants;
 import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.IoHelper;
 import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.IotHelper;
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.LookupCacheHelper;
 import com.awslabs.general.helpers.interfaces.JsonHelper;
 import com.awslabs.iot.data.GreengrassGroupName;
 import com.awslabs.iot.data.RoleAlias;
@@ -39,6 +40,8 @@ public class BasicIotHelper implements IotHelper {
     @Inject
     V2IotHelper v2IotHelper;
     @Inject
+    LookupCacheHelper lookupCacheHelper;
+    @Inject
     GGConstants ggConstants;
 
     @Inject
@@ -137,7 +140,7 @@ public class BasicIotHelper implements IotHelper {
     @Override
     public void writeRootCaFile(GreengrassGroupName greengrassGroupName) {
         String rootCaFilename = getRootCaFilename(greengrassGroupName);
-        ioHelper.writeFile(rootCaFilename, ioHelper.download(ggConstants.getRootCaUrl()).getBytes());
+        ioHelper.writeFile(rootCaFilename, lookupCacheHelper.getRootCa().getBytes());
         log.info(String.join("", "Root CA certificate written to [", rootCaFilename, "]"));
     }
 
@@ -3,39 +3,65 @@ package com.awslabs.aws.greengrass.provisioner.implementations.helpers;
 import com.awslabs.aws.greengrass.provisioner.data.*;
 import com.awslabs.aws.greengrass.provisioner.data.conf.FunctionConf;
 import com.awslabs.aws.greengrass.provisioner.interfaces.builders.*;
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.BackoffHelper;
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.BuildCacheHelper;
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.GGConstants;
 import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.IoHelper;
 import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.LambdaHelper;
 import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.LoggingHelper;
 import com.awslabs.lambda.data.FunctionAliasArn;
 import com.awslabs.lambda.data.FunctionName;
+import com.awslabs.lambda.data.FunctionVersion;
 import com.awslabs.lambda.data.ImmutableFunctionAliasArn;
+import com.awslabs.lambda.data.ImmutableFunctionVersion;
 import com.awslabs.lambda.helpers.interfaces.V2LambdaHelper;
+import io.vavr.CheckedFunction0;
 import io.vavr.control.Either;
-import net.jodah.failsafe.Failsafe;
-import net.jodah.failsafe.FailsafeExecutor;
-import net.jodah.failsafe.RetryPolicy;
 import org.apache.commons.text.StringEscapeUtils;
+import org.gradle.internal.concurrent.ThreadFactoryImpl;
 import org.gradle.tooling.BuildException;
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
 import software.amazon.awssdk.services.iam.model.Role;
 import software.amazon.awssdk.services.lambda.LambdaClient;
 import software.amazon.awssdk.services.lambda.model.*;
 
 import javax.inject.Inject;
 import java.io.File;
+import java.nio.file.Paths;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 public class BasicLambdaHelper implements LambdaHelper {
     private static final String ARN_AWS_GREENGRASS_RUNTIME_FUNCTION_EXECUTABLE = "arn:aws:greengrass:::runtime/function/executable";
     private static final String ZIP_ARCHIVE_FOR_EXECUTABLE_NATIVE_FUNCTION_NOT_PRESENT = "ZIP archive for executable/native function not present ";
+    // Covers IAM roles that aren't visible to Lambda yet, functions that are still pending, and throttling
+    private static final BackoffPolicy LAMBDA_API_BACKOFF_POLICY = ImmutableBackoffPolicy.builder()
+            .name("Lambda API")
+            .minimumDelay(Duration.ofMillis(500))
+            .maximumDelay(Duration.ofSeconds(16))
+            .budget(Duration.ofMinutes(2))
+            .exhaustedMessage("Lambda API call never succeeded. Cannot continue.")
+            .build();
+    private static final BackoffPolicy LAMBDA_READY_BACKOFF_POLICY = ImmutableBackoffPolicy.builder()
+            .name("Lambda function ready")
+            .minimumDelay(Duration.ofMillis(250))
+            .maximumDelay(Duration.ofSeconds(5))
+            .budget(Duration.ofMinutes(2))
+            .exhaustedMessage("Lambda function never became ready for further changes. Cannot continue.")
+            .build();
     private final Logger log = LoggerFactory.getLogger(BasicLambdaHelper.class);
     @Inject
     LambdaClient lambdaClient;
@@ -53,22 +79,12 @@ public class BasicLambdaHelper implements LambdaHelper {
     ExecutableBuilder executableBuilder;
     @Inject
     LoggingHelper loggingHelper;
-
-    private final RetryPolicy<LambdaResponse> lambdaIamRoleRetryPolicy = new RetryPolicy<LambdaResponse>()
-            .handleIf(throwable -> throwable.getMessage().startsWith("The role defined for the function cannot be assumed by Lambda."))
-            .withDelay(Duration.ofSeconds(5))
-            .withMaxRetries(10)
-            .onRetry(failure -> log.warn("Waiting for IAM role to be visible to AWS Lambda..."))
-            .onRetriesExceeded(failure -> log.error("IAM role never became visible to AWS Lambda. Cannot continue."));
-
-    private final RetryPolicy<LambdaResponse> lambdaPendingRetryPolicy = new RetryPolicy<LambdaResponse>()
-            .handleIf(throwable -> throwable.getMessage().contains("is currently in the following state: 'Pending'"))
-            .withDelay(Duration.ofSeconds(5))
-            .withMaxRetries(10)
-            .onRetry(failure -> log.warn("Waiting for the Lambda function to come out of the pending state..."))
-            .onRetriesExceeded(failure -> log.error("Lambda function never came out of the pending state. Cannot continue."));
-
-    private final FailsafeExecutor<LambdaResponse> lambdaFailsafeExecutor = Failsafe.with(lambdaIamRoleRetryPolicy, lambdaPendingRetryPolicy);
+    @Inject
+    BuildCacheHelper buildCacheHelper;
+    @Inject
+    GGConstants ggConstants;
+    @Inject
+    BackoffHelper backoffHelper;
 
     @Inject
     public BasicLambdaHelper() {
@@ -112,10 +128,10 @@ public class BasicLambdaHelper implements LambdaHelper {
 
     private ImmutableZipFilePathAndFunctionConf buildGradleFunction(FunctionConf functionConf) {
         try {
-            gradleBuilder.buildJavaFunctionIfNecessary(functionConf);
-
             String zipFilePath = gradleBuilder.getArchivePath(functionConf);
 
+            buildWithCache(BuilderType.GRADLE, functionConf, zipFilePath, () -> gradleBuilder.buildJavaFunctionIfNecessary(functionConf));
+
             return ImmutableZipFilePathAndFunctionConf.builder()
                     .zipFilePath(zipFilePath)
                     .functionConf(functionConf)
@@ -141,10 +157,10 @@ public class BasicLambdaHelper implements LambdaHelper {
                     .build();
         }
 
-        python3Builder.buildFunctionIfNecessary(functionConf);
-
         String zipFilePath = python3Builder.getArchivePath(functionConf);
 
+        buildWithCache(BuilderType.PYTHON3, functionConf, zipFilePath, () -> python3Builder.buildFunctionIfNecessary(functionConf));
+
         return ImmutableZipFilePathAndFunctionConf.builder()
                 .zipFilePath(zipFilePath)
                 .functionConf(functionConf)
@@ -164,16 +180,28 @@ public class BasicLambdaHelper implements LambdaHelper {
                     .build();
         }
 
-        nodeBuilder.buildFunctionIfNecessary(functionConf);
-
         String zipFilePath = nodeBuilder.getArchivePath(functionConf);
 
+        buildWithCache(BuilderType.NODE, functionConf, zipFilePath, () -> nodeBuilder.buildFunctionIfNecessary(functionConf));
+
         return ImmutableZipFilePathAndFunctionConf.builder()
                 .zipFilePath(zipFilePath)
                 .functionConf(functionConf)
                 .build();
     }
 
+    private void buildWithCache(BuilderType builderType, FunctionConf functionConf, String zipFilePath, Runnable builder) {
+        boolean skipped = buildCacheHelper.buildIfNecessary(builderType,
+                functionConf.getLanguage(),
+                functionConf.getBuildDirectory().get(),
+                Paths.get(zipFilePath),
+                builder);
+
+        if (skipped) {
+            loggingHelper.logInfoWithName(log, functionConf.getFunctionName().getName(), "Sources and dependency manifests are unchanged, reusing the cached build artifact");
+        }
+    }
+
     @Override
     public Either<CreateFunctionResponse, UpdateFunctionConfigurationResponse> createOrUpdateFunction(FunctionConfAndFunctionCode functionConfAndFunctionCode, Role role) {
         String runtime;
@@ -200,7 +228,7 @@ public class BasicLambdaHelper implements LambdaHelper {
 
     @Override
     public LambdaFunctionArnInfo publishLambdaFunctionVersion(FunctionName functionName) {
-        PublishVersionResponse publishVersionResponse = lambdaFailsafeExecutor.get(() -> v2LambdaHelper.publishFunctionVersion(functionName));
+        PublishVersionResponse publishVersionResponse = callLambdaApi(() -> v2LambdaHelper.publishFunctionVersion(functionName));
 
         String qualifier = publishVersionResponse.version();
         String qualifiedArn = publishVersionResponse.functionArn();
@@ -228,11 +256,10 @@ public class BasicLambdaHelper implements LambdaHelper {
 
         UpdateFunctionCodeRequest updateFunctionCodeRequest = updateFunctionCodeRequestBuilder.build();
 
-        // Make sure multiple threads don't do this at the same time
-        synchronized (this) {
-            lambdaFailsafeExecutor.get(() ->
-                    lambdaClient.updateFunctionCode(updateFunctionCodeRequest));
-        }
+        callLambdaApi(() -> lambdaClient.updateFunctionCode(updateFunctionCodeRequest));
+
+        // The configuration can't be changed until the code update has been applied
+        waitForFunctionToBeReady(baseFunctionName, functionName);
 
         Map<String, String> existingEnvironment = v2LambdaHelper.getFunctionEnvironment(functionName);
 
@@ -250,11 +277,7 @@ public class BasicLambdaHelper implements LambdaHelper {
                 .environment(lambdaEnvironment)
                 .build();
 
-        // Make sure multiple threads don't do this at the same time
-        synchronized (this) {
-            return lambdaFailsafeExecutor.get(() ->
-                    lambdaClient.updateFunctionConfiguration(updateFunctionConfigurationRequest));
-        }
+        return callLambdaApi(() -> lambdaClient.updateFunctionConfiguration(updateFunctionConfigurationRequest));
     }
 
     @NotNull
@@ -284,11 +307,139 @@ public class BasicLambdaHelper implements LambdaHelper {
                 .environment(lambdaEnvironment)
                 .build();
 
-        // Make sure multiple threads don't do this at the same time
-        synchronized (this) {
-            return lambdaFailsafeExecutor.get(() ->
-                    lambdaClient.createFunction(createFunctionRequest));
+        return callLambdaApi(() -> lambdaClient.createFunction(createFunctionRequest));
+    }
+
+    @Override
+    public List<LambdaFunctionArnInfo> deployFunctions(List<FunctionConfAndFunctionCode> functionConfAndFunctionCodeList, Role role) {
+        if (functionConfAndFunctionCodeList.isEmpty()) {
+            return new ArrayList<>();
         }
+
+        int threads = Math.min(ggConstants.getMaxConcurrentLambdaDeployments(), functionConfAndFunctionCodeList.size());
+        ExecutorService executorService = Executors.newFixedThreadPool(threads, new ThreadFactoryImpl("LambdaDeployment"));
+
+        try {
+            List<Future<LambdaFunctionArnInfo>> futures = new ArrayList<>();
+
+            // Each function goes through its whole pipeline independently so a slow function doesn't hold up the others
+            for (FunctionConfAndFunctionCode functionConfAndFunctionCode : functionConfAndFunctionCodeList) {
+                futures.add(executorService.submit(() -> deployFunction(functionConfAndFunctionCode, role)));
+            }
+
+            // Results are returned in the same order as the input
+            List<LambdaFunctionArnInfo> lambdaFunctionArnInfoList = new ArrayList<>();
+
+            for (Future<LambdaFunctionArnInfo> future : futures) {
+                lambdaFunctionArnInfoList.add(getDeploymentResult(future));
+            }
+
+            return lambdaFunctionArnInfoList;
+        } finally {
+            // Stops any functions that haven't started yet if one of them failed
+            executorService.shutdownNow();
+        }
+    }
+
+    private LambdaFunctionArnInfo deployFunction(FunctionConfAndFunctionCode functionConfAndFunctionCode, Role role) {
+        FunctionConf functionConf = functionConfAndFunctionCode.functionConf();
+        FunctionName baseFunctionName = functionConf.getFunctionName();
+        FunctionName groupFunctionName = functionConf.getGroupFunctionName();
+
+        createOrUpdateFunction(functionConfAndFunctionCode, role);
+
+        // Publishing fails while the function is still being created or updated
+        waitForFunctionToBeReady(baseFunctionName, groupFunctionName);
+
+        LambdaFunctionArnInfo lambdaFunctionArnInfo = publishLambdaFunctionVersion(groupFunctionName);
+
+        FunctionVersion functionVersion = ImmutableFunctionVersion.builder().version(lambdaFunctionArnInfo.getQualifier()).build();
+
+        loggingHelper.logInfoWithName(log, baseFunctionName.getName(), String.join("", "Pointing alias [", functionConf.getAliasName().getAlias(), "] to version [", functionVersion.getVersion(), "]"));
+
+        FunctionAliasArn functionAliasArn = callLambdaApi(() -> v2LambdaHelper.createAlias(groupFunctionName, functionVersion, functionConf.getAliasName()));
+
+        return ImmutableLambdaFunctionArnInfo.builder()
+                .from(lambdaFunctionArnInfo)
+                .aliasArn(functionAliasArn.getAliasArn())
+                .build();
+    }
+
+    private LambdaFunctionArnInfo getDeploymentResult(Future<LambdaFunctionArnInfo> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+
+            throw new RuntimeException(cause);
+        }
+    }
+
+    private void waitForFunctionToBeReady(FunctionName baseFunctionName, FunctionName functionName) {
+        GetFunctionConfigurationRequest getFunctionConfigurationRequest = GetFunctionConfigurationRequest.builder()
+                .functionName(functionName.getName())
+                .build();
+
+        GetFunctionConfigurationResponse getFunctionConfigurationResponse = backoffHelper.execute(LAMBDA_READY_BACKOFF_POLICY,
+                () -> lambdaClient.getFunctionConfiguration(getFunctionConfigurationRequest),
+                this::isFunctionNotReady,
+                this::isRetryableLambdaFailure);
+
+        if (State.FAILED.equals(getFunctionConfigurationResponse.state()) || LastUpdateStatus.FAILED.equals(getFunctionConfigurationResponse.lastUpdateStatus())) {
+            String reason = Optional.ofNullable(getFunctionConfigurationResponse.lastUpdateStatusReason())
+                    .orElse(getFunctionConfigurationResponse.stateReason());
+
+            throw new RuntimeException(String.join("", "Lambda function [", baseFunctionName.getName(), "] failed to become active [", String.valueOf(reason), "]"));
+        }
+
+        if (isFunctionNotReady(getFunctionConfigurationResponse)) {
+            throw new RuntimeException(String.join("", "Lambda function [", baseFunctionName.getName(), "] never became ready for further changes"));
+        }
+    }
+
+    private boolean isFunctionNotReady(GetFunctionConfigurationResponse getFunctionConfigurationResponse) {
+        return State.PENDING.equals(getFunctionConfigurationResponse.state()) ||
+                LastUpdateStatus.IN_PROGRESS.equals(getFunctionConfigurationResponse.lastUpdateStatus());
+    }
+
+    private <T> T callLambdaApi(CheckedFunction0<T> lambdaApiCall) {
+        return backoffHelper.retry(LAMBDA_API_BACKOFF_POLICY, lambdaApiCall, this::isRetryableLambdaFailure);
+    }
+
+    private boolean isRetryableLambdaFailure(Throwable throwable) {
+        if (isThrottlingException(throwable)) {
+            log.warn("Lambda API calls are being throttled, backing off...");
+            return true;
+        }
+
+        String message = String.valueOf(throwable.getMessage());
+
+        if (message.startsWith("The role defined for the function cannot be assumed by Lambda.")) {
+            log.warn("Waiting for IAM role to be visible to AWS Lambda...");
+            return true;
+        }
+
+        if (message.contains("is currently in the following state: 'Pending'")) {
+            log.warn("Waiting for the Lambda function to come out of the pending state...");
+            return true;
+        }
+
+        return false;
+    }
+
+    private boolean isThrottlingException(Throwable throwable) {
+        if (throwable instanceof TooManyRequestsException) {
+            return true;
+        }
+
+        return (throwable instanceof AwsServiceException) && ((AwsServiceException) throwable).isThrottlingException();
     }
 
     @Override
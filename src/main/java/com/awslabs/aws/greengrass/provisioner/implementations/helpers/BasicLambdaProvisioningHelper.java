@@ -0,0 +1,166 @@
+package com.awslabs.aws.greengrass.provisioner.implementations.helpers;
+
+import com.awslabs.aws.greengrass.provisioner.data.ImmutableLambdaProvisioningResult;
+import com.awslabs.aws.greengrass.provisioner.data.LambdaProvisioningResult;
+import com.awslabs.aws.greengrass.provisioner.data.arguments.Arguments;
+import com.awslabs.aws.greengrass.provisioner.data.arguments.DeploymentArguments;
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.AwsHelper;
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.DeploymentArgumentHelper;
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.DeploymentHelper;
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.LambdaProvisioningHelper;
+import com.awslabs.aws.greengrass.provisioner.lambda.AwsGreengrassProvisionerLambda;
+import com.awslabs.aws.greengrass.provisioner.lambda.LambdaInput;
+import com.awslabs.general.helpers.interfaces.JsonHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.auth.credentials.AwsSessionCredentials;
+
+import javax.inject.Inject;
+import javax.inject.Provider;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class BasicLambdaProvisioningHelper implements LambdaProvisioningHelper {
+    private final Logger log = LoggerFactory.getLogger(BasicLambdaProvisioningHelper.class);
+    private final AtomicBoolean warm = new AtomicBoolean(false);
+    @Inject
+    DeploymentArgumentHelper deploymentArgumentHelper;
+    // A new deployment helper for each request since it keeps state for the group it is deploying
+    @Inject
+    Provider<DeploymentHelper> deploymentHelperProvider;
+    @Inject
+    AwsHelper awsHelper;
+    @Inject
+    JsonHelper jsonHelper;
+
+    @Inject
+    public BasicLambdaProvisioningHelper() {
+    }
+
+    @Override
+    public LambdaProvisioningResult provision(LambdaInput lambdaInput) {
+        long startNanos = System.nanoTime();
+        boolean coldStart = warm.compareAndSet(false, true);
+
+        validateRequiredParameters(lambdaInput);
+        throwIfDifferentRegion(lambdaInput);
+
+        DeploymentArguments deploymentArguments = deploymentArgumentHelper.parseArguments(getArgs(lambdaInput));
+
+        Map<String, String> oemFiles;
+
+        if (hasCredentials(lambdaInput)) {
+            AwsSessionCredentials awsSessionCredentials = AwsSessionCredentials.create(lambdaInput.AccessKeyId, lambdaInput.SecretAccessKey, lambdaInput.SessionToken);
+            oemFiles = RequestCredentialsExecutionInterceptor.callWith(awsSessionCredentials, () -> deploymentHelperProvider.get().executeAndGetOemFiles(deploymentArguments));
+        } else {
+            oemFiles = deploymentHelperProvider.get().executeAndGetOemFiles(deploymentArguments);
+        }
+
+        // Use a different private key location if they've specified it
+        if (lambdaInput.KeyPath != null) {
+            oemFiles = new HashMap<>(oemFiles);
+            Map<String, Object> configMap = jsonHelper.fromJson(Map.class, oemFiles.get(AwsGreengrassProvisionerLambda.CONFIG_JSON_KEY).getBytes(StandardCharsets.UTF_8));
+            configMap.put("keyPath", lambdaInput.KeyPath);
+            oemFiles.put(AwsGreengrassProvisionerLambda.CONFIG_JSON_KEY, jsonHelper.toJson(configMap));
+        }
+
+        Duration duration = Duration.ofNanos(System.nanoTime() - startNanos);
+
+        log.info(String.join("", coldStart ? "Cold" : "Warm", " request for group [", lambdaInput.GroupName, "] took [", String.valueOf(duration.toMillis()), "] ms"));
+
+        return ImmutableLambdaProvisioningResult.builder()
+                .oemFiles(oemFiles)
+                .isColdStart(coldStart)
+                .duration(duration)
+                .build();
+    }
+
+    private String[] getArgs(LambdaInput lambdaInput) {
+        List<String> args = new ArrayList<>();
+
+        args.add(Arguments.SHORT_GROUP_NAME_OPTION);
+        args.add(lambdaInput.GroupName);
+
+        args.add(DeploymentArguments.SHORT_DEPLOYMENT_CONFIG_OPTION);
+        args.add(DeploymentHelper.EMPTY);
+
+        args.add(DeploymentArguments.LONG_CORE_ROLE_NAME_OPTION);
+        args.add(lambdaInput.CoreRoleName);
+
+        args.add(DeploymentArguments.LONG_CORE_POLICY_NAME_OPTION);
+        args.add(lambdaInput.CorePolicyName);
+
+        if (lambdaInput.ServiceRoleExists) {
+            args.add(DeploymentArguments.LONG_SERVICE_ROLE_EXISTS_OPTION);
+        }
+
+        Optional.ofNullable(lambdaInput.Csr).ifPresent(csr -> addCsrOption(args, csr));
+        Optional.ofNullable(lambdaInput.CertificateArn).ifPresent(certificateArn -> addCertificateArnOption(args, certificateArn));
+
+        return args.toArray(new String[0]);
+    }
+
+    private boolean hasCredentials(LambdaInput lambdaInput) {
+        return (lambdaInput.AccessKeyId != null) && (lambdaInput.SecretAccessKey != null) && (lambdaInput.SessionToken != null);
+    }
+
+    private void throwIfDifferentRegion(LambdaInput lambdaInput) {
+        if (lambdaInput.Region == null) {
+            return;
+        }
+
+        // The shared clients are bound to one region, they can't be pointed at another region per request
+        String currentRegion = awsHelper.getCurrentRegion().id();
+
+        if (!currentRegion.equals(lambdaInput.Region)) {
+            throw new RuntimeException(String.join("", "This function provisions groups in [", currentRegion, "], deploy it in [", lambdaInput.Region, "] to provision groups there"));
+        }
+    }
+
+    private void addCsrOption(List<String> args, String csr) {
+        if (csr.isEmpty()) {
+            return;
+        }
+
+        args.add(DeploymentArguments.LONG_CSR_OPTION);
+        args.add(csr);
+    }
+
+    private void addCertificateArnOption(List<String> args, String certificateArn) {
+        if (certificateArn.isEmpty()) {
+            return;
+        }
+
+        args.add(DeploymentArguments.LONG_CERTIFICATE_ARN_OPTION);
+        args.add(certificateArn);
+    }
+
+    private void validateRequiredParameters(LambdaInput lambdaInput) {
+        if (lambdaInput.GroupName == null) {
+            throw new RuntimeException("No group name specified");
+        }
+
+        if (lambdaInput.CoreRoleName == null) {
+            throw new RuntimeException("No core role name specified");
+        }
+
+        if (lambdaInput.CorePolicyName == null) {
+            throw new RuntimeException("No core policy name specified");
+        }
+
+        boolean csrPresent = !Optional.ofNullable(lambdaInput.Csr).orElse("").isEmpty();
+        boolean certificateArnPresent = !Optional.ofNullable(lambdaInput.CertificateArn).orElse("").isEmpty();
+
+        if (csrPresent && certificateArnPresent) {
+            throw new RuntimeException(String.join("", "Either specify a CSR [", lambdaInput.Csr, "], a certificate ARN [", lambdaInput.CertificateArn, "], or neither. Both CSR and certificate ARN options can not be present simultaneously."));
+        }
+
+        if ((lambdaInput.AccessKeyId != null) && (lambdaInput.SecretAccessKey != null)) {
+            if (lambdaInput.SessionToken == null) {
+                throw new RuntimeException("No session token detected for input credentials. Only temporary credentials can be passed in to this Lambda function for security reasons. Obtain temporary credentials from STS for this user/role and try again.");
+            }
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.awslabs.aws.greengrass.provisioner.implementations.helpers;
+
+import com.awslabs.aws.greengrass.provisioner.data.ImmutableLogDownloadResult;
+import com.awslabs.aws.greengrass.provisioner.data.LogDownloadResult;
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.BackoffHelper;
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.GGConstants;
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.LogDownloadHelper;
+import io.vavr.Tuple2;
+import io.vavr.control.Try;
+import org.apache.commons.io.output.CloseShieldOutputStream;
+import org.apache.commons.io.output.CountingOutputStream;
+import org.gradle.internal.concurrent.ThreadFactoryImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.services.cloudwatchlogs.CloudWatchLogsClient;
+import software.amazon.awssdk.services.cloudwatchlogs.model.*;
+
+import javax.inject.Inject;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+public class BasicLogDownloadHelper implements LogDownloadHelper {
+    private static final String LOG_EXTENSION = "log";
+    private static final String GZIP_EXTENSION = "gz";
+    private static final String CHECKPOINT_EXTENSION = "checkpoint";
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private final Logger log = LoggerFactory.getLogger(BasicLogDownloadHelper.class);
+    @Inject
+    CloudWatchLogsClient cloudWatchLogsClient;
+    @Inject
+    BackoffHelper backoffHelper;
+    @Inject
+    GGConstants ggConstants;
+
+    @Inject
+    public BasicLogDownloadHelper() {
+    }
+
+    @Override
+    public List<LogDownloadResult> download(List<Tuple2<LogGroup, LogStream>> logStreams, Path directory, boolean compress, boolean resume) {
+        if (logStreams.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        int threads = Math.min(ggConstants.getMaxConcurrentLogStreamPolls(), logStreams.size());
+        ExecutorService executorService = Executors.newFixedThreadPool(threads, new ThreadFactoryImpl("LogDownload"));
+
+        try {
+            List<Callable<LogDownloadResult>> callables = logStreams.stream()
+                    .map(logStream -> (Callable<LogDownloadResult>) () -> download(logStream._1, logStream._2, directory, compress, resume))
+                    .collect(Collectors.toList());
+
+            List<LogDownloadResult> logDownloadResults = new ArrayList<>();
+
+            for (Future<LogDownloadResult> future : executorService.invokeAll(callables)) {
+                logDownloadResults.add(getDownloadResult(future));
+            }
+
+            return logDownloadResults;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private LogDownloadResult getDownloadResult(Future<LogDownloadResult> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    private LogDownloadResult download(LogGroup logGroup, LogStream logStream, Path directory, boolean compress, boolean resume) throws IOException {
+        long startNanos = System.nanoTime();
+
+        String[] logGroupNameParts = logGroup.logGroupName().split("/");
+        String fileName = String.join(".", logGroupNameParts[logGroupNameParts.length - 1], LOG_EXTENSION);
+
+        if (compress) {
+            fileName = String.join(".", fileName, GZIP_EXTENSION);
+        }
+
+        Path file = directory.resolve(fileName);
+        Path checkpointFile = directory.resolve(String.join(".", fileName, CHECKPOINT_EXTENSION));
+
+        Optional<Checkpoint> optionalCheckpoint = resume ? readCheckpoint(checkpointFile, file) : Optional.empty();
+
+        if (optionalCheckpoint.isPresent()) {
+            // Anything after the checkpoint is a page that was only partly written, it is downloaded again
+            try (FileChannel fileChannel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                fileChannel.truncate(optionalCheckpoint.get().length);
+            }
+        }
+
+        long initialLength = optionalCheckpoint.map(checkpoint -> checkpoint.length).orElse(0L);
+        String forwardToken = optionalCheckpoint.map(checkpoint -> checkpoint.forwardToken).orElse(null);
+        long events = 0;
+        long pages = 0;
+        long bytesDownloaded = 0;
+
+        try (CountingOutputStream countingOutputStream = new CountingOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                        optionalCheckpoint.isPresent() ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING), BUFFER_SIZE))) {
+            while (true) {
+                GetLogEventsResponse getLogEventsResponse = getLogEvents(GetLogEventsRequest.builder()
+                        .logGroupName(logGroup.logGroupName())
+                        .logStreamName(logStream.logStreamName())
+                        .startFromHead(true)
+                        .nextToken(forwardToken)
+                        .build());
+
+                List<OutputLogEvent> outputLogEvents = getLogEventsResponse.events();
+
+                if (!outputLogEvents.isEmpty()) {
+                    bytesDownloaded += writePage(countingOutputStream, outputLogEvents, compress);
+                    events += outputLogEvents.size();
+                    pages++;
+                }
+
+                String previousForwardToken = forwardToken;
+                forwardToken = getLogEventsResponse.nextForwardToken();
+
+                // Only written once the page is on disk so a checkpoint never points past the end of the file
+                countingOutputStream.flush();
+                writeCheckpoint(checkpointFile, new Checkpoint(initialLength + countingOutputStream.getByteCount(), forwardToken));
+
+                // CloudWatch Logs can return empty pages before the end of the stream, only the same token coming back
+                // means there is nothing left
+                if ((forwardToken == null) || Objects.equals(previousForwardToken, forwardToken)) {
+                    break;
+                }
+            }
+        }
+
+        LogDownloadResult logDownloadResult = ImmutableLogDownloadResult.builder()
+                .logGroupName(logGroup.logGroupName())
+                .file(file)
+                .isResumed(optionalCheckpoint.isPresent())
+                .events(events)
+                .pages(pages)
+                .bytesDownloaded(bytesDownloaded)
+                .bytesWritten(Files.size(file) - initialLength)
+                .duration(Duration.ofNanos(System.nanoTime() - startNanos))
+                .build();
+
+        log.debug(String.join("", "Downloaded [", String.valueOf(events), "] event(s) from [", logGroup.logGroupName(), "]"));
+
+        return logDownloadResult;
+    }
+
+    private long writePage(OutputStream outputStream, List<OutputLogEvent> outputLogEvents, boolean compress) throws IOException {
+        long bytes = 0;
+
+        // Each compressed page is a complete gzip member, a file made of several members is still a valid gzip file
+        // and it means a resumed download can append to it
+        OutputStream pageOutputStream = compress ? new GZIPOutputStream(CloseShieldOutputStream.wrap(outputStream), BUFFER_SIZE) : CloseShieldOutputStream.wrap(outputStream);
+
+        try {
+            for (OutputLogEvent outputLogEvent : outputLogEvents) {
+                byte[] message = outputLogEvent.message().getBytes(StandardCharsets.UTF_8);
+                pageOutputStream.write(message);
+                bytes += message.length;
+            }
+        } finally {
+            pageOutputStream.close();
+        }
+
+        return bytes;
+    }
+
+    private GetLogEventsResponse getLogEvents(GetLogEventsRequest getLogEventsRequest) {
+        return backoffHelper.retry(GGConstants.GET_LOG_EVENTS_BACKOFF_POLICY,
+                () -> cloudWatchLogsClient.getLogEvents(getLogEventsRequest),
+                throwable -> String.valueOf(throwable.getMessage()).contains("Rate exceeded"));
+    }
+
+    private Optional<Checkpoint> readCheckpoint(Path checkpointFile, Path file) {
+        if (!Files.isRegularFile(checkpointFile) || !Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+
+        return Try.of(() -> Files.readAllLines(checkpointFile, StandardCharsets.UTF_8))
+                .filter(lines -> lines.size() == 2)
+                .map(lines -> new Checkpoint(Long.parseLong(lines.get(0)), lines.get(1)))
+                // The file can't be shorter than the checkpoint unless something else changed it, start over in that case
+                .filter(checkpoint -> Try.of(() -> Files.size(file)).map(size -> size >= checkpoint.length).getOrElse(false))
+                .onFailure(throwable -> log.warn(String.join("", "Ignoring the download checkpoint [", checkpointFile.toString(), "], starting over")))
+                .toJavaOptional();
+    }
+
+    private void writeCheckpoint(Path checkpointFile, Checkpoint checkpoint) throws IOException {
+        Path temporaryFile = checkpointFile.resolveSibling(String.join(".", checkpointFile.getFileName().toString(), "tmp"));
+
+        Files.write(temporaryFile, String.join("\n", String.valueOf(checkpoint.length), checkpoint.forwardToken).getBytes(StandardCharsets.UTF_8));
+        Files.move(temporaryFile, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static class Checkpoint {
+        private final long length;
+        private final String forwardToken;
+
+        private Checkpoint(long length, String forwardToken) {
+            this.length = length;
+            this.forwardToken = forwardToken;
+        }
+    }
+}
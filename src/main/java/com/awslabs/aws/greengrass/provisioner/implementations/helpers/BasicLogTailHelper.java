@@ -0,0 +1,171 @@
+package com.awslabs.aws.greengrass.provisioner.implementations.helpers;
+
+import com.awslabs.aws.greengrass.provisioner.data.BackoffPolicy;
+import com.awslabs.aws.greengrass.provisioner.data.ImmutableBackoffPolicy;
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.BackoffHelper;
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.GGConstants;
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.LogTailHelper;
+import io.vavr.Tuple;
+import io.vavr.Tuple2;
+import io.vavr.Tuple3;
+import org.gradle.internal.concurrent.ThreadFactoryImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.services.cloudwatchlogs.CloudWatchLogsClient;
+import software.amazon.awssdk.services.cloudwatchlogs.model.*;
+
+import javax.inject.Inject;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+public class BasicLogTailHelper implements LogTailHelper {
+    // A stream that is busier than this is picked up again on the next poll so one stream can't starve the others
+    private static final int MAX_PAGES_PER_POLL = 10;
+    private static final BackoffPolicy WATCH_LOGS_BACKOFF_POLICY = ImmutableBackoffPolicy.builder()
+            .name("CloudWatch Logs watch")
+            .minimumDelay(Duration.ofSeconds(1))
+            .maximumDelay(Duration.ofSeconds(10))
+            // The watch runs until the user stops it, only the individual waits are bounded
+            .budget(Duration.ofSeconds(10))
+            .build();
+    private final Logger log = LoggerFactory.getLogger(BasicLogTailHelper.class);
+    @Inject
+    CloudWatchLogsClient cloudWatchLogsClient;
+    @Inject
+    BackoffHelper backoffHelper;
+    @Inject
+    GGConstants ggConstants;
+
+    @Inject
+    public BasicLogTailHelper() {
+    }
+
+    @Override
+    public void tail(List<Tuple2<LogGroup, LogStream>> logStreams, Consumer<Tuple3<LogGroup, LogStream, OutputLogEvent>> consumer, BooleanSupplier shouldStop) {
+        if (logStreams.isEmpty()) {
+            log.warn("No log streams found to watch");
+            return;
+        }
+
+        int threads = Math.min(ggConstants.getMaxConcurrentLogStreamPolls(), logStreams.size());
+        ExecutorService executorService = Executors.newFixedThreadPool(threads, new ThreadFactoryImpl("LogTail"));
+
+        try {
+            // Start at the end of each stream so only new events are shown
+            List<StreamPosition> streamPositions = invokeAll(executorService, logStreams.stream()
+                    .map(logStream -> (Callable<StreamPosition>) () -> getEndOfStream(logStream._1, logStream._2))
+                    .collect(Collectors.toList()));
+
+            int idlePolls = 0;
+
+            while (!shouldStop.getAsBoolean()) {
+                // Poll quickly while logs are arriving and slow down while they're quiet
+                backoffHelper.pause(WATCH_LOGS_BACKOFF_POLICY, idlePolls);
+
+                List<List<Tuple3<LogGroup, LogStream, OutputLogEvent>>> eventsByStream = invokeAll(executorService, streamPositions.stream()
+                        .map(streamPosition -> (Callable<List<Tuple3<LogGroup, LogStream, OutputLogEvent>>>) () -> getNewEvents(streamPosition))
+                        .collect(Collectors.toList()));
+
+                // The sort is stable so events with the same timestamp stay in stream order
+                List<Tuple3<LogGroup, LogStream, OutputLogEvent>> events = eventsByStream.stream()
+                        .flatMap(List::stream)
+                        .sorted(Comparator.comparingLong(event -> event._3.timestamp()))
+                        .collect(Collectors.toList());
+
+                events.forEach(consumer);
+
+                idlePolls = events.isEmpty() ? idlePolls + 1 : 0;
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private StreamPosition getEndOfStream(LogGroup logGroup, LogStream logStream) {
+        GetLogEventsResponse getLogEventsResponse = getLogEvents(GetLogEventsRequest.builder()
+                .logGroupName(logGroup.logGroupName())
+                .logStreamName(logStream.logStreamName())
+                .build());
+
+        return new StreamPosition(logGroup, logStream, getLogEventsResponse.nextForwardToken());
+    }
+
+    private List<Tuple3<LogGroup, LogStream, OutputLogEvent>> getNewEvents(StreamPosition streamPosition) {
+        List<Tuple3<LogGroup, LogStream, OutputLogEvent>> events = new ArrayList<>();
+
+        // Follow the forward tokens until the stream is drained, a burst bigger than one page used to be dropped here
+        for (int page = 0; page < MAX_PAGES_PER_POLL; page++) {
+            String forwardToken = streamPosition.forwardToken;
+
+            GetLogEventsResponse getLogEventsResponse = getLogEvents(GetLogEventsRequest.builder()
+                    .logGroupName(streamPosition.logGroup.logGroupName())
+                    .logStreamName(streamPosition.logStream.logStreamName())
+                    .nextToken(forwardToken)
+                    .startFromHead(true)
+                    .build());
+
+            getLogEventsResponse.events()
+                    .forEach(event -> events.add(Tuple.of(streamPosition.logGroup, streamPosition.logStream, event)));
+
+            streamPosition.forwardToken = getLogEventsResponse.nextForwardToken();
+
+            // CloudWatch Logs returns the same token at the end of the stream
+            if (getLogEventsResponse.events().isEmpty() || Objects.equals(forwardToken, streamPosition.forwardToken)) {
+                break;
+            }
+        }
+
+        return events;
+    }
+
+    private GetLogEventsResponse getLogEvents(GetLogEventsRequest getLogEventsRequest) {
+        return backoffHelper.retry(GGConstants.GET_LOG_EVENTS_BACKOFF_POLICY,
+                () -> cloudWatchLogsClient.getLogEvents(getLogEventsRequest),
+                throwable -> String.valueOf(throwable.getMessage()).contains("Rate exceeded"));
+    }
+
+    private <T> List<T> invokeAll(ExecutorService executorService, List<Callable<T>> callables) {
+        List<T> results = new ArrayList<>();
+
+        try {
+            for (Future<T> future : executorService.invokeAll(callables)) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+
+            throw new RuntimeException(e.getCause());
+        }
+
+        return results;
+    }
+
+    // Only touched by one poll at a time, the executor's futures publish the token to the next poll
+    private static class StreamPosition {
+        private final LogGroup logGroup;
+        private final LogStream logStream;
+        private String forwardToken;
+
+        private StreamPosition(LogGroup logGroup, LogStream logStream, String forwardToken) {
+            this.logGroup = logGroup;
+            this.logStream = logStream;
+            this.forwardToken = forwardToken;
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.awslabs.aws.greengrass.provisioner.implementations.helpers;
+
+import com.awslabs.aws.greengrass.provisioner.data.ImmutableLookupCacheStats;
+import com.awslabs.aws.greengrass.provisioner.data.ImmutableLookupKey;
+import com.awslabs.aws.greengrass.provisioner.data.LookupCacheStats;
+import com.awslabs.aws.greengrass.provisioner.data.LookupKey;
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.AwsHelper;
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.GGConstants;
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.IoHelper;
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.LookupCacheHelper;
+import com.awslabs.iam.helpers.interfaces.V2IamHelper;
+import com.awslabs.iot.data.V2IotEndpointType;
+import com.awslabs.iot.helpers.interfaces.V2IotHelper;
+import io.vavr.CheckedFunction0;
+import io.vavr.control.Try;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.auth.credentials.AwsCredentials;
+
+import javax.inject.Inject;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+public class BasicLookupCacheHelper implements LookupCacheHelper {
+    // The root CA is public and the same in every account and region
+    private static final Duration ROOT_CA_TIME_TO_LIVE = Duration.ofDays(7);
+    private final Logger log = LoggerFactory.getLogger(BasicLookupCacheHelper.class);
+    private final Map<LookupKey<?>, CompletableFuture<Object>> values = new ConcurrentHashMap<>();
+    // Oldest first, a warm Lambda container sees a new access key every time the caller's STS credentials rotate
+    private final Queue<LookupKey<?>> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final Map<String, Counters> countersByName = new ConcurrentHashMap<>();
+    // Tests replace this so they can expire persisted values without really waiting
+    Clock clock = Clock.systemUTC();
+    // Tests lower this so they can fill the cache with a handful of keys
+    int maxValues = 256;
+    @Inject
+    GGConstants ggConstants;
+    @Inject
+    AwsHelper awsHelper;
+    @Inject
+    IoHelper ioHelper;
+    @Inject
+    V2IotHelper v2IotHelper;
+    @Inject
+    V2IamHelper iamHelper;
+
+    @Inject
+    public BasicLookupCacheHelper() {
+    }
+
+    @Override
+    public <T> T get(LookupKey<T> lookupKey, CheckedFunction0<T> lookup) {
+        Counters counters = countersByName.computeIfAbsent(lookupKey.getName(), name -> new Counters());
+
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> existingFuture = values.putIfAbsent(lookupKey, future);
+
+        if (existingFuture != null) {
+            // Either already done or another thread is doing the lookup right now, both cost nothing extra
+            counters.hits.incrementAndGet();
+
+            return lookupKey.getType().cast(await(existingFuture));
+        }
+
+        insertionOrder.add(lookupKey);
+        evictOldestValues();
+
+        Optional<String> optionalPersistedValue = readPersistedValue(lookupKey);
+
+        if (optionalPersistedValue.isPresent()) {
+            counters.diskHits.incrementAndGet();
+            future.complete(optionalPersistedValue.get());
+
+            return lookupKey.getType().cast(optionalPersistedValue.get());
+        }
+
+        counters.misses.incrementAndGet();
+
+        Try<T> result = Try.of(lookup);
+
+        if (result.isFailure()) {
+            // Remove it before completing so the next caller starts a fresh lookup instead of getting this failure
+            values.remove(lookupKey, future);
+            insertionOrder.remove(lookupKey);
+            future.completeExceptionally(result.getCause());
+
+            return result.get();
+        }
+
+        T value = result.get();
+        future.complete(value);
+        writePersistedValue(lookupKey, value);
+
+        return value;
+    }
+
+    private void evictOldestValues() {
+        while (values.size() > maxValues) {
+            LookupKey<?> oldestLookupKey = insertionOrder.poll();
+
+            if (oldestLookupKey == null) {
+                return;
+            }
+
+            // Callers already waiting on an evicted lookup still get its value, only later callers look it up again
+            values.remove(oldestLookupKey);
+        }
+    }
+
+    private Object await(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    private Optional<Path> getPersistedValuePath(LookupKey<?> lookupKey) {
+        if (!lookupKey.getTimeToLive().isPresent()) {
+            return Optional.empty();
+        }
+
+        MessageDigest messageDigest = Try.of(() -> MessageDigest.getInstance("SHA-256")).get();
+        messageDigest.update(lookupKey.getName().getBytes(StandardCharsets.UTF_8));
+        lookupKey.getQualifiers().forEach(qualifier -> {
+            // Separate the values so ["ab", "c"] and ["a", "bc"] don't collide
+            messageDigest.update((byte) 0);
+            messageDigest.update(qualifier.getBytes(StandardCharsets.UTF_8));
+        });
+
+        StringBuilder filename = new StringBuilder(lookupKey.getName()).append('-');
+
+        for (byte b : messageDigest.digest()) {
+            filename.append(String.format("%02x", b));
+        }
+
+        return Optional.of(Paths.get(ggConstants.getLookupCacheDirectory(), filename.toString()));
+    }
+
+    private Optional<String> readPersistedValue(LookupKey<?> lookupKey) {
+        Optional<Path> optionalPath = getPersistedValuePath(lookupKey);
+
+        if (!optionalPath.isPresent() || !Files.isRegularFile(optionalPath.get())) {
+            return Optional.empty();
+        }
+
+        Path path = optionalPath.get();
+
+        return Try.of(() -> {
+                    Instant lastModified = Files.getLastModifiedTime(path).toInstant();
+
+                    if (lastModified.plus(lookupKey.getTimeToLive().get()).isBefore(clock.instant())) {
+                        log.debug(String.join("", "Persisted value for [", lookupKey.getName(), "] has expired"));
+                        return Optional.<String>empty();
+                    }
+
+                    return Optional.of(new String(Files.readAllBytes(path), StandardCharsets.UTF_8));
+                })
+                // A damaged cache file just means another remote call
+                .onFailure(throwable -> log.debug(String.join("", "Could not read the persisted value for [", lookupKey.getName(), "] [", throwable.getMessage(), "]")))
+                .getOrElse(Optional.empty());
+    }
+
+    private void writePersistedValue(LookupKey<?> lookupKey, Object value) {
+        Optional<Path> optionalPath = getPersistedValuePath(lookupKey);
+
+        if (!optionalPath.isPresent() || (value == null)) {
+            return;
+        }
+
+        Path path = optionalPath.get();
+
+        Try.run(() -> {
+                    Files.createDirectories(path.getParent());
+
+                    // Write to a temporary file first so a concurrent run never reads a partial value
+                    Path temporaryPath = Files.createTempFile(path.getParent(), path.getFileName().toString(), ".tmp");
+                    Files.write(temporaryPath, ((String) value).getBytes(StandardCharsets.UTF_8));
+                    Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                })
+                .onFailure(throwable -> log.debug(String.join("", "Could not persist the value for [", lookupKey.getName(), "] [", throwable.getMessage(), "]")));
+    }
+
+    @Override
+    public String getIotEndpoint(V2IotEndpointType v2IotEndpointType) {
+        return get(ImmutableLookupKey.<String>builder()
+                .name("iot-endpoint")
+                .addQualifiers(awsHelper.getCurrentRegion().id(), String.valueOf(v2IotEndpointType), getCredentialsQualifier())
+                .type(String.class)
+                .build(), () -> v2IotHelper.getEndpoint(v2IotEndpointType));
+    }
+
+    @Override
+    public String getAccountId() {
+        return get(ImmutableLookupKey.<String>builder()
+                .name("account-id")
+                .addQualifiers(getCredentialsQualifier())
+                .type(String.class)
+                .build(), () -> iamHelper.getAccountId().getId());
+    }
+
+    // Requests with their own credentials can be for a different account than the default credentials
+    private String getCredentialsQualifier() {
+        return RequestCredentialsExecutionInterceptor.getRequestCredentials()
+                .map(AwsCredentials::accessKeyId)
+                .orElse("");
+    }
+
+    @Override
+    public String getRootCa() {
+        return get(ImmutableLookupKey.<String>builder()
+                .name("root-ca")
+                .addQualifiers(ggConstants.getRootCaUrl())
+                .type(String.class)
+                .timeToLive(ROOT_CA_TIME_TO_LIVE)
+                .build(), () -> ioHelper.download(ggConstants.getRootCaUrl()));
+    }
+
+    @Override
+    public List<LookupCacheStats> getStats() {
+        return countersByName.entrySet().stream()
+                .map(entry -> ImmutableLookupCacheStats.builder()
+                        .name(entry.getKey())
+                        .hits(entry.getValue().hits.get())
+                        .diskHits(entry.getValue().diskHits.get())
+                        .misses(entry.getValue().misses.get())
+                        .build())
+                .sorted(Comparator.comparing(LookupCacheStats::getName))
+                .collect(Collectors.toList());
+    }
+
+    private static class Counters {
+        private final AtomicLong hits = new AtomicLong();
+        private final AtomicLong diskHits = new AtomicLong();
+        private final AtomicLong misses = new AtomicLong();
+    }
+}
@@ -0,0 +1,174 @@
+package com.awslabs.aws.greengrass.provisioner.implementations.helpers;
+
+import com.awslabs.aws.greengrass.provisioner.data.Phase;
+import com.awslabs.aws.greengrass.provisioner.data.PhaseResults;
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.PhaseGraphHelper;
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.RunReportHelper;
+import io.vavr.Tuple;
+import io.vavr.Tuple2;
+import io.vavr.control.Try;
+import org.gradle.internal.concurrent.ThreadFactoryImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.inject.Inject;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+
+public class BasicPhaseGraphHelper implements PhaseGraphHelper {
+    private final Logger log = LoggerFactory.getLogger(BasicPhaseGraphHelper.class);
+    @Inject
+    RunReportHelper runReportHelper;
+
+    @Inject
+    public BasicPhaseGraphHelper() {
+    }
+
+    @Override
+    public PhaseResults run(List<Phase> phases, int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new RuntimeException(String.join("", "Phase concurrency must be at least 1, [", String.valueOf(maxConcurrency), "] is not valid"));
+        }
+
+        Map<String, Phase> phasesByName = getPhasesByName(phases);
+        Map<String, List<String>> dependentsByName = getDependentsByName(phases);
+
+        // Fail before anything runs if the graph can never complete
+        throwIfCyclic(phasesByName, dependentsByName);
+
+        Map<String, Integer> remainingInputCounts = phases.stream()
+                .collect(Collectors.toMap(Phase::getName, phase -> new HashSet<>(phase.getInputs()).size()));
+
+        PhaseResults phaseResults = new PhaseResults();
+
+        ExecutorService executorService = Executors.newFixedThreadPool(maxConcurrency, new ThreadFactoryImpl(BasicPhaseGraphHelper.class.getSimpleName()));
+        CompletionService<Tuple2<String, Object>> completionService = new ExecutorCompletionService<>(executorService);
+
+        try {
+            int running = 0;
+
+            // Start every phase that has no inputs
+            for (Phase phase : phases) {
+                if (remainingInputCounts.get(phase.getName()) == 0) {
+                    completionService.submit(getCallable(phase, phaseResults));
+                    running++;
+                }
+            }
+
+            while (running > 0) {
+                Tuple2<String, Object> nameAndOutput = getNextCompletedPhase(completionService);
+                running--;
+
+                phaseResults.put(nameAndOutput._1, nameAndOutput._2);
+
+                // Start any phases that were only waiting on this one
+                for (String dependentName : dependentsByName.getOrDefault(nameAndOutput._1, Collections.emptyList())) {
+                    int remainingInputCount = remainingInputCounts.get(dependentName) - 1;
+                    remainingInputCounts.put(dependentName, remainingInputCount);
+
+                    if (remainingInputCount == 0) {
+                        completionService.submit(getCallable(phasesByName.get(dependentName), phaseResults));
+                        running++;
+                    }
+                }
+            }
+        } finally {
+            // Interrupts any phases that are still running if another phase failed
+            executorService.shutdownNow();
+        }
+
+        return phaseResults;
+    }
+
+    private Map<String, Phase> getPhasesByName(List<Phase> phases) {
+        Map<String, Phase> phasesByName = new HashMap<>();
+
+        for (Phase phase : phases) {
+            if (phasesByName.put(phase.getName(), phase) != null) {
+                throw new RuntimeException(String.join("", "Phase [", phase.getName(), "] was defined more than once"));
+            }
+        }
+
+        for (Phase phase : phases) {
+            phase.getInputs().stream()
+                    .filter(input -> !phasesByName.containsKey(input))
+                    .findFirst()
+                    .ifPresent(input -> {
+                        throw new RuntimeException(String.join("", "Phase [", phase.getName(), "] requires the output of phase [", input, "] which does not exist"));
+                    });
+        }
+
+        return phasesByName;
+    }
+
+    private Map<String, List<String>> getDependentsByName(List<Phase> phases) {
+        Map<String, List<String>> dependentsByName = new HashMap<>();
+
+        for (Phase phase : phases) {
+            new HashSet<>(phase.getInputs())
+                    .forEach(input -> dependentsByName.computeIfAbsent(input, key -> new ArrayList<>()).add(phase.getName()));
+        }
+
+        return dependentsByName;
+    }
+
+    private void throwIfCyclic(Map<String, Phase> phasesByName, Map<String, List<String>> dependentsByName) {
+        Map<String, Integer> remainingInputCounts = phasesByName.values().stream()
+                .collect(Collectors.toMap(Phase::getName, phase -> new HashSet<>(phase.getInputs()).size()));
+
+        Deque<String> ready = remainingInputCounts.entrySet().stream()
+                .filter(entry -> entry.getValue() == 0)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toCollection(ArrayDeque::new));
+
+        int visited = 0;
+
+        while (!ready.isEmpty()) {
+            String name = ready.pop();
+            visited++;
+
+            for (String dependentName : dependentsByName.getOrDefault(name, Collections.emptyList())) {
+                if (remainingInputCounts.merge(dependentName, -1, Integer::sum) == 0) {
+                    ready.push(dependentName);
+                }
+            }
+        }
+
+        if (visited != phasesByName.size()) {
+            String cyclicPhases = remainingInputCounts.entrySet().stream()
+                    .filter(entry -> entry.getValue() != 0)
+                    .map(Map.Entry::getKey)
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+
+            throw new RuntimeException(String.join("", "Phases [", cyclicPhases, "] depend on each other and can never run"));
+        }
+    }
+
+    private Callable<Tuple2<String, Object>> getCallable(Phase phase, PhaseResults phaseResults) {
+        // Phases can only see the outputs they declared as inputs
+        PhaseResults inputs = phaseResults.restrictTo(phase.getInputs());
+
+        return () -> Tuple.of(phase.getName(), Try.of(() -> runReportHelper.span(phase.getName(), () -> phase.getTask().apply(inputs)))
+                .onFailure(throwable -> log.error(String.join("", "Phase [", phase.getName(), "] failed [", String.valueOf(throwable.getMessage()), "]")))
+                .get());
+    }
+
+    private Tuple2<String, Object> getNextCompletedPhase(CompletionService<Tuple2<String, Object>> completionService) {
+        try {
+            return completionService.take().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+
+            throw new RuntimeException(cause);
+        }
+    }
+}
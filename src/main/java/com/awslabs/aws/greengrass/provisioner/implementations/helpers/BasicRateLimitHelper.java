@@ -0,0 +1,144 @@
+package com.awslabs.aws.greengrass.provisioner.implementations.helpers;
+
+import com.awslabs.aws.greengrass.provisioner.data.ImmutableRateLimitStats;
+import com.awslabs.aws.greengrass.provisioner.data.RateLimitStats;
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.RateLimitHelper;
+import io.vavr.CheckedConsumer;
+import io.vavr.control.Try;
+
+import javax.inject.Inject;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+public class BasicRateLimitHelper implements RateLimitHelper {
+    private final Map<String, Double> requestsPerSecondByFamily = new ConcurrentHashMap<>();
+    private final Map<String, Limiter> limitersByFamily = new ConcurrentHashMap<>();
+    // Tests replace these so they can control time without really waiting
+    LongSupplier nanoTime = System::nanoTime;
+    CheckedConsumer<Duration> sleeper = duration -> TimeUnit.NANOSECONDS.sleep(duration.toNanos());
+    private volatile Optional<Double> optionalDefaultRequestsPerSecond = Optional.empty();
+
+    @Inject
+    public BasicRateLimitHelper() {
+    }
+
+    @Override
+    public void acquire(String apiFamily) {
+        Optional<Limiter> optionalLimiter = getLimiter(apiFamily);
+
+        if (!optionalLimiter.isPresent()) {
+            return;
+        }
+
+        Limiter limiter = optionalLimiter.get();
+        long waitNanos = limiter.reserve(nanoTime.getAsLong());
+
+        if (waitNanos > 0) {
+            Try.run(() -> sleeper.accept(Duration.ofNanos(waitNanos))).get();
+        }
+    }
+
+    private Optional<Limiter> getLimiter(String apiFamily) {
+        Limiter limiter = limitersByFamily.get(apiFamily);
+
+        if (limiter != null) {
+            return Optional.of(limiter);
+        }
+
+        Optional<Double> optionalRequestsPerSecond = Optional.ofNullable(requestsPerSecondByFamily.get(apiFamily));
+
+        if (!optionalRequestsPerSecond.isPresent()) {
+            optionalRequestsPerSecond = optionalDefaultRequestsPerSecond;
+        }
+
+        return optionalRequestsPerSecond
+                .map(requestsPerSecond -> limitersByFamily.computeIfAbsent(apiFamily, key -> new Limiter(apiFamily, requestsPerSecond, nanoTime.getAsLong())));
+    }
+
+    @Override
+    public void setRequestsPerSecond(String apiFamily, double requestsPerSecond) {
+        throwIfNotPositive(requestsPerSecond);
+
+        requestsPerSecondByFamily.put(apiFamily, requestsPerSecond);
+        // Start over with the new rate the next time the family is used
+        limitersByFamily.remove(apiFamily);
+    }
+
+    @Override
+    public void setDefaultRequestsPerSecond(double requestsPerSecond) {
+        throwIfNotPositive(requestsPerSecond);
+
+        optionalDefaultRequestsPerSecond = Optional.of(requestsPerSecond);
+        // Families with their own limit keep it, every other family starts over with the new default
+        limitersByFamily.keySet().removeIf(apiFamily -> !requestsPerSecondByFamily.containsKey(apiFamily));
+    }
+
+    private void throwIfNotPositive(double requestsPerSecond) {
+        if (requestsPerSecond <= 0) {
+            throw new RuntimeException(String.join("", "Requests per second must be greater than zero [", String.valueOf(requestsPerSecond), "]"));
+        }
+    }
+
+    @Override
+    public List<RateLimitStats> getStats() {
+        return limitersByFamily.values().stream()
+                .map(limiter -> ImmutableRateLimitStats.builder()
+                        .apiFamily(limiter.apiFamily)
+                        .requests(limiter.requests.get())
+                        .delayedRequests(limiter.delayedRequests.get())
+                        .totalWait(Duration.ofNanos(limiter.totalWaitNanos.get()))
+                        .build())
+                .sorted(Comparator.comparing(RateLimitStats::getApiFamily))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Hands out evenly spaced slots, callers reserve the next slot and sleep until it comes up so waiting callers never
+     * hold the lock
+     */
+    private static class Limiter {
+        private final String apiFamily;
+        private final long intervalNanos;
+        private final long burstNanos;
+        private final AtomicLong requests = new AtomicLong();
+        private final AtomicLong delayedRequests = new AtomicLong();
+        private final AtomicLong totalWaitNanos = new AtomicLong();
+        private long nextSlotNanos;
+
+        private Limiter(String apiFamily, double requestsPerSecond, long nowNanos) {
+            this.apiFamily = apiFamily;
+            this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / requestsPerSecond);
+            // At least one slot so the first request after an idle period never waits
+            this.burstNanos = Math.max(TimeUnit.SECONDS.toNanos(1), intervalNanos);
+            this.nextSlotNanos = nowNanos;
+        }
+
+        private long reserve(long nowNanos) {
+            long waitNanos;
+
+            synchronized (this) {
+                // Unused slots from an idle period are kept, up to the burst, so a quiet family can send a few at once
+                nextSlotNanos = Math.max(nextSlotNanos, nowNanos - burstNanos + intervalNanos);
+                waitNanos = Math.max(0, nextSlotNanos - nowNanos);
+                nextSlotNanos += intervalNanos;
+            }
+
+            requests.incrementAndGet();
+
+            if (waitNanos > 0) {
+                delayedRequests.incrementAndGet();
+                totalWaitNanos.addAndGet(waitNanos);
+            }
+
+            return waitNanos;
+        }
+    }
+}
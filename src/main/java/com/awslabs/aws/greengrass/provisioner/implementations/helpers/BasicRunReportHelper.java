@@ -0,0 +1,380 @@
+package com.awslabs.aws.greengrass.provisioner.implementations.helpers;
+
+import com.awslabs.aws.greengrass.provisioner.data.ImmutableRunReport;
+import com.awslabs.aws.greengrass.provisioner.data.ImmutableRunReportSpan;
+import com.awslabs.aws.greengrass.provisioner.data.RunReport;
+import com.awslabs.aws.greengrass.provisioner.data.RunReportSpan;
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.GGConstants;
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.IoHelper;
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.RunReportHelper;
+import com.awslabs.general.helpers.interfaces.JsonHelper;
+import io.vavr.CheckedFunction0;
+import io.vavr.CheckedRunnable;
+import io.vavr.control.Try;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.inject.Inject;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+public class BasicRunReportHelper implements RunReportHelper {
+    private static final int FORMAT_VERSION = 1;
+    private static final String SERVICE_NAME = "aws-greengrass-provisioner";
+    private static final String TRACES_PATH = "/v1/traces";
+    private static final int EXPORT_TIMEOUT_MS = 5000;
+    private static final int SLOWEST_PHASES_TO_LOG = 5;
+    // A warm Lambda container never writes a report, this keeps the spans it records from growing without limit
+    private static final int MAX_SPANS = 10000;
+    // OTLP span kind and status codes
+    private static final int SPAN_KIND_INTERNAL = 1;
+    private static final int STATUS_CODE_OK = 1;
+    private static final int STATUS_CODE_ERROR = 2;
+    private final Logger log = LoggerFactory.getLogger(BasicRunReportHelper.class);
+    private final Instant start = Instant.now();
+    private final long startNanos = System.nanoTime();
+    private final Counters totals = new Counters();
+    private final Queue<RunReportSpan> spans = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger spanCount = new AtomicInteger();
+    // Inheritable so the threads an operation creates for its phases nest their spans under it
+    private final InheritableThreadLocal<Optional<ActiveSpan>> currentSpan = new InheritableThreadLocal<Optional<ActiveSpan>>() {
+        @Override
+        protected Optional<ActiveSpan> initialValue() {
+            return Optional.empty();
+        }
+    };
+    @Inject
+    GGConstants ggConstants;
+    @Inject
+    IoHelper ioHelper;
+    @Inject
+    JsonHelper jsonHelper;
+
+    @Inject
+    public BasicRunReportHelper() {
+    }
+
+    @Override
+    public <T> T span(String name, CheckedFunction0<T> operation) {
+        Optional<ActiveSpan> parentSpan = currentSpan.get();
+        ActiveSpan activeSpan = new ActiveSpan(name, parentSpan);
+        currentSpan.set(Optional.of(activeSpan));
+
+        try {
+            Try<T> result = Try.of(operation);
+
+            finish(activeSpan, result.isFailure() ? Optional.of(String.valueOf(result.getCause().getMessage())) : Optional.empty());
+
+            return result.get();
+        } finally {
+            currentSpan.set(parentSpan);
+        }
+    }
+
+    @Override
+    public void runSpan(String name, CheckedRunnable operation) {
+        span(name, () -> {
+            operation.run();
+            return null;
+        });
+    }
+
+    @Override
+    public void recordApiCall(int attempts, long bytesSent, long bytesReceived) {
+        // Every attempt after the first is an SDK retry
+        int retries = Math.max(0, attempts - 1);
+
+        totals.add(1, retries, bytesSent, bytesReceived);
+        currentSpan.get().ifPresent(activeSpan -> activeSpan.counters.add(1, retries, bytesSent, bytesReceived));
+    }
+
+    @Override
+    public void recordRetries(int retries) {
+        totals.add(0, retries, 0, 0);
+        currentSpan.get().ifPresent(activeSpan -> activeSpan.counters.add(0, retries, 0, 0));
+    }
+
+    private void finish(ActiveSpan activeSpan, Optional<String> error) {
+        if (spanCount.incrementAndGet() > MAX_SPANS) {
+            spans.poll();
+        }
+
+        spans.add(ImmutableRunReportSpan.builder()
+                .traceId(activeSpan.traceId)
+                .spanId(activeSpan.spanId)
+                .parentSpanId(activeSpan.parentSpanId)
+                .name(activeSpan.name)
+                .start(activeSpan.start)
+                .duration(Duration.ofNanos(System.nanoTime() - activeSpan.startNanos))
+                .isSuccessful(!error.isPresent())
+                .error(error)
+                .apiCalls(activeSpan.counters.apiCalls.get())
+                .retries(activeSpan.counters.retries.get())
+                .bytesSent(activeSpan.counters.bytesSent.get())
+                .bytesReceived(activeSpan.counters.bytesReceived.get())
+                .build());
+    }
+
+    @Override
+    public RunReport getReport() {
+        // Spans are stored as they finish, parents finish after their children
+        List<RunReportSpan> sortedSpans = spans.stream()
+                .sorted(Comparator.comparing(RunReportSpan::getStart))
+                .collect(Collectors.toList());
+
+        return ImmutableRunReport.builder()
+                .start(start)
+                .duration(Duration.ofNanos(System.nanoTime() - startNanos))
+                .spans(sortedSpans)
+                .apiCalls(totals.apiCalls.get())
+                .retries(totals.retries.get())
+                .bytesSent(totals.bytesSent.get())
+                .bytesReceived(totals.bytesReceived.get())
+                .build();
+    }
+
+    @Override
+    public String toJson(RunReport runReport) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("formatVersion", FORMAT_VERSION);
+        report.put("start", runReport.getStart().toString());
+        report.put("durationMillis", runReport.getDuration().toMillis());
+        report.put("totals", getCounters(runReport.getApiCalls(), runReport.getRetries(), runReport.getBytesSent(), runReport.getBytesReceived()));
+        report.put("phases", getPhaseSummaries(runReport));
+        report.put("spans", runReport.getSpans().stream()
+                .map(this::toMap)
+                .collect(Collectors.toList()));
+
+        return jsonHelper.toJson(report);
+    }
+
+    private Map<String, Object> getCounters(long apiCalls, long retries, long bytesSent, long bytesReceived) {
+        Map<String, Object> counters = new LinkedHashMap<>();
+        counters.put("apiCalls", apiCalls);
+        counters.put("retries", retries);
+        counters.put("bytesSent", bytesSent);
+        counters.put("bytesReceived", bytesReceived);
+
+        return counters;
+    }
+
+    private Map<String, Object> toMap(RunReportSpan runReportSpan) {
+        Map<String, Object> span = new LinkedHashMap<>();
+        span.put("traceId", runReportSpan.getTraceId());
+        span.put("spanId", runReportSpan.getSpanId());
+        runReportSpan.getParentSpanId().ifPresent(parentSpanId -> span.put("parentSpanId", parentSpanId));
+        span.put("name", runReportSpan.getName());
+        span.put("start", runReportSpan.getStart().toString());
+        span.put("durationMillis", runReportSpan.getDuration().toMillis());
+        span.put("successful", runReportSpan.isSuccessful());
+        runReportSpan.getError().ifPresent(error -> span.put("error", error));
+        span.putAll(getCounters(runReportSpan.getApiCalls(), runReportSpan.getRetries(), runReportSpan.getBytesSent(), runReportSpan.getBytesReceived()));
+
+        return span;
+    }
+
+    // Spans with the same name added together, slowest first, so the phases that dominated the run are at the top
+    private List<Map<String, Object>> getPhaseSummaries(RunReport runReport) {
+        Map<String, List<RunReportSpan>> spansByName = runReport.getSpans().stream()
+                .collect(Collectors.groupingBy(RunReportSpan::getName, LinkedHashMap::new, Collectors.toList()));
+
+        return spansByName.entrySet().stream()
+                .map(entry -> getPhaseSummary(entry.getKey(), entry.getValue()))
+                .sorted(Comparator.comparing((Map<String, Object> phaseSummary) -> (Long) phaseSummary.get("totalMillis")).reversed())
+                .collect(Collectors.toList());
+    }
+
+    private Map<String, Object> getPhaseSummary(String name, List<RunReportSpan> namedSpans) {
+        Map<String, Object> phaseSummary = new LinkedHashMap<>();
+        phaseSummary.put("name", name);
+        phaseSummary.put("count", namedSpans.size());
+        phaseSummary.put("totalMillis", namedSpans.stream().mapToLong(runReportSpan -> runReportSpan.getDuration().toMillis()).sum());
+        phaseSummary.put("maxMillis", namedSpans.stream().mapToLong(runReportSpan -> runReportSpan.getDuration().toMillis()).max().orElse(0));
+        phaseSummary.put("failures", namedSpans.stream().filter(runReportSpan -> !runReportSpan.isSuccessful()).count());
+        phaseSummary.putAll(getCounters(namedSpans.stream().mapToLong(RunReportSpan::getApiCalls).sum(),
+                namedSpans.stream().mapToLong(RunReportSpan::getRetries).sum(),
+                namedSpans.stream().mapToLong(RunReportSpan::getBytesSent).sum(),
+                namedSpans.stream().mapToLong(RunReportSpan::getBytesReceived).sum()));
+
+        return phaseSummary;
+    }
+
+    @Override
+    public String toOtlpJson(RunReport runReport) {
+        Map<String, Object> resource = new LinkedHashMap<>();
+        resource.put("attributes", Collections.singletonList(getAttribute("service.name", "stringValue", SERVICE_NAME)));
+
+        Map<String, Object> scope = new LinkedHashMap<>();
+        scope.put("name", BasicRunReportHelper.class.getPackage().getName());
+
+        Map<String, Object> scopeSpans = new LinkedHashMap<>();
+        scopeSpans.put("scope", scope);
+        scopeSpans.put("spans", runReport.getSpans().stream()
+                .map(this::toOtlpSpan)
+                .collect(Collectors.toList()));
+
+        Map<String, Object> resourceSpans = new LinkedHashMap<>();
+        resourceSpans.put("resource", resource);
+        resourceSpans.put("scopeSpans", Collections.singletonList(scopeSpans));
+
+        Map<String, Object> traces = new LinkedHashMap<>();
+        traces.put("resourceSpans", Collections.singletonList(resourceSpans));
+
+        return jsonHelper.toJson(traces);
+    }
+
+    private Map<String, Object> toOtlpSpan(RunReportSpan runReportSpan) {
+        Instant end = runReportSpan.getStart().plus(runReportSpan.getDuration());
+
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("code", runReportSpan.isSuccessful() ? STATUS_CODE_OK : STATUS_CODE_ERROR);
+        runReportSpan.getError().ifPresent(error -> status.put("message", error));
+
+        Map<String, Object> span = new LinkedHashMap<>();
+        span.put("traceId", runReportSpan.getTraceId());
+        span.put("spanId", runReportSpan.getSpanId());
+        runReportSpan.getParentSpanId().ifPresent(parentSpanId -> span.put("parentSpanId", parentSpanId));
+        span.put("name", runReportSpan.getName());
+        span.put("kind", SPAN_KIND_INTERNAL);
+        // OTLP JSON encodes 64-bit integers as strings
+        span.put("startTimeUnixNano", toUnixNanos(runReportSpan.getStart()));
+        span.put("endTimeUnixNano", toUnixNanos(end));
+        span.put("attributes", Arrays.asList(
+                getAttribute("ggp.api_calls", "intValue", String.valueOf(runReportSpan.getApiCalls())),
+                getAttribute("ggp.retries", "intValue", String.valueOf(runReportSpan.getRetries())),
+                getAttribute("ggp.bytes_sent", "intValue", String.valueOf(runReportSpan.getBytesSent())),
+                getAttribute("ggp.bytes_received", "intValue", String.valueOf(runReportSpan.getBytesReceived()))));
+        span.put("status", status);
+
+        return span;
+    }
+
+    private Map<String, Object> getAttribute(String key, String type, String value) {
+        Map<String, Object> attributeValue = new LinkedHashMap<>();
+        attributeValue.put(type, value);
+
+        Map<String, Object> attribute = new LinkedHashMap<>();
+        attribute.put("key", key);
+        attribute.put("value", attributeValue);
+
+        return attribute;
+    }
+
+    private String toUnixNanos(Instant instant) {
+        return String.valueOf(instant.getEpochSecond() * 1_000_000_000L + instant.getNano());
+    }
+
+    @Override
+    public void writeReport() {
+        if (spans.isEmpty()) {
+            return;
+        }
+
+        RunReport runReport = getReport();
+        String reportFilename = String.join("/", ggConstants.getBuildDirectory(), "run-report.json");
+
+        ioHelper.writeFile(reportFilename, toJson(runReport).getBytes(StandardCharsets.UTF_8));
+
+        log.info(String.join("", "Run report written to [", reportFilename, "], [", String.valueOf(runReport.getApiCalls()),
+                "] API call(s), [", String.valueOf(runReport.getRetries()), "] retries, slowest phases:"));
+
+        getPhaseSummaries(runReport).stream()
+                .limit(SLOWEST_PHASES_TO_LOG)
+                .forEach(phaseSummary -> log.info(String.format("  %-40s %10d ms", phaseSummary.get("name"), (Long) phaseSummary.get("totalMillis"))));
+
+        Optional.ofNullable(System.getenv(OTLP_ENDPOINT_VARIABLE))
+                .filter(endpoint -> !endpoint.isEmpty())
+                .ifPresent(endpoint -> exportSpans(endpoint, runReport));
+    }
+
+    private void exportSpans(String endpoint, RunReport runReport) {
+        String tracesUrl = String.join("", endpoint.replaceAll("/+$", ""), TRACES_PATH);
+
+        // Tracing is optional, a missing collector must never fail the run
+        Try.run(() -> postJson(tracesUrl, toOtlpJson(runReport)))
+                .onSuccess(nothing -> log.info(String.join("", "Sent [", String.valueOf(runReport.getSpans().size()), "] span(s) to [", tracesUrl, "]")))
+                .onFailure(throwable -> log.warn(String.join("", "Could not send the spans to [", tracesUrl, "] [", String.valueOf(throwable.getMessage()), "]")));
+    }
+
+    private void postJson(String url, String json) throws Exception {
+        HttpURLConnection httpURLConnection = (HttpURLConnection) new URL(url).openConnection();
+
+        try {
+            httpURLConnection.setRequestMethod("POST");
+            httpURLConnection.setConnectTimeout(EXPORT_TIMEOUT_MS);
+            httpURLConnection.setReadTimeout(EXPORT_TIMEOUT_MS);
+            httpURLConnection.setRequestProperty("Content-Type", "application/json");
+            httpURLConnection.setDoOutput(true);
+
+            try (OutputStream outputStream = httpURLConnection.getOutputStream()) {
+                outputStream.write(json.getBytes(StandardCharsets.UTF_8));
+            }
+
+            int responseCode = httpURLConnection.getResponseCode();
+
+            if ((responseCode < 200) || (responseCode >= 300)) {
+                throw new RuntimeException(String.join("", "The collector returned HTTP status [", String.valueOf(responseCode), "]"));
+            }
+        } finally {
+            httpURLConnection.disconnect();
+        }
+    }
+
+    private static String randomHex(int longs) {
+        StringBuilder stringBuilder = new StringBuilder();
+
+        for (int loop = 0; loop < longs; loop++) {
+            // All zero IDs are invalid in OpenTelemetry
+            long value;
+
+            do {
+                value = ThreadLocalRandom.current().nextLong();
+            } while (value == 0);
+
+            stringBuilder.append(String.format("%016x", value));
+        }
+
+        return stringBuilder.toString();
+    }
+
+    private static class ActiveSpan {
+        private final String traceId;
+        private final String spanId;
+        private final Optional<String> parentSpanId;
+        private final String name;
+        private final Instant start = Instant.now();
+        private final long startNanos = System.nanoTime();
+        private final Counters counters = new Counters();
+
+        private ActiveSpan(String name, Optional<ActiveSpan> parentSpan) {
+            this.traceId = parentSpan.map(activeSpan -> activeSpan.traceId).orElseGet(() -> randomHex(2));
+            this.spanId = randomHex(1);
+            this.parentSpanId = parentSpan.map(activeSpan -> activeSpan.spanId);
+            this.name = name;
+        }
+    }
+
+    private static class Counters {
+        private final AtomicLong apiCalls = new AtomicLong();
+        private final AtomicLong retries = new AtomicLong();
+        private final AtomicLong bytesSent = new AtomicLong();
+        private final AtomicLong bytesReceived = new AtomicLong();
+
+        private void add(long apiCalls, long retries, long bytesSent, long bytesReceived) {
+            this.apiCalls.addAndGet(apiCalls);
+            this.retries.addAndGet(retries);
+            this.bytesSent.addAndGet(bytesSent);
+            this.bytesReceived.addAndGet(bytesReceived);
+        }
+    }
+}
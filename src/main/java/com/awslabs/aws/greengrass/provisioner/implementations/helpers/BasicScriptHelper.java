@@ -3,10 +3,10 @@ package com.awslabs.aws.greengrass.provisioner.implementations.helpers;
 import com.awslabs.aws.greengrass.provisioner.data.Architecture;
 import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.GGConstants;
 import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.JavaResourceHelper;
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.LookupCacheHelper;
 import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.ScriptHelper;
 import com.awslabs.iot.data.ThingName;
 import com.awslabs.iot.data.V2IotEndpointType;
-import com.awslabs.iot.helpers.interfaces.V2IotHelper;
 import com.google.common.collect.ImmutableMap;
 
 import javax.inject.Inject;
@@ -29,7 +29,7 @@ public class BasicScriptHelper implements ScriptHelper {
     @Inject
     GGConstants ggConstants;
     @Inject
-    V2IotHelper v2IotHelper;
+    LookupCacheHelper lookupCacheHelper;
     @Inject
     JavaResourceHelper javaResourceHelper;
 
@@ -131,7 +131,7 @@ public class BasicScriptHelper implements ScriptHelper {
 
     private void addNormalVariables
             (ImmutableMap.Builder<String, String> variables, Optional<Architecture> architecture) {
-        variables.put("ENDPOINT", v2IotHelper.getEndpoint(V2IotEndpointType.DATA_ATS));
+        variables.put("ENDPOINT", lookupCacheHelper.getIotEndpoint(V2IotEndpointType.DATA_ATS));
         variables.put("START_SCRIPT", getStartScriptName());
         variables.put("STOP_SCRIPT", getStopScriptName());
         variables.put("CLEAN_SCRIPT", getCleanScriptName());
@@ -158,7 +158,7 @@ public class BasicScriptHelper implements ScriptHelper {
         return output;
     }
 
-    private String replaceVariables(ImmutableMap<String, String> variables, String input) {
+    protected String replaceVariables(ImmutableMap<String, String> variables, String input) {
         String output = input;
 
         for (Map.Entry<String, String> entry : variables.entrySet()) {
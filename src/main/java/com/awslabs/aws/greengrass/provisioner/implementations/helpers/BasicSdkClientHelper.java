@@ -0,0 +1,116 @@
+package com.awslabs.aws.greengrass.provisioner.implementations.helpers;
+
+import com.awslabs.aws.greengrass.provisioner.data.ImmutableSdkClientStats;
+import com.awslabs.aws.greengrass.provisioner.data.SdkClientStats;
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.GGConstants;
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.SdkClientHelper;
+import io.vavr.control.Try;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.awscore.client.builder.AwsClientBuilder;
+import software.amazon.awssdk.awscore.client.builder.AwsSyncClientBuilder;
+import software.amazon.awssdk.core.SdkClient;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.http.HttpMetric;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.metrics.MetricCollection;
+import software.amazon.awssdk.metrics.MetricPublisher;
+
+import javax.inject.Inject;
+import java.util.Deque;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class BasicSdkClientHelper implements SdkClientHelper {
+    private final Logger log = LoggerFactory.getLogger(BasicSdkClientHelper.class);
+    // Newest first so closing walks back through them in reverse order
+    private final Deque<SdkClient> clients = new ConcurrentLinkedDeque<>();
+    private final AtomicLong clientsCreated = new AtomicLong();
+    private final AtomicLong apiCalls = new AtomicLong();
+    private final AtomicInteger peakConnectionsInUse = new AtomicInteger();
+    private final MetricPublisher connectionMetricPublisher = new ConnectionMetricPublisher();
+    private Optional<SdkHttpClient> optionalHttpClient = Optional.empty();
+    @Inject
+    GGConstants ggConstants;
+
+    @Inject
+    public BasicSdkClientHelper() {
+    }
+
+    @Override
+    public synchronized SdkHttpClient getHttpClient() {
+        if (!optionalHttpClient.isPresent()) {
+            optionalHttpClient = Optional.of(ApacheHttpClient.builder()
+                    .maxConnections(ggConstants.getSdkMaxConnections())
+                    .connectionTimeToLive(ggConstants.getSdkConnectionTimeToLive())
+                    .connectionTimeout(ggConstants.getSdkConnectionTimeout())
+                    .socketTimeout(ggConstants.getSdkSocketTimeout())
+                    .build());
+        }
+
+        return optionalHttpClient.get();
+    }
+
+    @Override
+    public <B extends AwsSyncClientBuilder<B, C> & AwsClientBuilder<B, C>, C extends SdkClient> C buildClient(B builder) {
+        C client = builder
+                .httpClient(getHttpClient())
+                .overrideConfiguration(ClientOverrideConfiguration.builder()
+                        .addMetricPublisher(connectionMetricPublisher)
+                        .build())
+                .build();
+
+        clients.push(client);
+        clientsCreated.incrementAndGet();
+
+        return client;
+    }
+
+    @Override
+    public SdkClientStats getStats() {
+        return ImmutableSdkClientStats.builder()
+                .clientsCreated(clientsCreated.get())
+                .apiCalls(apiCalls.get())
+                .peakConnectionsInUse(peakConnectionsInUse.get())
+                .build();
+    }
+
+    @Override
+    public synchronized void close() {
+        SdkClient client;
+
+        while ((client = clients.poll()) != null) {
+            String serviceName = client.serviceName();
+
+            Try.run(client::close)
+                    .onFailure(throwable -> log.warn(String.join("", "Failed to close the [", serviceName, "] client [", throwable.getMessage(), "]")));
+        }
+
+        // The SDK doesn't close HTTP clients it was given so this has to happen after all of the clients are gone
+        optionalHttpClient.ifPresent(SdkHttpClient::close);
+        optionalHttpClient = Optional.empty();
+    }
+
+    private class ConnectionMetricPublisher implements MetricPublisher {
+        @Override
+        public void publish(MetricCollection metricCollection) {
+            // Each published collection is one API call, the HTTP metrics are nested under its attempts
+            apiCalls.incrementAndGet();
+            recordConnectionsInUse(metricCollection);
+        }
+
+        private void recordConnectionsInUse(MetricCollection metricCollection) {
+            metricCollection.metricValues(HttpMetric.LEASED_CONCURRENCY)
+                    .forEach(leasedConnections -> peakConnectionsInUse.accumulateAndGet(leasedConnections, Math::max));
+
+            metricCollection.children().forEach(this::recordConnectionsInUse);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
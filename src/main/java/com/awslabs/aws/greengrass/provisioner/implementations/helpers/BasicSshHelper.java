@@ -4,13 +4,23 @@ import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.IoHelper;
 import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.SshHelper;
 import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.ThreadHelper;
 import com.jcraft.jsch.Session;
+import io.vavr.control.Try;
 import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import javax.inject.Inject;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 public class BasicSshHelper implements SshHelper {
+    private final Logger log = LoggerFactory.getLogger(BasicSshHelper.class);
+    // One connected session per user and host, every command to that host opens its channels on it
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    // Connecting can take minutes while a host boots, a lock per host keeps that from blocking other hosts
+    private final Map<String, Object> sessionLocks = new ConcurrentHashMap<>();
     @Inject
     ThreadHelper threadHelper;
     @Inject
@@ -29,6 +39,26 @@ public class BasicSshHelper implements SshHelper {
     @NotNull
     @Override
     public Session getSshSession(String ipAddress, String user, String connectedMessage, String timedOutMessage, String connectionRefusedMessage, String errorMessage, int timeout, TimeUnit timeoutTimeUnit) {
+        String key = String.join("@", user, ipAddress);
+
+        synchronized (sessionLocks.computeIfAbsent(key, value -> new Object())) {
+            Optional<Session> optionalPooledSession = Optional.ofNullable(sessions.get(key))
+                    .filter(this::isHealthy);
+
+            if (optionalPooledSession.isPresent()) {
+                return optionalPooledSession.get();
+            }
+
+            Optional.ofNullable(sessions.remove(key)).ifPresent(this::safeDisconnect);
+
+            Session session = connect(ipAddress, user, connectedMessage, timedOutMessage, connectionRefusedMessage, errorMessage, timeout, timeoutTimeUnit);
+            sessions.put(key, session);
+
+            return session;
+        }
+    }
+
+    private Session connect(String ipAddress, String user, String connectedMessage, String timedOutMessage, String connectionRefusedMessage, String errorMessage, int timeout, TimeUnit timeoutTimeUnit) {
         Optional<Session> optionalSession = threadHelper.timeLimitTask(
                 ioHelper.getSshSessionTask(ipAddress,
                         user,
@@ -44,6 +74,27 @@ public class BasicSshHelper implements SshHelper {
         return optionalSession.get();
     }
 
+    private boolean isHealthy(Session session) {
+        if (!session.isConnected()) {
+            return false;
+        }
+
+        // A write to a dropped connection fails here instead of in the middle of the caller's next command
+        return Try.run(session::sendKeepAliveMsg)
+                .onFailure(throwable -> log.warn(String.join("", "SSH session to [", session.getHost(), "] is no longer usable, reconnecting")))
+                .isSuccess();
+    }
+
+    @Override
+    public void closeSshSessions() {
+        sessions.keySet().forEach(key -> Optional.ofNullable(sessions.remove(key)).ifPresent(this::safeDisconnect));
+    }
+
+    private void safeDisconnect(Session session) {
+        // Don't call get here, we don't care if it fails
+        Try.run(session::disconnect);
+    }
+
     @Override
     public String[] getUserAndHost(String type, String input) {
         String[] strings = input.split("@");
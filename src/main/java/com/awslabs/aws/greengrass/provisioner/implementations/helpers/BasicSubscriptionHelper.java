@@ -1,5 +1,6 @@
 package com.awslabs.aws.greengrass.provisioner.implementations.helpers;
 
+import com.awslabs.aws.greengrass.provisioner.data.TopicFilterTrie;
 import com.awslabs.aws.greengrass.provisioner.data.conf.FunctionConf;
 import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.GGConstants;
 import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.GGVariables;
@@ -57,8 +58,18 @@ public class BasicSubscriptionHelper implements SubscriptionHelper {
         Set<String> outputTopics = outputTopicAndFunctionArnList.keySet();
         Set<String> inputTopics = inputTopicAndFunctionArnList.keySet();
 
+        // Each topic is only split once
+        Map<String, List<String>> topicLevels = new HashMap<>();
+        outputTopics.forEach(outputTopic -> topicLevels.computeIfAbsent(outputTopic, this::getTopicLevels));
+        inputTopics.forEach(inputTopic -> topicLevels.computeIfAbsent(inputTopic, this::getTopicLevels));
+
+        TopicFilterTrie inputTopicFilterTrie = new TopicFilterTrie();
+        inputTopics.forEach(inputTopic -> inputTopicFilterTrie.add(inputTopic, topicLevels.get(inputTopic)));
+
+        // Only the input topics found in the trie are compared to each output topic instead of every input topic
         List<Tuple3<String, String, String>> outputInputTopicMappings = outputTopics.stream()
-                .flatMap(outputTopic -> inputTopics.stream().map(inputTopic -> new Tuple3<>(outputTopic, inputTopic, topicCandidate(outputTopic, inputTopic))))
+                .flatMap(outputTopic -> inputTopicFilterTrie.getCandidates(topicLevels.get(outputTopic)).stream()
+                        .map(inputTopic -> new Tuple3<>(outputTopic, inputTopic, topicCandidate(topicLevels.get(outputTopic), topicLevels.get(inputTopic)))))
                 .filter(tuple3 -> tuple3._3.isPresent())
                 .map(tuple3 -> new Tuple3<>(tuple3._1, tuple3._2, tuple3._3.get()))
                 .collect(Collectors.toList());
@@ -79,9 +90,23 @@ public class BasicSubscriptionHelper implements SubscriptionHelper {
         return subscriptions;
     }
 
+    private List<String> getTopicLevels(String topic) {
+        List<String> levels = Arrays.asList(topic.split("/"));
+
+        for (int loop = 0; loop < levels.size() - 1; loop++) {
+            if (isMultilevelWildcard(levels.get(loop))) {
+                throw new RuntimeException(String.join("", "Invalid topic [", topic, "], multilevel wildcards can only be used at the last topic hierarchy level"));
+            }
+        }
+
+        return levels;
+    }
+
     protected Optional<String> topicCandidate(String topic1, String topic2) {
-        List<String> splitTopic1 = Arrays.asList(topic1.split("/"));
-        List<String> splitTopic2 = Arrays.asList(topic2.split("/"));
+        return topicCandidate(Arrays.asList(topic1.split("/")), Arrays.asList(topic2.split("/")));
+    }
+
+    private Optional<String> topicCandidate(List<String> splitTopic1, List<String> splitTopic2) {
         int splitTopic1Length = splitTopic1.size();
         int splitTopic2Length = splitTopic2.size();
 
@@ -0,0 +1,109 @@
+package com.awslabs.aws.greengrass.provisioner.implementations.helpers;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.function.Consumer;
+
+/**
+ * Turns chunks of bytes into lines. Chunks can end anywhere, including in the middle of a line or of a multi-byte
+ * character, the remainder is kept until the next chunk arrives. Carriage returns are dropped. Not thread safe, use
+ * one decoder per stream.
+ */
+public class LineDecoder {
+    public static final int BUFFER_SIZE = 8192;
+    private final CharsetDecoder charsetDecoder;
+    private final Consumer<String> lineConsumer;
+    private final ByteBuffer pendingBytes = ByteBuffer.allocate(BUFFER_SIZE);
+    private final CharBuffer decodedChars = CharBuffer.allocate(BUFFER_SIZE);
+    private final StringBuilder lineStringBuilder = new StringBuilder();
+
+    public LineDecoder(Charset charset, Consumer<String> lineConsumer) {
+        // Remote commands can print anything, invalid bytes become replacement characters instead of failing the command
+        this.charsetDecoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.lineConsumer = lineConsumer;
+    }
+
+    public void decode(byte[] bytes, int offset, int length) {
+        int position = offset;
+        int end = offset + length;
+
+        while (position < end) {
+            int count = Math.min(end - position, pendingBytes.remaining());
+            pendingBytes.put(bytes, position, count);
+            position += count;
+
+            pendingBytes.flip();
+            decodePendingBytes(false);
+            // Keeps the bytes of a character that was split across chunks
+            pendingBytes.compact();
+        }
+    }
+
+    /**
+     * Decodes anything left over and passes the last line on even if it didn't end with a newline
+     */
+    public void finish() {
+        pendingBytes.flip();
+        decodePendingBytes(true);
+        pendingBytes.clear();
+
+        while (charsetDecoder.flush(decodedChars).isOverflow()) {
+            drainDecodedChars();
+        }
+
+        drainDecodedChars();
+
+        if (lineStringBuilder.length() > 0) {
+            acceptLine();
+        }
+
+        charsetDecoder.reset();
+    }
+
+    private void decodePendingBytes(boolean endOfInput) {
+        CoderResult coderResult;
+
+        do {
+            coderResult = charsetDecoder.decode(pendingBytes, decodedChars, endOfInput);
+            drainDecodedChars();
+        } while (coderResult.isOverflow());
+    }
+
+    private void drainDecodedChars() {
+        decodedChars.flip();
+
+        char[] chars = decodedChars.array();
+        int start = decodedChars.position();
+        int end = decodedChars.limit();
+
+        for (int index = start; index < end; index++) {
+            char character = chars[index];
+
+            if ((character != '\n') && (character != '\r')) {
+                continue;
+            }
+
+            lineStringBuilder.append(chars, start, index - start);
+            start = index + 1;
+
+            if (character == '\n') {
+                acceptLine();
+            }
+        }
+
+        lineStringBuilder.append(chars, start, end - start);
+        decodedChars.clear();
+    }
+
+    private void acceptLine() {
+        String line = lineStringBuilder.toString();
+        lineStringBuilder.setLength(0);
+        lineConsumer.accept(line);
+    }
+}
@@ -0,0 +1,32 @@
+package com.awslabs.aws.greengrass.provisioner.implementations.helpers;
+
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.RateLimitHelper;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+
+import java.util.Optional;
+
+/**
+ * Registered as a global interceptor in software/amazon/awssdk/global/handlers/execution.interceptors so it applies to
+ * every SDK client, including the ones built by the helper libraries. The SDK creates it with reflection so the limiter
+ * can't be injected, it does nothing until an operation installs one.
+ */
+public class RateLimitExecutionInterceptor implements ExecutionInterceptor {
+    private static volatile Optional<RateLimitHelper> optionalRateLimitHelper = Optional.empty();
+
+    public static void install(RateLimitHelper rateLimitHelper) {
+        optionalRateLimitHelper = Optional.of(rateLimitHelper);
+    }
+
+    public static void uninstall() {
+        optionalRateLimitHelper = Optional.empty();
+    }
+
+    @Override
+    public void beforeTransmission(Context.BeforeTransmission context, ExecutionAttributes executionAttributes) {
+        // Once per attempt so SDK retries count against the limit too
+        optionalRateLimitHelper.ifPresent(rateLimitHelper -> rateLimitHelper.acquire(executionAttributes.getAttribute(SdkExecutionAttribute.SERVICE_NAME)));
+    }
+}
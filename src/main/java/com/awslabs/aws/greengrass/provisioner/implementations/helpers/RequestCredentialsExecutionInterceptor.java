@@ -0,0 +1,48 @@
+package com.awslabs.aws.greengrass.provisioner.implementations.helpers;
+
+import io.vavr.CheckedFunction0;
+import io.vavr.control.Try;
+import software.amazon.awssdk.auth.credentials.AwsCredentials;
+import software.amazon.awssdk.auth.signer.AwsSignerExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+
+import java.util.Optional;
+
+/**
+ * Signs the SDK calls made while handling a request with the credentials that came with that request instead of the
+ * credentials the clients were built with, so the clients can be shared by requests with different credentials.
+ * Registered globally like {@link RateLimitExecutionInterceptor}.
+ */
+public class RequestCredentialsExecutionInterceptor implements ExecutionInterceptor {
+    // Inheritable so the phase and builder threads a request starts sign with the same credentials. Every executor
+    // those threads come from is created per call, pooled threads never carry credentials over to another request.
+    private static final InheritableThreadLocal<Optional<AwsCredentials>> requestCredentials = new InheritableThreadLocal<Optional<AwsCredentials>>() {
+        @Override
+        protected Optional<AwsCredentials> initialValue() {
+            return Optional.empty();
+        }
+    };
+
+    public static <T> T callWith(AwsCredentials awsCredentials, CheckedFunction0<T> callable) {
+        Optional<AwsCredentials> previousCredentials = requestCredentials.get();
+        requestCredentials.set(Optional.of(awsCredentials));
+
+        try {
+            return Try.of(callable).get();
+        } finally {
+            requestCredentials.set(previousCredentials);
+        }
+    }
+
+    public static Optional<AwsCredentials> getRequestCredentials() {
+        return requestCredentials.get();
+    }
+
+    @Override
+    public void beforeMarshalling(Context.BeforeMarshalling context, ExecutionAttributes executionAttributes) {
+        // The SDK has already resolved the client's credentials at this point and the request hasn't been signed yet
+        requestCredentials.get().ifPresent(awsCredentials -> executionAttributes.putAttribute(AwsSignerExecutionAttribute.AWS_CREDENTIALS, awsCredentials));
+    }
+}
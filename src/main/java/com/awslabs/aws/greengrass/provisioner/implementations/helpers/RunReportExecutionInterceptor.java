@@ -0,0 +1,89 @@
+package com.awslabs.aws.greengrass.provisioner.implementations.helpers;
+
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.RunReportHelper;
+import io.vavr.control.Try;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.http.SdkHttpHeaders;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts every API call, its attempts, and the bytes sent and received, against the span the call was made in.
+ * Registered globally like {@link RateLimitExecutionInterceptor} so the clients built by the helper libraries are
+ * counted too.
+ */
+public class RunReportExecutionInterceptor implements ExecutionInterceptor {
+    private static final ExecutionAttribute<CallCounters> CALL_COUNTERS = new ExecutionAttribute<>("RunReportCallCounters");
+    private static final String CONTENT_LENGTH = "Content-Length";
+    private static volatile Optional<RunReportHelper> optionalRunReportHelper = Optional.empty();
+
+    public static void install(RunReportHelper runReportHelper) {
+        optionalRunReportHelper = Optional.of(runReportHelper);
+    }
+
+    public static void uninstall() {
+        optionalRunReportHelper = Optional.empty();
+    }
+
+    @Override
+    public void beforeExecution(Context.BeforeExecution context, ExecutionAttributes executionAttributes) {
+        executionAttributes.putAttribute(CALL_COUNTERS, new CallCounters());
+    }
+
+    @Override
+    public void beforeTransmission(Context.BeforeTransmission context, ExecutionAttributes executionAttributes) {
+        // Once per attempt so SDK retries are counted
+        getCallCounters(executionAttributes).ifPresent(callCounters -> {
+            callCounters.attempts.incrementAndGet();
+            callCounters.bytesSent.addAndGet(getContentLength(context.httpRequest()));
+        });
+    }
+
+    @Override
+    public void afterTransmission(Context.AfterTransmission context, ExecutionAttributes executionAttributes) {
+        getCallCounters(executionAttributes).ifPresent(callCounters -> callCounters.bytesReceived.addAndGet(getContentLength(context.httpResponse())));
+    }
+
+    @Override
+    public void afterExecution(Context.AfterExecution context, ExecutionAttributes executionAttributes) {
+        record(executionAttributes);
+    }
+
+    @Override
+    public void onExecutionFailure(Context.FailedExecution context, ExecutionAttributes executionAttributes) {
+        record(executionAttributes);
+    }
+
+    private void record(ExecutionAttributes executionAttributes) {
+        Optional<CallCounters> optionalCallCounters = getCallCounters(executionAttributes);
+
+        if (!optionalCallCounters.isPresent() || !optionalRunReportHelper.isPresent()) {
+            return;
+        }
+
+        CallCounters callCounters = optionalCallCounters.get();
+
+        optionalRunReportHelper.get().recordApiCall(callCounters.attempts.intValue(), callCounters.bytesSent.get(), callCounters.bytesReceived.get());
+    }
+
+    private Optional<CallCounters> getCallCounters(ExecutionAttributes executionAttributes) {
+        return Optional.ofNullable(executionAttributes.getAttribute(CALL_COUNTERS));
+    }
+
+    private long getContentLength(SdkHttpHeaders sdkHttpHeaders) {
+        // Streaming bodies without a length aren't counted
+        return sdkHttpHeaders.firstMatchingHeader(CONTENT_LENGTH)
+                .flatMap(contentLength -> Try.of(() -> Long.parseLong(contentLength)).toJavaOptional())
+                .orElse(0L);
+    }
+
+    private static class CallCounters {
+        private final AtomicLong attempts = new AtomicLong();
+        private final AtomicLong bytesSent = new AtomicLong();
+        private final AtomicLong bytesReceived = new AtomicLong();
+    }
+}
@@ -1,9 +1,13 @@
 package com.awslabs.aws.greengrass.provisioner.interfaces.helpers;
 
 import com.awslabs.aws.greengrass.provisioner.data.VirtualTarEntry;
+import io.vavr.CheckedFunction0;
 
-import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,5 +18,21 @@ public interface ArchiveHelper {
 
     VirtualTarEntry createVirtualTarEntry(String filename, byte[] content, int permissions);
 
-    Optional<ByteArrayOutputStream> tar(Optional<List<VirtualTarEntry>> virtualTarEntryList) throws IOException;
+    VirtualTarEntry createVirtualTarEntry(String filename, File file, int permissions);
+
+    VirtualTarEntry createVirtualTarEntry(String filename, URL url, int permissions);
+
+    VirtualTarEntry createVirtualTarEntry(String filename, long size, CheckedFunction0<InputStream> inputStreamSupplier, int permissions);
+
+    /**
+     * Streams the entries into a tar archive, only one buffer's worth of content is held in memory at a time. The
+     * output stream is not closed so callers can write other data before or after the archive.
+     *
+     * @param virtualTarEntries
+     * @param outputStream
+     * @throws IOException
+     */
+    void tar(List<VirtualTarEntry> virtualTarEntries, OutputStream outputStream) throws IOException;
+
+    byte[] readContent(VirtualTarEntry virtualTarEntry);
 }
@@ -0,0 +1,69 @@
+package com.awslabs.aws.greengrass.provisioner.interfaces.helpers;
+
+import com.awslabs.aws.greengrass.provisioner.data.BackoffPolicy;
+import com.awslabs.aws.greengrass.provisioner.data.BackoffStats;
+import io.vavr.CheckedFunction0;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Predicate;
+
+public interface BackoffHelper {
+    /**
+     * Runs the operation until it returns a result that doesn't need another attempt or throws a failure that doesn't,
+     * waiting with exponential backoff and full jitter between attempts
+     *
+     * @param backoffPolicy
+     * @param operation
+     * @param shouldRetryResult
+     * @param shouldRetryFailure
+     * @param <T>
+     * @return the last result, even if it still needed another attempt when the policy ran out
+     */
+    <T> T execute(BackoffPolicy backoffPolicy, CheckedFunction0<T> operation, Predicate<T> shouldRetryResult, Predicate<Throwable> shouldRetryFailure);
+
+    /**
+     * Retries the operation while it throws failures that match, the last failure is thrown if the policy runs out
+     *
+     * @param backoffPolicy
+     * @param operation
+     * @param shouldRetryFailure
+     * @param <T>
+     * @return
+     */
+    default <T> T retry(BackoffPolicy backoffPolicy, CheckedFunction0<T> operation, Predicate<Throwable> shouldRetryFailure) {
+        return execute(backoffPolicy, operation, result -> false, shouldRetryFailure);
+    }
+
+    /**
+     * Polls the operation until its result is done, failures are thrown immediately
+     *
+     * @param backoffPolicy
+     * @param operation
+     * @param isDone
+     * @param <T>
+     * @return the last result, callers must check it if the policy can run out
+     */
+    default <T> T poll(BackoffPolicy backoffPolicy, CheckedFunction0<T> operation, Predicate<T> isDone) {
+        return execute(backoffPolicy, operation, isDone.negate(), throwable -> false);
+    }
+
+    /**
+     * Waits between iterations of an open ended loop, the wait grows while the loop keeps finding nothing new
+     *
+     * @param backoffPolicy
+     * @param idleIterations the number of iterations in a row that found nothing new
+     */
+    void pause(BackoffPolicy backoffPolicy, int idleIterations);
+
+    /**
+     * Calculates the wait before the next attempt
+     *
+     * @param backoffPolicy
+     * @param retries the number of attempts that have already been retried
+     * @return
+     */
+    Duration getDelay(BackoffPolicy backoffPolicy, int retries);
+
+    List<BackoffStats> getStats();
+}
@@ -0,0 +1,22 @@
+package com.awslabs.aws.greengrass.provisioner.interfaces.helpers;
+
+import com.awslabs.aws.greengrass.provisioner.data.BootstrapResult;
+import com.awslabs.aws.greengrass.provisioner.data.BootstrapTarget;
+
+import java.time.Duration;
+import java.util.List;
+
+public interface BootstrapHelper {
+    /**
+     * Copies each target's bootstrap script to its host, checks that screen is available, and starts the script in a
+     * screen session. Hosts are bootstrapped concurrently, a host that fails or runs out of time doesn't stop the others.
+     *
+     * @param bootstrapTargets
+     * @param maxConcurrentHosts
+     * @param timeoutPerHost     how long a single host can take, starting when its bootstrap starts
+     * @return one result per target in the same order as the targets
+     */
+    List<BootstrapResult> bootstrap(List<BootstrapTarget> bootstrapTargets, int maxConcurrentHosts, Duration timeoutPerHost);
+
+    void logResults(List<BootstrapResult> bootstrapResults);
+}
@@ -0,0 +1,64 @@
+package com.awslabs.aws.greengrass.provisioner.interfaces.helpers;
+
+import com.awslabs.aws.greengrass.provisioner.data.BuildCacheStats;
+import com.awslabs.aws.greengrass.provisioner.data.BuilderType;
+import com.awslabs.aws.greengrass.provisioner.data.Language;
+
+import java.nio.file.Path;
+
+public interface BuildCacheHelper {
+    /**
+     * Hashes everything that goes into a function build: the source tree (minus the build outputs at its top level),
+     * the dependency manifests that live in it, the builder and the version of the tool it runs, and the runtime
+     *
+     * @param builderType
+     * @param language
+     * @param buildDirectory
+     * @param archivePath    the artifact produced by the build, excluded from the hash
+     * @return
+     */
+    String getCacheKey(BuilderType builderType, Language language, Path buildDirectory, Path archivePath);
+
+    /**
+     * Copies a cached artifact to the archive path
+     *
+     * @param cacheKey
+     * @param archivePath
+     * @return true if the artifact was in the cache, false if the function needs to be built
+     */
+    boolean restore(String cacheKey, Path archivePath);
+
+    /**
+     * Adds a freshly built artifact to the cache, evicting the least recently used artifacts if the cache is too large
+     *
+     * @param cacheKey
+     * @param archivePath
+     */
+    void store(String cacheKey, Path archivePath);
+
+    /**
+     * Restores the artifact from the cache or runs the builder and caches its output
+     *
+     * @param builderType
+     * @param language
+     * @param buildDirectory
+     * @param archivePath
+     * @param builder
+     * @return true if the build was skipped
+     */
+    default boolean buildIfNecessary(BuilderType builderType, Language language, Path buildDirectory, Path archivePath, Runnable builder) {
+        String cacheKey = getCacheKey(builderType, language, buildDirectory, archivePath);
+
+        if (restore(cacheKey, archivePath)) {
+            return true;
+        }
+
+        builder.run();
+
+        store(cacheKey, archivePath);
+
+        return false;
+    }
+
+    BuildCacheStats getStats();
+}
@@ -0,0 +1,37 @@
+package com.awslabs.aws.greengrass.provisioner.interfaces.helpers;
+
+import com.awslabs.aws.greengrass.provisioner.data.ConfigCacheStats;
+import com.typesafe.config.Config;
+
+import java.io.File;
+
+public interface ConfigCacheHelper {
+    /**
+     * Parses a HOCON file or returns the tree from the last time it was parsed if the file hasn't changed. Missing
+     * files are empty configs, the same as ConfigFactory.parseFile.
+     *
+     * @param file
+     * @return
+     */
+    Config parseFile(File file);
+
+    /**
+     * Reads a file through the same cache entry as parseFile so callers that need the raw text and the parsed tree only
+     * read the file once
+     *
+     * @param file
+     * @return
+     */
+    String readFile(File file);
+
+    /**
+     * Parses a HOCON string or returns the tree from the last time the same string was parsed. Only a bounded number of
+     * strings are kept, the oldest are dropped first.
+     *
+     * @param config
+     * @return
+     */
+    Config parseString(String config);
+
+    ConfigCacheStats getStats();
+}
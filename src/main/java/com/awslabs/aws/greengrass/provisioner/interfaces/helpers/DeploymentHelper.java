@@ -7,6 +7,7 @@ import com.awslabs.iot.data.GreengrassGroupName;
 import com.awslabs.iot.data.ThingName;
 import software.amazon.awssdk.services.iam.model.Role;
 
+import java.util.Map;
 import java.util.Optional;
 
 public interface DeploymentHelper extends Operation<DeploymentArguments> {
@@ -19,4 +20,12 @@ public interface DeploymentHelper extends Operation<DeploymentArguments> {
     void associateRoleToGroup(Role greengrassRole, GreengrassGroupId greengrassGroupId);
 
     void associateServiceRoleToAccount(Role greengrassServiceRole);
+
+    /**
+     * Deploys the group like execute does but returns the OEM files instead of writing them to disk
+     *
+     * @param deploymentArguments
+     * @return the contents of each OEM file keyed by its path in the OEM archive
+     */
+    Map<String, String> executeAndGetOemFiles(DeploymentArguments deploymentArguments);
 }
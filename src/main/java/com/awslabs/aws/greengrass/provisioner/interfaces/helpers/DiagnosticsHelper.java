@@ -5,9 +5,22 @@ import software.amazon.awssdk.services.cloudwatchlogs.model.LogGroup;
 import software.amazon.awssdk.services.cloudwatchlogs.model.LogStream;
 
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public interface DiagnosticsHelper {
     void runDiagnostics(List<Tuple3<LogGroup, LogStream, String>> logs);
 
+    /**
+     * Checks every line against all of the diagnostic rules in a single pass, recommendations are passed to the consumer
+     * as soon as they are found so the same recommendation can be passed more than once
+     *
+     * @param logGroup
+     * @param logStream
+     * @param lines
+     * @param recommendationConsumer
+     */
+    void runDiagnostics(LogGroup logGroup, LogStream logStream, Stream<String> lines, Consumer<String> recommendationConsumer);
+
     String trimLogGroupName(LogGroup logGroup);
 }
@@ -0,0 +1,28 @@
+package com.awslabs.aws.greengrass.provisioner.interfaces.helpers;
+
+import com.awslabs.aws.greengrass.provisioner.data.FleetGroupResult;
+import com.awslabs.aws.greengrass.provisioner.data.arguments.DeploymentArguments;
+import com.awslabs.aws.greengrass.provisioner.data.arguments.FleetArguments;
+import com.typesafe.config.Config;
+
+import java.util.List;
+
+public interface FleetHelper extends Operation<FleetArguments> {
+    /**
+     * Turns each group in the manifest into the same arguments the deploy operation would get for it. The options shared
+     * by every group come first so each group's own options can override them.
+     *
+     * @param manifest
+     * @return
+     */
+    List<DeploymentArguments> getGroupDeploymentArguments(Config manifest);
+
+    /**
+     * Deploys the groups concurrently, a group that fails doesn't stop the others
+     *
+     * @param groupDeploymentArguments
+     * @param maxConcurrentGroups
+     * @return one result per group in the same order as the arguments
+     */
+    List<FleetGroupResult> deploy(List<DeploymentArguments> groupDeploymentArguments, int maxConcurrentGroups);
+}
@@ -1,5 +1,6 @@
 package com.awslabs.aws.greengrass.provisioner.interfaces.helpers;
 
+import com.awslabs.aws.greengrass.provisioner.data.BuilderType;
 import com.awslabs.aws.greengrass.provisioner.data.conf.DeploymentConf;
 import com.awslabs.aws.greengrass.provisioner.data.conf.FunctionConf;
 import com.typesafe.config.Config;
@@ -34,5 +35,10 @@ public interface FunctionHelper {
 
     Predicate<FunctionConf> getJavaPredicate();
 
-    Map<Function, FunctionConf> buildFunctionsAndGenerateMap(String s3Bucket, String s3Directory, List<FunctionConf> buildableFunctions, Role lambdaRole);
+    /**
+     * Builds the functions that don't have an existing ARN, publishes them to Lambda, and maps them to their configuration
+     *
+     * @param maxConcurrentBuilds overrides GGConstants.getMaxConcurrentBuilds for the builder types it contains
+     */
+    Map<Function, FunctionConf> buildFunctionsAndGenerateMap(String s3Bucket, String s3Directory, List<FunctionConf> buildableFunctions, Role lambdaRole, Map<BuilderType, Integer> maxConcurrentBuilds);
 }
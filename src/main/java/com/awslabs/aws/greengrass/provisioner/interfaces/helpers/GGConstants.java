@@ -1,15 +1,28 @@
 package com.awslabs.aws.greengrass.provisioner.interfaces.helpers;
 
+import com.awslabs.aws.greengrass.provisioner.data.BackoffPolicy;
+import com.awslabs.aws.greengrass.provisioner.data.BuilderType;
+import com.awslabs.aws.greengrass.provisioner.data.ImmutableBackoffPolicy;
 import com.typesafe.config.Config;
 import software.amazon.awssdk.services.greengrass.model.Function;
 
 import java.io.File;
+import java.time.Duration;
 
 public interface GGConstants {
     String CONF_FROM_CLOUD_SUBSCRIPTIONS = "conf.fromCloudSubscriptions";
     String CONF_TO_CLOUD_SUBSCRIPTIONS = "conf.toCloudSubscriptions";
     String CONF_OUTPUT_TOPICS = "conf.outputTopics";
     String CONF_INPUT_TOPICS = "conf.inputTopics";
+    // Shared by everything that reads CloudWatch Logs, they all count against the same GetLogEvents limit
+    BackoffPolicy GET_LOG_EVENTS_BACKOFF_POLICY = ImmutableBackoffPolicy.builder()
+            .name("CloudWatch Logs GetLogEvents")
+            .minimumDelay(Duration.ofMillis(500))
+            .maximumDelay(Duration.ofSeconds(10))
+            .budget(Duration.ofSeconds(30))
+            .retryMessage("Rate exceeded for CloudWatchEvents GetLogEvents. Temporarily backing off.")
+            .exhaustedMessage("Rate exceeded multiple times, giving up")
+            .build();
 
     String getRootCaUrl();
 
@@ -31,6 +44,36 @@ public interface GGConstants {
 
     String getBuildDirectory();
 
+    String getFunctionBuildCacheDirectory();
+
+    long getFunctionBuildCacheMaxBytes();
+
+    String getLookupCacheDirectory();
+
+    int getMaxConcurrentDeploymentPhases();
+
+    int getMaxConcurrentLambdaDeployments();
+
+    int getMaxConcurrentLogStreamPolls();
+
+    int getMaxConcurrentFleetGroups();
+
+    double getFleetRequestsPerSecond();
+
+    int getMaxConcurrentBootstraps();
+
+    int getMaxConcurrentBuilds(BuilderType builderType);
+
+    Duration getBootstrapTimeout();
+
+    int getSdkMaxConnections();
+
+    Duration getSdkConnectionTimeToLive();
+
+    Duration getSdkConnectionTimeout();
+
+    Duration getSdkSocketTimeout();
+
     String getCertsDirectoryPrefix();
 
     String getConfigDirectoryPrefix();
@@ -68,6 +68,10 @@ public interface GreengrassHelper {
 
     void disassociateRoleFromGroup(GreengrassGroupId greengrassGroupId);
 
+    Optional<String> getServiceRoleArnForAccount();
+
+    Optional<String> getAssociatedRoleArn(GreengrassGroupId greengrassGroupId);
+
     Optional<String> createConnectorDefinitionVersion(List<ConnectorConf> connectors);
 
     FunctionIsolationMode getDefaultIsolationMode(GroupInformation groupInformation);
@@ -5,6 +5,7 @@ import com.jcraft.jsch.JSch;
 import com.jcraft.jsch.JSchException;
 import com.jcraft.jsch.Session;
 import com.oblac.nomen.Nomen;
+import io.vavr.CheckedConsumer;
 import io.vavr.control.Either;
 import io.vavr.control.Try;
 import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
@@ -13,15 +14,18 @@ import org.slf4j.Logger;
 
 import java.io.*;
 import java.net.URL;
+import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.Scanner;
 import java.util.UUID;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -82,6 +86,34 @@ public interface IoHelper {
         writeFile(new File(filename), contents);
     }
 
+    default void writeFile(File file, CheckedConsumer<OutputStream> contentWriter) {
+        if ((isRunningInLambda()) && (!file.getAbsolutePath().startsWith(TEMP_DIRECTORY))) {
+            // If we are running in Lambda we can only put files in the temp directory
+            file = new File(TEMP_DIRECTORY + file.getAbsolutePath());
+        }
+
+        final File finalFile = file;
+
+        createDirectoryIfNecessary(file.getParentFile().getPath());
+
+        // Lets large content be streamed to disk instead of being built up in memory first
+        Try.withResources(() -> new BufferedOutputStream(new FileOutputStream(finalFile), 65536))
+                .of(outputStream -> writeFile(outputStream, contentWriter))
+                .get();
+
+        makeWritable(file);
+    }
+
+    default Void writeFile(OutputStream outputStream, CheckedConsumer<OutputStream> contentWriter) throws Throwable {
+        contentWriter.accept(outputStream);
+
+        return null;
+    }
+
+    default void writeFile(String filename, CheckedConsumer<OutputStream> contentWriter) {
+        writeFile(new File(filename), contentWriter);
+    }
+
     default void writeProperties(String filename, Properties properties) {
         writeProperties(new File(filename), properties);
     }
@@ -220,16 +252,6 @@ public interface IoHelper {
         return innerTempFile;
     }
 
-    /**
-     * Sleep and convert InterruptedExceptions to RuntimeExceptions
-     *
-     * @param milliseconds
-     */
-    default void sleep(int milliseconds) {
-        Try.run(() -> Thread.sleep(milliseconds))
-                .get();
-    }
-
     boolean isRunningInDocker();
 
     boolean isRunningInLambda();
@@ -255,10 +277,29 @@ public interface IoHelper {
 
     List<String> runCommand(Session session, String command, Optional<Consumer<String>> optionalStringConsumer) throws JSchException, IOException;
 
+    /**
+     * Starts a command and passes its output to the consumers a line at a time as it arrives. Each stream is read on
+     * its own thread. The future completes with the command's exit status, or -1 if the host didn't send one.
+     */
+    CompletableFuture<Integer> startCommand(Session session, String command, Charset charset, Consumer<String> stdoutConsumer, Consumer<String> stderrConsumer) throws JSchException, IOException;
+
+    /**
+     * Runs independent commands on their own channels of the same session at the same time. The output of each command
+     * is returned in the order the commands were given. There is no ordering between the commands, ones that act on
+     * the same process or file must be run one after the other with runCommand instead.
+     */
+    List<List<String>> runCommands(Session session, List<String> commands) throws JSchException, IOException;
+
     void sendFile(Session session, InputStream inputFileStream, String localFilename, String remoteFilename) throws JSchException, IOException;
 
     void sendFile(Session session, String localFilename, String remoteFilename) throws JSchException, IOException;
 
+    /**
+     * Streams the files from disk over the session one after another, then checks all of their checksums on the host
+     * with a single command. Progress and throughput are logged as the files are sent.
+     */
+    void sendFiles(Session session, Map<String, String> remoteFilenamesByLocalFilename) throws JSchException, IOException;
+
     default void detectMissingConfigs(Logger log, String type, List<Either<FunctionAliasArn, File>> confFilesAndArns) {
         List<File> confFiles = confFilesAndArns.stream()
                 .filter(Either::isRight)
@@ -11,6 +11,8 @@ import software.amazon.awssdk.services.iam.model.Role;
 import software.amazon.awssdk.services.lambda.model.CreateFunctionResponse;
 import software.amazon.awssdk.services.lambda.model.UpdateFunctionConfigurationResponse;
 
+import java.util.List;
+
 public interface LambdaHelper {
     String GGP_FUNCTION_CONF = "GGP_FUNCTION_CONF";
 
@@ -26,6 +28,15 @@ public interface LambdaHelper {
 
     LambdaFunctionArnInfo publishLambdaFunctionVersion(FunctionName functionName);
 
+    /**
+     * Creates or updates, publishes, and aliases each function. Functions are deployed concurrently.
+     *
+     * @param functionConfAndFunctionCodeList
+     * @param role
+     * @return the published version of each function with its alias ARN, in the same order as the input
+     */
+    List<LambdaFunctionArnInfo> deployFunctions(List<FunctionConfAndFunctionCode> functionConfAndFunctionCodeList, Role role);
+
     void deleteAlias(String functionArn);
 
     FunctionAliasArn findFullFunctionArnByPartialName(String substring);
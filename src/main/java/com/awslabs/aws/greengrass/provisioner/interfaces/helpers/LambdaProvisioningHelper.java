@@ -0,0 +1,15 @@
+package com.awslabs.aws.greengrass.provisioner.interfaces.helpers;
+
+import com.awslabs.aws.greengrass.provisioner.data.LambdaProvisioningResult;
+import com.awslabs.aws.greengrass.provisioner.lambda.LambdaInput;
+
+public interface LambdaProvisioningHelper {
+    /**
+     * Creates or updates the group in the request and returns its OEM files. SDK clients and caches are shared by every
+     * request, the credentials in the request are only used for that request. Safe to call from several threads at once.
+     *
+     * @param lambdaInput
+     * @return
+     */
+    LambdaProvisioningResult provision(LambdaInput lambdaInput);
+}
@@ -0,0 +1,23 @@
+package com.awslabs.aws.greengrass.provisioner.interfaces.helpers;
+
+import com.awslabs.aws.greengrass.provisioner.data.LogDownloadResult;
+import io.vavr.Tuple2;
+import software.amazon.awssdk.services.cloudwatchlogs.model.LogGroup;
+import software.amazon.awssdk.services.cloudwatchlogs.model.LogStream;
+
+import java.nio.file.Path;
+import java.util.List;
+
+public interface LogDownloadHelper {
+    /**
+     * Downloads each log stream from the beginning into its own file, page by page, so the size of a log doesn't
+     * matter. Several streams are downloaded at the same time.
+     *
+     * @param logStreams
+     * @param directory
+     * @param compress   gzip the files
+     * @param resume     continue from where the last download of the same file stopped instead of starting over
+     * @return
+     */
+    List<LogDownloadResult> download(List<Tuple2<LogGroup, LogStream>> logStreams, Path directory, boolean compress, boolean resume);
+}
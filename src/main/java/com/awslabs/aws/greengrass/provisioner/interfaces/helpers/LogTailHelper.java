@@ -0,0 +1,23 @@
+package com.awslabs.aws.greengrass.provisioner.interfaces.helpers;
+
+import io.vavr.Tuple2;
+import io.vavr.Tuple3;
+import software.amazon.awssdk.services.cloudwatchlogs.model.LogGroup;
+import software.amazon.awssdk.services.cloudwatchlogs.model.LogStream;
+import software.amazon.awssdk.services.cloudwatchlogs.model.OutputLogEvent;
+
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+public interface LogTailHelper {
+    /**
+     * Follows the log streams from their current end and hands every new event to the consumer. The streams are polled
+     * concurrently and the events from each poll are merged in timestamp order.
+     *
+     * @param logStreams
+     * @param consumer
+     * @param shouldStop checked after every poll, the tail runs until this returns true
+     */
+    void tail(List<Tuple2<LogGroup, LogStream>> logStreams, Consumer<Tuple3<LogGroup, LogStream, OutputLogEvent>> consumer, BooleanSupplier shouldStop);
+}
@@ -6,4 +6,12 @@ public interface LoggingHelper {
     default void logInfoWithName(Logger log, String prefix, String message) {
         log.info(String.join("", "- [", prefix, "] - ", message));
     }
+
+    default void logWarnWithName(Logger log, String prefix, String message) {
+        log.warn(String.join("", "- [", prefix, "] - ", message));
+    }
+
+    default void logErrorWithName(Logger log, String prefix, String message) {
+        log.error(String.join("", "- [", prefix, "] - ", message));
+    }
 }
@@ -0,0 +1,29 @@
+package com.awslabs.aws.greengrass.provisioner.interfaces.helpers;
+
+import com.awslabs.aws.greengrass.provisioner.data.LookupCacheStats;
+import com.awslabs.aws.greengrass.provisioner.data.LookupKey;
+import com.awslabs.iot.data.V2IotEndpointType;
+import io.vavr.CheckedFunction0;
+
+import java.util.List;
+
+public interface LookupCacheHelper {
+    /**
+     * Returns the cached value for the key or runs the lookup. Concurrent callers for the same key share one lookup and
+     * failures are never cached. Only a bounded number of values are kept in memory, the oldest are dropped first.
+     *
+     * @param lookupKey
+     * @param lookup
+     * @param <T>
+     * @return
+     */
+    <T> T get(LookupKey<T> lookupKey, CheckedFunction0<T> lookup);
+
+    String getIotEndpoint(V2IotEndpointType v2IotEndpointType);
+
+    String getAccountId();
+
+    String getRootCa();
+
+    List<LookupCacheStats> getStats();
+}
@@ -0,0 +1,18 @@
+package com.awslabs.aws.greengrass.provisioner.interfaces.helpers;
+
+import com.awslabs.aws.greengrass.provisioner.data.Phase;
+import com.awslabs.aws.greengrass.provisioner.data.PhaseResults;
+
+import java.util.List;
+
+public interface PhaseGraphHelper {
+    /**
+     * Runs a set of phases as soon as their inputs are available, using at most maxConcurrency threads. If any phase
+     * fails the remaining phases are cancelled and the failure is rethrown.
+     *
+     * @param phases
+     * @param maxConcurrency
+     * @return the outputs of all of the phases
+     */
+    PhaseResults run(List<Phase> phases, int maxConcurrency);
+}
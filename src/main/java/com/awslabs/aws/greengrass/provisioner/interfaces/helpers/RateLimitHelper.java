@@ -0,0 +1,31 @@
+package com.awslabs.aws.greengrass.provisioner.interfaces.helpers;
+
+import com.awslabs.aws.greengrass.provisioner.data.RateLimitStats;
+
+import java.util.List;
+
+public interface RateLimitHelper {
+    /**
+     * Blocks until another request to the API family is allowed. Families without a limit never block.
+     *
+     * @param apiFamily the SDK service name, for example Greengrass or Iot
+     */
+    void acquire(String apiFamily);
+
+    /**
+     * Limits one API family, up to one second worth of requests can be sent at once after the family has been idle
+     *
+     * @param apiFamily
+     * @param requestsPerSecond
+     */
+    void setRequestsPerSecond(String apiFamily, double requestsPerSecond);
+
+    /**
+     * The limit for every API family that doesn't have its own
+     *
+     * @param requestsPerSecond
+     */
+    void setDefaultRequestsPerSecond(double requestsPerSecond);
+
+    List<RateLimitStats> getStats();
+}
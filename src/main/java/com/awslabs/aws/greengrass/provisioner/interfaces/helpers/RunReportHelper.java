@@ -0,0 +1,44 @@
+package com.awslabs.aws.greengrass.provisioner.interfaces.helpers;
+
+import com.awslabs.aws.greengrass.provisioner.data.RunReport;
+import io.vavr.CheckedFunction0;
+import io.vavr.CheckedRunnable;
+
+public interface RunReportHelper {
+    String OTLP_ENDPOINT_VARIABLE = "OTEL_EXPORTER_OTLP_ENDPOINT";
+
+    /**
+     * Runs an operation in a span that records its wall time and the API calls, retries, and bytes transferred while
+     * it runs. Spans started by the operation, including on threads it creates, are nested under it.
+     *
+     * @param name
+     * @param operation
+     * @param <T>
+     * @return the result of the operation, failures are recorded and rethrown
+     */
+    <T> T span(String name, CheckedFunction0<T> operation);
+
+    void runSpan(String name, CheckedRunnable operation);
+
+    void recordApiCall(int attempts, long bytesSent, long bytesReceived);
+
+    void recordRetries(int retries);
+
+    RunReport getReport();
+
+    String toJson(RunReport runReport);
+
+    /**
+     * Renders the spans in the OTLP/HTTP JSON format that OpenTelemetry collectors accept on /v1/traces
+     *
+     * @param runReport
+     * @return
+     */
+    String toOtlpJson(RunReport runReport);
+
+    /**
+     * Writes the report to the build directory and, if OTEL_EXPORTER_OTLP_ENDPOINT is set, sends the spans to that
+     * collector. Does nothing if no spans were recorded.
+     */
+    void writeReport();
+}
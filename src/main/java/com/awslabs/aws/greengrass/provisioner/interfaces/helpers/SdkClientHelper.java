@@ -0,0 +1,33 @@
+package com.awslabs.aws.greengrass.provisioner.interfaces.helpers;
+
+import com.awslabs.aws.greengrass.provisioner.data.SdkClientStats;
+import software.amazon.awssdk.awscore.client.builder.AwsClientBuilder;
+import software.amazon.awssdk.awscore.client.builder.AwsSyncClientBuilder;
+import software.amazon.awssdk.core.SdkClient;
+import software.amazon.awssdk.http.SdkHttpClient;
+
+public interface SdkClientHelper {
+    /**
+     * The HTTP client shared by every SDK client this helper builds, connections and TLS sessions are reused across them
+     *
+     * @return
+     */
+    SdkHttpClient getHttpClient();
+
+    /**
+     * Builds a client on the shared HTTP client and keeps track of it so it can be closed when the run is over
+     *
+     * @param builder
+     * @param <B>
+     * @param <C>
+     * @return
+     */
+    <B extends AwsSyncClientBuilder<B, C> & AwsClientBuilder<B, C>, C extends SdkClient> C buildClient(B builder);
+
+    SdkClientStats getStats();
+
+    /**
+     * Closes the clients in the reverse order they were built and then the shared HTTP client
+     */
+    void close();
+}
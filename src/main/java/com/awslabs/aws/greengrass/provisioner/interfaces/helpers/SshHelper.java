@@ -15,5 +15,10 @@ public interface SshHelper {
 
     @NotNull Session getSshSession(String ipAddress, String user, String connectedMessage, String timedOutMessage, String connectionRefusedMessage, String errorMessage, int timeout, TimeUnit timeoutTimeUnit);
 
+    /**
+     * Disconnects the pooled sessions. Sessions returned by getSshSession are shared, callers must not disconnect them.
+     */
+    void closeSshSessions();
+
     String[] getUserAndHost(String type, String input);
 }
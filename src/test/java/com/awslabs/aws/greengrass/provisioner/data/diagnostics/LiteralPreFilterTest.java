@@ -0,0 +1,100 @@
+package com.awslabs.aws.greengrass.provisioner.data.diagnostics;
+
+import com.awslabs.general.helpers.implementations.BasicJsonHelper;
+import io.vavr.Tuple;
+import io.vavr.Tuple3;
+import org.junit.Test;
+import software.amazon.awssdk.services.cloudwatchlogs.model.LogGroup;
+import software.amazon.awssdk.services.cloudwatchlogs.model.LogStream;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class LiteralPreFilterTest {
+    private static DiagnosticRule getRule(String... literals) {
+        return new DiagnosticRule() {
+            @Override
+            public Optional<List<String>> evaluate(Tuple3<LogGroup, LogStream, List<String>> input) {
+                return Optional.empty();
+            }
+
+            @Override
+            public List<String> getLiterals() {
+                return Arrays.asList(literals);
+            }
+        };
+    }
+
+    @Test
+    public void shouldFindOverlappingLiterals() {
+        DiagnosticRule he = getRule("he");
+        DiagnosticRule she = getRule("she");
+        DiagnosticRule hers = getRule("hers");
+        DiagnosticRule his = getRule("his");
+
+        LiteralPreFilter literalPreFilter = new LiteralPreFilter(Arrays.asList(he, she, hers, his));
+
+        // "she" contains "he" as a suffix, "hers" starts inside it
+        assertThat(literalPreFilter.getCandidates("ushers"), containsInAnyOrder(he, she, hers));
+        assertThat(literalPreFilter.getCandidates("this"), contains(his));
+        assertThat(literalPreFilter.getCandidates("hhhhis"), contains(his));
+        assertThat(literalPreFilter.getCandidates("shh"), is(empty()));
+        assertThat(literalPreFilter.getCandidates(""), is(empty()));
+    }
+
+    @Test
+    public void shouldAlwaysIncludeRulesWithoutLiterals() {
+        DiagnosticRule everyLine = getRule();
+        DiagnosticRule error = getRule("ERROR");
+
+        LiteralPreFilter literalPreFilter = new LiteralPreFilter(Arrays.asList(everyLine, error));
+
+        assertThat(literalPreFilter.getCandidates("[INFO] started"), contains(everyLine));
+        assertThat(literalPreFilter.getCandidates("[ERROR] failed"), containsInAnyOrder(everyLine, error));
+    }
+
+    @Test
+    public void shouldNeverSkipALineThatARuleReports() {
+        BasicJsonHelper basicJsonHelper = new BasicJsonHelper();
+
+        FunctionTimedOutDiagnosticRule functionTimedOutDiagnosticRule = new FunctionTimedOutDiagnosticRule();
+        functionTimedOutDiagnosticRule.jsonHelper = basicJsonHelper;
+        FunctionTimingOutDiagnosticRule functionTimingOutDiagnosticRule = new FunctionTimingOutDiagnosticRule();
+        functionTimingOutDiagnosticRule.jsonHelper = basicJsonHelper;
+        MissingRuntimeWithJsonErrorDiagnosticRule1 missingRuntimeWithJsonErrorDiagnosticRule1 = new MissingRuntimeWithJsonErrorDiagnosticRule1();
+        missingRuntimeWithJsonErrorDiagnosticRule1.jsonHelper = basicJsonHelper;
+        MissingRuntimeWithJsonErrorDiagnosticRule2 missingRuntimeWithJsonErrorDiagnosticRule2 = new MissingRuntimeWithJsonErrorDiagnosticRule2();
+        missingRuntimeWithJsonErrorDiagnosticRule2.jsonHelper = basicJsonHelper;
+
+        List<DiagnosticRule> diagnosticRules = Arrays.asList(functionTimedOutDiagnosticRule,
+                functionTimingOutDiagnosticRule,
+                missingRuntimeWithJsonErrorDiagnosticRule1,
+                missingRuntimeWithJsonErrorDiagnosticRule2,
+                new MissingRuntimeWithTextErrorDiagnosticRule1());
+
+        List<String> lines = Arrays.asList(
+                "[INFO]-Get work item. {\"workerId\": \"32b93434\"}",
+                "WorkItem reached max retry limit.     {\"invocationId\": \"6a92c46c\", \"funcArn\": \"arn:aws:lambda:us-east-1:yyy:function:zzz:47\"}",
+                "Timing out work item. {\"invoker\": \"abc\", \"funcArn\": \"arn:aws:lambda:us-east-1:yyy:function:zzz:47\"}",
+                "runtime execution error: unable to start lambda container. {\"errorString\": \"failed to run container sandbox: exec: \\\"python3.7\\\": executable file not found in $PATH\"}",
+                "unable to create worker process for arn:aws:lambda:us-east-1:yyy:function:zzz:47. cannot find executable java8 under any of the provided paths",
+                "[INFO]-Work item finished.");
+
+        LogGroup logGroup = LogGroup.builder().logGroupName(DiagnosticRule.RUNTIME).build();
+        LogStream logStream = LogStream.builder().build();
+        LiteralPreFilter literalPreFilter = new LiteralPreFilter(diagnosticRules);
+
+        for (String line : lines) {
+            Tuple3<LogGroup, LogStream, List<String>> input = Tuple.of(logGroup, logStream, Collections.singletonList(line));
+
+            List<DiagnosticRule> reportingRules = diagnosticRules.stream()
+                    .filter(diagnosticRule -> diagnosticRule.evaluate(input).map(recommendations -> !recommendations.isEmpty()).orElse(false))
+                    .collect(Collectors.toList());
+
+            assertThat(line, literalPreFilter.getCandidates(line), containsInAnyOrder(reportingRules.toArray()));
+        }
+    }
+}
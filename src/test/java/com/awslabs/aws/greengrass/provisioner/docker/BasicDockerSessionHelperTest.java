@@ -0,0 +1,231 @@
+package com.awslabs.aws.greengrass.provisioner.docker;
+
+import com.awslabs.aws.greengrass.provisioner.docker.interfaces.EcrDockerClientProvider;
+import com.google.common.collect.ImmutableList;
+import com.spotify.docker.client.DockerClient;
+import com.spotify.docker.client.EventStream;
+import com.spotify.docker.client.ProgressHandler;
+import com.spotify.docker.client.auth.RegistryAuthSupplier;
+import com.spotify.docker.client.messages.Event;
+import com.spotify.docker.client.messages.Image;
+import org.junit.Before;
+import org.junit.Test;
+import software.amazon.awssdk.services.ecr.EcrClient;
+import software.amazon.awssdk.services.ecr.model.BatchGetImageRequest;
+import software.amazon.awssdk.services.ecr.model.BatchGetImageResponse;
+import software.amazon.awssdk.services.ecr.model.ImageIdentifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class BasicDockerSessionHelperTest {
+    // A host with a lot of images, listing them all is what makes each lookup slow
+    private static final int IMAGES = 500;
+    private static final long LIST_IMAGES_MS = 50;
+    private static final int LOOKUPS = 50;
+    private static final String REPOSITORY = "216483018798.dkr.ecr.us-west-2.amazonaws.com/aws-iot-greengrass";
+    private static final String NAME = String.join(":", REPOSITORY, "1.11.0-amazonlinux-x86-64");
+    private static final String LOCAL_DIGEST = "sha256:1111111111111111111111111111111111111111111111111111111111111111";
+    private static final String OTHER_DIGEST = "sha256:2222222222222222222222222222222222222222222222222222222222222222";
+    private static final Optional<Event> END_OF_STREAM = Optional.empty();
+    private BasicDockerSessionHelper basicDockerSessionHelper;
+    private EcrDockerHelper ecrDockerHelper;
+    private EcrDockerClientProvider ecrDockerClientProvider;
+    private DockerClient dockerClient;
+    private EventStream eventStream;
+    private BlockingQueue<Optional<Event>> events;
+    private AtomicInteger imageListings;
+    private EcrClient ecrClient;
+
+    @Before
+    public void setup() throws Exception {
+        events = new LinkedBlockingQueue<>();
+        imageListings = new AtomicInteger();
+
+        List<Image> images = new ArrayList<>();
+
+        for (int loop = 0; loop < IMAGES; loop++) {
+            images.add(getImage(String.join("", "sha256:", String.valueOf(loop)), String.join(":", "example", String.valueOf(loop)), String.join("@", "example", OTHER_DIGEST)));
+        }
+
+        images.add(getImage("sha256:greengrass", NAME, String.join("@", REPOSITORY, LOCAL_DIGEST)));
+
+        // Stubbed up front, Mockito can't stub from the thread that reads the events
+        AtomicReference<Optional<Event>> nextEvent = new AtomicReference<>();
+        eventStream = mock(EventStream.class);
+        when(eventStream.hasNext()).then(invocation -> {
+            nextEvent.set(events.take());
+            return nextEvent.get().isPresent();
+        });
+        when(eventStream.next()).then(invocation -> nextEvent.get().get());
+        doAnswer(invocation -> events.add(END_OF_STREAM)).when(eventStream).close();
+
+        // A Docker API stub, listing images costs a round trip to the daemon
+        dockerClient = mock(DockerClient.class);
+        when(dockerClient.listImages(any())).then(invocation -> {
+            imageListings.incrementAndGet();
+            Thread.sleep(LIST_IMAGES_MS);
+            return images;
+        });
+        when(dockerClient.events()).thenReturn(eventStream);
+
+        ecrDockerClientProvider = mock(EcrDockerClientProvider.class);
+        when(ecrDockerClientProvider.get()).thenReturn(dockerClient);
+        when(ecrDockerClientProvider.getRegistryAuthSupplier()).thenReturn(mock(RegistryAuthSupplier.class));
+
+        ecrClient = mock(EcrClient.class);
+        setRemoteDigest(LOCAL_DIGEST);
+
+        basicDockerSessionHelper = new BasicDockerSessionHelper();
+
+        ecrDockerHelper = new EcrDockerHelper();
+        ecrDockerHelper.ecrDockerClientProvider = ecrDockerClientProvider;
+        ecrDockerHelper.dockerSessionHelper = basicDockerSessionHelper;
+        ecrDockerHelper.ecrClient = ecrClient;
+        ecrDockerHelper.progressHandler = mock(ProgressHandler.class);
+    }
+
+    private Image getImage(String id, String tag, String digest) {
+        Image image = mock(Image.class);
+        when(image.id()).thenReturn(id);
+        when(image.repoTags()).thenReturn(ImmutableList.of(tag));
+        when(image.repoDigests()).thenReturn(ImmutableList.of(digest));
+
+        return image;
+    }
+
+    private void setRemoteDigest(String digest) {
+        when(ecrClient.batchGetImage(any(BatchGetImageRequest.class))).thenReturn(BatchGetImageResponse.builder()
+                .images(software.amazon.awssdk.services.ecr.model.Image.builder()
+                        .imageId(ImageIdentifier.builder().imageDigest(digest).build())
+                        .build())
+                .build());
+    }
+
+    private Event getEvent(Event.Type type) {
+        Event event = mock(Event.class);
+        when(event.type()).thenReturn(type);
+
+        return event;
+    }
+
+    private long timeLookups(boolean invalidateEachTime) {
+        long startNanos = System.nanoTime();
+
+        for (int loop = 0; loop < LOOKUPS; loop++) {
+            if (invalidateEachTime) {
+                basicDockerSessionHelper.invalidateImages();
+            }
+
+            assertThat(ecrDockerHelper.getImageFromTag(String.join(":", "example", String.valueOf(loop))).isPresent(), is(true));
+        }
+
+        return Duration.ofNanos(System.nanoTime() - startNanos).toMillis();
+    }
+
+    private void waitForImageListings(int expectedListings) throws InterruptedException {
+        // Events are read on another thread, give it a moment to invalidate the listing
+        for (int loop = 0; (loop < 100) && (imageListings.get() < expectedListings); loop++) {
+            Thread.sleep(10);
+            ecrDockerHelper.getImageFromTag(NAME);
+        }
+    }
+
+    @Test
+    public void shouldListImagesOnceForManyLookups() {
+        // Every lookup listing every image, like before the listings were cached
+        long uncachedMillis = timeLookups(true);
+
+        assertThat(imageListings.get(), is(LOOKUPS));
+
+        imageListings.set(0);
+        long cachedMillis = timeLookups(false);
+
+        assertThat(imageListings.get(), is(0));
+        assertThat(cachedMillis, lessThan(uncachedMillis / 4));
+    }
+
+    @Test
+    public void shouldListImagesAgainAfterAnImageEvent() throws Exception {
+        ecrDockerHelper.getImageFromTag(NAME);
+        ecrDockerHelper.getImageFromTag(NAME);
+
+        assertThat(imageListings.get(), is(1));
+
+        events.add(Optional.of(getEvent(Event.Type.IMAGE)));
+        waitForImageListings(2);
+
+        assertThat(imageListings.get(), is(2));
+    }
+
+    @Test
+    public void shouldStopCachingWhenTheEventStreamEnds() throws Exception {
+        ecrDockerHelper.getImageFromTag(NAME);
+
+        events.add(END_OF_STREAM);
+        waitForImageListings(2);
+
+        // Without events there is no way to tell when a listing goes stale
+        ecrDockerHelper.getImageFromTag(NAME);
+        ecrDockerHelper.getImageFromTag(NAME);
+
+        assertThat(imageListings.get(), greaterThanOrEqualTo(4));
+    }
+
+    @Test
+    public void shouldSkipThePullWhenTheLocalDigestMatches() throws Exception {
+        ecrDockerHelper.pullImage(NAME);
+
+        verify(dockerClient, never()).pull(anyString(), any(), any(ProgressHandler.class));
+
+        setRemoteDigest(OTHER_DIGEST);
+        ecrDockerHelper.pullImage(NAME);
+
+        verify(dockerClient).pull(anyString(), any(), any(ProgressHandler.class));
+
+        // The pull changed the local images
+        ecrDockerHelper.getImageFromTag(NAME);
+
+        assertThat(imageListings.get(), is(2));
+    }
+
+    @Test
+    public void shouldPullWhenTheRemoteDigestIsUnavailable() throws Exception {
+        when(ecrClient.batchGetImage(any(BatchGetImageRequest.class))).thenThrow(new RuntimeException("Access denied"));
+
+        ecrDockerHelper.pullImage(NAME);
+
+        verify(dockerClient).pull(anyString(), any(), any(ProgressHandler.class));
+    }
+
+    @Test
+    public void shouldShareOneClientUntilClosed() {
+        assertThat(basicDockerSessionHelper.getDockerClient(ecrDockerClientProvider), is(sameInstance(dockerClient)));
+        ecrDockerHelper.getImageFromTag(NAME);
+        ecrDockerHelper.dumpImagesInfo();
+
+        verify(ecrDockerClientProvider, times(1)).get();
+        verify(dockerClient, never()).close();
+
+        basicDockerSessionHelper.closeDockerClients();
+
+        verify(eventStream).close();
+        verify(dockerClient).close();
+
+        // A closed session opens a new client on the next request
+        basicDockerSessionHelper.getDockerClient(ecrDockerClientProvider);
+        verify(ecrDockerClientProvider, times(2)).get();
+    }
+}
@@ -0,0 +1,72 @@
+package com.awslabs.aws.greengrass.provisioner.implementations.helpers;
+
+import com.awslabs.aws.greengrass.provisioner.data.VirtualTarEntry;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
+
+/**
+ * Runs in the heapBoundTest task with a 256 MB heap, archiving a larger Greengrass binary would fail if it were read
+ * into memory
+ */
+public class BasicArchiveHelperHeapBoundTest {
+    private static final int NORMAL_FILE_PERMISSIONS = 0644;
+    private static final long GREENGRASS_BINARY_SIZE = 512L * 1024 * 1024;
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File createFile(String filename, long size) throws IOException {
+        File file = temporaryFolder.newFile(filename);
+
+        // Sparse, creating it doesn't take the time or the disk space of writing it
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+            randomAccessFile.setLength(size);
+        }
+
+        return file;
+    }
+
+    @Test
+    public void shouldStreamOemArchiveWithGreengrassBinaryLargerThanTheHeap() throws IOException {
+        File greengrassBinary = createFile("greengrass-linux-x86-64.tar.gz", GREENGRASS_BINARY_SIZE);
+        BasicArchiveHelper basicArchiveHelper = new BasicArchiveHelper();
+
+        // The binary is added from a file: URL like BasicDeploymentHelper does with the architecture's resource URL
+        List<VirtualTarEntry> oemVirtualTarEntries = new ArrayList<>();
+        basicArchiveHelper.addVirtualTarEntry(oemVirtualTarEntries, "certs/core.crt", "certificate".getBytes(), NORMAL_FILE_PERMISSIONS);
+        basicArchiveHelper.addVirtualTarEntry(oemVirtualTarEntries, "config/config.json", "{}".getBytes(), NORMAL_FILE_PERMISSIONS);
+        oemVirtualTarEntries.add(basicArchiveHelper.createVirtualTarEntry(greengrassBinary.getName(), greengrassBinary.toURI().toURL(), NORMAL_FILE_PERMISSIONS));
+
+        CountingOutputStream countingOutputStream = new CountingOutputStream();
+        basicArchiveHelper.tar(oemVirtualTarEntries, countingOutputStream);
+
+        // The binary plus three headers, the padding, and the end of archive blocks
+        assertThat(countingOutputStream.count, greaterThan(GREENGRASS_BINARY_SIZE));
+        assertThat(countingOutputStream.count, lessThan(GREENGRASS_BINARY_SIZE + 16 * 1024));
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.awslabs.aws.greengrass.provisioner.implementations.helpers;
+
+import com.awslabs.aws.greengrass.provisioner.data.VirtualTarEntry;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.kamranzafar.jtar.TarEntry;
+import org.kamranzafar.jtar.TarInputStream;
+
+import java.io.*;
+import java.net.URL;
+import java.net.URLConnection;
+import java.net.URLStreamHandler;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class BasicArchiveHelperTest {
+    private static final int NORMAL_FILE_PERMISSIONS = 0644;
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+    private BasicArchiveHelper basicArchiveHelper;
+
+    @Before
+    public void setup() {
+        basicArchiveHelper = new BasicArchiveHelper();
+        basicArchiveHelper.ioHelper = new BasicIoHelper();
+    }
+
+    @Test
+    public void shouldCloseTheResourceAfterGettingItsSize() throws IOException {
+        AtomicBoolean closed = new AtomicBoolean(false);
+        URL url = getUrl("greengrass-linux-x86-64.tar.gz", "abc".getBytes(), 3, closed);
+
+        VirtualTarEntry virtualTarEntry = basicArchiveHelper.createVirtualTarEntry("greengrass-linux-x86-64.tar.gz", url, NORMAL_FILE_PERMISSIONS);
+
+        assertThat(virtualTarEntry.getSize(), is(3L));
+        assertThat(closed.get(), is(true));
+    }
+
+    @Test
+    public void shouldFailWithTheFilenameWhenTheSizeIsUnknown() throws IOException {
+        AtomicBoolean closed = new AtomicBoolean(false);
+        URL url = getUrl("greengrass-linux-x86-64.tar.gz", "abc".getBytes(), -1, closed);
+
+        try {
+            basicArchiveHelper.createVirtualTarEntry("greengrass-linux-x86-64.tar.gz", url, NORMAL_FILE_PERMISSIONS);
+            Assert.fail("Expected the unknown size to be rejected");
+        } catch (RuntimeException e) {
+            assertThat(e.getMessage(), containsString("greengrass-linux-x86-64.tar.gz"));
+        }
+
+        assertThat(closed.get(), is(true));
+    }
+
+    @Test
+    public void shouldArchiveFileUrls() throws IOException {
+        File greengrassBinary = temporaryFolder.newFile("greengrass-linux-x86-64.tar.gz");
+        Files.write(greengrassBinary.toPath(), "binary".getBytes());
+
+        List<VirtualTarEntry> virtualTarEntries = new ArrayList<>();
+        virtualTarEntries.add(basicArchiveHelper.createVirtualTarEntry(greengrassBinary.getName(), greengrassBinary.toURI().toURL(), NORMAL_FILE_PERMISSIONS));
+
+        File archive = new File(temporaryFolder.getRoot(), "oem.tar");
+
+        try (OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(archive))) {
+            basicArchiveHelper.tar(virtualTarEntries, outputStream);
+        }
+
+        assertThat(readEntrySizes(archive).get(greengrassBinary.getName()), is((long) "binary".length()));
+    }
+
+    @Test
+    public void shouldNotCloseTheCallersStream() throws IOException {
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        byteArrayOutputStream.write("PAYLOAD:\n".getBytes());
+
+        List<VirtualTarEntry> virtualTarEntries = new ArrayList<>();
+        basicArchiveHelper.addVirtualTarEntry(virtualTarEntries, "a.txt", "a".getBytes(), NORMAL_FILE_PERMISSIONS);
+
+        basicArchiveHelper.tar(virtualTarEntries, byteArrayOutputStream);
+
+        // Still writable, callers decide when their stream is done
+        byteArrayOutputStream.write('x');
+
+        assertThat(new String(byteArrayOutputStream.toByteArray(), 0, 9), is("PAYLOAD:\n"));
+    }
+
+    @Test
+    public void shouldReadEntriesAgainAfterTheyHaveBeenArchived() throws IOException {
+        List<VirtualTarEntry> virtualTarEntries = new ArrayList<>();
+        basicArchiveHelper.addVirtualTarEntry(virtualTarEntries, "config/config.json", "{}".getBytes(), NORMAL_FILE_PERMISSIONS);
+
+        basicArchiveHelper.tar(virtualTarEntries, new ByteArrayOutputStream());
+
+        assertThat(new String(basicArchiveHelper.readContent(virtualTarEntries.get(0))), is("{}"));
+    }
+
+    @Test
+    public void shouldFailIfContentDoesNotMatchTheDeclaredSize() throws IOException {
+        List<VirtualTarEntry> virtualTarEntries = new ArrayList<>();
+        virtualTarEntries.add(basicArchiveHelper.createVirtualTarEntry("short.txt", 10, () -> new ByteArrayInputStream("abc".getBytes()), NORMAL_FILE_PERMISSIONS));
+
+        try {
+            basicArchiveHelper.tar(virtualTarEntries, new ByteArrayOutputStream());
+            Assert.fail("Expected the size mismatch to be detected");
+        } catch (RuntimeException e) {
+            assertThat(e.getMessage(), containsString("short.txt"));
+        }
+    }
+
+    private Map<String, Long> readEntrySizes(File archive) throws IOException {
+        Map<String, Long> entrySizes = new HashMap<>();
+
+        try (TarInputStream tarInputStream = new TarInputStream(new BufferedInputStream(new FileInputStream(archive)))) {
+            TarEntry tarEntry;
+
+            while ((tarEntry = tarInputStream.getNextEntry()) != null) {
+                entrySizes.put(tarEntry.getName(), tarEntry.getSize());
+            }
+        }
+
+        return entrySizes;
+    }
+
+    // A resource that reports the given length and records whether the stream it handed out was closed
+    private URL getUrl(String filename, byte[] content, long contentLength, AtomicBoolean closed) throws IOException {
+        return new URL(null, String.join("", "test:", filename), new URLStreamHandler() {
+            @Override
+            protected URLConnection openConnection(URL url) {
+                return new URLConnection(url) {
+                    @Override
+                    public void connect() {
+                    }
+
+                    @Override
+                    public long getContentLengthLong() {
+                        return contentLength;
+                    }
+
+                    @Override
+                    public InputStream getInputStream() {
+                        return new ByteArrayInputStream(content) {
+                            @Override
+                            public void close() {
+                                closed.set(true);
+                            }
+                        };
+                    }
+                };
+            }
+        });
+    }
+}
@@ -0,0 +1,202 @@
+package com.awslabs.aws.greengrass.provisioner.implementations.helpers;
+
+import com.awslabs.aws.greengrass.provisioner.data.BackoffPolicy;
+import com.awslabs.aws.greengrass.provisioner.data.BackoffStats;
+import com.awslabs.aws.greengrass.provisioner.data.ImmutableBackoffPolicy;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class BasicBackoffHelperTest {
+    // Every call to the stubbed service takes this long on the fake clock
+    private static final Duration CALL_DURATION = Duration.ofMillis(50);
+    private static final BackoffPolicy BACKOFF_POLICY = ImmutableBackoffPolicy.builder()
+            .name("backoff")
+            .minimumDelay(Duration.ofMillis(250))
+            .maximumDelay(Duration.ofSeconds(5))
+            .budget(Duration.ofMinutes(2))
+            .build();
+    // What the provisioner used to do, wait the same amount of time between every attempt
+    private static final BackoffPolicy FIXED_POLICY = ImmutableBackoffPolicy.builder()
+            .name("fixed")
+            .minimumDelay(Duration.ofSeconds(5))
+            .maximumDelay(Duration.ofSeconds(5))
+            .multiplier(1.0)
+            .budget(Duration.ofMinutes(2))
+            .build();
+    private BasicBackoffHelper basicBackoffHelper;
+    private FakeClock fakeClock;
+    private List<Duration> sleeps;
+
+    @Before
+    public void setup() {
+        fakeClock = new FakeClock();
+        sleeps = new ArrayList<>();
+
+        basicBackoffHelper = new BasicBackoffHelper();
+        basicBackoffHelper.runReportHelper = new BasicRunReportHelper();
+        basicBackoffHelper.clock = fakeClock;
+        basicBackoffHelper.sleeper = duration -> {
+            sleeps.add(duration);
+            fakeClock.advance(duration);
+        };
+        basicBackoffHelper.jitter = new Random(0)::nextDouble;
+    }
+
+    private boolean isReady(Instant readyAt) {
+        boolean ready = !fakeClock.instant().isBefore(readyAt);
+        fakeClock.advance(CALL_DURATION);
+
+        return ready;
+    }
+
+    private Duration waitUntilReady(BackoffPolicy backoffPolicy, Duration readyAfter) {
+        sleeps.clear();
+
+        Instant readyAt = fakeClock.instant().plus(readyAfter);
+
+        boolean ready = basicBackoffHelper.poll(backoffPolicy, () -> isReady(readyAt), done -> done);
+
+        assertThat(ready, is(true));
+
+        return sleeps.stream().reduce(Duration.ZERO, Duration::plus);
+    }
+
+    @Test
+    public void shouldWaitLessForOperationsThatFinishEarly() {
+        for (long readyAfterMillis : new long[]{100, 300, 1000, 2000}) {
+            Duration readyAfter = Duration.ofMillis(readyAfterMillis);
+
+            Duration fixedWait = waitUntilReady(FIXED_POLICY, readyAfter);
+            Duration backoffWait = waitUntilReady(BACKOFF_POLICY, readyAfter);
+
+            assertThat(fixedWait, is(Duration.ofSeconds(5)));
+            assertThat(backoffWait, lessThan(fixedWait));
+            // Never checks again later than the longest single wait after the operation finished
+            assertThat(backoffWait, lessThanOrEqualTo(readyAfter.plus(BACKOFF_POLICY.getMaximumDelay())));
+        }
+    }
+
+    @Test
+    public void shouldUseTheMinimumDelayForTheFirstPoll() {
+        Duration backoffWait = waitUntilReady(BACKOFF_POLICY, Duration.ofMillis(1));
+
+        assertThat(sleeps.size(), is(1));
+        assertThat(backoffWait, is(BACKOFF_POLICY.getMinimumDelay()));
+    }
+
+    @Test
+    public void shouldGrowDelaysUpToTheMaximumWithFullJitter() {
+        basicBackoffHelper.jitter = () -> 1.0;
+
+        assertThat(basicBackoffHelper.getDelay(BACKOFF_POLICY, 0), is(Duration.ofMillis(250)));
+        assertThat(basicBackoffHelper.getDelay(BACKOFF_POLICY, 1), is(Duration.ofMillis(500)));
+        assertThat(basicBackoffHelper.getDelay(BACKOFF_POLICY, 2), is(Duration.ofMillis(1000)));
+        assertThat(basicBackoffHelper.getDelay(BACKOFF_POLICY, 10), is(Duration.ofSeconds(5)));
+        assertThat(basicBackoffHelper.getDelay(BACKOFF_POLICY, 1000), is(Duration.ofSeconds(5)));
+
+        basicBackoffHelper.jitter = () -> 0.0;
+
+        // The jitter never goes below the minimum so callers can't hammer the service
+        assertThat(basicBackoffHelper.getDelay(BACKOFF_POLICY, 10), is(Duration.ofMillis(250)));
+    }
+
+    @Test
+    public void shouldStopAtTheBudgetAndReturnTheLastResult() {
+        boolean ready = basicBackoffHelper.poll(BACKOFF_POLICY, () -> isReady(Instant.MAX), done -> done);
+
+        assertThat(ready, is(false));
+        assertThat(Duration.between(Instant.EPOCH, fakeClock.instant()), lessThanOrEqualTo(BACKOFF_POLICY.getBudget().plus(CALL_DURATION)));
+
+        BackoffStats backoffStats = basicBackoffHelper.getStats().get(0);
+
+        assertThat(backoffStats.getName(), is("backoff"));
+        assertThat(backoffStats.getOperations(), is(1L));
+        assertThat(backoffStats.getExhausted(), is(1L));
+        assertThat(backoffStats.getAttempts(), is((long) sleeps.size() + 1));
+    }
+
+    @Test
+    public void shouldRethrowTheLastFailureWhenTheAttemptsRunOut() {
+        BackoffPolicy threeAttemptPolicy = ImmutableBackoffPolicy.builder()
+                .from(BACKOFF_POLICY)
+                .maxAttempts(3)
+                .build();
+
+        AtomicInteger attempts = new AtomicInteger();
+
+        try {
+            basicBackoffHelper.retry(threeAttemptPolicy, () -> {
+                throw new RuntimeException(String.join("", "Rate exceeded ", String.valueOf(attempts.incrementAndGet())));
+            }, throwable -> throwable.getMessage().contains("Rate exceeded"));
+            Assert.fail("Expected the last failure to be thrown");
+        } catch (RuntimeException e) {
+            assertThat(e.getMessage(), is("Rate exceeded 3"));
+        }
+
+        assertThat(sleeps.size(), is(2));
+    }
+
+    @Test
+    public void shouldNotWaitForFailuresThatCanNotBeRetried() {
+        try {
+            basicBackoffHelper.retry(BACKOFF_POLICY, () -> {
+                throw new IllegalStateException("Access denied");
+            }, throwable -> throwable.getMessage().contains("Rate exceeded"));
+            Assert.fail("Expected the failure to be thrown");
+        } catch (IllegalStateException e) {
+            assertThat(e.getMessage(), is("Access denied"));
+        }
+
+        assertThat(sleeps, is(empty()));
+    }
+
+    @Test
+    public void shouldRecordHowLongEachOperationWaited() {
+        waitUntilReady(BACKOFF_POLICY, Duration.ofMillis(100));
+        Duration longerWait = waitUntilReady(BACKOFF_POLICY, Duration.ofSeconds(3));
+
+        BackoffStats backoffStats = basicBackoffHelper.getStats().get(0);
+
+        assertThat(backoffStats.getOperations(), is(2L));
+        assertThat(backoffStats.getLongestWait(), is(longerWait));
+        assertThat(backoffStats.getTotalWait(), is(longerWait.plus(BACKOFF_POLICY.getMinimumDelay())));
+        assertThat(backoffStats.getExhausted(), is(0L));
+    }
+
+    private static class FakeClock extends Clock {
+        private Instant now = Instant.EPOCH;
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
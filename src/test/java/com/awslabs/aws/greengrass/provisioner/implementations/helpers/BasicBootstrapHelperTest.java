@@ -0,0 +1,181 @@
+package com.awslabs.aws.greengrass.provisioner.implementations.helpers;
+
+import com.awslabs.aws.greengrass.provisioner.data.BootstrapResult;
+import com.awslabs.aws.greengrass.provisioner.data.BootstrapTarget;
+import com.awslabs.aws.greengrass.provisioner.data.ImmutableBootstrapTarget;
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.IoHelper;
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.RunReportHelper;
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.SshHelper;
+import com.jcraft.jsch.Session;
+import io.vavr.CheckedRunnable;
+import io.vavr.control.Try;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class BasicBootstrapHelperTest {
+    private static final int HOSTS = 8;
+    // Roughly what copying the script and the SSH round trips cost on a LAN
+    private static final long UPLOAD_MS = 100;
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+    private BasicBootstrapHelper basicBootstrapHelper;
+    private Map<String, Session> sessionsByHost;
+    private Set<String> hangingHosts;
+    private Set<String> hostsWithoutScreen;
+    private AtomicInteger activeUploads;
+    private AtomicInteger maxActiveUploads;
+
+    @Before
+    public void setup() throws Exception {
+        sessionsByHost = new HashMap<>();
+        hangingHosts = ConcurrentHashMap.newKeySet();
+        hostsWithoutScreen = ConcurrentHashMap.newKeySet();
+        activeUploads = new AtomicInteger();
+        maxActiveUploads = new AtomicInteger();
+
+        // Stubbed up front, Mockito can't stub from the threads that bootstrap the hosts
+        for (int loop = 0; loop < HOSTS; loop++) {
+            String host = getHost(loop);
+            Session session = mock(Session.class);
+            when(session.getHost()).thenReturn(host);
+            sessionsByHost.put(host, session);
+        }
+
+        SshHelper sshHelper = mock(SshHelper.class);
+        when(sshHelper.getSshSession(anyString(), anyString())).then(invocation -> sessionsByHost.get(invocation.<String>getArgument(0)));
+
+        // A local stand in for each host, the upload is where the time goes
+        IoHelper ioHelper = mock(IoHelper.class);
+        doAnswer(invocation -> {
+            Session session = invocation.getArgument(0);
+            maxActiveUploads.accumulateAndGet(activeUploads.incrementAndGet(), Math::max);
+
+            try {
+                Thread.sleep(hangingHosts.contains(session.getHost()) ? Long.MAX_VALUE : UPLOAD_MS);
+            } finally {
+                activeUploads.decrementAndGet();
+            }
+
+            return null;
+        }).when(ioHelper).sendFile(any(Session.class), anyString(), anyString());
+        when(ioHelper.runCommands(any(Session.class), any())).then(invocation -> {
+            Session session = invocation.getArgument(0);
+            String version = hostsWithoutScreen.contains(session.getHost()) ? "bash: screen: command not found" : "Screen version 4.06.02 (GNU) 23-Oct-17";
+
+            return Arrays.asList(Collections.singletonList(version), Collections.singletonList("No screen session found."));
+        });
+
+        RunReportHelper runReportHelper = mock(RunReportHelper.class);
+        doAnswer(invocation -> {
+            invocation.<CheckedRunnable>getArgument(1).run();
+            return null;
+        }).when(runReportHelper).runSpan(anyString(), any());
+
+        basicBootstrapHelper = new BasicBootstrapHelper();
+        basicBootstrapHelper.sshHelper = sshHelper;
+        basicBootstrapHelper.ioHelper = ioHelper;
+        basicBootstrapHelper.runReportHelper = runReportHelper;
+    }
+
+    private String getHost(int index) {
+        return String.join(".", "192", "168", "1", String.valueOf(10 + index));
+    }
+
+    private List<BootstrapTarget> getTargets(int count) {
+        List<BootstrapTarget> bootstrapTargets = new ArrayList<>();
+
+        for (int loop = 0; loop < count; loop++) {
+            bootstrapTargets.add(ImmutableBootstrapTarget.builder()
+                    .groupName(String.join("-", "group", String.valueOf(loop)))
+                    .host(getHost(loop))
+                    .user("pi")
+                    .build());
+        }
+
+        return bootstrapTargets;
+    }
+
+    @Test
+    public void shouldBootstrapHostsConcurrentlyUpToTheFanOut() {
+        long startNanos = System.nanoTime();
+
+        List<BootstrapResult> bootstrapResults = basicBootstrapHelper.bootstrap(getTargets(HOSTS), HOSTS, TIMEOUT);
+
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - startNanos).toMillis();
+
+        assertThat(bootstrapResults.stream().allMatch(BootstrapResult::isSuccessful), is(true));
+        // One after another this takes an upload per host
+        assertThat(elapsedMillis, lessThan(UPLOAD_MS * HOSTS / 2));
+
+        maxActiveUploads.set(0);
+        basicBootstrapHelper.bootstrap(getTargets(HOSTS), 2, TIMEOUT);
+
+        assertThat(maxActiveUploads.get(), is(2));
+    }
+
+    @Test
+    public void shouldTimeOutAHangingHostWithoutStoppingTheOthers() {
+        hangingHosts.add(getHost(2));
+
+        long startNanos = System.nanoTime();
+
+        List<BootstrapResult> bootstrapResults = basicBootstrapHelper.bootstrap(getTargets(4), 4, Duration.ofMillis(500));
+
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - startNanos).toMillis();
+
+        assertThat(elapsedMillis, lessThan(2000L));
+        assertThat(bootstrapResults.get(2).isSuccessful(), is(false));
+        assertThat(bootstrapResults.get(2).getError().get(), containsString("Timed out"));
+        assertThat(bootstrapResults.stream().filter(BootstrapResult::isSuccessful).count(), is(3L));
+
+        // Disconnecting is what stops a read that is stuck on a dead host
+        verify(sessionsByHost.get(getHost(2))).disconnect();
+        verify(sessionsByHost.get(getHost(0)), never()).disconnect();
+    }
+
+    @Test
+    public void shouldStartEachHostsTimeoutWhenItsBootstrapStarts() {
+        // Waiting for a free slot doesn't count against a host's time, with one at a time the last host starts after 300 ms
+        List<BootstrapResult> bootstrapResults = basicBootstrapHelper.bootstrap(getTargets(4), 1, Duration.ofMillis(UPLOAD_MS * 3));
+
+        assertThat(bootstrapResults.stream().allMatch(BootstrapResult::isSuccessful), is(true));
+    }
+
+    @Test
+    public void shouldReportEachHostInTargetOrder() {
+        hostsWithoutScreen.add(getHost(1));
+
+        List<BootstrapResult> bootstrapResults = basicBootstrapHelper.bootstrap(getTargets(3), 3, TIMEOUT);
+
+        assertThat(bootstrapResults, hasSize(3));
+
+        for (int loop = 0; loop < 3; loop++) {
+            assertThat(bootstrapResults.get(loop).getTarget().getHost(), is(getHost(loop)));
+            assertThat(bootstrapResults.get(loop).getDuration(), greaterThanOrEqualTo(Duration.ofMillis(UPLOAD_MS)));
+        }
+
+        assertThat(bootstrapResults.get(1).isSuccessful(), is(false));
+        assertThat(bootstrapResults.get(1).getError(), is(Optional.of("screen is not available on the host. Screen must be available to use this feature")));
+        assertThat(bootstrapResults.get(0).isSuccessful(), is(true));
+        assertThat(bootstrapResults.get(2).isSuccessful(), is(true));
+    }
+
+    @Test
+    public void shouldRejectANegativeTimeoutBeforeStartingAnyHost() throws Exception {
+        Try<List<BootstrapResult>> bootstrapTry = Try.of(() -> basicBootstrapHelper.bootstrap(getTargets(HOSTS), HOSTS, Duration.ofSeconds(-1)));
+
+        assertThat(bootstrapTry.isFailure(), is(true));
+        assertThat(bootstrapTry.getCause().getMessage(), containsString("must be positive"));
+        verify(basicBootstrapHelper.ioHelper, never()).sendFile(any(Session.class), anyString(), anyString());
+    }
+}
@@ -0,0 +1,219 @@
+package com.awslabs.aws.greengrass.provisioner.implementations.helpers;
+
+import com.awslabs.aws.greengrass.provisioner.data.BuildCacheStats;
+import com.awslabs.aws.greengrass.provisioner.data.BuilderType;
+import com.awslabs.aws.greengrass.provisioner.data.Language;
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.GGConstants;
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.ProcessHelper;
+import io.vavr.control.Try;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BasicBuildCacheHelperTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+    private BasicBuildCacheHelper basicBuildCacheHelper;
+    private GGConstants ggConstants;
+    private Path buildDirectory;
+    private Path archivePath;
+    private String pipVersion;
+
+    @Before
+    public void setup() throws IOException {
+        ggConstants = mock(GGConstants.class);
+        when(ggConstants.getFunctionBuildCacheDirectory()).thenReturn(temporaryFolder.newFolder("cache").getAbsolutePath());
+        when(ggConstants.getFunctionBuildCacheMaxBytes()).thenReturn(1024L * 1024L);
+
+        pipVersion = "pip 19.3.1 from /usr/lib/python3/dist-packages/pip (python 3.7)";
+
+        // Stands in for "pip3 --version"
+        ProcessHelper processHelper = mock(ProcessHelper.class);
+        when(processHelper.getProcessBuilder(any())).then(invocation -> new ProcessBuilder(invocation.<List<String>>getArgument(0)));
+        when(processHelper.getOutputFromProcess(any(), any(), anyBoolean(), any(), any())).then(invocation -> {
+            invocation.<Optional<Consumer<String>>>getArgument(3).ifPresent(consumer -> consumer.accept(pipVersion));
+            return Optional.of(0);
+        });
+
+        basicBuildCacheHelper = new BasicBuildCacheHelper();
+        basicBuildCacheHelper.ggConstants = ggConstants;
+        basicBuildCacheHelper.processHelper = processHelper;
+
+        buildDirectory = temporaryFolder.newFolder("function").toPath();
+        archivePath = buildDirectory.resolve("function.zip");
+
+        write(buildDirectory.resolve("main.py"), "def function_handler(event, context):\n    return\n");
+        write(buildDirectory.resolve("requirements.txt"), "greengrasssdk\n");
+    }
+
+    private void write(Path path, String contents) throws IOException {
+        Files.createDirectories(path.getParent());
+        Files.write(path, contents.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String getPythonCacheKey() {
+        return basicBuildCacheHelper.getCacheKey(BuilderType.PYTHON3, Language.PYTHON3_7, buildDirectory, archivePath);
+    }
+
+    @Test
+    public void shouldGenerateTheSameKeyForTheSameSources() {
+        assertThat(getPythonCacheKey(), is(getPythonCacheKey()));
+    }
+
+    @Test
+    public void shouldGenerateANewKeyWhenTheDependencyManifestChanges() throws IOException {
+        String originalKey = getPythonCacheKey();
+
+        write(buildDirectory.resolve("requirements.txt"), "greengrasssdk\nrequests==2.24.0\n");
+
+        assertThat(getPythonCacheKey(), not(originalKey));
+    }
+
+    @Test
+    public void shouldGenerateANewKeyForADifferentRuntime() {
+        String python37Key = getPythonCacheKey();
+        String python38Key = basicBuildCacheHelper.getCacheKey(BuilderType.PYTHON3, Language.PYTHON3_8, buildDirectory, archivePath);
+
+        assertThat(python38Key, not(python37Key));
+    }
+
+    @Test
+    public void shouldGenerateANewKeyForADifferentToolVersion() {
+        String pip19Key = getPythonCacheKey();
+
+        // Versions are looked up once per run, a new run picks up the upgraded pip
+        pipVersion = "pip 20.0.2 from /usr/lib/python3/dist-packages/pip (python 3.7)";
+        BasicBuildCacheHelper nextRun = new BasicBuildCacheHelper();
+        nextRun.ggConstants = ggConstants;
+        nextRun.processHelper = basicBuildCacheHelper.processHelper;
+
+        assertThat(nextRun.getCacheKey(BuilderType.PYTHON3, Language.PYTHON3_7, buildDirectory, archivePath), not(pip19Key));
+    }
+
+    @Test
+    public void shouldIncludeSourceDirectoriesNamedLikeBuildOutputs() throws IOException {
+        String originalKey = getPythonCacheKey();
+
+        // Only the package directory at the top of the function is pip's output
+        write(buildDirectory.resolve("src").resolve("package").resolve("models.py"), "class Model:\n    pass\n");
+
+        assertThat(getPythonCacheKey(), not(originalKey));
+    }
+
+    @Test
+    public void shouldIgnoreBuildOutputsAndInstalledDependencies() throws IOException {
+        String originalKey = getPythonCacheKey();
+
+        write(archivePath, "previous build");
+        write(buildDirectory.resolve("package").resolve("requests").resolve("__init__.py"), "# installed by pip");
+        write(buildDirectory.resolve("__pycache__").resolve("main.cpython-37.pyc"), "bytecode");
+
+        assertThat(getPythonCacheKey(), is(originalKey));
+    }
+
+    @Test
+    public void shouldOnlyRunTheBuilderOnceForUnchangedSources() throws IOException {
+        AtomicInteger builds = new AtomicInteger();
+
+        Runnable builder = () -> {
+            builds.incrementAndGet();
+            writeUnchecked(archivePath, "artifact");
+        };
+
+        assertThat(basicBuildCacheHelper.buildIfNecessary(BuilderType.PYTHON3, Language.PYTHON3_7, buildDirectory, archivePath, builder), is(false));
+
+        Files.delete(archivePath);
+
+        assertThat(basicBuildCacheHelper.buildIfNecessary(BuilderType.PYTHON3, Language.PYTHON3_7, buildDirectory, archivePath, builder), is(true));
+        assertThat(builds.get(), is(1));
+        assertThat(new String(Files.readAllBytes(archivePath), StandardCharsets.UTF_8), is("artifact"));
+
+        BuildCacheStats buildCacheStats = basicBuildCacheHelper.getStats();
+
+        assertThat(buildCacheStats.getHits(), is(1L));
+        assertThat(buildCacheStats.getMisses(), is(1L));
+        assertThat(buildCacheStats.getBytesSaved(), is((long) "artifact".length()));
+    }
+
+    @Test
+    public void shouldBuildASharedArtifactOnceForGroupsDeployedAtTheSameTime() throws Exception {
+        AtomicInteger builds = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        Runnable builder = () -> {
+            builds.incrementAndGet();
+            Try.run(() -> Thread.sleep(200)).get();
+            writeUnchecked(archivePath, "artifact");
+        };
+
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+
+            for (int loop = 0; loop < 4; loop++) {
+                futures.add(executorService.submit(() -> {
+                    start.await();
+                    return basicBuildCacheHelper.buildIfNecessary(BuilderType.PYTHON3, Language.PYTHON3_7, buildDirectory, archivePath, builder);
+                }));
+            }
+
+            start.countDown();
+
+            int skipped = 0;
+
+            for (Future<Boolean> future : futures) {
+                skipped += future.get(10, TimeUnit.SECONDS) ? 1 : 0;
+            }
+
+            assertThat(builds.get(), is(1));
+            assertThat(skipped, is(3));
+            assertThat(basicBuildCacheHelper.getStats().getHits(), is(3L));
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldEvictTheLeastRecentlyUsedArtifacts() throws IOException {
+        when(ggConstants.getFunctionBuildCacheMaxBytes()).thenReturn(15L);
+
+        write(archivePath, "0123456789");
+        basicBuildCacheHelper.store("first", archivePath);
+        Files.setLastModifiedTime(temporaryFolder.getRoot().toPath().resolve("cache").resolve("first"), FileTime.fromMillis(0));
+
+        basicBuildCacheHelper.store("second", archivePath);
+
+        assertThat(basicBuildCacheHelper.restore("first", archivePath), is(false));
+        assertThat(basicBuildCacheHelper.restore("second", archivePath), is(true));
+        assertThat(basicBuildCacheHelper.getStats().getEvictions(), is(1L));
+    }
+
+    private void writeUnchecked(Path path, String contents) {
+        try {
+            write(path, contents);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
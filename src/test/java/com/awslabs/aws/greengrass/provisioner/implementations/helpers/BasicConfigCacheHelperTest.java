@@ -0,0 +1,273 @@
+package com.awslabs.aws.greengrass.provisioner.implementations.helpers;
+
+import com.awslabs.aws.greengrass.provisioner.data.ConfigCacheStats;
+import com.awslabs.aws.greengrass.provisioner.data.conf.ConnectorConf;
+import com.awslabs.aws.greengrass.provisioner.data.conf.DeploymentConf;
+import com.awslabs.aws.greengrass.provisioner.data.conf.FunctionConf;
+import com.awslabs.aws.greengrass.provisioner.data.conf.ImmutableDeploymentConf;
+import com.awslabs.aws.greengrass.provisioner.data.conf.ImmutableRoleConf;
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.GGConstants;
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.GGVariables;
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.LambdaHelper;
+import com.awslabs.iot.data.ImmutableGreengrassGroupName;
+import com.awslabs.lambda.data.FunctionAliasArn;
+import com.awslabs.lambda.data.ImmutableFunctionName;
+import com.awslabs.lambda.helpers.interfaces.V2LambdaHelper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import com.typesafe.config.ConfigValueFactory;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import software.amazon.awssdk.services.greengrass.model.FunctionIsolationMode;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BasicConfigCacheHelperTest {
+    private static final int FUNCTION_COUNT = 200;
+    private static final int CONNECTOR_COUNT = 20;
+    private static final String FUNCTION_DEFAULTS = String.join("\n",
+            "conf {",
+            "  language = \"JAVA8\"",
+            "  encodingType = \"binary\"",
+            "  aliasName = \"PROD\"",
+            "  memorySizeInKb = 131072",
+            "  pinned = true",
+            "  timeoutInSeconds = 60",
+            "  fromCloudSubscriptions = []",
+            "  toCloudSubscriptions = [${AWS_IOT_THING_NAME}\"/logs\"]",
+            "  outputTopics = []",
+            "  inputTopics = []",
+            "  connectedShadows = []",
+            "  localDeviceResources = []",
+            "  localVolumeResources = []",
+            "  localSageMakerResources = []",
+            "  localS3Resources = []",
+            "  localSecretsManagerResources = []",
+            "  accessSysFs = false",
+            "  greengrassContainer = true",
+            "  environmentVariables {",
+            "    THING_NAME = ${AWS_IOT_THING_NAME}",
+            "  }",
+            "}");
+    private static final String CONNECTOR_DEFAULTS = String.join("\n",
+            "conf {",
+            "  fromCloudSubscriptions = []",
+            "  toCloudSubscriptions = []",
+            "  outputTopics = []",
+            "  inputTopics = []",
+            "}");
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+    private BasicConfigCacheHelper basicConfigCacheHelper;
+    private BasicFunctionHelper basicFunctionHelper;
+    private BasicConnectorHelper basicConnectorHelper;
+    private Config defaultConfig;
+
+    @Before
+    public void setup() throws IOException {
+        basicConfigCacheHelper = new BasicConfigCacheHelper();
+        defaultConfig = ConfigFactory.empty().withValue("AWS_IOT_THING_NAME", ConfigValueFactory.fromAnyRef("test-core"));
+
+        File functionDefaultsConf = write(temporaryFolder.newFile(), FUNCTION_DEFAULTS);
+        File connectorDefaultsConf = write(temporaryFolder.newFile(), CONNECTOR_DEFAULTS);
+
+        GGConstants ggConstants = mock(GGConstants.class);
+        when(ggConstants.getFunctionDefaultsConf()).thenReturn(functionDefaultsConf);
+        when(ggConstants.getConfGreengrassContainer()).thenReturn("conf.greengrassContainer");
+
+        // Read through the cache like BasicGGVariables does
+        GGVariables ggVariables = mock(GGVariables.class);
+        when(ggVariables.getFunctionDefaults()).then(invocation -> basicConfigCacheHelper.parseFile(functionDefaultsConf));
+        when(ggVariables.getConnectorDefaults()).then(invocation -> basicConfigCacheHelper.parseFile(connectorDefaultsConf));
+
+        // Existing functions keep their function.conf in their environment, it is handed to the cache as a string
+        V2LambdaHelper v2LambdaHelper = mock(V2LambdaHelper.class);
+        when(v2LambdaHelper.getFunctionEnvironment(any(FunctionAliasArn.class))).then(invocation ->
+                Collections.singletonMap(LambdaHelper.GGP_FUNCTION_CONF, getFunctionConfText(invocation.<FunctionAliasArn>getArgument(0).getAliasArn())));
+
+        BasicTypeSafeConfigHelper basicTypeSafeConfigHelper = new BasicTypeSafeConfigHelper();
+        basicTypeSafeConfigHelper.objectMapper = new ObjectMapper();
+
+        basicFunctionHelper = new BasicFunctionHelper();
+        basicFunctionHelper.configCacheHelper = basicConfigCacheHelper;
+        basicFunctionHelper.typeSafeConfigHelper = basicTypeSafeConfigHelper;
+        basicFunctionHelper.ggConstants = ggConstants;
+        basicFunctionHelper.ggVariables = ggVariables;
+        basicFunctionHelper.ioHelper = new BasicIoHelper();
+        basicFunctionHelper.v2LambdaHelper = v2LambdaHelper;
+
+        basicConnectorHelper = new BasicConnectorHelper();
+        basicConnectorHelper.configCacheHelper = basicConfigCacheHelper;
+        basicConnectorHelper.typeSafeConfigHelper = basicTypeSafeConfigHelper;
+        basicConnectorHelper.ggVariables = ggVariables;
+        basicConnectorHelper.ioHelper = new BasicIoHelper();
+        basicConnectorHelper.connectorsDirectory = temporaryFolder.newFolder("connectors");
+    }
+
+    private File write(File file, String content) throws IOException {
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+
+        return file;
+    }
+
+    private String getFunctionArn(int index) {
+        return String.join("", "arn:aws:lambda:us-east-1:123456789012:function:function-", String.valueOf(index), ":PROD");
+    }
+
+    private String getFunctionConfText(String functionArn) {
+        String index = functionArn.replaceAll("^.*:function-([0-9]+):PROD$", "$1");
+
+        return String.join("\n",
+                "conf {",
+                "  functionName = \"function-" + index + "\"",
+                "  handlerName = \"com.example.Handler" + index + "::handleRequest\"",
+                "  inputTopics = [${AWS_IOT_THING_NAME}\"/input/" + index + "\"]",
+                "}");
+    }
+
+    private DeploymentConf getDeploymentConf() {
+        ImmutableDeploymentConf.Builder deploymentConfBuilder = ImmutableDeploymentConf.builder()
+                .name("test")
+                .groupName(ImmutableGreengrassGroupName.builder().groupName("test-group").build())
+                .coreRoleConf(ImmutableRoleConf.builder().name("test-core-role").build())
+                .isSyncShadow(false);
+
+        for (int loop = 0; loop < FUNCTION_COUNT; loop++) {
+            deploymentConfBuilder.addFunctions(ImmutableFunctionName.builder().name(getFunctionArn(loop)).build());
+        }
+
+        return deploymentConfBuilder.build();
+    }
+
+    private List<String> createConnectorConfs() throws IOException {
+        List<String> connectorConfFileNames = new ArrayList<>();
+
+        for (int loop = 0; loop < CONNECTOR_COUNT; loop++) {
+            String connectorConfFileName = String.join("-", "connector", String.valueOf(loop));
+            write(new File(basicConnectorHelper.connectorsDirectory, String.join(".", connectorConfFileName, "conf")), String.join("\n",
+                    "conf {",
+                    "  connector {",
+                    "    connectorArn = \"arn:aws:greengrass:us-east-1::/connectors/Connector" + loop + "/versions/1\"",
+                    "    id = \"connector-" + loop + "\"",
+                    "  }",
+                    "  outputTopics = [${AWS_IOT_THING_NAME}\"/connector/" + loop + "\"]",
+                    "}"));
+            connectorConfFileNames.add(connectorConfFileName);
+        }
+
+        return connectorConfFileNames;
+    }
+
+    private void deploy(DeploymentConf deploymentConf, List<String> connectorConfFileNames) {
+        List<FunctionConf> functionConfs = basicFunctionHelper.getFunctionConfObjects(defaultConfig, deploymentConf, FunctionIsolationMode.GREENGRASS_CONTAINER);
+
+        assertThat(functionConfs, hasSize(FUNCTION_COUNT));
+
+        for (int loop = 0; loop < FUNCTION_COUNT; loop++) {
+            FunctionConf functionConf = functionConfs.get(loop);
+
+            assertThat(functionConf.getFunctionName().getName(), is("function-" + loop));
+            assertThat(functionConf.getMemorySizeInKb(), is(131072));
+            assertThat(functionConf.getInputTopics().get(0), is("test-core/input/" + loop));
+            assertThat(functionConf.getEnvironmentVariables().get("THING_NAME"), is("test-core"));
+        }
+
+        List<ConnectorConf> connectorConfs = basicConnectorHelper.getConnectorConfObjects(defaultConfig, connectorConfFileNames);
+
+        assertThat(connectorConfs, hasSize(CONNECTOR_COUNT));
+
+        for (int loop = 0; loop < CONNECTOR_COUNT; loop++) {
+            assertThat(connectorConfs.get(loop).getConnector().id(), is("connector-" + loop));
+            assertThat(connectorConfs.get(loop).getOutputTopics().get(0), is("test-core/connector/" + loop));
+        }
+    }
+
+    @Test
+    public void shouldParseEachConfigurationOnceAcrossDeployments() throws IOException {
+        DeploymentConf deploymentConf = getDeploymentConf();
+        List<String> connectorConfFileNames = createConnectorConfs();
+
+        deploy(deploymentConf, connectorConfFileNames);
+
+        // One parse for each set of defaults, each function, and each connector
+        ConfigCacheStats firstDeployment = basicConfigCacheHelper.getStats();
+
+        assertThat(firstDeployment.getParses(), is((long) 2 + FUNCTION_COUNT + CONNECTOR_COUNT));
+
+        // A second deployment in the same run doesn't parse anything
+        deploy(deploymentConf, connectorConfFileNames);
+
+        assertThat(basicConfigCacheHelper.getStats().getParses(), is(firstDeployment.getParses()));
+    }
+
+    @Test
+    public void shouldOnlyParseAgainWhenTheContentChanges() throws IOException {
+        File file = write(temporaryFolder.newFile(), "conf { value = 1 }");
+
+        Config config = basicConfigCacheHelper.parseFile(file);
+        assertThat(basicConfigCacheHelper.parseFile(file), is(sameInstance(config)));
+
+        // Touched but not changed
+        assertThat(file.setLastModified(file.lastModified() + 10000), is(true));
+        assertThat(basicConfigCacheHelper.parseFile(file), is(sameInstance(config)));
+        assertThat(basicConfigCacheHelper.getStats().getUnchangedContentHits(), is(1L));
+
+        write(file, "conf { value = 22 }");
+        assertThat(file.setLastModified(file.lastModified() + 20000), is(true));
+
+        assertThat(basicConfigCacheHelper.parseFile(file).getInt("conf.value"), is(22));
+        assertThat(basicConfigCacheHelper.readFile(file), is("conf { value = 22 }"));
+        assertThat(basicConfigCacheHelper.getStats().getParses(), is(2L));
+    }
+
+    @Test
+    public void shouldShareTreesForTheSameString() {
+        Config config = basicConfigCacheHelper.parseString("conf { functionName = \"lambda\" }");
+
+        assertThat(basicConfigCacheHelper.parseString("conf { functionName = \"lambda\" }"), is(sameInstance(config)));
+        assertThat(basicConfigCacheHelper.getStats().getParses(), is(1L));
+        assertThat(basicConfigCacheHelper.getStats().getHits(), is(1L));
+    }
+
+    @Test
+    public void shouldDropTheOldestStringsPastTheLimit() {
+        basicConfigCacheHelper.maxStringEntries = 2;
+
+        for (int loop = 0; loop < 10; loop++) {
+            basicConfigCacheHelper.parseString("conf { functionName = \"lambda-" + loop + "\" }");
+        }
+
+        assertThat(basicConfigCacheHelper.getStats().getParses(), is(10L));
+
+        // The two newest are still cached, the first one was dropped long ago
+        basicConfigCacheHelper.parseString("conf { functionName = \"lambda-9\" }");
+        basicConfigCacheHelper.parseString("conf { functionName = \"lambda-8\" }");
+        assertThat(basicConfigCacheHelper.getStats().getParses(), is(10L));
+
+        basicConfigCacheHelper.parseString("conf { functionName = \"lambda-0\" }");
+        assertThat(basicConfigCacheHelper.getStats().getParses(), is(11L));
+    }
+
+    @Test
+    public void shouldTreatMissingFilesAsEmpty() {
+        Config config = basicConfigCacheHelper.parseFile(new File(temporaryFolder.getRoot(), "missing.conf"));
+
+        assertThat(config.isEmpty(), is(true));
+        assertThat(basicConfigCacheHelper.getStats().getParses(), is(0L));
+    }
+}
@@ -0,0 +1,64 @@
+package com.awslabs.aws.greengrass.provisioner.implementations.helpers;
+
+import com.awslabs.aws.greengrass.provisioner.data.diagnostics.DiagnosticRule;
+import com.awslabs.aws.greengrass.provisioner.data.diagnostics.NoConnectivityInformationDiagnosticRule;
+import com.awslabs.aws.greengrass.provisioner.data.diagnostics.TooManyIpsDiagnosticRule;
+import org.junit.Before;
+import org.junit.Test;
+import software.amazon.awssdk.services.cloudwatchlogs.model.LogGroup;
+import software.amazon.awssdk.services.cloudwatchlogs.model.LogStream;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class BasicDiagnosticsHelperTest {
+    private static final String TOO_MANY_IPS_LINE = "The server says: {\"Message\":\"Too many items in the Connectivity Information list. You can store a maximum of 10 endpoints.\"}";
+    private static final int LINES = 100_000;
+    private BasicDiagnosticsHelper basicDiagnosticsHelper;
+    private LogGroup ipDetectorLogGroup;
+    private LogStream logStream;
+
+    @Before
+    public void setup() {
+        basicDiagnosticsHelper = new BasicDiagnosticsHelper();
+        basicDiagnosticsHelper.diagnosticRules = new HashSet<>(Arrays.asList(new TooManyIpsDiagnosticRule(), new NoConnectivityInformationDiagnosticRule()));
+
+        ipDetectorLogGroup = LogGroup.builder().logGroupName("/aws/greengrass/GreengrassSystem/" + DiagnosticRule.GGIP_DETECTOR).build();
+        logStream = LogStream.builder().build();
+    }
+
+    private Stream<String> getLines(int findingLine) {
+        return IntStream.range(0, LINES)
+                .mapToObj(line -> line == findingLine ? TOO_MANY_IPS_LINE : "[INFO]-Detecting IP addresses.");
+    }
+
+    @Test
+    public void shouldReportFindingsBeforeTheWholeLogIsRead() {
+        AtomicInteger linesRead = new AtomicInteger();
+        List<Integer> linesReadAtFinding = new ArrayList<>();
+
+        basicDiagnosticsHelper.runDiagnostics(ipDetectorLogGroup, logStream, getLines(10).peek(line -> linesRead.incrementAndGet()),
+                recommendation -> linesReadAtFinding.add(linesRead.get()));
+
+        assertThat(linesReadAtFinding, contains(11));
+        assertThat(linesRead.get(), is(LINES));
+    }
+
+    @Test
+    public void shouldOnlyReportFindingsForTheRightLogGroup() {
+        List<String> recommendations = new ArrayList<>();
+        LogGroup runtimeLogGroup = LogGroup.builder().logGroupName("/aws/greengrass/GreengrassSystem/" + DiagnosticRule.RUNTIME).build();
+
+        basicDiagnosticsHelper.runDiagnostics(runtimeLogGroup, logStream, getLines(10), recommendations::add);
+
+        assertThat(recommendations, is(empty()));
+    }
+}
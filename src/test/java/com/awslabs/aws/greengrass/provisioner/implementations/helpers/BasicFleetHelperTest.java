@@ -0,0 +1,225 @@
+package com.awslabs.aws.greengrass.provisioner.implementations.helpers;
+
+import com.awslabs.aws.greengrass.provisioner.data.FleetGroupResult;
+import com.awslabs.aws.greengrass.provisioner.data.RateLimitStats;
+import com.awslabs.aws.greengrass.provisioner.data.arguments.DeploymentArguments;
+import com.awslabs.aws.greengrass.provisioner.data.arguments.FleetArguments;
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.DeploymentArgumentHelper;
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.DeploymentHelper;
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.GGConstants;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import io.vavr.control.Try;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class BasicFleetHelperTest {
+    private static final String GREENGRASS = "Greengrass";
+    private static final int GROUPS = 16;
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+    private BasicFleetHelper basicFleetHelper;
+    private DeploymentHelper deploymentHelper;
+    private BasicRateLimitHelper basicRateLimitHelper;
+    private Set<String> failingGroups;
+    private List<String[]> parsedArguments;
+    private int apiCallsPerGroup;
+    private long apiCallLatencyMillis;
+
+    @Before
+    public void setup() {
+        basicRateLimitHelper = new BasicRateLimitHelper();
+        failingGroups = ConcurrentHashMap.newKeySet();
+        parsedArguments = new ArrayList<>();
+        apiCallsPerGroup = 5;
+        apiCallLatencyMillis = 20;
+
+        // A local stand in for a group's pipeline, each step is an API call that goes through the rate limiter
+        deploymentHelper = mock(DeploymentHelper.class);
+        doAnswer(invocation -> {
+            DeploymentArguments deploymentArguments = invocation.getArgument(0);
+
+            for (int loop = 0; loop < apiCallsPerGroup; loop++) {
+                basicRateLimitHelper.acquire(GREENGRASS);
+                Thread.sleep(apiCallLatencyMillis);
+            }
+
+            if (failingGroups.contains(deploymentArguments.groupName)) {
+                throw new RuntimeException("Group creation failed");
+            }
+
+            return null;
+        }).when(deploymentHelper).execute(any(DeploymentArguments.class));
+
+        DeploymentArgumentHelper deploymentArgumentHelper = mock(DeploymentArgumentHelper.class);
+        when(deploymentArgumentHelper.parseArguments(any(String[].class))).then(invocation -> {
+            String[] args = invocation.getArgument(0);
+            parsedArguments.add(args);
+
+            DeploymentArguments deploymentArguments = new DeploymentArguments();
+            deploymentArguments.groupName = args[args.length - 1];
+
+            return deploymentArguments;
+        });
+
+        basicFleetHelper = new BasicFleetHelper();
+        basicFleetHelper.deploymentHelperProvider = () -> deploymentHelper;
+        basicFleetHelper.deploymentArgumentHelper = deploymentArgumentHelper;
+        basicFleetHelper.rateLimitHelper = basicRateLimitHelper;
+        basicFleetHelper.configCacheHelper = new BasicConfigCacheHelper();
+        basicFleetHelper.ggConstants = mock(GGConstants.class);
+    }
+
+    private FleetArguments getFleetArguments(String manifest) throws IOException {
+        File manifestFile = temporaryFolder.newFile("fleet.conf");
+        Files.write(manifestFile.toPath(), manifest.getBytes(StandardCharsets.UTF_8));
+
+        FleetArguments fleetArguments = new FleetArguments();
+        fleetArguments.manifestFilename = manifestFile.getPath();
+
+        return fleetArguments;
+    }
+
+    private List<DeploymentArguments> getGroups(int count) {
+        List<DeploymentArguments> groups = new ArrayList<>();
+
+        for (int loop = 0; loop < count; loop++) {
+            DeploymentArguments deploymentArguments = new DeploymentArguments();
+            deploymentArguments.groupName = String.join("-", "group", String.valueOf(loop));
+            groups.add(deploymentArguments);
+        }
+
+        return groups;
+    }
+
+    private double getGroupsPerMinute(int maxConcurrentGroups) {
+        long startNanos = System.nanoTime();
+
+        List<FleetGroupResult> fleetGroupResults = basicFleetHelper.deploy(getGroups(GROUPS), maxConcurrentGroups);
+
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - startNanos).toMillis();
+
+        assertThat(fleetGroupResults.stream().allMatch(FleetGroupResult::isSuccessful), is(true));
+
+        return GROUPS * 60000.0 / Math.max(1, elapsedMillis);
+    }
+
+    @Test
+    public void shouldDeployMoreGroupsPerMinuteConcurrently() {
+        basicRateLimitHelper.setDefaultRequestsPerSecond(1000);
+
+        double sequentialGroupsPerMinute = getGroupsPerMinute(1);
+        double concurrentGroupsPerMinute = getGroupsPerMinute(8);
+
+        assertThat(concurrentGroupsPerMinute, greaterThan(sequentialGroupsPerMinute * 3));
+    }
+
+    @Test
+    public void shouldStayWithinTheRateLimitAcrossGroups() {
+        apiCallsPerGroup = 10;
+        apiCallLatencyMillis = 0;
+        basicRateLimitHelper.setRequestsPerSecond(GREENGRASS, 50);
+
+        long startNanos = System.nanoTime();
+
+        basicFleetHelper.deploy(getGroups(8), 8);
+
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - startNanos).toMillis();
+
+        // 80 calls at 50 per second, the first 50 can go out at once and the other 30 take at least 600 ms
+        assertThat(elapsedMillis, greaterThanOrEqualTo(550L));
+
+        RateLimitStats rateLimitStats = basicRateLimitHelper.getStats().get(0);
+
+        assertThat(rateLimitStats.getApiFamily(), is(GREENGRASS));
+        assertThat(rateLimitStats.getRequests(), is(80L));
+        assertThat(rateLimitStats.getDelayedRequests(), greaterThanOrEqualTo(29L));
+    }
+
+    @Test
+    public void shouldKeepDeployingWhenAGroupFails() {
+        failingGroups.add("group-3");
+
+        List<FleetGroupResult> fleetGroupResults = basicFleetHelper.deploy(getGroups(6), 3);
+
+        assertThat(fleetGroupResults.size(), is(6));
+        assertThat(fleetGroupResults.get(3).getGroupName(), is("group-3"));
+        assertThat(fleetGroupResults.get(3).isSuccessful(), is(false));
+        assertThat(fleetGroupResults.get(3).getError(), is(Optional.of("Group creation failed")));
+        assertThat(fleetGroupResults.stream().filter(FleetGroupResult::isSuccessful).count(), is(5L));
+    }
+
+    @Test
+    public void shouldPutSharedOptionsBeforeEachGroupsOwnOptions() {
+        Config manifest = ConfigFactory.parseString(String.join("\n",
+                "conf {",
+                "  options = [\"--deployment-config\", \"shared\", \"--arch\", \"X86_64\"]",
+                "  groups = [",
+                "    { name = \"first\" }",
+                "    { name = \"second\", options = [\"--arch\", \"ARM64\"] }",
+                "  ]",
+                "}"));
+
+        List<DeploymentArguments> groupDeploymentArguments = basicFleetHelper.getGroupDeploymentArguments(manifest);
+
+        assertThat(groupDeploymentArguments.size(), is(2));
+        assertThat(Arrays.asList(parsedArguments.get(0)), contains("--deployment-config", "shared", "--arch", "X86_64", "-g", "first"));
+        assertThat(Arrays.asList(parsedArguments.get(1)), contains("--deployment-config", "shared", "--arch", "X86_64", "--arch", "ARM64", "-g", "second"));
+    }
+
+    @Test
+    public void shouldRejectDuplicateGroupNames() {
+        Config manifest = ConfigFactory.parseString("conf { groups = [ { name = \"first\" }, { name = \"first\" } ] }");
+
+        Try<List<DeploymentArguments>> groupsTry = Try.of(() -> basicFleetHelper.getGroupDeploymentArguments(manifest));
+
+        assertThat(groupsTry.isFailure(), is(true));
+        assertThat(groupsTry.getCause().getMessage(), containsString("[first]"));
+    }
+
+    @Test
+    public void shouldRejectAManifestWithoutAnyConcurrentGroupsBeforeDeploying() throws IOException {
+        FleetArguments fleetArguments = getFleetArguments("conf { maxConcurrentGroups = 0, groups = [ { name = \"first\" } ] }");
+
+        Try<Void> executeTry = Try.run(() -> basicFleetHelper.execute(fleetArguments));
+
+        assertThat(executeTry.isFailure(), is(true));
+        assertThat(executeTry.getCause().getMessage(), containsString("[conf.maxConcurrentGroups]"));
+        verify(deploymentHelper, never()).execute(any(DeploymentArguments.class));
+    }
+
+    @Test
+    public void shouldRejectDeployingWithoutAnyConcurrentGroups() {
+        Try<List<FleetGroupResult>> deployTry = Try.of(() -> basicFleetHelper.deploy(getGroups(2), 0));
+
+        assertThat(deployTry.isFailure(), is(true));
+        assertThat(deployTry.getCause().getMessage(), containsString("at least 1"));
+        verify(deploymentHelper, never()).execute(any(DeploymentArguments.class));
+    }
+
+    @Test
+    public void shouldRejectAManifestWithoutAnyConcurrentBootstrapsBeforeDeploying() throws IOException {
+        FleetArguments fleetArguments = getFleetArguments("conf { maxConcurrentBootstraps = 0, groups = [ { name = \"first\" } ] }");
+
+        Try<Void> executeTry = Try.run(() -> basicFleetHelper.execute(fleetArguments));
+
+        assertThat(executeTry.isFailure(), is(true));
+        assertThat(executeTry.getCause().getMessage(), containsString("[conf.maxConcurrentBootstraps]"));
+        verify(deploymentHelper, never()).execute(any(DeploymentArguments.class));
+    }
+}
@@ -0,0 +1,238 @@
+package com.awslabs.aws.greengrass.provisioner.implementations.helpers;
+
+import com.awslabs.aws.greengrass.provisioner.data.BuilderType;
+import com.awslabs.aws.greengrass.provisioner.data.ImmutableBuildCacheStats;
+import com.awslabs.aws.greengrass.provisioner.data.ImmutableZipFilePathAndFunctionConf;
+import com.awslabs.aws.greengrass.provisioner.data.Language;
+import com.awslabs.aws.greengrass.provisioner.data.ZipFilePathAndFunctionConf;
+import com.awslabs.aws.greengrass.provisioner.data.conf.FunctionConf;
+import com.awslabs.aws.greengrass.provisioner.data.conf.ImmutableFunctionConf;
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.BuildCacheHelper;
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.GGConstants;
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.LambdaHelper;
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.LoggingHelper;
+import com.awslabs.iot.data.ImmutableGreengrassGroupName;
+import com.awslabs.lambda.data.ImmutableFunctionAlias;
+import com.awslabs.lambda.data.ImmutableFunctionName;
+import io.vavr.control.Try;
+import org.bouncycastle.util.encoders.Base64;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.stubbing.Answer;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.greengrass.model.EncodingType;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.management.ManagementFactory;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class BasicFunctionHelperTest {
+    private static final long ONE_MB = 1024L * 1024L;
+    // The largest zip whose Base64 encoding still fits under the direct upload limit
+    private static final long LARGEST_DIRECT_UPLOAD_SIZE = 52428800L;
+    private static final int MAX_CONCURRENT_PYTHON3_BUILDS = 3;
+    private static final int MAX_CONCURRENT_NODE_BUILDS = 2;
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+    private BasicFunctionHelper basicFunctionHelper;
+    private LambdaHelper lambdaHelper;
+    private GGConstants ggConstants;
+
+    @Before
+    public void setup() {
+        basicFunctionHelper = new BasicFunctionHelper();
+        basicFunctionHelper.ioHelper = new BasicIoHelper();
+
+        lambdaHelper = mock(LambdaHelper.class);
+        basicFunctionHelper.lambdaHelper = lambdaHelper;
+
+        ggConstants = mock(GGConstants.class);
+        when(ggConstants.getMaxConcurrentBuilds(BuilderType.PYTHON3)).thenReturn(MAX_CONCURRENT_PYTHON3_BUILDS);
+        basicFunctionHelper.ggConstants = ggConstants;
+
+        BuildCacheHelper buildCacheHelper = mock(BuildCacheHelper.class);
+        when(buildCacheHelper.getStats()).thenReturn(ImmutableBuildCacheStats.builder().hits(0).misses(0).bytesSaved(0).evictions(0).build());
+        basicFunctionHelper.buildCacheHelper = buildCacheHelper;
+
+        basicFunctionHelper.loggingHelper = mock(LoggingHelper.class);
+    }
+
+    private List<FunctionConf> getFunctionConfs(Language language, int count) {
+        return IntStream.range(0, count)
+                .mapToObj(index -> ImmutableFunctionConf.builder()
+                        .language(language)
+                        .encodingType(EncodingType.JSON)
+                        .buildDirectory(temporaryFolder.getRoot().toPath())
+                        .groupName(ImmutableGreengrassGroupName.builder().groupName("test-group").build())
+                        .functionName(ImmutableFunctionName.builder().name(String.join("-", language.name(), String.valueOf(index))).build())
+                        .handlerName("handler.function_handler")
+                        .aliasName(ImmutableFunctionAlias.builder().alias("test-group").build())
+                        .memorySizeInKb(131072)
+                        .isPinned(false)
+                        .timeoutInSeconds(60)
+                        .isAccessSysFs(false)
+                        .isGreengrassContainer(false)
+                        .uid(1000)
+                        .gid(1000)
+                        .rawConfig("")
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    // The first maxConcurrentBuilds builds wait for each other so the pool has to run that many at once to get past them
+    private Answer<ZipFilePathAndFunctionConf> recordConcurrentBuilds(int maxConcurrentBuilds, AtomicInteger maxInFlight) {
+        AtomicInteger inFlight = new AtomicInteger();
+        CountDownLatch allStarted = new CountDownLatch(maxConcurrentBuilds);
+
+        return invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+
+            try {
+                allStarted.countDown();
+                allStarted.await(10, TimeUnit.SECONDS);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+
+            return ImmutableZipFilePathAndFunctionConf.builder()
+                    .functionConf(invocation.getArgument(0))
+                    .zipFilePath("function.zip")
+                    .build();
+        };
+    }
+
+    private File createZipFile(long length) throws IOException {
+        File file = temporaryFolder.newFile();
+
+        // Sparse files keep large sizes cheap, only the length matters for routing
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+            randomAccessFile.setLength(length);
+        }
+
+        return file;
+    }
+
+    private long getAllocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    @Test
+    public void shouldCalculateTheSameLengthAsEncoding() {
+        Random random = new Random(0);
+
+        for (int length = 0; length < 100; length++) {
+            byte[] bytes = new byte[length];
+            random.nextBytes(bytes);
+
+            assertThat(BasicFunctionHelper.getBase64EncodedLength(length), is((long) Base64.encode(bytes).length));
+        }
+
+        byte[] oneMb = new byte[(int) ONE_MB];
+        random.nextBytes(oneMb);
+
+        assertThat(BasicFunctionHelper.getBase64EncodedLength(ONE_MB), is((long) Base64.encode(oneMb).length));
+    }
+
+    @Test
+    public void shouldRouteOnFileSizeAtTheLimitBoundary() throws IOException {
+        assertThat(basicFunctionHelper.requiresS3Upload(createZipFile(LARGEST_DIRECT_UPLOAD_SIZE)), is(false));
+        assertThat(basicFunctionHelper.requiresS3Upload(createZipFile(LARGEST_DIRECT_UPLOAD_SIZE + 1)), is(true));
+    }
+
+    @Test
+    public void shouldChooseTheRouteWithoutReadingTheZip() throws IOException {
+        for (long megabytes : new long[]{1, 8, 16, 32, 48, 60}) {
+            File zipFile = createZipFile(megabytes * ONE_MB);
+
+            long before = getAllocatedBytes();
+            boolean requiresS3Upload = basicFunctionHelper.requiresS3Upload(zipFile);
+            long allocated = getAllocatedBytes() - before;
+
+            assertThat(requiresS3Upload, is(megabytes == 60));
+            assertThat(allocated, lessThan(64 * 1024L));
+        }
+    }
+
+    @Test
+    public void shouldOnlyHoldOneCopyOfTheZipForDirectUploads() throws IOException {
+        for (long megabytes : new long[]{1, 8, 16, 32, 48}) {
+            long length = megabytes * ONE_MB;
+            File zipFile = createZipFile(length);
+
+            long before = getAllocatedBytes();
+            SdkBytes sdkBytes = basicFunctionHelper.readZipFileForDirectUpload(zipFile);
+            long allocated = getAllocatedBytes() - before;
+
+            assertThat(sdkBytes.asByteBuffer().remaining(), is((int) length));
+            // Previously this was roughly 3.3x the zip size, allow a little overhead beyond the one copy
+            assertThat(allocated, lessThan(length + ONE_MB));
+        }
+    }
+
+    @Test
+    public void shouldRunEachBuilderTypeUpToItsLimitAtTheSameTime() {
+        AtomicInteger maxPython3InFlight = new AtomicInteger();
+        AtomicInteger maxNodeInFlight = new AtomicInteger();
+        when(lambdaHelper.buildPython3Function(any(FunctionConf.class))).then(recordConcurrentBuilds(MAX_CONCURRENT_PYTHON3_BUILDS, maxPython3InFlight));
+        when(lambdaHelper.buildNodeFunction(any(FunctionConf.class))).then(recordConcurrentBuilds(MAX_CONCURRENT_NODE_BUILDS, maxNodeInFlight));
+
+        List<FunctionConf> functionConfs = new ArrayList<>();
+        functionConfs.addAll(getFunctionConfs(Language.PYTHON3_7, 12));
+        functionConfs.addAll(getFunctionConfs(Language.NODEJS12_X, 12));
+
+        // Python uses the default from GGConstants, Node is overridden
+        Map<BuilderType, Integer> maxConcurrentBuilds = new EnumMap<>(BuilderType.class);
+        maxConcurrentBuilds.put(BuilderType.NODE, MAX_CONCURRENT_NODE_BUILDS);
+
+        List<ZipFilePathAndFunctionConf> builtFunctions = basicFunctionHelper.buildExistingFunctions(functionConfs, maxConcurrentBuilds);
+
+        assertThat(builtFunctions.size(), is(24));
+        assertThat(maxPython3InFlight.get(), is(MAX_CONCURRENT_PYTHON3_BUILDS));
+        assertThat(maxNodeInFlight.get(), is(MAX_CONCURRENT_NODE_BUILDS));
+        verify(ggConstants, never()).getMaxConcurrentBuilds(BuilderType.NODE);
+    }
+
+    @Test
+    public void shouldReportEveryFailedBuildAfterTheOthersFinish() {
+        Set<String> failingFunctionNames = new HashSet<>(Arrays.asList("PYTHON3_7-1", "PYTHON3_7-3", "PYTHON3_7-5"));
+
+        when(lambdaHelper.buildPython3Function(any(FunctionConf.class))).then(invocation -> {
+            FunctionConf functionConf = invocation.getArgument(0);
+            String functionName = functionConf.getFunctionName().getName();
+
+            if (failingFunctionNames.contains(functionName)) {
+                throw new RuntimeException(String.join("", "pip install failed for [", functionName, "]"));
+            }
+
+            return ImmutableZipFilePathAndFunctionConf.builder()
+                    .functionConf(functionConf)
+                    .zipFilePath("function.zip")
+                    .build();
+        });
+
+        Try<List<ZipFilePathAndFunctionConf>> buildTry = Try.of(() -> basicFunctionHelper.buildExistingFunctions(getFunctionConfs(Language.PYTHON3_7, 6), new EnumMap<>(BuilderType.class)));
+
+        // Every build ran, the failures didn't cancel the builds queued behind them
+        verify(lambdaHelper, times(6)).buildPython3Function(any(FunctionConf.class));
+        assertThat(buildTry.isFailure(), is(true));
+
+        String message = buildTry.getCause().getMessage();
+        assertThat(message, containsString("3 of 6 Lambda function(s) failed to build"));
+        failingFunctionNames.forEach(functionName -> assertThat(message, containsString(functionName)));
+        assertThat(message, not(containsString("PYTHON3_7-0")));
+    }
+}
@@ -0,0 +1,119 @@
+package com.awslabs.aws.greengrass.provisioner.implementations.helpers;
+
+import com.awslabs.iot.helpers.interfaces.V2GreengrassHelper;
+import org.junit.Before;
+import org.junit.Test;
+import software.amazon.awssdk.services.cloudwatchlogs.CloudWatchLogsClient;
+import software.amazon.awssdk.services.cloudwatchlogs.model.DescribeLogGroupsRequest;
+import software.amazon.awssdk.services.cloudwatchlogs.model.DescribeLogGroupsResponse;
+import software.amazon.awssdk.services.cloudwatchlogs.model.LogGroup;
+import software.amazon.awssdk.services.greengrass.model.Function;
+import software.amazon.awssdk.services.greengrass.model.GroupInformation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BasicGroupQueryHelperTest {
+    private static final int PAGE_SIZE = 50;
+    private static final int TOTAL_LOG_GROUPS = 10000;
+    private static final int OTHER_GREENGRASS_FUNCTIONS = 500;
+    private static final String LAMBDA_LOG_GROUP_PREFIX = "/aws/greengrass/Lambda/us-east-1/123456789012/";
+    private static final List<String> GROUP_FUNCTION_NAMES = Arrays.asList("group-sensor", "group-actuator", "group-uploader");
+    private BasicGroupQueryHelper basicGroupQueryHelper;
+    private List<String> allLogGroupNames;
+    private AtomicInteger describeLogGroupsCalls;
+
+    @Before
+    public void setup() {
+        allLogGroupNames = new ArrayList<>();
+
+        // A handful of core logs and the group's functions buried in an account full of unrelated log groups
+        Arrays.asList("GGCloudSpooler", "GGConnManager", "GGIPDetector", "GGShadowService", "runtime")
+                .forEach(name -> allLogGroupNames.add("/aws/greengrass/GreengrassSystem/" + name));
+        GROUP_FUNCTION_NAMES.forEach(name -> allLogGroupNames.add(LAMBDA_LOG_GROUP_PREFIX + name));
+
+        for (int loop = 0; loop < OTHER_GREENGRASS_FUNCTIONS; loop++) {
+            allLogGroupNames.add(LAMBDA_LOG_GROUP_PREFIX + "other-function-" + loop);
+        }
+
+        for (int loop = allLogGroupNames.size(); loop < TOTAL_LOG_GROUPS; loop++) {
+            allLogGroupNames.add("/aws/lambda/unrelated-function-" + loop);
+        }
+
+        allLogGroupNames.sort(String::compareTo);
+
+        describeLogGroupsCalls = new AtomicInteger();
+
+        CloudWatchLogsClient cloudWatchLogsClient = mock(CloudWatchLogsClient.class);
+        when(cloudWatchLogsClient.describeLogGroups(any(DescribeLogGroupsRequest.class))).then(invocation -> describeLogGroups(invocation.getArgument(0)));
+
+        GroupInformation groupInformation = GroupInformation.builder().build();
+        V2GreengrassHelper v2GreengrassHelper = mock(V2GreengrassHelper.class);
+        when(v2GreengrassHelper.getFunctions(groupInformation)).thenReturn(Optional.of(getFunctions()));
+
+        basicGroupQueryHelper = new BasicGroupQueryHelper();
+        basicGroupQueryHelper.cloudWatchLogsClient = cloudWatchLogsClient;
+        basicGroupQueryHelper.v2GreengrassHelper = v2GreengrassHelper;
+    }
+
+    // A local stand in for CloudWatch Logs that pages and filters by prefix like the real service
+    private DescribeLogGroupsResponse describeLogGroups(DescribeLogGroupsRequest describeLogGroupsRequest) {
+        describeLogGroupsCalls.incrementAndGet();
+
+        String prefix = Optional.ofNullable(describeLogGroupsRequest.logGroupNamePrefix()).orElse("");
+        int start = Optional.ofNullable(describeLogGroupsRequest.nextToken()).map(Integer::parseInt).orElse(0);
+
+        List<String> matchingLogGroupNames = allLogGroupNames.stream()
+                .filter(logGroupName -> logGroupName.startsWith(prefix))
+                .collect(Collectors.toList());
+
+        int end = Math.min(start + PAGE_SIZE, matchingLogGroupNames.size());
+
+        return DescribeLogGroupsResponse.builder()
+                .logGroups(matchingLogGroupNames.subList(start, end).stream()
+                        .map(logGroupName -> LogGroup.builder().logGroupName(logGroupName).build())
+                        .collect(Collectors.toList()))
+                .nextToken(end < matchingLogGroupNames.size() ? String.valueOf(end) : null)
+                .build();
+    }
+
+    private List<Function> getFunctions() {
+        List<Function> functions = GROUP_FUNCTION_NAMES.stream()
+                .map(name -> Function.builder().functionArn("arn:aws:lambda:us-east-1:123456789012:function:" + name + ":PROD").build())
+                .collect(Collectors.toList());
+
+        // Internal functions have no logs and must not be looked up
+        functions.add(Function.builder().functionArn("arn:aws:lambda:::function:GGIPDetector:1").build());
+
+        return functions;
+    }
+
+    @Test
+    public void shouldFindEveryLogGroupWithOneListingPerPrefix() {
+        List<String> logGroupNames = basicGroupQueryHelper.getAllLogGroupsForGreengrassGroup(GroupInformation.builder().build()).stream()
+                .map(LogGroup::logGroupName)
+                .collect(Collectors.toList());
+
+        assertThat(logGroupNames, hasSize(5 + GROUP_FUNCTION_NAMES.size()));
+        assertThat(logGroupNames, hasItem("/aws/greengrass/GreengrassSystem/runtime"));
+        assertThat(logGroupNames, hasItem(LAMBDA_LOG_GROUP_PREFIX + "group-uploader"));
+        assertThat(logGroupNames, not(hasItem(startsWith("/aws/lambda/"))));
+
+        // One page for the system logs and one listing of the Greengrass Lambda prefix
+        int expectedCalls = 1 + (int) Math.ceil((GROUP_FUNCTION_NAMES.size() + OTHER_GREENGRASS_FUNCTIONS) / (double) PAGE_SIZE);
+        assertThat(describeLogGroupsCalls.get(), is(expectedCalls));
+
+        // Looking up each of the 9 system names and 3 functions separately could page through all 10,000 groups each time
+        assertThat(describeLogGroupsCalls.get(), lessThan(TOTAL_LOG_GROUPS / PAGE_SIZE));
+    }
+}
@@ -0,0 +1,106 @@
+package com.awslabs.aws.greengrass.provisioner.implementations.helpers;
+
+import com.jcraft.jsch.ChannelExec;
+import com.jcraft.jsch.Session;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Collections;
+import java.util.function.Function;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs in the heapBoundTest task with a 256 MB heap, sending a larger file would fail if it were read into memory
+ */
+public class BasicIoHelperHeapBoundTest {
+    private static final long FILE_SIZE = 512L * 1024 * 1024;
+    private static final String REMOTE_FILENAME = "greengrass.tar.gz";
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File createFile(long size) throws IOException {
+        File file = temporaryFolder.newFile();
+
+        // Sparse, creating it doesn't take the time or the disk space of writing it
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+            randomAccessFile.setLength(size);
+        }
+
+        return file;
+    }
+
+    private String getChecksum(File file) throws Exception {
+        MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+        byte[] buffer = new byte[65536];
+
+        try (InputStream inputStream = new FileInputStream(file)) {
+            int length;
+
+            while ((length = inputStream.read(buffer)) != -1) {
+                messageDigest.update(buffer, 0, length);
+            }
+        }
+
+        StringBuilder hash = new StringBuilder();
+
+        for (byte b : messageDigest.digest()) {
+            hash.append(String.format("%02x", b));
+        }
+
+        return hash.toString();
+    }
+
+    // An scp channel that acknowledges everything and only counts what it receives, then a sha256sum channel
+    private Session getSession(CountingOutputStream countingOutputStream, Function<String, String> sha256sumOutput) throws Exception {
+        ChannelExec scpChannel = mock(ChannelExec.class);
+        when(scpChannel.getOutputStream()).thenReturn(countingOutputStream);
+        when(scpChannel.getInputStream()).thenReturn(new ByteArrayInputStream(new byte[3]));
+
+        ChannelExec sha256sumChannel = mock(ChannelExec.class);
+        when(sha256sumChannel.getInputStream()).then(invocation -> new ByteArrayInputStream(sha256sumOutput.apply(REMOTE_FILENAME).getBytes(StandardCharsets.UTF_8)));
+        when(sha256sumChannel.getErrStream()).thenReturn(new ByteArrayInputStream(new byte[0]));
+        when(sha256sumChannel.isClosed()).thenReturn(true);
+
+        Session session = mock(Session.class);
+        when(session.openChannel("exec")).thenReturn(scpChannel, sha256sumChannel);
+
+        return session;
+    }
+
+    @Test
+    public void shouldStreamFilesLargerThanTheHeap() throws Exception {
+        File file = createFile(FILE_SIZE);
+        String checksum = getChecksum(file);
+        CountingOutputStream countingOutputStream = new CountingOutputStream();
+        Session session = getSession(countingOutputStream, remoteFilename -> String.join("  ", checksum, remoteFilename));
+
+        // Throughput is logged when the upload finishes
+        new BasicIoHelper().sendFiles(session, Collections.singletonMap(file.getAbsolutePath(), REMOTE_FILENAME));
+
+        // The header line, the content, and the terminating zero
+        assertThat(countingOutputStream.count, greaterThan(FILE_SIZE));
+        assertThat(countingOutputStream.count, lessThan(FILE_SIZE + 256));
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.awslabs.aws.greengrass.provisioner.implementations.helpers;
+
+import com.jcraft.jsch.ChannelExec;
+import com.jcraft.jsch.Session;
+import io.vavr.control.Try;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.util.Collections;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BasicIoHelperTest {
+    private static final String REMOTE_FILENAME = "gg.group.sh";
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+    private File file;
+    private String checksum;
+
+    @Before
+    public void setup() throws Exception {
+        file = temporaryFolder.newFile();
+        Files.write(file.toPath(), "#!/usr/bin/env bash\n".getBytes(StandardCharsets.UTF_8));
+
+        StringBuilder hash = new StringBuilder();
+
+        for (byte b : MessageDigest.getInstance("SHA-256").digest(Files.readAllBytes(file.toPath()))) {
+            hash.append(String.format("%02x", b));
+        }
+
+        checksum = hash.toString();
+    }
+
+    // An scp channel that acknowledges everything, then a sha256sum channel with the given output and exit status
+    private Session getSession(String sha256sumStdout, String sha256sumStderr, int exitStatus) throws Exception {
+        ChannelExec scpChannel = mock(ChannelExec.class);
+        when(scpChannel.getOutputStream()).thenReturn(new ByteArrayOutputStream());
+        when(scpChannel.getInputStream()).thenReturn(new ByteArrayInputStream(new byte[3]));
+
+        ChannelExec sha256sumChannel = mock(ChannelExec.class);
+        when(sha256sumChannel.getInputStream()).thenReturn(new ByteArrayInputStream(sha256sumStdout.getBytes(StandardCharsets.UTF_8)));
+        when(sha256sumChannel.getErrStream()).thenReturn(new ByteArrayInputStream(sha256sumStderr.getBytes(StandardCharsets.UTF_8)));
+        when(sha256sumChannel.isClosed()).thenReturn(true);
+        when(sha256sumChannel.getExitStatus()).thenReturn(exitStatus);
+
+        Session session = mock(Session.class);
+        when(session.openChannel("exec")).thenReturn(scpChannel, sha256sumChannel);
+
+        return session;
+    }
+
+    private Try<Void> sendFile(Session session, String remoteFilename) {
+        return Try.run(() -> new BasicIoHelper().sendFiles(session, Collections.singletonMap(file.getAbsolutePath(), remoteFilename)));
+    }
+
+    @Test
+    public void shouldAcceptAMatchingChecksum() throws Exception {
+        Session session = getSession(String.join("", checksum, "  ", REMOTE_FILENAME, "\n"), "", 0);
+
+        assertThat(sendFile(session, REMOTE_FILENAME).isSuccess(), is(true));
+    }
+
+    @Test
+    public void shouldMatchFilenamesThatSha256sumEscaped() throws Exception {
+        String remoteFilename = "logs\\group.sh";
+        Session session = getSession(String.join("", "\\", checksum, "  logs\\\\group.sh\n"), "", 0);
+
+        assertThat(sendFile(session, remoteFilename).isSuccess(), is(true));
+    }
+
+    @Test
+    public void shouldFailWhenTheChecksumsDoNotMatch() throws Exception {
+        Session session = getSession(String.join("", "0123456789abcdef  ", REMOTE_FILENAME, "\n"), "", 0);
+
+        Try<Void> sendTry = sendFile(session, REMOTE_FILENAME);
+
+        assertThat(sendTry.isFailure(), is(true));
+        assertThat(sendTry.getCause().getMessage(), containsString("Checksum mismatch"));
+    }
+
+    @Test
+    public void shouldFailWhenAFileIsMissingFromTheOutput() throws Exception {
+        Session session = getSession(String.join("", checksum, "  some-other-file.sh\n"), "", 0);
+
+        Try<Void> sendTry = sendFile(session, REMOTE_FILENAME);
+
+        assertThat(sendTry.isFailure(), is(true));
+        assertThat(sendTry.getCause().getMessage(), containsString("sha256sum didn't report it"));
+    }
+
+    @Test
+    public void shouldFailWhenSha256sumFails() throws Exception {
+        Session session = getSession("", "bash: sha256sum: command not found\n", 127);
+
+        Try<Void> sendTry = sendFile(session, REMOTE_FILENAME);
+
+        assertThat(sendTry.isFailure(), is(true));
+        assertThat(sendTry.getCause().getMessage(), containsString("exited with [127]"));
+        assertThat(sendTry.getCause().getMessage(), containsString("command not found"));
+    }
+}
@@ -0,0 +1,183 @@
+package com.awslabs.aws.greengrass.provisioner.implementations.helpers;
+
+import com.awslabs.aws.greengrass.provisioner.data.FunctionConfAndFunctionCode;
+import com.awslabs.aws.greengrass.provisioner.data.ImmutableFunctionConfAndFunctionCode;
+import com.awslabs.aws.greengrass.provisioner.data.Language;
+import com.awslabs.aws.greengrass.provisioner.data.LambdaFunctionArnInfo;
+import com.awslabs.aws.greengrass.provisioner.data.conf.ImmutableFunctionConf;
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.GGConstants;
+import com.awslabs.iot.data.ImmutableGreengrassGroupName;
+import com.awslabs.lambda.data.*;
+import com.awslabs.lambda.data.FunctionVersion;
+import com.awslabs.lambda.helpers.interfaces.V2LambdaHelper;
+import org.junit.Before;
+import org.junit.Test;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.greengrass.model.EncodingType;
+import software.amazon.awssdk.services.iam.model.Role;
+import software.amazon.awssdk.services.lambda.LambdaClient;
+import software.amazon.awssdk.services.lambda.model.*;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.*;
+
+public class BasicLambdaHelperTest {
+    private static final int MAX_CONCURRENT_DEPLOYMENTS = 4;
+    private static final String FUNCTION_ARN_PREFIX = "arn:aws:lambda:us-east-1:123456789012:function:";
+    private BasicLambdaHelper basicLambdaHelper;
+    private LambdaClient lambdaClient;
+    private AtomicInteger deploymentsInFlight;
+    private AtomicInteger maxDeploymentsInFlight;
+    // Deployments that start before this reaches zero wait for each other
+    private CountDownLatch deploymentsStarted;
+
+    @Before
+    public void setup() {
+        lambdaClient = mock(LambdaClient.class);
+        V2LambdaHelper v2LambdaHelper = mock(V2LambdaHelper.class);
+        GGConstants ggConstants = mock(GGConstants.class);
+        when(ggConstants.getMaxConcurrentLambdaDeployments()).thenReturn(MAX_CONCURRENT_DEPLOYMENTS);
+
+        deploymentsInFlight = new AtomicInteger();
+        maxDeploymentsInFlight = new AtomicInteger();
+        deploymentsStarted = new CountDownLatch(0);
+
+        // A local stand in for the Lambda API, a deployment is in flight from its exists check until its alias is created
+        when(v2LambdaHelper.functionExists(any(FunctionName.class))).then(invocation -> {
+            startDeployment();
+            return false;
+        });
+        when(lambdaClient.createFunction(any(CreateFunctionRequest.class))).then(invocation -> CreateFunctionResponse.builder()
+                .functionArn(FUNCTION_ARN_PREFIX + invocation.<CreateFunctionRequest>getArgument(0).functionName())
+                .build());
+        when(lambdaClient.getFunctionConfiguration(any(GetFunctionConfigurationRequest.class))).then(invocation -> GetFunctionConfigurationResponse.builder()
+                .state(State.ACTIVE)
+                .lastUpdateStatus(LastUpdateStatus.SUCCESSFUL)
+                .build());
+        when(v2LambdaHelper.publishFunctionVersion(any(FunctionName.class))).then(invocation -> PublishVersionResponse.builder()
+                .version("1")
+                .functionArn(FUNCTION_ARN_PREFIX + invocation.<FunctionName>getArgument(0).getName() + ":1")
+                .build());
+        when(v2LambdaHelper.createAlias(any(FunctionName.class), any(FunctionVersion.class), any(FunctionAlias.class))).then(invocation -> {
+            deploymentsInFlight.decrementAndGet();
+
+            return ImmutableFunctionAliasArn.builder()
+                    .aliasArn(FUNCTION_ARN_PREFIX + invocation.<FunctionName>getArgument(0).getName() + ":" + invocation.<FunctionAlias>getArgument(2).getAlias())
+                    .build();
+        });
+
+        basicLambdaHelper = new BasicLambdaHelper();
+        basicLambdaHelper.lambdaClient = lambdaClient;
+        basicLambdaHelper.v2LambdaHelper = v2LambdaHelper;
+        basicLambdaHelper.ggConstants = ggConstants;
+        basicLambdaHelper.loggingHelper = new BasicLoggingHelper();
+        BasicBackoffHelper basicBackoffHelper = new BasicBackoffHelper();
+        basicBackoffHelper.runReportHelper = new BasicRunReportHelper();
+        basicLambdaHelper.backoffHelper = basicBackoffHelper;
+    }
+
+    private void startDeployment() throws InterruptedException {
+        maxDeploymentsInFlight.accumulateAndGet(deploymentsInFlight.incrementAndGet(), Math::max);
+        deploymentsStarted.countDown();
+        deploymentsStarted.await(10, TimeUnit.SECONDS);
+    }
+
+    private List<FunctionConfAndFunctionCode> getFunctions(int count) {
+        List<FunctionConfAndFunctionCode> functions = new ArrayList<>();
+
+        for (int loop = 0; loop < count; loop++) {
+            functions.add(ImmutableFunctionConfAndFunctionCode.builder()
+                    .functionConf(ImmutableFunctionConf.builder()
+                            .language(Language.EXECUTABLE)
+                            .encodingType(EncodingType.BINARY)
+                            .buildDirectory(new File(".").toPath())
+                            .groupName(ImmutableGreengrassGroupName.builder().groupName("test-group").build())
+                            .functionName(ImmutableFunctionName.builder().name("test-function-" + loop).build())
+                            .handlerName("test-handler")
+                            .aliasName(ImmutableFunctionAlias.builder().alias("test-alias").build())
+                            .memorySizeInKb(1024)
+                            .isPinned(false)
+                            .timeoutInSeconds(10)
+                            .isAccessSysFs(false)
+                            .isGreengrassContainer(false)
+                            .rawConfig("")
+                            .build())
+                    .functionCode(FunctionCode.builder().zipFile(SdkBytes.fromUtf8String("zip")).build())
+                    .build());
+        }
+
+        return functions;
+    }
+
+    private Role getRole() {
+        return Role.builder().arn("arn:aws:iam::123456789012:role/test-role").build();
+    }
+
+    @Test
+    public void shouldDeployFunctionsConcurrentlyUpToTheCap() {
+        int functionCount = 2 * MAX_CONCURRENT_DEPLOYMENTS;
+
+        // The first deployments only get past their exists check once the cap is reached, any more would exceed it
+        deploymentsStarted = new CountDownLatch(MAX_CONCURRENT_DEPLOYMENTS);
+
+        List<LambdaFunctionArnInfo> lambdaFunctionArnInfoList = basicLambdaHelper.deployFunctions(getFunctions(functionCount), getRole());
+
+        assertThat(maxDeploymentsInFlight.get(), is(MAX_CONCURRENT_DEPLOYMENTS));
+        assertThat(deploymentsInFlight.get(), is(0));
+
+        assertThat(lambdaFunctionArnInfoList.size(), is(functionCount));
+
+        for (int loop = 0; loop < functionCount; loop++) {
+            LambdaFunctionArnInfo lambdaFunctionArnInfo = lambdaFunctionArnInfoList.get(loop);
+
+            // Results must line up with the input order
+            assertThat(lambdaFunctionArnInfo.getGroupFunctionName(), is("test-group-test-function-" + loop));
+            assertThat(lambdaFunctionArnInfo.getQualifier(), is("1"));
+            assertThat(lambdaFunctionArnInfo.getAliasArn().get(), endsWith("test-function-" + loop + ":test-alias"));
+        }
+    }
+
+    @Test
+    public void shouldBackOffAndRetryWhenThrottled() {
+        AtomicBoolean throttled = new AtomicBoolean(false);
+
+        doAnswer(invocation -> {
+            if (throttled.compareAndSet(false, true)) {
+                throw TooManyRequestsException.builder().message("Rate exceeded").build();
+            }
+
+            return CreateFunctionResponse.builder()
+                    .functionArn(FUNCTION_ARN_PREFIX + invocation.<CreateFunctionRequest>getArgument(0).functionName())
+                    .build();
+        }).when(lambdaClient).createFunction(any(CreateFunctionRequest.class));
+
+        List<LambdaFunctionArnInfo> lambdaFunctionArnInfoList = basicLambdaHelper.deployFunctions(getFunctions(1), getRole());
+
+        assertThat(throttled.get(), is(true));
+        assertThat(lambdaFunctionArnInfoList.size(), is(1));
+    }
+
+    @Test
+    public void shouldFailWhenAFunctionCanNotBecomeActive() {
+        doReturn(GetFunctionConfigurationResponse.builder()
+                .state(State.FAILED)
+                .stateReason("stub failure")
+                .build()).when(lambdaClient).getFunctionConfiguration(any(GetFunctionConfigurationRequest.class));
+
+        try {
+            basicLambdaHelper.deployFunctions(getFunctions(1), getRole());
+            throw new AssertionError("Expected the failed function to stop the deployment");
+        } catch (RuntimeException e) {
+            assertThat(e.getMessage(), containsString("stub failure"));
+        }
+    }
+}
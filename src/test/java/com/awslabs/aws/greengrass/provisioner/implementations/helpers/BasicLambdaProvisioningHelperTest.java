@@ -0,0 +1,203 @@
+package com.awslabs.aws.greengrass.provisioner.implementations.helpers;
+
+import com.awslabs.aws.greengrass.provisioner.data.LambdaProvisioningResult;
+import com.awslabs.aws.greengrass.provisioner.data.arguments.DeploymentArguments;
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.AwsHelper;
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.DeploymentArgumentHelper;
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.DeploymentHelper;
+import com.awslabs.aws.greengrass.provisioner.lambda.LambdaInput;
+import io.vavr.control.Try;
+import org.junit.Before;
+import org.junit.Test;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentials;
+import software.amazon.awssdk.auth.signer.AwsSignerExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.regions.Region;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BasicLambdaProvisioningHelperTest {
+    private static final String NO_CREDENTIALS = "none";
+    private BasicLambdaProvisioningHelper basicLambdaProvisioningHelper;
+    private AtomicBoolean initialized;
+
+    @Before
+    public void setup() {
+        initialized = new AtomicBoolean(false);
+
+        DeploymentArgumentHelper deploymentArgumentHelper = mock(DeploymentArgumentHelper.class);
+        when(deploymentArgumentHelper.parseArguments(any(String[].class))).then(invocation -> {
+            String[] args = invocation.getArgument(0);
+
+            DeploymentArguments deploymentArguments = new DeploymentArguments();
+            deploymentArguments.groupName = args[1];
+
+            return deploymentArguments;
+        });
+
+        // A local stand in for a deployment, the first one pays for building the clients like a cold container does
+        DeploymentHelper deploymentHelper = mock(DeploymentHelper.class);
+        when(deploymentHelper.executeAndGetOemFiles(any(DeploymentArguments.class))).then(invocation -> {
+            DeploymentArguments deploymentArguments = invocation.getArgument(0);
+
+            if (initialized.compareAndSet(false, true)) {
+                Thread.sleep(300);
+            }
+
+            Thread.sleep(20);
+
+            Map<String, String> oemFiles = new HashMap<>();
+            oemFiles.put("group", deploymentArguments.groupName);
+            oemFiles.put("requestThread", getAccessKeyId());
+            oemFiles.put("phaseThread", getAccessKeyIdOnAnotherThread());
+
+            return oemFiles;
+        });
+
+        AwsHelper awsHelper = mock(AwsHelper.class);
+        when(awsHelper.getCurrentRegion()).thenReturn(Region.US_EAST_1);
+
+        basicLambdaProvisioningHelper = new BasicLambdaProvisioningHelper();
+        basicLambdaProvisioningHelper.deploymentArgumentHelper = deploymentArgumentHelper;
+        basicLambdaProvisioningHelper.deploymentHelperProvider = () -> deploymentHelper;
+        basicLambdaProvisioningHelper.awsHelper = awsHelper;
+    }
+
+    private String getAccessKeyId() {
+        return RequestCredentialsExecutionInterceptor.getRequestCredentials()
+                .map(AwsCredentials::accessKeyId)
+                .orElse(NO_CREDENTIALS);
+    }
+
+    // Deployments run their phases on threads they create, those threads must sign with the same credentials
+    private String getAccessKeyIdOnAnotherThread() throws Exception {
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+
+        try {
+            return executorService.submit(this::getAccessKeyId).get();
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private LambdaInput getLambdaInput(String groupName) {
+        LambdaInput lambdaInput = new LambdaInput();
+        lambdaInput.GroupName = groupName;
+        lambdaInput.CoreRoleName = "Greengrass_CoreRole";
+        lambdaInput.CorePolicyName = "GreengrassDefaultPolicy";
+
+        return lambdaInput;
+    }
+
+    private LambdaInput getLambdaInputWithCredentials(String groupName, String accessKeyId) {
+        LambdaInput lambdaInput = getLambdaInput(groupName);
+        lambdaInput.AccessKeyId = accessKeyId;
+        lambdaInput.SecretAccessKey = "secret";
+        lambdaInput.SessionToken = "token";
+
+        return lambdaInput;
+    }
+
+    @Test
+    public void shouldTrackColdAndWarmRequests() {
+        LambdaProvisioningResult coldResult = basicLambdaProvisioningHelper.provision(getLambdaInput("cold"));
+
+        assertThat(coldResult.isColdStart(), is(true));
+
+        for (int loop = 0; loop < 5; loop++) {
+            LambdaProvisioningResult warmResult = basicLambdaProvisioningHelper.provision(getLambdaInput("warm"));
+
+            assertThat(warmResult.isColdStart(), is(false));
+            assertThat(warmResult.getDuration(), lessThan(coldResult.getDuration()));
+        }
+    }
+
+    @Test
+    public void shouldKeepEachRequestsCredentialsWhenRequestsRunConcurrently() throws Exception {
+        int threads = 8;
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+
+        try {
+            List<Future<LambdaProvisioningResult>> futures = new ArrayList<>();
+
+            for (int loop = 0; loop < 32; loop++) {
+                String accessKeyId = String.join("-", "ASIA", String.valueOf(loop));
+                futures.add(executorService.submit(() -> basicLambdaProvisioningHelper.provision(getLambdaInputWithCredentials(accessKeyId, accessKeyId))));
+            }
+
+            for (Future<LambdaProvisioningResult> future : futures) {
+                Map<String, String> oemFiles = future.get(10, TimeUnit.SECONDS).getOemFiles();
+
+                assertThat(oemFiles.get("requestThread"), is(oemFiles.get("group")));
+                assertThat(oemFiles.get("phaseThread"), is(oemFiles.get("group")));
+            }
+
+            // Nothing is left behind on the threads that handled the requests, the barrier puts one check on each of them
+            CyclicBarrier everyThread = new CyclicBarrier(threads);
+            List<Future<String>> leftoverFutures = new ArrayList<>();
+
+            for (int loop = 0; loop < threads; loop++) {
+                leftoverFutures.add(executorService.submit(() -> {
+                    everyThread.await(10, TimeUnit.SECONDS);
+
+                    return String.join(":", Thread.currentThread().getName(), getAccessKeyId());
+                }));
+            }
+
+            Set<String> threadNames = new HashSet<>();
+
+            for (Future<String> leftoverFuture : leftoverFutures) {
+                String[] threadNameAndAccessKeyId = leftoverFuture.get(10, TimeUnit.SECONDS).split(":");
+
+                threadNames.add(threadNameAndAccessKeyId[0]);
+                assertThat(threadNameAndAccessKeyId[1], is(NO_CREDENTIALS));
+            }
+
+            assertThat(threadNames.size(), is(threads));
+
+            // A request without credentials on one of those threads signs with the defaults
+            assertThat(executorService.submit(() -> basicLambdaProvisioningHelper.provision(getLambdaInput("default"))).get(10, TimeUnit.SECONDS).getOemFiles().get("requestThread"), is(NO_CREDENTIALS));
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldSignWithTheRequestCredentials() {
+        RequestCredentialsExecutionInterceptor requestCredentialsExecutionInterceptor = new RequestCredentialsExecutionInterceptor();
+        AwsCredentials awsCredentials = AwsBasicCredentials.create("ASIA-REQUEST", "secret");
+        ExecutionAttributes requestExecutionAttributes = new ExecutionAttributes();
+        ExecutionAttributes defaultExecutionAttributes = new ExecutionAttributes();
+
+        RequestCredentialsExecutionInterceptor.callWith(awsCredentials, () -> {
+            requestCredentialsExecutionInterceptor.beforeMarshalling(null, requestExecutionAttributes);
+            return null;
+        });
+
+        requestCredentialsExecutionInterceptor.beforeMarshalling(null, defaultExecutionAttributes);
+
+        assertThat(requestExecutionAttributes.getAttribute(AwsSignerExecutionAttribute.AWS_CREDENTIALS), is(sameInstance(awsCredentials)));
+        assertThat(defaultExecutionAttributes.getAttribute(AwsSignerExecutionAttribute.AWS_CREDENTIALS), is(nullValue()));
+    }
+
+    @Test
+    public void shouldRejectRequestsForAnotherRegion() {
+        LambdaInput lambdaInput = getLambdaInput("other-region");
+        lambdaInput.Region = Region.EU_WEST_1.id();
+
+        Try<LambdaProvisioningResult> provisionTry = Try.of(() -> basicLambdaProvisioningHelper.provision(lambdaInput));
+
+        assertThat(provisionTry.isFailure(), is(true));
+        assertThat(provisionTry.getCause().getMessage(), containsString("[eu-west-1]"));
+        assertThat(initialized.get(), is(false));
+    }
+}
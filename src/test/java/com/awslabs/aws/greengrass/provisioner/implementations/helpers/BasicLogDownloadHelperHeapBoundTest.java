@@ -0,0 +1,152 @@
+package com.awslabs.aws.greengrass.provisioner.implementations.helpers;
+
+import com.awslabs.aws.greengrass.provisioner.data.LogDownloadResult;
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.GGConstants;
+import io.vavr.Tuple;
+import io.vavr.Tuple2;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import software.amazon.awssdk.services.cloudwatchlogs.CloudWatchLogsClient;
+import software.amazon.awssdk.services.cloudwatchlogs.model.*;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs in the heapBoundTest task with a 256 MB heap, downloading more than that would fail if the logs were held in memory.
+ * Not part of check since it generates and compresses 2 GB of logs, run it with "gradle heapBoundTest".
+ */
+public class BasicLogDownloadHelperHeapBoundTest {
+    private static final int MESSAGE_SIZE = 1024;
+    private static final int EVENTS_PER_PAGE = 1024;
+    private static final long PAGE_SIZE = (long) MESSAGE_SIZE * EVENTS_PER_PAGE;
+    private static final int STREAMS = 4;
+    // 2 GB across all of the streams
+    private static final int PAGES_PER_STREAM = (int) ((2L * 1024 * 1024 * 1024) / PAGE_SIZE / STREAMS);
+    // A few pages per stream in flight, well under what the download would need if it were buffered
+    private static final long MAX_LIVE_HEAP = 64L * 1024 * 1024;
+    private static final long SAMPLE_INTERVAL_MS = 10;
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    // Pages are generated on request so the stub doesn't hold the log set in memory either
+    private GetLogEventsResponse getLogEvents(GetLogEventsRequest getLogEventsRequest) {
+        int page = getLogEventsRequest.nextToken() == null ? 0 : Integer.parseInt(getLogEventsRequest.nextToken().substring(2));
+
+        if (page >= PAGES_PER_STREAM) {
+            return GetLogEventsResponse.builder()
+                    .events(new ArrayList<>())
+                    .nextForwardToken(getLogEventsRequest.nextToken())
+                    .build();
+        }
+
+        char[] characters = new char[MESSAGE_SIZE - 1];
+        Arrays.fill(characters, (char) ('a' + (page % 26)));
+        String message = String.join("", new String(characters), "\n");
+
+        List<OutputLogEvent> events = IntStream.range(0, EVENTS_PER_PAGE)
+                .mapToObj(event -> OutputLogEvent.builder().timestamp((long) event).message(message).build())
+                .collect(Collectors.toList());
+
+        return GetLogEventsResponse.builder()
+                .events(events)
+                .nextForwardToken("f/" + (page + 1))
+                .build();
+    }
+
+    // Heap used right after the most recent collection in each pool, that's what the download keeps alive rather than
+    // garbage that hasn't been collected yet
+    private long getLiveHeap() {
+        return ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(memoryPoolMXBean -> memoryPoolMXBean.getType() == MemoryType.HEAP)
+                .map(MemoryPoolMXBean::getCollectionUsage)
+                .filter(memoryUsage -> memoryUsage != null)
+                .mapToLong(MemoryUsage::getUsed)
+                .sum();
+    }
+
+    private Thread startSampler(AtomicBoolean sampling, AtomicLong peakLiveHeap) {
+        Thread thread = new Thread(() -> {
+            while (sampling.get()) {
+                peakLiveHeap.accumulateAndGet(getLiveHeap(), Math::max);
+
+                try {
+                    Thread.sleep(SAMPLE_INTERVAL_MS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }, "HeapSampler");
+
+        thread.setDaemon(true);
+        thread.start();
+
+        return thread;
+    }
+
+    @Test
+    public void shouldDownloadMoreLogsThanFitInTheHeap() throws IOException, InterruptedException {
+        CloudWatchLogsClient cloudWatchLogsClient = mock(CloudWatchLogsClient.class);
+        when(cloudWatchLogsClient.getLogEvents(any(GetLogEventsRequest.class))).then(invocation -> getLogEvents(invocation.getArgument(0)));
+
+        GGConstants ggConstants = mock(GGConstants.class);
+        when(ggConstants.getMaxConcurrentLogStreamPolls()).thenReturn(STREAMS);
+
+        BasicLogDownloadHelper basicLogDownloadHelper = new BasicLogDownloadHelper();
+        basicLogDownloadHelper.cloudWatchLogsClient = cloudWatchLogsClient;
+        BasicBackoffHelper basicBackoffHelper = new BasicBackoffHelper();
+        basicBackoffHelper.runReportHelper = new BasicRunReportHelper();
+        basicLogDownloadHelper.backoffHelper = basicBackoffHelper;
+        basicLogDownloadHelper.ggConstants = ggConstants;
+
+        List<Tuple2<LogGroup, LogStream>> logStreams = IntStream.range(0, STREAMS)
+                .mapToObj(stream -> Tuple.of(LogGroup.builder().logGroupName("/aws/greengrass/Lambda/us-east-1/123456789012/function-" + stream).build(),
+                        LogStream.builder().logStreamName("core").build()))
+                .collect(Collectors.toList());
+
+        AtomicBoolean sampling = new AtomicBoolean(true);
+        AtomicLong peakLiveHeap = new AtomicLong();
+        Thread sampler = startSampler(sampling, peakLiveHeap);
+
+        List<LogDownloadResult> logDownloadResults;
+
+        try {
+            // Compressed so the test doesn't need 2 GB of disk
+            logDownloadResults = basicLogDownloadHelper.download(logStreams, temporaryFolder.newFolder().toPath(), true, false);
+        } finally {
+            sampling.set(false);
+            sampler.join();
+        }
+
+        peakLiveHeap.accumulateAndGet(getLiveHeap(), Math::max);
+
+        long bytesDownloaded = logDownloadResults.stream().mapToLong(LogDownloadResult::getBytesDownloaded).sum();
+        long bytesWritten = logDownloadResults.stream().mapToLong(LogDownloadResult::getBytesWritten).sum();
+
+        assertThat(bytesDownloaded, is(2L * 1024 * 1024 * 1024));
+        assertThat(bytesWritten, lessThan(bytesDownloaded / 100));
+        // Allocating 2 GB in a 256 MB heap always collects, a zero would mean nothing was measured
+        assertThat(peakLiveHeap.get(), greaterThan(0L));
+        assertThat(peakLiveHeap.get(), lessThan(MAX_LIVE_HEAP));
+    }
+}
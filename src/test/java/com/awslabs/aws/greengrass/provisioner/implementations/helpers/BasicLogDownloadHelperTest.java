@@ -0,0 +1,175 @@
+package com.awslabs.aws.greengrass.provisioner.implementations.helpers;
+
+import com.awslabs.aws.greengrass.provisioner.data.LogDownloadResult;
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.GGConstants;
+import io.vavr.Tuple;
+import io.vavr.Tuple2;
+import org.apache.commons.io.IOUtils;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import software.amazon.awssdk.services.cloudwatchlogs.CloudWatchLogsClient;
+import software.amazon.awssdk.services.cloudwatchlogs.model.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BasicLogDownloadHelperTest {
+    private static final int PAGE_SIZE = 100;
+    private static final int EVENTS = 1050;
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+    private BasicLogDownloadHelper basicLogDownloadHelper;
+    private List<Tuple2<LogGroup, LogStream>> logStreams;
+    private List<OutputLogEvent> events;
+    private AtomicInteger failAfterCalls;
+    private Set<Integer> emptyPagesAt;
+    private Path directory;
+
+    @Before
+    public void setup() throws IOException {
+        events = new ArrayList<>();
+
+        for (int loop = 0; loop < EVENTS; loop++) {
+            events.add(OutputLogEvent.builder()
+                    .timestamp((long) loop)
+                    .message(String.join("", "event ", String.valueOf(loop), "\n"))
+                    .build());
+        }
+
+        logStreams = Collections.singletonList(Tuple.of(LogGroup.builder().logGroupName("/aws/greengrass/GreengrassSystem/runtime").build(),
+                LogStream.builder().logStreamName("core").build()));
+
+        failAfterCalls = new AtomicInteger(Integer.MAX_VALUE);
+        emptyPagesAt = ConcurrentHashMap.newKeySet();
+
+        CloudWatchLogsClient cloudWatchLogsClient = mock(CloudWatchLogsClient.class);
+        when(cloudWatchLogsClient.getLogEvents(any(GetLogEventsRequest.class))).then(invocation -> getLogEvents(invocation.getArgument(0)));
+
+        GGConstants ggConstants = mock(GGConstants.class);
+        when(ggConstants.getMaxConcurrentLogStreamPolls()).thenReturn(4);
+
+        basicLogDownloadHelper = new BasicLogDownloadHelper();
+        basicLogDownloadHelper.cloudWatchLogsClient = cloudWatchLogsClient;
+        BasicBackoffHelper basicBackoffHelper = new BasicBackoffHelper();
+        basicBackoffHelper.runReportHelper = new BasicRunReportHelper();
+        basicLogDownloadHelper.backoffHelper = basicBackoffHelper;
+        basicLogDownloadHelper.ggConstants = ggConstants;
+
+        directory = temporaryFolder.newFolder().toPath();
+    }
+
+    // A local stand in for CloudWatch Logs, forward tokens are offsets into the stream
+    private GetLogEventsResponse getLogEvents(GetLogEventsRequest getLogEventsRequest) {
+        if (failAfterCalls.decrementAndGet() < 0) {
+            throw new IllegalStateException("Connection reset");
+        }
+
+        int start = getLogEventsRequest.nextToken() == null ? 0 : Integer.parseInt(getLogEventsRequest.nextToken().substring(2));
+
+        // An empty page with a new token in the middle of the stream, like CloudWatch Logs sends when a time range has no events
+        if (emptyPagesAt.remove(start)) {
+            return GetLogEventsResponse.builder()
+                    .events(new ArrayList<>())
+                    .nextForwardToken("e/" + start)
+                    .build();
+        }
+
+        int end = Math.min(start + PAGE_SIZE, events.size());
+
+        return GetLogEventsResponse.builder()
+                .events(events.subList(start, end))
+                .nextForwardToken("f/" + end)
+                .build();
+    }
+
+    private String getExpectedContents() {
+        StringBuilder stringBuilder = new StringBuilder();
+        events.forEach(event -> stringBuilder.append(event.message()));
+
+        return stringBuilder.toString();
+    }
+
+    private String readCompressedFile(Path file) throws IOException {
+        try (InputStream inputStream = new GZIPInputStream(Files.newInputStream(file))) {
+            return IOUtils.toString(inputStream, StandardCharsets.UTF_8);
+        }
+    }
+
+    @Test
+    public void shouldWriteEveryPageToTheFile() throws IOException {
+        LogDownloadResult logDownloadResult = basicLogDownloadHelper.download(logStreams, directory, false, false).get(0);
+
+        assertThat(logDownloadResult.getFile().getFileName().toString(), is("runtime.log"));
+        assertThat(new String(Files.readAllBytes(logDownloadResult.getFile()), StandardCharsets.UTF_8), is(getExpectedContents()));
+        assertThat(logDownloadResult.getEvents(), is((long) EVENTS));
+        assertThat(logDownloadResult.getPages(), is((long) Math.ceil(EVENTS / (double) PAGE_SIZE)));
+        assertThat(logDownloadResult.getBytesDownloaded(), is((long) getExpectedContents().length()));
+        assertThat(logDownloadResult.getBytesWritten(), is(logDownloadResult.getBytesDownloaded()));
+        assertThat(logDownloadResult.isResumed(), is(false));
+    }
+
+    @Test
+    public void shouldKeepReadingPastEmptyPages() throws IOException {
+        emptyPagesAt.add(0);
+        emptyPagesAt.add(PAGE_SIZE * 3);
+
+        LogDownloadResult logDownloadResult = basicLogDownloadHelper.download(logStreams, directory, false, false).get(0);
+
+        assertThat(new String(Files.readAllBytes(logDownloadResult.getFile()), StandardCharsets.UTF_8), is(getExpectedContents()));
+        assertThat(logDownloadResult.getEvents(), is((long) EVENTS));
+    }
+
+    @Test
+    public void shouldCompressTheFile() throws IOException {
+        LogDownloadResult logDownloadResult = basicLogDownloadHelper.download(logStreams, directory, true, false).get(0);
+
+        assertThat(logDownloadResult.getFile().getFileName().toString(), is("runtime.log.gz"));
+        assertThat(readCompressedFile(logDownloadResult.getFile()), is(getExpectedContents()));
+        assertThat(logDownloadResult.getBytesWritten(), lessThan(logDownloadResult.getBytesDownloaded()));
+    }
+
+    @Test
+    public void shouldResumeAnInterruptedDownloadWithoutDuplicates() throws IOException {
+        failAfterCalls.set(4);
+
+        try {
+            basicLogDownloadHelper.download(logStreams, directory, true, false);
+            Assert.fail("Expected the download to be interrupted");
+        } catch (IllegalStateException e) {
+            assertThat(e.getMessage(), is("Connection reset"));
+        }
+
+        failAfterCalls.set(Integer.MAX_VALUE);
+
+        LogDownloadResult logDownloadResult = basicLogDownloadHelper.download(logStreams, directory, true, true).get(0);
+
+        assertThat(logDownloadResult.isResumed(), is(true));
+        assertThat(logDownloadResult.getEvents(), is((long) EVENTS - (4 * PAGE_SIZE)));
+        assertThat(readCompressedFile(logDownloadResult.getFile()), is(getExpectedContents()));
+
+        // Resuming a finished download only picks up new events
+        LogDownloadResult nothingNew = basicLogDownloadHelper.download(logStreams, directory, true, true).get(0);
+
+        assertThat(nothingNew.getEvents(), is(0L));
+        assertThat(readCompressedFile(nothingNew.getFile()), is(getExpectedContents()));
+    }
+}
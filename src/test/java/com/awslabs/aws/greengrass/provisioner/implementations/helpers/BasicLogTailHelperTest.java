@@ -0,0 +1,159 @@
+package com.awslabs.aws.greengrass.provisioner.implementations.helpers;
+
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.GGConstants;
+import io.vavr.Tuple;
+import io.vavr.Tuple2;
+import io.vavr.Tuple3;
+import org.junit.Before;
+import org.junit.Test;
+import software.amazon.awssdk.services.cloudwatchlogs.CloudWatchLogsClient;
+import software.amazon.awssdk.services.cloudwatchlogs.model.*;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BasicLogTailHelperTest {
+    private static final int STREAMS = 50;
+    // Bigger than a page so every burst needs the forward tokens to be followed
+    private static final int EVENTS_PER_BURST = 250;
+    private static final int PAGE_SIZE = 100;
+    private static final int BURSTS = 4;
+    private BasicLogTailHelper basicLogTailHelper;
+    private BasicBackoffHelper basicBackoffHelper;
+    private Map<String, List<OutputLogEvent>> eventsByStream;
+    private List<Tuple2<LogGroup, LogStream>> logStreams;
+    private List<Duration> pauses;
+    private AtomicInteger bursts;
+
+    @Before
+    public void setup() {
+        eventsByStream = new ConcurrentHashMap<>();
+        logStreams = new ArrayList<>();
+        pauses = new CopyOnWriteArrayList<>();
+        bursts = new AtomicInteger();
+
+        for (int stream = 0; stream < STREAMS; stream++) {
+            String name = "stream-" + stream;
+            eventsByStream.put(name, new CopyOnWriteArrayList<>());
+            logStreams.add(Tuple.of(LogGroup.builder().logGroupName("/aws/greengrass/Lambda/us-east-1/123456789012/function-" + stream).build(),
+                    LogStream.builder().logStreamName(name).build()));
+        }
+
+        CloudWatchLogsClient cloudWatchLogsClient = mock(CloudWatchLogsClient.class);
+        when(cloudWatchLogsClient.getLogEvents(any(GetLogEventsRequest.class))).then(invocation -> getLogEvents(invocation.getArgument(0)));
+
+        GGConstants ggConstants = mock(GGConstants.class);
+        when(ggConstants.getMaxConcurrentLogStreamPolls()).thenReturn(8);
+
+        basicBackoffHelper = new BasicBackoffHelper();
+        basicBackoffHelper.runReportHelper = new BasicRunReportHelper();
+        basicBackoffHelper.jitter = () -> 1.0;
+        // The logs arrive while the tail is waiting between polls
+        basicBackoffHelper.sleeper = pauses::add;
+
+        basicLogTailHelper = new BasicLogTailHelper();
+        basicLogTailHelper.cloudWatchLogsClient = cloudWatchLogsClient;
+        basicLogTailHelper.backoffHelper = basicBackoffHelper;
+        basicLogTailHelper.ggConstants = ggConstants;
+    }
+
+    // A local stand in for CloudWatch Logs, forward tokens are offsets into the stream
+    private GetLogEventsResponse getLogEvents(GetLogEventsRequest getLogEventsRequest) {
+        List<OutputLogEvent> events = eventsByStream.get(getLogEventsRequest.logStreamName());
+        int size = events.size();
+
+        if (getLogEventsRequest.nextToken() == null) {
+            // Without a token the service returns the newest page
+            return GetLogEventsResponse.builder()
+                    .events(events.subList(Math.max(0, size - PAGE_SIZE), size))
+                    .nextForwardToken("f/" + size)
+                    .build();
+        }
+
+        int start = Integer.parseInt(getLogEventsRequest.nextToken().substring(2));
+        int end = Math.min(start + PAGE_SIZE, size);
+
+        return GetLogEventsResponse.builder()
+                .events(new ArrayList<>(events.subList(start, end)))
+                .nextForwardToken("f/" + end)
+                .build();
+    }
+
+    private void writeBurst() {
+        int burst = bursts.getAndIncrement();
+
+        for (int stream = 0; stream < STREAMS; stream++) {
+            List<OutputLogEvent> events = eventsByStream.get("stream-" + stream);
+
+            for (int event = 0; event < EVENTS_PER_BURST; event++) {
+                // Timestamps interleave across streams so only a merge puts them in order
+                long timestamp = (burst * 1_000_000L) + (event * STREAMS) + stream;
+                events.add(OutputLogEvent.builder()
+                        .timestamp(timestamp)
+                        .message(String.join(":", "stream-" + stream, String.valueOf(burst), String.valueOf(event)))
+                        .build());
+            }
+        }
+    }
+
+    @Test
+    public void shouldNotDropEventsFromBurstsAcrossManyStreams() {
+        // Events that existed before the tail started are not shown
+        writeBurst();
+
+        basicBackoffHelper.sleeper = duration -> {
+            pauses.add(duration);
+
+            if (bursts.get() <= BURSTS) {
+                writeBurst();
+            }
+        };
+
+        List<Tuple3<LogGroup, LogStream, OutputLogEvent>> received = new ArrayList<>();
+        int expected = BURSTS * STREAMS * EVENTS_PER_BURST;
+
+        basicLogTailHelper.tail(logStreams, received::add, () -> received.size() >= expected);
+
+        assertThat(received, hasSize(expected));
+
+        List<Long> timestamps = received.stream()
+                .map(event -> event._3.timestamp())
+                .collect(Collectors.toList());
+        List<Long> sortedTimestamps = new ArrayList<>(timestamps);
+        Collections.sort(sortedTimestamps);
+
+        assertThat(timestamps, is(sortedTimestamps));
+
+        Set<String> messages = received.stream()
+                .map(event -> event._3.message())
+                .collect(Collectors.toSet());
+
+        assertThat(messages, hasSize(expected));
+        assertThat(messages, not(hasItem(startsWith("stream-0:0:"))));
+        // Busy polls never wait longer than the minimum
+        assertThat(pauses, everyItem(is(Duration.ofSeconds(1))));
+    }
+
+    @Test
+    public void shouldPollLessOftenWhileTheStreamsAreQuiet() {
+        AtomicInteger polls = new AtomicInteger();
+
+        basicLogTailHelper.tail(logStreams, event -> {
+        }, () -> polls.getAndIncrement() >= 5);
+
+        assertThat(pauses, hasSize(5));
+        assertThat(pauses.get(0), is(Duration.ofSeconds(1)));
+        assertThat(pauses.get(4), greaterThan(pauses.get(1)));
+        assertThat(pauses.get(4), lessThanOrEqualTo(Duration.ofSeconds(10)));
+    }
+}
@@ -0,0 +1,169 @@
+package com.awslabs.aws.greengrass.provisioner.implementations.helpers;
+
+import com.awslabs.aws.greengrass.provisioner.data.ImmutableLookupKey;
+import com.awslabs.aws.greengrass.provisioner.data.LookupCacheStats;
+import com.awslabs.aws.greengrass.provisioner.data.LookupKey;
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.GGConstants;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BasicLookupCacheHelperTest {
+    private static final LookupKey<String> ENDPOINT_KEY = ImmutableLookupKey.<String>builder()
+            .name("endpoint")
+            .addQualifiers("us-east-1")
+            .type(String.class)
+            .build();
+    private static final LookupKey<String> PERSISTED_KEY = ImmutableLookupKey.<String>builder()
+            .name("root-ca")
+            .type(String.class)
+            .timeToLive(Duration.ofDays(1))
+            .build();
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+    private GGConstants ggConstants;
+    private AtomicInteger remoteCalls;
+
+    @Before
+    public void setup() throws IOException {
+        ggConstants = mock(GGConstants.class);
+        when(ggConstants.getLookupCacheDirectory()).thenReturn(temporaryFolder.newFolder().getPath());
+
+        remoteCalls = new AtomicInteger();
+    }
+
+    private BasicLookupCacheHelper getBasicLookupCacheHelper() {
+        BasicLookupCacheHelper basicLookupCacheHelper = new BasicLookupCacheHelper();
+        basicLookupCacheHelper.ggConstants = ggConstants;
+
+        return basicLookupCacheHelper;
+    }
+
+    private String remoteCall(String value) throws InterruptedException {
+        remoteCalls.incrementAndGet();
+        // Long enough that every other caller arrives while this one is still in flight
+        Thread.sleep(200);
+
+        return value;
+    }
+
+    @Test
+    public void shouldShareOneInFlightLookupBetweenConcurrentCallers() throws Exception {
+        BasicLookupCacheHelper basicLookupCacheHelper = getBasicLookupCacheHelper();
+        int callers = 8;
+        ExecutorService executorService = Executors.newFixedThreadPool(callers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> futures = new ArrayList<>();
+
+        for (int loop = 0; loop < callers; loop++) {
+            futures.add(executorService.submit(() -> {
+                start.await();
+                return basicLookupCacheHelper.get(ENDPOINT_KEY, () -> remoteCall("endpoint.example.com"));
+            }));
+        }
+
+        start.countDown();
+
+        for (Future<String> future : futures) {
+            assertThat(future.get(), is("endpoint.example.com"));
+        }
+
+        executorService.shutdown();
+
+        assertThat(remoteCalls.get(), is(1));
+
+        LookupCacheStats lookupCacheStats = basicLookupCacheHelper.getStats().get(0);
+
+        assertThat(lookupCacheStats.getName(), is("endpoint"));
+        assertThat(lookupCacheStats.getMisses(), is(1L));
+        assertThat(lookupCacheStats.getHits(), is((long) callers - 1));
+    }
+
+    @Test
+    public void shouldNotCacheFailures() throws Exception {
+        BasicLookupCacheHelper basicLookupCacheHelper = getBasicLookupCacheHelper();
+
+        try {
+            basicLookupCacheHelper.get(ENDPOINT_KEY, () -> {
+                remoteCalls.incrementAndGet();
+                throw new IllegalStateException("Throttled");
+            });
+            Assert.fail("Expected the lookup failure to be thrown");
+        } catch (IllegalStateException e) {
+            assertThat(e.getMessage(), is("Throttled"));
+        }
+
+        assertThat(basicLookupCacheHelper.get(ENDPOINT_KEY, () -> remoteCall("endpoint.example.com")), is("endpoint.example.com"));
+        assertThat(remoteCalls.get(), is(2));
+    }
+
+    @Test
+    public void shouldReusePersistedValuesUntilTheyExpire() throws Exception {
+        assertThat(getBasicLookupCacheHelper().get(PERSISTED_KEY, () -> remoteCall("certificate")), is("certificate"));
+
+        // A new helper is a new run, only the disk is shared
+        BasicLookupCacheHelper nextRun = getBasicLookupCacheHelper();
+        assertThat(nextRun.get(PERSISTED_KEY, () -> remoteCall("changed")), is("certificate"));
+        assertThat(nextRun.getStats().get(0).getDiskHits(), is(1L));
+        assertThat(remoteCalls.get(), is(1));
+
+        BasicLookupCacheHelper muchLaterRun = getBasicLookupCacheHelper();
+        muchLaterRun.clock = Clock.fixed(Instant.now().plus(Duration.ofDays(2)), ZoneOffset.UTC);
+        assertThat(muchLaterRun.get(PERSISTED_KEY, () -> remoteCall("changed")), is("changed"));
+        assertThat(remoteCalls.get(), is(2));
+    }
+
+    @Test
+    public void shouldDropTheOldestValuesWhenCredentialsKeepRotating() throws Exception {
+        BasicLookupCacheHelper basicLookupCacheHelper = getBasicLookupCacheHelper();
+        basicLookupCacheHelper.maxValues = 2;
+
+        for (int loop = 0; loop < 10; loop++) {
+            basicLookupCacheHelper.get(getAccountIdKey(loop), () -> remoteCall("123456789012"));
+        }
+
+        assertThat(remoteCalls.get(), is(10));
+
+        // The two newest access keys are still cached, the first one was dropped long ago
+        basicLookupCacheHelper.get(getAccountIdKey(9), () -> remoteCall("123456789012"));
+        basicLookupCacheHelper.get(getAccountIdKey(8), () -> remoteCall("123456789012"));
+        assertThat(remoteCalls.get(), is(10));
+
+        basicLookupCacheHelper.get(getAccountIdKey(0), () -> remoteCall("123456789012"));
+        assertThat(remoteCalls.get(), is(11));
+    }
+
+    private LookupKey<String> getAccountIdKey(int accessKeyIndex) {
+        return ImmutableLookupKey.<String>builder()
+                .name("account-id")
+                .addQualifiers(String.join("-", "ASIA", String.valueOf(accessKeyIndex)))
+                .type(String.class)
+                .build();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldOnlyPersistStrings() {
+        ImmutableLookupKey.<Integer>builder()
+                .name("count")
+                .type(Integer.class)
+                .timeToLive(Duration.ofDays(1))
+                .build();
+    }
+}
@@ -0,0 +1,155 @@
+package com.awslabs.aws.greengrass.provisioner.implementations.helpers;
+
+import com.awslabs.aws.greengrass.provisioner.data.ImmutablePhase;
+import com.awslabs.aws.greengrass.provisioner.data.Phase;
+import com.awslabs.aws.greengrass.provisioner.data.PhaseResults;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class BasicPhaseGraphHelperTest {
+    private static final long STUB_CALL_DURATION_MS = 200;
+    private BasicPhaseGraphHelper basicPhaseGraphHelper;
+
+    @Before
+    public void setup() {
+        basicPhaseGraphHelper = new BasicPhaseGraphHelper();
+        basicPhaseGraphHelper.runReportHelper = new BasicRunReportHelper();
+    }
+
+    // Simulates an AWS API call that takes a fixed amount of time and returns a value
+    private Phase stubPhase(String name, String... inputs) {
+        return ImmutablePhase.builder()
+                .name(name)
+                .addInputs(inputs)
+                .task(results -> {
+                    Thread.sleep(STUB_CALL_DURATION_MS);
+                    return name;
+                })
+                .build();
+    }
+
+    @Test
+    public void shouldOnlyTakeAsLongAsTheCriticalPath() {
+        // Shaped like a deployment, nine calls where the longest chain is three calls long
+        List<Phase> phases = Arrays.asList(
+                stubPhase("groupId"),
+                stubPhase("coreThingArn"),
+                stubPhase("deploymentConf"),
+                stubPhase("coreRole", "deploymentConf"),
+                stubPhase("serviceRole", "deploymentConf"),
+                stubPhase("loggerDefinition", "deploymentConf"),
+                stubPhase("lambdaRole", "deploymentConf"),
+                stubPhase("roleAlias", "coreRole"),
+                stubPhase("coreDefinition", "groupId", "coreThingArn"));
+
+        long start = System.currentTimeMillis();
+        PhaseResults phaseResults = basicPhaseGraphHelper.run(phases, 4);
+        long duration = System.currentTimeMillis() - start;
+
+        String roleAlias = phaseResults.get("roleAlias");
+
+        assertThat(phaseResults.size(), is(phases.size()));
+        assertThat(roleAlias, is("roleAlias"));
+
+        // Running sequentially would take nine calls, allow some slack over the three call critical path
+        assertThat(duration, greaterThanOrEqualTo(3 * STUB_CALL_DURATION_MS));
+        assertThat(duration, lessThan(5 * STUB_CALL_DURATION_MS));
+    }
+
+    @Test
+    public void shouldPassOutputsToDependentPhases() {
+        List<Phase> phases = Arrays.asList(
+                ImmutablePhase.builder().name("a").task(results -> 1).build(),
+                ImmutablePhase.builder().name("b").task(results -> 2).build(),
+                ImmutablePhase.builder().name("sum").addInputs("a", "b").task(results -> (Integer) results.get("a") + (Integer) results.get("b")).build());
+
+        PhaseResults phaseResults = basicPhaseGraphHelper.run(phases, 2);
+
+        Integer sum = phaseResults.get("sum");
+
+        assertThat(sum, is(3));
+    }
+
+    @Test
+    public void shouldFailFastAndCancelRunningPhases() {
+        AtomicBoolean slowPhaseFinished = new AtomicBoolean(false);
+        AtomicBoolean dependentPhaseStarted = new AtomicBoolean(false);
+
+        List<Phase> phases = Arrays.asList(
+                ImmutablePhase.builder().name("failing").task(results -> {
+                    throw new RuntimeException("stub failure");
+                }).build(),
+                ImmutablePhase.builder().name("slow").task(results -> {
+                    Thread.sleep(10 * STUB_CALL_DURATION_MS);
+                    slowPhaseFinished.set(true);
+                    return null;
+                }).build(),
+                ImmutablePhase.builder().name("dependent").addInputs("failing").task(results -> {
+                    dependentPhaseStarted.set(true);
+                    return null;
+                }).build());
+
+        long start = System.currentTimeMillis();
+
+        try {
+            basicPhaseGraphHelper.run(phases, 2);
+            Assert.fail("Expected the failing phase to stop the run");
+        } catch (RuntimeException e) {
+            assertThat(e.getMessage(), is("stub failure"));
+        }
+
+        assertThat(System.currentTimeMillis() - start, lessThan(5 * STUB_CALL_DURATION_MS));
+        Assert.assertFalse(slowPhaseFinished.get());
+        Assert.assertFalse(dependentPhaseStarted.get());
+    }
+
+    @Test
+    public void shouldRejectCyclesBeforeRunningAnything() {
+        AtomicBoolean started = new AtomicBoolean(false);
+
+        List<Phase> phases = Arrays.asList(
+                ImmutablePhase.builder().name("independent").task(results -> {
+                    started.set(true);
+                    return null;
+                }).build(),
+                stubPhase("a", "b"),
+                stubPhase("b", "a"));
+
+        try {
+            basicPhaseGraphHelper.run(phases, 2);
+            Assert.fail("Expected the cycle to be detected");
+        } catch (RuntimeException e) {
+            assertThat(e.getMessage(), containsString("[a, b]"));
+        }
+
+        Assert.assertFalse(started.get());
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void shouldRejectMissingInputs() {
+        basicPhaseGraphHelper.run(Arrays.asList(stubPhase("a", "missing")), 1);
+    }
+
+    @Test
+    public void shouldNotAllowReadingUndeclaredInputs() {
+        List<Phase> phases = Arrays.asList(
+                ImmutablePhase.builder().name("a").task(results -> 1).build(),
+                ImmutablePhase.builder().name("b").addInputs("a").task(results -> 2).build(),
+                ImmutablePhase.builder().name("c").addInputs("b").task(results -> results.get("a")).build());
+
+        try {
+            basicPhaseGraphHelper.run(phases, 1);
+            Assert.fail("Expected reading an undeclared input to fail");
+        } catch (RuntimeException e) {
+            assertThat(e.getMessage(), containsString("not a declared input"));
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.awslabs.aws.greengrass.provisioner.implementations.helpers;
+
+import com.awslabs.aws.greengrass.provisioner.data.RunReport;
+import com.awslabs.aws.greengrass.provisioner.data.RunReportSpan;
+import com.awslabs.general.helpers.implementations.BasicJsonHelper;
+import io.vavr.control.Try;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class BasicRunReportHelperTest {
+    private BasicRunReportHelper basicRunReportHelper;
+
+    @Before
+    public void setup() {
+        basicRunReportHelper = new BasicRunReportHelper();
+        basicRunReportHelper.jsonHelper = new BasicJsonHelper();
+    }
+
+    private void runDeployment() {
+        basicRunReportHelper.runSpan("deploy group", () -> {
+            basicRunReportHelper.recordApiCall(1, 100, 1000);
+
+            // Phases run on threads the deployment creates
+            ExecutorService executorService = Executors.newSingleThreadExecutor();
+
+            try {
+                executorService.submit(() -> basicRunReportHelper.runSpan("createGroupVersion", () -> {
+                    basicRunReportHelper.recordApiCall(3, 200, 2000);
+                    basicRunReportHelper.recordRetries(2);
+                })).get();
+            } finally {
+                executorService.shutdownNow();
+            }
+
+            Try.run(() -> basicRunReportHelper.runSpan("waitForDeployment", () -> {
+                throw new RuntimeException("Deployment failed");
+            }));
+
+            // Keeps the root span strictly slower than its phases
+            Thread.sleep(5);
+        });
+    }
+
+    private Map<String, RunReportSpan> getSpansByName(RunReport runReport) {
+        return runReport.getSpans().stream()
+                .collect(Collectors.toMap(RunReportSpan::getName, Function.identity()));
+    }
+
+    private Map<String, Object> fromJson(String json) {
+        return new BasicJsonHelper().fromJson(Map.class, json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void shouldNestSpansAndAttributeCounters() {
+        runDeployment();
+
+        RunReport runReport = basicRunReportHelper.getReport();
+        Map<String, RunReportSpan> spansByName = getSpansByName(runReport);
+
+        RunReportSpan deploy = spansByName.get("deploy group");
+        RunReportSpan createGroupVersion = spansByName.get("createGroupVersion");
+        RunReportSpan waitForDeployment = spansByName.get("waitForDeployment");
+
+        assertThat(runReport.getSpans(), hasSize(3));
+        assertThat(deploy.getParentSpanId().isPresent(), is(false));
+        assertThat(createGroupVersion.getParentSpanId().get(), is(deploy.getSpanId()));
+        assertThat(createGroupVersion.getTraceId(), is(deploy.getTraceId()));
+        assertThat(waitForDeployment.getParentSpanId().get(), is(deploy.getSpanId()));
+
+        // Counters only include the work done directly in each span, the totals include everything
+        assertThat(deploy.getApiCalls(), is(1L));
+        assertThat(deploy.getBytesReceived(), is(1000L));
+        assertThat(createGroupVersion.getApiCalls(), is(1L));
+        assertThat(createGroupVersion.getRetries(), is(4L));
+        assertThat(createGroupVersion.getBytesSent(), is(200L));
+        assertThat(runReport.getApiCalls(), is(2L));
+        assertThat(runReport.getRetries(), is(4L));
+        assertThat(runReport.getBytesSent(), is(300L));
+        assertThat(runReport.getBytesReceived(), is(3000L));
+    }
+
+    @Test
+    public void shouldRecordAndRethrowFailures() {
+        Try<Object> spanTry = Try.of(() -> basicRunReportHelper.span("findGroup", () -> {
+            throw new RuntimeException("Group [missing] not found");
+        }));
+
+        RunReportSpan findGroup = basicRunReportHelper.getReport().getSpans().get(0);
+
+        assertThat(spanTry.isFailure(), is(true));
+        assertThat(spanTry.getCause().getMessage(), is("Group [missing] not found"));
+        assertThat(findGroup.isSuccessful(), is(false));
+        assertThat(findGroup.getError().get(), is("Group [missing] not found"));
+    }
+
+    @Test
+    public void shouldWriteTheReportFormat() {
+        runDeployment();
+
+        Map<String, Object> report = fromJson(basicRunReportHelper.toJson(basicRunReportHelper.getReport()));
+
+        assertThat(report.keySet(), contains("formatVersion", "start", "durationMillis", "totals", "phases", "spans"));
+        assertThat(((Number) report.get("formatVersion")).intValue(), is(1));
+
+        Map<String, Object> totals = (Map<String, Object>) report.get("totals");
+        assertThat(totals.keySet(), contains("apiCalls", "retries", "bytesSent", "bytesReceived"));
+        assertThat(((Number) totals.get("apiCalls")).longValue(), is(2L));
+
+        // The root span covers its phases so it is always the slowest
+        List<Map<String, Object>> phases = (List<Map<String, Object>>) report.get("phases");
+        assertThat(phases, hasSize(3));
+        assertThat(phases.get(0).get("name"), is("deploy group"));
+        assertThat(phases.get(0).keySet(), contains("name", "count", "totalMillis", "maxMillis", "failures", "apiCalls", "retries", "bytesSent", "bytesReceived"));
+
+        Map<String, Map<String, Object>> spans = ((List<Map<String, Object>>) report.get("spans")).stream()
+                .collect(Collectors.toMap(span -> (String) span.get("name"), Function.identity()));
+        assertThat(spans.get("deploy group").containsKey("parentSpanId"), is(false));
+        assertThat(spans.get("createGroupVersion").get("parentSpanId"), is(spans.get("deploy group").get("spanId")));
+        assertThat(spans.get("createGroupVersion").get("successful"), is(true));
+        assertThat(spans.get("waitForDeployment").get("successful"), is(false));
+        assertThat(spans.get("waitForDeployment").get("error"), is("Deployment failed"));
+    }
+
+    @Test
+    public void shouldWriteOtlpSpans() {
+        runDeployment();
+
+        Map<String, Object> traces = fromJson(basicRunReportHelper.toOtlpJson(basicRunReportHelper.getReport()));
+
+        Map<String, Object> resourceSpans = ((List<Map<String, Object>>) traces.get("resourceSpans")).get(0);
+        Map<String, Object> scopeSpans = ((List<Map<String, Object>>) resourceSpans.get("scopeSpans")).get(0);
+        List<Map<String, Object>> spans = (List<Map<String, Object>>) scopeSpans.get("spans");
+
+        assertThat(spans, hasSize(3));
+
+        for (Map<String, Object> span : spans) {
+            assertThat((String) span.get("traceId"), matchesPattern("[0-9a-f]{32}"));
+            assertThat((String) span.get("spanId"), matchesPattern("[0-9a-f]{16}"));
+            assertThat(Long.parseLong((String) span.get("endTimeUnixNano")), greaterThanOrEqualTo(Long.parseLong((String) span.get("startTimeUnixNano"))));
+
+            Map<String, Object> status = (Map<String, Object>) span.get("status");
+            int expectedCode = span.get("name").equals("waitForDeployment") ? 2 : 1;
+            assertThat(((Number) status.get("code")).intValue(), is(expectedCode));
+        }
+    }
+}
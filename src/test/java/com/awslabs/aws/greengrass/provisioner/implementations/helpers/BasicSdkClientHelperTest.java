@@ -0,0 +1,68 @@
+package com.awslabs.aws.greengrass.provisioner.implementations.helpers;
+
+import com.awslabs.aws.greengrass.provisioner.data.SdkClientStats;
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.GGConstants;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import software.amazon.awssdk.auth.credentials.AnonymousCredentialsProvider;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.cloudformation.CloudFormationClient;
+import software.amazon.awssdk.services.ec2.Ec2Client;
+
+import java.time.Duration;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BasicSdkClientHelperTest {
+    private BasicSdkClientHelper basicSdkClientHelper;
+
+    @Before
+    public void setup() {
+        GGConstants ggConstants = mock(GGConstants.class);
+        when(ggConstants.getSdkMaxConnections()).thenReturn(8);
+        when(ggConstants.getSdkConnectionTimeToLive()).thenReturn(Duration.ofMinutes(1));
+        when(ggConstants.getSdkConnectionTimeout()).thenReturn(Duration.ofSeconds(1));
+        when(ggConstants.getSdkSocketTimeout()).thenReturn(Duration.ofSeconds(1));
+
+        basicSdkClientHelper = new BasicSdkClientHelper();
+        basicSdkClientHelper.ggConstants = ggConstants;
+    }
+
+    @After
+    public void tearDown() {
+        basicSdkClientHelper.close();
+    }
+
+    @Test
+    public void shouldShareOneHttpClientBetweenClients() {
+        SdkHttpClient httpClient = basicSdkClientHelper.getHttpClient();
+
+        basicSdkClientHelper.buildClient(Ec2Client.builder()
+                .region(Region.US_EAST_1)
+                .credentialsProvider(AnonymousCredentialsProvider.create()));
+        basicSdkClientHelper.buildClient(CloudFormationClient.builder()
+                .region(Region.US_EAST_1)
+                .credentialsProvider(AnonymousCredentialsProvider.create()));
+
+        assertThat(basicSdkClientHelper.getHttpClient(), is(sameInstance(httpClient)));
+
+        SdkClientStats sdkClientStats = basicSdkClientHelper.getStats();
+
+        assertThat(sdkClientStats.getClientsCreated(), is(2L));
+        assertThat(sdkClientStats.getApiCalls(), is(0L));
+    }
+
+    @Test
+    public void shouldBuildANewHttpClientAfterClosing() {
+        SdkHttpClient httpClient = basicSdkClientHelper.getHttpClient();
+
+        basicSdkClientHelper.close();
+
+        assertThat(basicSdkClientHelper.getHttpClient(), is(not(sameInstance(httpClient))));
+    }
+}
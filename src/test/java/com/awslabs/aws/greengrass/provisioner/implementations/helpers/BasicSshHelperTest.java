@@ -0,0 +1,157 @@
+package com.awslabs.aws.greengrass.provisioner.implementations.helpers;
+
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.IoHelper;
+import com.awslabs.aws.greengrass.provisioner.interfaces.helpers.ThreadHelper;
+import com.jcraft.jsch.ChannelExec;
+import com.jcraft.jsch.Session;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class BasicSshHelperTest {
+    // Roughly what opening a channel and starting a command costs on a LAN
+    private static final long ROUND_TRIP_MS = 50;
+    private static final int COMMAND_COUNT = 8;
+    private BasicSshHelper basicSshHelper;
+    private List<Session> connectedSessions;
+
+    @Before
+    public void setup() {
+        connectedSessions = new ArrayList<>();
+
+        ThreadHelper threadHelper = mock(ThreadHelper.class);
+        when(threadHelper.timeLimitTask(any(), anyInt(), any(TimeUnit.class))).then(invocation -> Optional.of(((Callable<?>) invocation.getArgument(0)).call()));
+
+        IoHelper ioHelper = mock(IoHelper.class);
+        when(ioHelper.getSshSessionTask(anyString(), anyString(), anyString(), anyString(), anyString(), anyString())).then(invocation -> {
+            Session session = mock(Session.class);
+            when(session.isConnected()).thenReturn(true);
+            when(session.getHost()).thenReturn(invocation.getArgument(0));
+            connectedSessions.add(session);
+
+            return (Callable<Session>) () -> session;
+        });
+
+        basicSshHelper = new BasicSshHelper();
+        basicSshHelper.threadHelper = threadHelper;
+        basicSshHelper.ioHelper = ioHelper;
+    }
+
+    @Test
+    public void shouldReuseTheSessionForTheSameUserAndHost() {
+        Session first = basicSshHelper.getSshSession("192.168.1.5", "pi");
+        Session second = basicSshHelper.getSshSession("192.168.1.5", "pi");
+        Session otherUser = basicSshHelper.getSshSession("192.168.1.5", "ubuntu");
+        Session otherHost = basicSshHelper.getSshSession("192.168.1.6", "pi");
+
+        assertThat(second, is(sameInstance(first)));
+        assertThat(otherUser, is(not(sameInstance(first))));
+        assertThat(otherHost, is(not(sameInstance(first))));
+        assertThat(connectedSessions, hasSize(3));
+    }
+
+    @Test
+    public void shouldReconnectWhenTheSessionIsNoLongerUsable() throws Exception {
+        Session disconnected = basicSshHelper.getSshSession("192.168.1.5", "pi");
+        when(disconnected.isConnected()).thenReturn(false);
+
+        Session replacement = basicSshHelper.getSshSession("192.168.1.5", "pi");
+
+        assertThat(replacement, is(not(sameInstance(disconnected))));
+
+        // The connection dropped without the session noticing, the keep-alive write fails
+        doThrow(new Exception("Broken pipe")).when(replacement).sendKeepAliveMsg();
+
+        Session secondReplacement = basicSshHelper.getSshSession("192.168.1.5", "pi");
+
+        assertThat(secondReplacement, is(not(sameInstance(replacement))));
+        assertThat(connectedSessions, hasSize(3));
+        verify(replacement).disconnect();
+    }
+
+    @Test
+    public void shouldDisconnectEverySessionWhenClosed() {
+        basicSshHelper.getSshSession("192.168.1.5", "pi");
+        basicSshHelper.getSshSession("192.168.1.6", "pi");
+
+        basicSshHelper.closeSshSessions();
+
+        connectedSessions.forEach(session -> verify(session).disconnect());
+
+        // A closed pool connects again on the next request
+        basicSshHelper.getSshSession("192.168.1.5", "pi");
+        assertThat(connectedSessions, hasSize(3));
+    }
+
+    @Test
+    public void shouldRunIndependentCommandsOnConcurrentChannels() throws Exception {
+        List<String> commands = IntStream.range(0, COMMAND_COUNT)
+                .mapToObj(value -> String.join(" ", "echo", String.valueOf(value)))
+                .collect(Collectors.toList());
+
+        AtomicInteger openChannels = new AtomicInteger();
+        AtomicInteger maxOpenChannels = new AtomicInteger();
+        Session session = getSessionWithSlowChannels(commands, openChannels, maxOpenChannels);
+        BasicIoHelper basicIoHelper = new BasicIoHelper();
+
+        long startNanos = System.nanoTime();
+        List<List<String>> outputs = basicIoHelper.runCommands(session, commands);
+        Duration concurrentDuration = Duration.ofNanos(System.nanoTime() - startNanos);
+
+        // Outputs are in command order no matter which channel finished first
+        for (int loop = 0; loop < COMMAND_COUNT; loop++) {
+            assertThat(outputs.get(loop), contains(String.valueOf(loop)));
+        }
+
+        // One after another this takes a round trip per command
+        assertThat(maxOpenChannels.get(), greaterThan(1));
+        assertThat(concurrentDuration.toMillis(), lessThan(ROUND_TRIP_MS * COMMAND_COUNT / 2));
+    }
+
+    private Session getSessionWithSlowChannels(List<String> commands, AtomicInteger openChannels, AtomicInteger maxOpenChannels) throws Exception {
+        // Stubbed up front, Mockito can't stub from the threads that open the channels
+        Queue<ChannelExec> channels = new ConcurrentLinkedQueue<>();
+
+        for (int loop = 0; loop < commands.size(); loop++) {
+            channels.add(getSlowChannel(openChannels, maxOpenChannels));
+        }
+
+        Session session = mock(Session.class);
+        when(session.openChannel("exec")).then(invocation -> channels.remove());
+
+        return session;
+    }
+
+    private ChannelExec getSlowChannel(AtomicInteger openChannels, AtomicInteger maxOpenChannels) throws Exception {
+        ChannelExec channelExec = mock(ChannelExec.class);
+        List<String> command = new ArrayList<>();
+
+        doAnswer(invocation -> command.add(invocation.getArgument(0))).when(channelExec).setCommand(anyString());
+        when(channelExec.getInputStream()).then(invocation -> new ByteArrayInputStream(String.join("", command.get(0).substring("echo ".length()), "\n").getBytes(StandardCharsets.UTF_8)));
+        when(channelExec.getErrStream()).thenReturn(new ByteArrayInputStream(new byte[0]));
+        when(channelExec.isClosed()).thenReturn(true);
+        doAnswer(invocation -> {
+            maxOpenChannels.accumulateAndGet(openChannels.incrementAndGet(), Math::max);
+            Thread.sleep(ROUND_TRIP_MS);
+            return null;
+        }).when(channelExec).connect();
+        doAnswer(invocation -> openChannels.decrementAndGet()).when(channelExec).disconnect();
+
+        return channelExec;
+    }
+}
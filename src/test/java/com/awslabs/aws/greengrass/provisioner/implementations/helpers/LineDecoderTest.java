@@ -0,0 +1,88 @@
+package com.awslabs.aws.greengrass.provisioner.implementations.helpers;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class LineDecoderTest {
+    // Two, three, and four byte UTF-8 sequences
+    private static final String OUTPUT = "Überprüfung läuft\r\nGreengrass 🚀 gestartet\n温度: 21°C\npartial";
+    private List<String> lines;
+    private LineDecoder lineDecoder;
+
+    @Before
+    public void setup() {
+        lines = new ArrayList<>();
+        lineDecoder = new LineDecoder(StandardCharsets.UTF_8, lines::add);
+    }
+
+    @Test
+    public void shouldDecodeCharactersSplitAcrossChunks() {
+        byte[] bytes = OUTPUT.getBytes(StandardCharsets.UTF_8);
+
+        // One byte at a time splits every multi-byte character
+        for (int index = 0; index < bytes.length; index++) {
+            lineDecoder.decode(bytes, index, 1);
+        }
+
+        lineDecoder.finish();
+
+        assertThat(lines, contains("Überprüfung läuft", "Greengrass 🚀 gestartet", "温度: 21°C", "partial"));
+    }
+
+    @Test
+    public void shouldDecodeEverySplitPosition() {
+        byte[] bytes = OUTPUT.getBytes(StandardCharsets.UTF_8);
+
+        for (int split = 1; split < bytes.length; split++) {
+            setup();
+
+            lineDecoder.decode(bytes, 0, split);
+            lineDecoder.decode(bytes, split, bytes.length - split);
+            lineDecoder.finish();
+
+            assertThat(lines, contains("Überprüfung läuft", "Greengrass 🚀 gestartet", "温度: 21°C", "partial"));
+        }
+    }
+
+    @Test
+    public void shouldReplaceInvalidBytesAndKeepGoing() {
+        byte[] bytes = {'o', 'k', (byte) 0xff, '\n', 'n', 'e', 'x', 't', '\n'};
+
+        lineDecoder.decode(bytes, 0, bytes.length);
+        lineDecoder.finish();
+
+        assertThat(lines, contains("ok�", "next"));
+    }
+
+    @Test
+    public void shouldDecodeOutputLargerThanTheBuffers() throws Exception {
+        StringBuilder longLine = new StringBuilder();
+
+        // Longer than the buffers so a single line spans many reads
+        for (int loop = 0; loop < LineDecoder.BUFFER_SIZE; loop++) {
+            longLine.append("ö");
+        }
+
+        StringBuilder output = new StringBuilder();
+
+        for (int line = 0; line < 10000; line++) {
+            output.append("Zeile ").append(line).append(" – ok\n");
+        }
+
+        output.append(longLine).append("\n");
+
+        new BasicIoHelper().readLines(new ByteArrayInputStream(output.toString().getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8, lines::add);
+
+        assertThat(lines, hasSize(10001));
+        assertThat(lines.get(9999), is("Zeile 9999 – ok"));
+        assertThat(lines.get(10000), is(longLine.toString()));
+    }
+}
@@ -125,6 +125,68 @@ public class SubscriptionHelperTest {
         Assert.assertTrue(topics.stream().allMatch(topic -> oneMatches(output, abInputArn, abOutputArn, topic)));
     }
 
+    private String getRandomTopic(Random random) {
+        String[] levels = {"a", "b", "c", "+"};
+        List<String> topic = new ArrayList<>();
+        int depth = 1 + random.nextInt(4);
+
+        for (int loop = 0; loop < depth; loop++) {
+            topic.add(levels[random.nextInt(levels.length)]);
+        }
+
+        if (random.nextInt(4) == 0) {
+            topic.set(depth - 1, "#");
+        }
+
+        return String.join("/", topic);
+    }
+
+    private String toKey(String source, String target, String subject) {
+        return String.join("|", source, target, subject);
+    }
+
+    @Test
+    public void shouldConnectTheSameFunctionsAsComparingEveryTopicPair() {
+        Random random = new Random(0);
+        Map<Function, FunctionConf> map = new HashMap<>();
+
+        for (int loop = 0; loop < 50; loop++) {
+            List<String> inputTopics = new ArrayList<>();
+            List<String> outputTopics = new ArrayList<>();
+
+            for (int topic = 0; topic < 3; topic++) {
+                inputTopics.add(getRandomTopic(random));
+                outputTopics.add(getRandomTopic(random));
+            }
+
+            map.put(Function.builder().functionArn("function" + loop).build(), ImmutableFunctionConf.builder().from(fakeFunctionConf)
+                    .inputTopics(inputTopics)
+                    .outputTopics(outputTopics)
+                    .build());
+        }
+
+        Set<String> expected = new HashSet<>();
+
+        for (Map.Entry<Function, FunctionConf> source : map.entrySet()) {
+            for (Map.Entry<Function, FunctionConf> target : map.entrySet()) {
+                for (String outputTopic : source.getValue().getOutputTopics()) {
+                    for (String inputTopic : target.getValue().getInputTopics()) {
+                        basicSubscriptionHelper.topicCandidate(outputTopic, inputTopic)
+                                .ifPresent(subject -> expected.add(toKey(source.getKey().functionArn(), target.getKey().functionArn(), subject)));
+                    }
+                }
+            }
+        }
+
+        Set<String> actual = new HashSet<>();
+
+        basicSubscriptionHelper.connectFunctions(map)
+                .forEach(subscription -> actual.add(toKey(subscription.source(), subscription.target(), subscription.subject())));
+
+        MatcherAssert.assertThat(expected.isEmpty(), is(false));
+        MatcherAssert.assertThat(actual, is(expected));
+    }
+
     private boolean oneMatches(List<Subscription> subscriptions, String expectedTarget, String expectedSource, String expectedSubject) {
         return subscriptions.stream()
                 .anyMatch(subscription -> subscription.source().equals(expectedSource) &&